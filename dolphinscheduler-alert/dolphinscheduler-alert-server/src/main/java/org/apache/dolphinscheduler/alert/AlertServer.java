@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.alert.metrics.AlertServerMetrics;
 import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
 import org.apache.dolphinscheduler.alert.registry.AlertRegistryClient;
 import org.apache.dolphinscheduler.alert.rpc.AlertRpcServer;
+import org.apache.dolphinscheduler.alert.sender.AlertSendDispatcher;
 import org.apache.dolphinscheduler.alert.service.AlertBootstrapService;
 import org.apache.dolphinscheduler.alert.service.ListenerEventPostService;
 import org.apache.dolphinscheduler.common.CommonConfiguration;
@@ -58,6 +59,8 @@ public class AlertServer {
     private AlertPluginManager alertPluginManager;
     @Autowired
     private AlertRegistryClient alertRegistryClient;
+    @Autowired
+    private AlertSendDispatcher alertSendDispatcher;
 
     public static void main(String[] args) {
         AlertServerMetrics.registerUncachedException(DefaultUncaughtExceptionHandler::getUncaughtExceptionCount);
@@ -98,6 +101,7 @@ public class AlertServer {
             }
             log.info("Alert server is stopping, cause: {}", cause);
             try (
+                    AlertSendDispatcher closedAlertSendDispatcher = alertSendDispatcher;
                     AlertRpcServer closedAlertRpcServer = alertRpcServer;
                     AlertBootstrapService closedAlertBootstrapService = alertBootstrapService;
                     ListenerEventPostService closedListenerEventPostService = listenerEventPostService;
@@ -45,6 +45,8 @@ public final class AlertConfig implements Validator {
 
     private String alertServerAddress;
 
+    private AlertSenderConfig sender = new AlertSenderConfig();
+
     @Override
     public boolean supports(Class<?> clazz) {
         return AlertConfig.class.isAssignableFrom(clazz);
@@ -58,6 +60,22 @@ public final class AlertConfig implements Validator {
             errors.rejectValue("max-heartbeat-interval", null, "should be a valid duration");
         }
 
+        if (sender.getWorkerThreads() <= 0) {
+            errors.rejectValue("sender.worker-threads", null, "should be a positive value");
+        }
+
+        if (sender.getQueueCapacity() <= 0) {
+            errors.rejectValue("sender.queue-capacity", null, "should be a positive value");
+        }
+
+        if (sender.getCircuitBreakerOpenDuration().toMillis() <= 0) {
+            errors.rejectValue("sender.circuit-breaker-open-duration", null, "should be a valid duration");
+        }
+
+        if (sender.getStatusUpdateBatchSize() <= 0) {
+            errors.rejectValue("sender.status-update-batch-size", null, "should be a positive value");
+        }
+
         if (StringUtils.isEmpty(alertServerAddress)) {
             alertConfig.setAlertServerAddress(NetUtils.getAddr(alertConfig.getPort()));
         }
@@ -69,5 +87,36 @@ public final class AlertConfig implements Validator {
         log.info("Alert config: port -> {}", port);
         log.info("Alert config: alertServerAddress -> {}", alertServerAddress);
         log.info("Alert config: maxHeartbeatInterval -> {}", maxHeartbeatInterval);
+        log.info("Alert config: sender -> {}", sender);
+    }
+
+    @Data
+    public static class AlertSenderConfig {
+
+        /**
+         * The number of threads sending alerts to one alert plugin instance.
+         */
+        private int workerThreads = 4;
+
+        /**
+         * The max number of alerts waiting to be sent to one alert plugin instance, the alert will be failed directly
+         * when the queue is full.
+         */
+        private int queueCapacity = 1000;
+
+        /**
+         * The number of consecutive failures after which the alert plugin instance will be skipped, 0 means never.
+         */
+        private int circuitBreakerFailureThreshold = 5;
+
+        /**
+         * How long the alert plugin instance will be skipped before a probe alert is sent to it again.
+         */
+        private Duration circuitBreakerOpenDuration = Duration.ofSeconds(60);
+
+        /**
+         * The max number of alerts whose sending status will be updated in one statement.
+         */
+        private int statusUpdateBatchSize = 100;
     }
 }
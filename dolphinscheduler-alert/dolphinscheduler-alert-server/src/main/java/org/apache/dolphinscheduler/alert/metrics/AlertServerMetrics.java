@@ -17,12 +17,15 @@
 
 package org.apache.dolphinscheduler.alert.metrics;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class AlertServerMetrics {
@@ -51,6 +54,34 @@ public class AlertServerMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public Gauge registerAlertSendBacklogGauge(final String pluginInstanceName, final Supplier<Number> supplier) {
+        return Gauge.builder("ds.alert.send.backlog", supplier)
+                .tag("plugin_instance", pluginInstanceName)
+                .description("Number of alerts queued or being sent to the alert plugin instance")
+                .register(Metrics.globalRegistry);
+    }
+
+    public Gauge registerAlertSendCircuitBreakerGauge(final String pluginInstanceName,
+                                                      final Supplier<Number> supplier) {
+        return Gauge.builder("ds.alert.send.circuit.open", supplier)
+                .tag("plugin_instance", pluginInstanceName)
+                .description("Whether the alert plugin instance is skipped by the circuit breaker, 1 means skipped")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void removeMeter(final Meter meter) {
+        Metrics.globalRegistry.remove(meter);
+    }
+
+    public void recordAlertSendTime(final String pluginInstanceName, final boolean success, final long milliseconds) {
+        Timer.builder("ds.alert.send.duration")
+                .tags("plugin_instance", pluginInstanceName, "status", success ? "success" : "fail")
+                .description("Time spent sending an alert to the alert plugin instance")
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry)
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
     public void incAlertSuccessCount() {
         alertSuccessCounter.increment();
     }
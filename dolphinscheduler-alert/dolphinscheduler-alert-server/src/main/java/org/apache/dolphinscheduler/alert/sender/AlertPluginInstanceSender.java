@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.sender;
+
+import org.apache.dolphinscheduler.alert.api.AlertChannel;
+import org.apache.dolphinscheduler.alert.api.AlertInfo;
+import org.apache.dolphinscheduler.alert.api.AlertResult;
+import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.alert.metrics.AlertServerMetrics;
+import org.apache.dolphinscheduler.common.enums.AlertType;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
+
+import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.Gauge;
+
+/**
+ * Send alerts to one alert plugin instance with its own bounded queue and worker threads, so a slow or broken
+ * destination only holds up the alerts sent to itself.
+ */
+@Slf4j
+public class AlertPluginInstanceSender implements AutoCloseable {
+
+    private final String pluginInstanceName;
+
+    // used to find the plugin instance is updated
+    private final Date pluginInstanceUpdateTime;
+
+    private final int waitTimeout;
+
+    private final ThreadPoolExecutor sendExecutor;
+
+    private final ScheduledExecutorService timeoutScheduler;
+
+    private final AlertSendCircuitBreaker circuitBreaker;
+
+    private final Gauge backlogGauge;
+
+    private final Gauge circuitBreakerGauge;
+
+    public AlertPluginInstanceSender(AlertPluginInstance alertPluginInstance,
+                                     AlertConfig alertConfig,
+                                     ScheduledExecutorService timeoutScheduler) {
+        AlertConfig.AlertSenderConfig senderConfig = alertConfig.getSender();
+        this.pluginInstanceName = alertPluginInstance.getInstanceName();
+        this.pluginInstanceUpdateTime = alertPluginInstance.getUpdateTime();
+        this.waitTimeout = alertConfig.getWaitTimeout();
+        this.timeoutScheduler = timeoutScheduler;
+        this.circuitBreaker = new AlertSendCircuitBreaker(
+                pluginInstanceName,
+                senderConfig.getCircuitBreakerFailureThreshold(),
+                senderConfig.getCircuitBreakerOpenDuration().toMillis());
+        this.sendExecutor = new ThreadPoolExecutor(
+                senderConfig.getWorkerThreads(),
+                senderConfig.getWorkerThreads(),
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(senderConfig.getQueueCapacity()),
+                ThreadUtils.newDaemonThreadFactory("AlertSender-" + alertPluginInstance.getId() + "-%d"));
+        // the idle plugin instance doesn't hold any thread
+        this.sendExecutor.allowCoreThreadTimeOut(true);
+        this.backlogGauge = AlertServerMetrics.registerAlertSendBacklogGauge(pluginInstanceName,
+                () -> sendExecutor.getQueue().size() + sendExecutor.getActiveCount());
+        this.circuitBreakerGauge = AlertServerMetrics.registerAlertSendCircuitBreakerGauge(pluginInstanceName,
+                () -> circuitBreaker.isOpen() ? 1 : 0);
+    }
+
+    /**
+     * Submit the alert to the plugin instance, the returned future is always completed with a not null result, the
+     * failure is represented by the result status.
+     */
+    public CompletableFuture<AlertResult> send(AlertChannel alertChannel, AlertInfo alertInfo) {
+        CompletableFuture<AlertResult> resultFuture = new CompletableFuture<>();
+        if (!circuitBreaker.tryAcquire()) {
+            log.warn("Alert Plugin {} send skipped alert data id: {}, the circuit breaker is open",
+                    pluginInstanceName, alertInfo.getAlertData().getId());
+            resultFuture.complete(new AlertResult("false", String.format(
+                    "Alert Plugin %s send skipped: the circuit breaker is open after consecutive failures",
+                    pluginInstanceName)));
+            return resultFuture;
+        }
+        try {
+            sendExecutor.execute(new AlertSendTask(alertChannel, alertInfo, resultFuture));
+        } catch (RejectedExecutionException e) {
+            log.error("Alert Plugin {} send rejected alert data id: {}, the send queue is full",
+                    pluginInstanceName, alertInfo.getAlertData().getId());
+            circuitBreaker.onFailure();
+            resultFuture.complete(new AlertResult("false", String.format(
+                    "Alert Plugin %s send rejected: the send queue is full", pluginInstanceName)));
+        }
+        return resultFuture;
+    }
+
+    /**
+     * Whether the given plugin instance is updated after this sender is created.
+     */
+    public boolean isOutdated(AlertPluginInstance alertPluginInstance) {
+        return !Objects.equals(pluginInstanceUpdateTime, alertPluginInstance.getUpdateTime());
+    }
+
+    /**
+     * Stop accepting new alerts, the accepted alerts are still sent.
+     */
+    public void shutdown() {
+        removeGauges();
+        sendExecutor.shutdown();
+    }
+
+    @Override
+    public void close() {
+        removeGauges();
+        // the alerts haven't been sent will be picked up again after restart, cancel them to release the waiters
+        for (Runnable alertSendTask : sendExecutor.shutdownNow()) {
+            ((AlertSendTask) alertSendTask).cancel(false);
+        }
+    }
+
+    private void removeGauges() {
+        AlertServerMetrics.removeMeter(backlogGauge);
+        AlertServerMetrics.removeMeter(circuitBreakerGauge);
+    }
+
+    private final class AlertSendTask extends FutureTask<AlertResult> {
+
+        private final AlertInfo alertInfo;
+
+        private final CompletableFuture<AlertResult> resultFuture;
+
+        private volatile long startTime;
+
+        private volatile boolean timeout;
+
+        private AlertSendTask(AlertChannel alertChannel,
+                              AlertInfo alertInfo,
+                              CompletableFuture<AlertResult> resultFuture) {
+            super(() -> {
+                if (alertInfo.getAlertData().getAlertType() == AlertType.CLOSE_ALERT.getCode()) {
+                    return alertChannel.closeAlert(alertInfo);
+                }
+                return alertChannel.process(alertInfo);
+            });
+            this.alertInfo = alertInfo;
+            this.resultFuture = resultFuture;
+        }
+
+        @Override
+        public void run() {
+            // the timeout is counted from the alert is picked up by the worker rather than queued
+            startTime = System.currentTimeMillis();
+            ScheduledFuture<?> timeoutFuture = null;
+            if (waitTimeout > 0) {
+                timeoutFuture = timeoutScheduler.schedule(() -> {
+                    timeout = true;
+                    cancel(true);
+                }, waitTimeout, TimeUnit.MILLISECONDS);
+            }
+            try {
+                super.run();
+            } finally {
+                if (timeoutFuture != null) {
+                    timeoutFuture.cancel(false);
+                }
+            }
+        }
+
+        @Override
+        protected void done() {
+            AlertResult alertResult = getAlertResult();
+            boolean success = Boolean.parseBoolean(alertResult.getStatus());
+            if (success) {
+                circuitBreaker.onSuccess();
+            } else {
+                circuitBreaker.onFailure();
+            }
+            // the alert cancelled before picked up by the worker is not counted
+            if (startTime > 0) {
+                AlertServerMetrics.recordAlertSendTime(pluginInstanceName, success,
+                        System.currentTimeMillis() - startTime);
+            }
+            resultFuture.complete(alertResult);
+        }
+
+        private AlertResult getAlertResult() {
+            int alertId = alertInfo.getAlertData().getId();
+            if (isCancelled()) {
+                String message = timeout
+                        ? String.format("Alert Plugin %s send timeout after %s ms", pluginInstanceName, waitTimeout)
+                        : String.format("Alert Plugin %s send cancelled", pluginInstanceName);
+                log.error("send alert error alert data id :{}, {}", alertId, message);
+                return new AlertResult("false", message);
+            }
+            try {
+                AlertResult alertResult = get();
+                if (alertResult == null) {
+                    throw new RuntimeException("Alert result cannot be null");
+                }
+                return alertResult;
+            } catch (InterruptedException e) {
+                log.error("send alert error alert data id :{},", alertId, e);
+                Thread.currentThread().interrupt();
+                return new AlertResult("false", e.getMessage());
+            } catch (ExecutionException e) {
+                log.error("send alert error alert data id :{},", alertId, e.getCause());
+                return new AlertResult("false", e.getCause().getMessage());
+            } catch (Exception e) {
+                log.error("send alert error alert data id :{},", alertId, e);
+                return new AlertResult("false", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.sender;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A consecutive failure circuit breaker of one alert plugin instance.
+ * <p>After {@code failureThreshold} consecutive failures the breaker is opened and the alerts are failed directly
+ * without calling the plugin, once {@code openDurationMillis} passed a single probe alert is let through, the breaker is
+ * closed if the probe succeed, otherwise it is opened again.
+ */
+@Slf4j
+public class AlertSendCircuitBreaker {
+
+    private enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String pluginInstanceName;
+
+    private final int failureThreshold;
+
+    private final long openDurationMillis;
+
+    private State state = State.CLOSED;
+
+    private int consecutiveFailures;
+
+    private long openedTime;
+
+    public AlertSendCircuitBreaker(String pluginInstanceName, int failureThreshold, long openDurationMillis) {
+        this.pluginInstanceName = pluginInstanceName;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+    }
+
+    /**
+     * @return true if the alert can be sent to the plugin instance
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedTime < openDurationMillis) {
+                    return false;
+                }
+                log.info("Alert plugin instance {} circuit breaker is half open, will send a probe alert",
+                        pluginInstanceName);
+                state = State.HALF_OPEN;
+                return true;
+            default:
+                // only one probe alert is in flight
+                return false;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("Alert plugin instance {} circuit breaker is closed", pluginInstanceName);
+        }
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (failureThreshold <= 0) {
+            return;
+        }
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("Alert plugin instance {} circuit breaker is open after {} consecutive failures",
+                        pluginInstanceName, consecutiveFailures);
+            }
+            state = State.OPEN;
+            openedTime = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return state != State.CLOSED;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.sender;
+
+import org.apache.dolphinscheduler.alert.api.AlertChannel;
+import org.apache.dolphinscheduler.alert.api.AlertInfo;
+import org.apache.dolphinscheduler.alert.api.AlertResult;
+import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Dispatch the alerts to the {@link AlertPluginInstanceSender} of the target alert plugin instance.
+ */
+@Slf4j
+@Component
+public class AlertSendDispatcher implements AutoCloseable {
+
+    private final AlertConfig alertConfig;
+
+    private final Map<Integer, AlertPluginInstanceSender> alertPluginInstanceSenders = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService timeoutScheduler =
+            ThreadUtils.newSingleDaemonScheduledExecutorService("AlertSendTimeoutChecker");
+
+    public AlertSendDispatcher(AlertConfig alertConfig) {
+        this.alertConfig = alertConfig;
+    }
+
+    public CompletableFuture<AlertResult> send(AlertPluginInstance alertPluginInstance,
+                                               AlertChannel alertChannel,
+                                               AlertInfo alertInfo) {
+        return alertPluginInstanceSenders
+                .compute(alertPluginInstance.getId(), (id, sender) -> {
+                    if (sender != null && !sender.isOutdated(alertPluginInstance)) {
+                        return sender;
+                    }
+                    if (sender != null) {
+                        log.info("The alert plugin instance: {} is updated, recreate its sender", id);
+                        sender.shutdown();
+                    }
+                    return new AlertPluginInstanceSender(alertPluginInstance, alertConfig, timeoutScheduler);
+                })
+                .send(alertChannel, alertInfo);
+    }
+
+    /**
+     * Shutdown the senders of the plugin instances which are not in the given plugin instances, e.g. deleted.
+     */
+    public void retainAlertPluginInstanceSenders(Collection<Integer> alertPluginInstanceIds) {
+        Set<Integer> retainedIds = new HashSet<>(alertPluginInstanceIds);
+        for (Integer id : alertPluginInstanceSenders.keySet()) {
+            if (retainedIds.contains(id)) {
+                continue;
+            }
+            alertPluginInstanceSenders.computeIfPresent(id, (ignore, sender) -> {
+                log.info("The alert plugin instance: {} is removed, shutdown its sender", id);
+                sender.shutdown();
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public void close() {
+        alertPluginInstanceSenders.values().forEach(AlertPluginInstanceSender::close);
+        alertPluginInstanceSenders.clear();
+        timeoutScheduler.shutdownNow();
+        log.info("Closed AlertSendDispatcher...");
+    }
+}
@@ -25,9 +25,9 @@ import org.apache.dolphinscheduler.alert.api.AlertResult;
 import org.apache.dolphinscheduler.alert.config.AlertConfig;
 import org.apache.dolphinscheduler.alert.metrics.AlertServerMetrics;
 import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
+import org.apache.dolphinscheduler.alert.sender.AlertSendDispatcher;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.AlertStatus;
-import org.apache.dolphinscheduler.common.enums.AlertType;
 import org.apache.dolphinscheduler.common.enums.WarningType;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
@@ -44,15 +44,20 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
-
-import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -70,6 +75,12 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
     private AlertPluginManager alertPluginManager;
     @Autowired
     private AlertConfig alertConfig;
+    @Autowired
+    private AlertSendDispatcher alertSendDispatcher;
+
+    private final Set<Integer> sendingAlertIds = ConcurrentHashMap.newKeySet();
+
+    private final BlockingQueue<SentAlert> sentAlerts = new LinkedBlockingQueue<>();
 
     public AlertBootstrapService() {
         super("AlertBootstrapService");
@@ -80,13 +91,8 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
         log.info("Alert sender thread started");
         while (!ServerLifeCycleManager.isStopped()) {
             try {
-                List<Alert> alerts = alertDao.listPendingAlerts();
-                if (CollectionUtils.isEmpty(alerts)) {
-                    log.debug("There is not waiting alerts");
-                    continue;
-                }
-                AlertServerMetrics.registerPendingAlertGauge(alerts::size);
-                this.send(alerts);
+                alertSendDispatcher.retainAlertPluginInstanceSenders(alertDao.listAlertPluginInstanceIds());
+                this.sendPendingAlerts();
             } catch (Exception e) {
                 log.error("Alert sender thread meet an exception", e);
             } finally {
@@ -96,8 +102,32 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
         log.info("Alert sender thread stopped");
     }
 
+    /**
+     * Send the pending alerts, the alerts which are still being sent are excluded in the query, so they will not take
+     * the query limit from the other pending alerts.
+     */
+    public void sendPendingAlerts() {
+        // update the sent alerts first, so they will not be queried as pending alerts again
+        this.updateSentAlerts();
+        List<Alert> alerts = alertDao.listPendingAlerts(new HashSet<>(sendingAlertIds));
+        if (CollectionUtils.isEmpty(alerts)) {
+            log.debug("There is not waiting alerts");
+            return;
+        }
+        AlertServerMetrics.registerPendingAlertGauge(alerts::size);
+        this.send(alerts);
+    }
+
+    /**
+     * Dispatch the alerts to their plugin instances without waiting for the results, the sending status will be
+     * updated in batch by {@link #updateSentAlerts()} once all the plugin instances of the alert are finished.
+     */
     public void send(List<Alert> alerts) {
         for (Alert alert : alerts) {
+            // the alert is still being sent since last round
+            if (!sendingAlertIds.add(alert.getId())) {
+                continue;
+            }
             // get alert group from alert
             int alertId = alert.getId();
             int alertGroupId = Optional.ofNullable(alert.getAlertGroupId()).orElse(0);
@@ -106,7 +136,9 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
                 log.error("send alert msg fail,no bind plugin instance.");
                 List<AlertResult> alertResults = Lists.newArrayList(new AlertResult("false",
                         "no bind plugin instance"));
-                alertDao.updateAlert(AlertStatus.EXECUTION_FAILURE, JSONUtils.toJsonString(alertResults), alertId);
+                sentAlerts.add(new SentAlert(
+                        createAlertStatusUpdate(alertId, AlertStatus.EXECUTION_FAILURE, alertResults),
+                        Collections.emptyList()));
                 continue;
             }
             AlertData alertData = AlertData.builder()
@@ -118,44 +150,85 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
                     .alertType(alert.getAlertType().getCode())
                     .build();
 
-            int sendSuccessCount = 0;
-            List<AlertSendStatus> alertSendStatuses = new ArrayList<>();
-            List<AlertResult> alertResults = new ArrayList<>();
+            List<CompletableFuture<AlertResult>> alertResultFutures = new ArrayList<>(alertInstanceList.size());
             for (AlertPluginInstance instance : alertInstanceList) {
-                AlertResult alertResult = this.alertResultHandler(instance, alertData);
-                if (alertResult != null) {
-                    AlertStatus sendStatus = Boolean.parseBoolean(alertResult.getStatus())
-                            ? AlertStatus.EXECUTION_SUCCESS
-                            : AlertStatus.EXECUTION_FAILURE;
-                    AlertSendStatus alertSendStatus = AlertSendStatus.builder()
-                            .alertId(alertId)
-                            .alertPluginInstanceId(instance.getId())
-                            .sendStatus(sendStatus)
-                            .log(JSONUtils.toJsonString(alertResult))
-                            .createTime(new Date())
-                            .build();
-                    alertSendStatuses.add(alertSendStatus);
-                    if (AlertStatus.EXECUTION_SUCCESS.equals(sendStatus)) {
-                        sendSuccessCount++;
-                        AlertServerMetrics.incAlertSuccessCount();
-                    } else {
-                        AlertServerMetrics.incAlertFailCount();
-                    }
-                    alertResults.add(alertResult);
+                alertResultFutures.add(this.alertResultHandler(instance, alertData));
+            }
+            CompletableFuture.allOf(alertResultFutures.toArray(new CompletableFuture[0]))
+                    .whenComplete((ignore, ex) -> sentAlerts
+                            .add(createSentAlert(alertId, alertInstanceList, alertResultFutures)));
+        }
+    }
+
+    /**
+     * Update the sending status of the alerts which have been sent to all the plugin instances.
+     */
+    public void updateSentAlerts() {
+        int batchSize = alertConfig.getSender().getStatusUpdateBatchSize();
+        List<SentAlert> sentAlertBatch = new ArrayList<>(batchSize);
+        while (sentAlerts.drainTo(sentAlertBatch, batchSize) > 0) {
+            try {
+                List<Alert> alerts = new ArrayList<>(sentAlertBatch.size());
+                List<AlertSendStatus> alertSendStatuses = new ArrayList<>();
+                for (SentAlert sentAlert : sentAlertBatch) {
+                    alerts.add(sentAlert.getAlert());
+                    alertSendStatuses.addAll(sentAlert.getAlertSendStatuses());
                 }
+                // we update the alert first to avoid duplicate key in alertSendStatus
+                // this may loss the alertSendStatus if the server restart
+                // todo: use transaction to update these two table
+                alertDao.batchUpdateAlert(alerts);
+                alertDao.insertAlertSendStatus(alertSendStatuses);
+            } finally {
+                // if the update failed, the alert is still pending and will be sent again
+                sentAlertBatch.forEach(sentAlert -> sendingAlertIds.remove(sentAlert.getAlert().getId()));
+                sentAlertBatch.clear();
             }
-            AlertStatus alertStatus = AlertStatus.EXECUTION_SUCCESS;
-            if (sendSuccessCount == 0) {
-                alertStatus = AlertStatus.EXECUTION_FAILURE;
-            } else if (sendSuccessCount < alertInstanceList.size()) {
-                alertStatus = AlertStatus.EXECUTION_PARTIAL_SUCCESS;
+        }
+    }
+
+    private SentAlert createSentAlert(int alertId,
+                                      List<AlertPluginInstance> alertInstanceList,
+                                      List<CompletableFuture<AlertResult>> alertResultFutures) {
+        int sendSuccessCount = 0;
+        List<AlertSendStatus> alertSendStatuses = new ArrayList<>();
+        List<AlertResult> alertResults = new ArrayList<>();
+        for (int i = 0; i < alertInstanceList.size(); i++) {
+            AlertResult alertResult = alertResultFutures.get(i).join();
+            AlertStatus sendStatus = Boolean.parseBoolean(alertResult.getStatus())
+                    ? AlertStatus.EXECUTION_SUCCESS
+                    : AlertStatus.EXECUTION_FAILURE;
+            AlertSendStatus alertSendStatus = AlertSendStatus.builder()
+                    .alertId(alertId)
+                    .alertPluginInstanceId(alertInstanceList.get(i).getId())
+                    .sendStatus(sendStatus)
+                    .log(JSONUtils.toJsonString(alertResult))
+                    .createTime(new Date())
+                    .build();
+            alertSendStatuses.add(alertSendStatus);
+            if (AlertStatus.EXECUTION_SUCCESS.equals(sendStatus)) {
+                sendSuccessCount++;
+                AlertServerMetrics.incAlertSuccessCount();
+            } else {
+                AlertServerMetrics.incAlertFailCount();
             }
-            // we update the alert first to avoid duplicate key in alertSendStatus
-            // this may loss the alertSendStatus if the server restart
-            // todo: use transaction to update these two table
-            alertDao.updateAlert(alertStatus, JSONUtils.toJsonString(alertResults), alertId);
-            alertDao.insertAlertSendStatus(alertSendStatuses);
+            alertResults.add(alertResult);
+        }
+        AlertStatus alertStatus = AlertStatus.EXECUTION_SUCCESS;
+        if (sendSuccessCount == 0) {
+            alertStatus = AlertStatus.EXECUTION_FAILURE;
+        } else if (sendSuccessCount < alertInstanceList.size()) {
+            alertStatus = AlertStatus.EXECUTION_PARTIAL_SUCCESS;
         }
+        return new SentAlert(createAlertStatusUpdate(alertId, alertStatus, alertResults), alertSendStatuses);
+    }
+
+    private Alert createAlertStatusUpdate(int alertId, AlertStatus alertStatus, List<AlertResult> alertResults) {
+        Alert alert = new Alert();
+        alert.setId(alertId);
+        alert.setAlertStatus(alertStatus);
+        alert.setLog(JSONUtils.toJsonString(alertResults));
+        return alert;
     }
 
     /**
@@ -188,16 +261,18 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
             return new AlertSendResponse(false, sendResponseResults);
         }
 
+        List<CompletableFuture<AlertResult>> alertResultFutures = new ArrayList<>(alertInstanceList.size());
         for (AlertPluginInstance instance : alertInstanceList) {
-            AlertResult alertResult = this.alertResultHandler(instance, alertData);
-            if (alertResult != null) {
-                AlertSendResponse.AlertSendResponseResult alertSendResponseResult =
-                        new AlertSendResponse.AlertSendResponseResult(
-                                Boolean.parseBoolean(alertResult.getStatus()),
-                                alertResult.getMessage());
-                sendResponseStatus = sendResponseStatus && alertSendResponseResult.isSuccess();
-                sendResponseResults.add(alertSendResponseResult);
-            }
+            alertResultFutures.add(this.alertResultHandler(instance, alertData));
+        }
+        for (CompletableFuture<AlertResult> alertResultFuture : alertResultFutures) {
+            AlertResult alertResult = alertResultFuture.join();
+            AlertSendResponse.AlertSendResponseResult alertSendResponseResult =
+                    new AlertSendResponse.AlertSendResponseResult(
+                            Boolean.parseBoolean(alertResult.getStatus()),
+                            alertResult.getMessage());
+            sendResponseStatus = sendResponseStatus && alertSendResponseResult.isSuccess();
+            sendResponseResults.add(alertSendResponseResult);
         }
 
         return new AlertSendResponse(sendResponseStatus, sendResponseResults);
@@ -208,9 +283,9 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
      *
      * @param instance  instance
      * @param alertData alertData
-     * @return AlertResult
+     * @return the future of AlertResult, which is completed once the plugin instance finished
      */
-    private @Nullable AlertResult alertResultHandler(AlertPluginInstance instance, AlertData alertData) {
+    private CompletableFuture<AlertResult> alertResultHandler(AlertPluginInstance instance, AlertData alertData) {
         String pluginInstanceName = instance.getInstanceName();
         int pluginDefineId = instance.getPluginDefineId();
         Optional<AlertChannel> alertChannelOptional = alertPluginManager.getAlertChannel(instance.getPluginDefineId());
@@ -219,7 +294,7 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
                     pluginInstanceName,
                     pluginDefineId);
             log.error("Alert Plugin {} send error : not found plugin {}", pluginInstanceName, pluginDefineId);
-            return new AlertResult("false", message);
+            return CompletableFuture.completedFuture(new AlertResult("false", message));
         }
         AlertChannel alertChannel = alertChannelOptional.get();
 
@@ -235,7 +310,7 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
         if (warningType == null) {
             String message = String.format("Alert Plugin %s send error : plugin warnType is null", pluginInstanceName);
             log.error("Alert Plugin {} send error : plugin warnType is null", pluginInstanceName);
-            return new AlertResult("false", message);
+            return CompletableFuture.completedFuture(new AlertResult("false", message));
         }
 
         boolean sendWarning = false;
@@ -263,7 +338,7 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
             log.info(
                     "Alert Plugin {} send ignore warning type not match: plugin warning type is {}, alert data warning type is {}",
                     pluginInstanceName, warningType.getCode(), alertData.getWarnType());
-            return new AlertResult("false", message);
+            return CompletableFuture.completedFuture(new AlertResult("false", message));
         }
 
         AlertInfo alertInfo = AlertInfo.builder()
@@ -271,36 +346,7 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
                 .alertParams(paramsMap)
                 .alertPluginInstanceId(instance.getId())
                 .build();
-        int waitTimeout = alertConfig.getWaitTimeout();
-        try {
-            AlertResult alertResult;
-            if (waitTimeout <= 0) {
-                if (alertData.getAlertType() == AlertType.CLOSE_ALERT.getCode()) {
-                    alertResult = alertChannel.closeAlert(alertInfo);
-                } else {
-                    alertResult = alertChannel.process(alertInfo);
-                }
-            } else {
-                CompletableFuture<AlertResult> future;
-                if (alertData.getAlertType() == AlertType.CLOSE_ALERT.getCode()) {
-                    future = CompletableFuture.supplyAsync(() -> alertChannel.closeAlert(alertInfo));
-                } else {
-                    future = CompletableFuture.supplyAsync(() -> alertChannel.process(alertInfo));
-                }
-                alertResult = future.get(waitTimeout, TimeUnit.MILLISECONDS);
-            }
-            if (alertResult == null) {
-                throw new RuntimeException("Alert result cannot be null");
-            }
-            return alertResult;
-        } catch (InterruptedException e) {
-            log.error("send alert error alert data id :{},", alertData.getId(), e);
-            Thread.currentThread().interrupt();
-            return new AlertResult("false", e.getMessage());
-        } catch (Exception e) {
-            log.error("send alert error alert data id :{},", alertData.getId(), e);
-            return new AlertResult("false", e.getMessage());
-        }
+        return alertSendDispatcher.send(instance, alertChannel, alertInfo);
     }
 
     public AlertSendResponse syncTestSend(int pluginDefineId, String pluginInstanceParams) {
@@ -360,7 +406,21 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
 
     @Override
     public void close() {
+        try {
+            updateSentAlerts();
+        } catch (Exception e) {
+            log.error("Update the sent alerts failed when closing AlertBootstrapService", e);
+        }
         log.info("Closed AlertBootstrapService...");
     }
 
+    @Getter
+    @AllArgsConstructor
+    private static class SentAlert {
+
+        private final Alert alert;
+
+        private final List<AlertSendStatus> alertSendStatuses;
+    }
+
 }
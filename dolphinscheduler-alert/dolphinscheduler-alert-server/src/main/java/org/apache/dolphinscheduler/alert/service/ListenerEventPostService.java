@@ -23,9 +23,9 @@ import org.apache.dolphinscheduler.alert.api.AlertInfo;
 import org.apache.dolphinscheduler.alert.api.AlertResult;
 import org.apache.dolphinscheduler.alert.config.AlertConfig;
 import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
+import org.apache.dolphinscheduler.alert.sender.AlertSendDispatcher;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.AlertStatus;
-import org.apache.dolphinscheduler.common.enums.AlertType;
 import org.apache.dolphinscheduler.common.enums.WarningType;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
@@ -56,11 +56,14 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
-
-import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -81,6 +84,12 @@ public final class ListenerEventPostService extends BaseDaemonThread implements
     private AlertPluginManager alertPluginManager;
     @Autowired
     private AlertConfig alertConfig;
+    @Autowired
+    private AlertSendDispatcher alertSendDispatcher;
+
+    private final Set<Integer> postingEventIds = ConcurrentHashMap.newKeySet();
+
+    private final BlockingQueue<PostedEvent> postedEvents = new LinkedBlockingQueue<>();
 
     public ListenerEventPostService() {
         super("ListenerEventPostService");
@@ -91,6 +100,8 @@ public final class ListenerEventPostService extends BaseDaemonThread implements
         log.info("listener event post thread started");
         while (!ServerLifeCycleManager.isStopped()) {
             try {
+                // update the posted events first, so they will not be queried as waiting events again
+                this.updatePostedEvents();
                 List<ListenerEvent> listenerEvents = listenerEventMapper
                         .listingListenerEventByStatus(AlertStatus.WAIT_EXECUTION, QUERY_ALERT_THRESHOLD);
                 if (CollectionUtils.isEmpty(listenerEvents)) {
@@ -107,22 +118,29 @@ public final class ListenerEventPostService extends BaseDaemonThread implements
         log.info("listener event post thread stopped");
     }
 
+    /**
+     * Dispatch the events to the global plugin instances without waiting for the results, the post status will be
+     * updated by {@link #updatePostedEvents()} once all the plugin instances of the event are finished.
+     */
     public void send(List<ListenerEvent> listenerEvents) {
         for (ListenerEvent listenerEvent : listenerEvents) {
             int eventId = listenerEvent.getId();
+            // the event is still being posted since last round
+            if (!postingEventIds.add(eventId)) {
+                continue;
+            }
             List<AlertPluginInstance> globalAlertInstanceList =
                     alertPluginInstanceMapper.queryAllGlobalAlertPluginInstanceList();
             if (CollectionUtils.isEmpty(globalAlertInstanceList)) {
                 log.error("post listener event fail,no bind global plugin instance.");
-                listenerEventMapper.updateListenerEvent(eventId, AlertStatus.EXECUTION_FAILURE,
-                        "no bind plugin instance", new Date());
+                postedEvents.add(new PostedEvent(eventId, AlertStatus.EXECUTION_FAILURE, "no bind plugin instance"));
                 continue;
             }
             AbstractListenerEvent event = generateEventFromContent(listenerEvent);
             if (event == null) {
                 log.error("parse listener event to abstract listener event fail.ed {}", listenerEvent.getContent());
-                listenerEventMapper.updateListenerEvent(eventId, AlertStatus.EXECUTION_FAILURE,
-                        "parse listener event to abstract listener event failed", new Date());
+                postedEvents.add(new PostedEvent(eventId, AlertStatus.EXECUTION_FAILURE,
+                        "parse listener event to abstract listener event failed"));
                 continue;
             }
             List<AbstractListenerEvent> events = Lists.newArrayList(event);
@@ -135,37 +153,72 @@ public final class ListenerEventPostService extends BaseDaemonThread implements
                     .alertType(event.getEventType().getCode())
                     .build();
 
-            int sendSuccessCount = 0;
-            List<AlertSendStatus> failedPostResults = new ArrayList<>();
+            List<CompletableFuture<AlertResult>> alertResultFutures =
+                    new ArrayList<>(globalAlertInstanceList.size());
             for (AlertPluginInstance instance : globalAlertInstanceList) {
-                AlertResult alertResult = this.alertResultHandler(instance, alertData);
-                if (alertResult != null) {
-                    AlertStatus sendStatus = Boolean.parseBoolean(alertResult.getStatus())
-                            ? AlertStatus.EXECUTION_SUCCESS
-                            : AlertStatus.EXECUTION_FAILURE;
-                    if (AlertStatus.EXECUTION_SUCCESS.equals(sendStatus)) {
-                        sendSuccessCount++;
+                alertResultFutures.add(this.alertResultHandler(instance, alertData));
+            }
+            CompletableFuture.allOf(alertResultFutures.toArray(new CompletableFuture[0]))
+                    .whenComplete((ignore, ex) -> postedEvents
+                            .add(createPostedEvent(eventId, globalAlertInstanceList, alertResultFutures)));
+        }
+    }
+
+    /**
+     * Update the post status of the events which have been posted to all the global plugin instances, the events
+     * posted to all the plugin instances successfully are deleted in batch.
+     */
+    public void updatePostedEvents() {
+        int batchSize = alertConfig.getSender().getStatusUpdateBatchSize();
+        List<PostedEvent> postedEventBatch = new ArrayList<>(batchSize);
+        while (postedEvents.drainTo(postedEventBatch, batchSize) > 0) {
+            try {
+                List<Integer> successEventIds = new ArrayList<>();
+                for (PostedEvent postedEvent : postedEventBatch) {
+                    if (postedEvent.getPostStatus() == AlertStatus.EXECUTION_SUCCESS) {
+                        successEventIds.add(postedEvent.getEventId());
                     } else {
-                        AlertSendStatus alertSendStatus = AlertSendStatus.builder()
-                                .alertId(eventId)
-                                .alertPluginInstanceId(instance.getId())
-                                .sendStatus(sendStatus)
-                                .log(JSONUtils.toJsonString(alertResult))
-                                .createTime(new Date())
-                                .build();
-                        failedPostResults.add(alertSendStatus);
+                        listenerEventMapper.updateListenerEvent(postedEvent.getEventId(), postedEvent.getPostStatus(),
+                                postedEvent.getPostLog(), new Date());
                     }
                 }
+                if (!successEventIds.isEmpty()) {
+                    listenerEventMapper.deleteBatchIds(successEventIds);
+                }
+            } finally {
+                // if the update failed, the event is still waiting and will be posted again
+                postedEventBatch.forEach(postedEvent -> postingEventIds.remove(postedEvent.getEventId()));
+                postedEventBatch.clear();
             }
-            if (sendSuccessCount == globalAlertInstanceList.size()) {
-                listenerEventMapper.deleteById(eventId);
+        }
+    }
+
+    private PostedEvent createPostedEvent(int eventId,
+                                          List<AlertPluginInstance> globalAlertInstanceList,
+                                          List<CompletableFuture<AlertResult>> alertResultFutures) {
+        int sendSuccessCount = 0;
+        List<AlertSendStatus> failedPostResults = new ArrayList<>();
+        for (int i = 0; i < globalAlertInstanceList.size(); i++) {
+            AlertResult alertResult = alertResultFutures.get(i).join();
+            if (Boolean.parseBoolean(alertResult.getStatus())) {
+                sendSuccessCount++;
             } else {
-                AlertStatus alertStatus =
-                        sendSuccessCount == 0 ? AlertStatus.EXECUTION_FAILURE : AlertStatus.EXECUTION_PARTIAL_SUCCESS;
-                listenerEventMapper.updateListenerEvent(eventId, alertStatus, JSONUtils.toJsonString(failedPostResults),
-                        new Date());
+                AlertSendStatus alertSendStatus = AlertSendStatus.builder()
+                        .alertId(eventId)
+                        .alertPluginInstanceId(globalAlertInstanceList.get(i).getId())
+                        .sendStatus(AlertStatus.EXECUTION_FAILURE)
+                        .log(JSONUtils.toJsonString(alertResult))
+                        .createTime(new Date())
+                        .build();
+                failedPostResults.add(alertSendStatus);
             }
         }
+        if (sendSuccessCount == globalAlertInstanceList.size()) {
+            return new PostedEvent(eventId, AlertStatus.EXECUTION_SUCCESS, null);
+        }
+        AlertStatus alertStatus =
+                sendSuccessCount == 0 ? AlertStatus.EXECUTION_FAILURE : AlertStatus.EXECUTION_PARTIAL_SUCCESS;
+        return new PostedEvent(eventId, alertStatus, JSONUtils.toJsonString(failedPostResults));
     }
 
     /**
@@ -173,9 +226,9 @@ public final class ListenerEventPostService extends BaseDaemonThread implements
      *
      * @param instance  instance
      * @param alertData alertData
-     * @return AlertResult
+     * @return the future of AlertResult, which is completed once the plugin instance finished
      */
-    private @Nullable AlertResult alertResultHandler(AlertPluginInstance instance, AlertData alertData) {
+    private CompletableFuture<AlertResult> alertResultHandler(AlertPluginInstance instance, AlertData alertData) {
         String pluginInstanceName = instance.getInstanceName();
         int pluginDefineId = instance.getPluginDefineId();
         Optional<AlertChannel> alertChannelOptional = alertPluginManager.getAlertChannel(instance.getPluginDefineId());
@@ -185,7 +238,7 @@ public final class ListenerEventPostService extends BaseDaemonThread implements
                             pluginInstanceName,
                             pluginDefineId);
             log.error("Global Alert Plugin {} send error : not found plugin {}", pluginInstanceName, pluginDefineId);
-            return new AlertResult("false", message);
+            return CompletableFuture.completedFuture(new AlertResult("false", message));
         }
         AlertChannel alertChannel = alertChannelOptional.get();
 
@@ -196,36 +249,7 @@ public final class ListenerEventPostService extends BaseDaemonThread implements
                 .alertParams(paramsMap)
                 .alertPluginInstanceId(instance.getId())
                 .build();
-        int waitTimeout = alertConfig.getWaitTimeout();
-        try {
-            AlertResult alertResult;
-            if (waitTimeout <= 0) {
-                if (alertData.getAlertType() == AlertType.CLOSE_ALERT.getCode()) {
-                    alertResult = alertChannel.closeAlert(alertInfo);
-                } else {
-                    alertResult = alertChannel.process(alertInfo);
-                }
-            } else {
-                CompletableFuture<AlertResult> future;
-                if (alertData.getAlertType() == AlertType.CLOSE_ALERT.getCode()) {
-                    future = CompletableFuture.supplyAsync(() -> alertChannel.closeAlert(alertInfo));
-                } else {
-                    future = CompletableFuture.supplyAsync(() -> alertChannel.process(alertInfo));
-                }
-                alertResult = future.get(waitTimeout, TimeUnit.MILLISECONDS);
-            }
-            if (alertResult == null) {
-                throw new RuntimeException("Alert result cannot be null");
-            }
-            return alertResult;
-        } catch (InterruptedException e) {
-            log.error("post listener event error alert data id :{},", alertData.getId(), e);
-            Thread.currentThread().interrupt();
-            return new AlertResult("false", e.getMessage());
-        } catch (Exception e) {
-            log.error("post listener event error alert data id :{},", alertData.getId(), e);
-            return new AlertResult("false", e.getMessage());
-        }
+        return alertSendDispatcher.send(instance, alertChannel, alertInfo);
     }
 
     private AbstractListenerEvent generateEventFromContent(ListenerEvent listenerEvent) {
@@ -255,8 +279,25 @@ public final class ListenerEventPostService extends BaseDaemonThread implements
                 return null;
         }
     }
+
     @Override
     public void close() {
+        try {
+            updatePostedEvents();
+        } catch (Exception e) {
+            log.error("Update the posted events failed when closing ListenerEventPostService", e);
+        }
         log.info("Closed ListenerEventPostService...");
     }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PostedEvent {
+
+        private final int eventId;
+
+        private final AlertStatus postStatus;
+
+        private final String postLog;
+    }
 }
@@ -17,14 +17,21 @@
 
 package org.apache.dolphinscheduler.alert.runner;
 
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.apache.dolphinscheduler.alert.api.AlertChannel;
 import org.apache.dolphinscheduler.alert.api.AlertResult;
 import org.apache.dolphinscheduler.alert.config.AlertConfig;
 import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
+import org.apache.dolphinscheduler.alert.sender.AlertSendDispatcher;
 import org.apache.dolphinscheduler.alert.service.AlertBootstrapService;
+import org.apache.dolphinscheduler.common.enums.AlertStatus;
+import org.apache.dolphinscheduler.common.enums.AlertType;
 import org.apache.dolphinscheduler.common.enums.WarningType;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.AlertDao;
@@ -36,19 +43,25 @@ import org.apache.dolphinscheduler.dao.entity.PluginDefine;
 import org.apache.dolphinscheduler.extract.alert.request.AlertSendResponse;
 import org.apache.dolphinscheduler.spi.params.PluginParamsTransfer;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,6 +77,8 @@ public class AlertBootstrapServiceTest {
     private AlertPluginManager alertPluginManager;
     @Mock
     private AlertConfig alertConfig;
+    @Spy
+    private AlertSendDispatcher alertSendDispatcher = new AlertSendDispatcher(new AlertConfig());
 
     @InjectMocks
     private AlertBootstrapService alertBootstrapService;
@@ -83,6 +98,12 @@ public class AlertBootstrapServiceTest {
     @BeforeEach
     public void before() {
         MockitoAnnotations.initMocks(this);
+        when(alertConfig.getSender()).thenReturn(new AlertConfig.AlertSenderConfig());
+    }
+
+    @AfterEach
+    public void after() {
+        alertSendDispatcher.close();
     }
 
     @Test
@@ -196,6 +217,49 @@ public class AlertBootstrapServiceTest {
         alertBootstrapService.send(alertList);
     }
 
+    @Test
+    public void testSendAndUpdateSentAlertsInBatch() {
+        List<Alert> alertList = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            Alert alert = new Alert();
+            alert.setId(i);
+            alert.setAlertGroupId(ALERT_GROUP_ID);
+            alert.setTitle(TITLE);
+            alert.setContent(CONTENT);
+            alert.setWarningType(WarningType.FAILURE);
+            alert.setAlertType(AlertType.PROCESS_INSTANCE_FAILURE);
+            alertList.add(alert);
+        }
+        AlertPluginInstance alertPluginInstance = new AlertPluginInstance(
+                PLUGIN_DEFINE_ID, PLUGIN_INSTANCE_PARAMS, PLUGIN_INSTANCE_NAME);
+        alertPluginInstance.setId(1);
+        when(alertDao.listInstanceByAlertGroupId(ALERT_GROUP_ID))
+                .thenReturn(Collections.singletonList(alertPluginInstance));
+
+        CountDownLatch sendLatch = new CountDownLatch(1);
+        AlertChannel alertChannelMock = mock(AlertChannel.class);
+        when(alertChannelMock.process(Mockito.any())).thenAnswer(invocation -> {
+            sendLatch.await();
+            return new AlertResult("true", "success");
+        });
+        when(alertPluginManager.getAlertChannel(PLUGIN_DEFINE_ID)).thenReturn(Optional.of(alertChannelMock));
+
+        alertBootstrapService.send(alertList);
+        // the alerts are still being sent, they should not be sent again
+        alertBootstrapService.send(alertList);
+        sendLatch.countDown();
+
+        ArgumentCaptor<List<Alert>> alertCaptor = ArgumentCaptor.forClass(List.class);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            alertBootstrapService.updateSentAlerts();
+            verify(alertDao, atLeastOnce()).batchUpdateAlert(alertCaptor.capture());
+            Assertions.assertEquals(2, alertCaptor.getAllValues().stream().mapToInt(List::size).sum());
+        });
+        alertCaptor.getAllValues().stream().flatMap(List::stream)
+                .forEach(alert -> Assertions.assertEquals(AlertStatus.EXECUTION_SUCCESS, alert.getAlertStatus()));
+        verify(alertChannelMock, times(2)).process(Mockito.any());
+    }
+
     @Test
     public void testSendAlert() {
         AlertResult sendResult = new AlertResult();
@@ -211,4 +275,41 @@ public class AlertBootstrapServiceTest {
                 .thenReturn(paramsMap);
         alertBootstrapService.syncTestSend(PLUGIN_DEFINE_ID, PLUGIN_INSTANCE_PARAMS);
     }
+
+    @Test
+    public void testSendPendingAlertsExcludeSendingAlerts() {
+        Alert alert = new Alert();
+        alert.setId(1);
+        alert.setAlertGroupId(ALERT_GROUP_ID);
+        alert.setTitle(TITLE);
+        alert.setContent(CONTENT);
+        alert.setWarningType(WarningType.FAILURE);
+        alert.setAlertType(AlertType.PROCESS_INSTANCE_FAILURE);
+        AlertPluginInstance alertPluginInstance = new AlertPluginInstance(
+                PLUGIN_DEFINE_ID, PLUGIN_INSTANCE_PARAMS, PLUGIN_INSTANCE_NAME);
+        alertPluginInstance.setId(1);
+        when(alertDao.listInstanceByAlertGroupId(ALERT_GROUP_ID))
+                .thenReturn(Collections.singletonList(alertPluginInstance));
+        CountDownLatch sendLatch = new CountDownLatch(1);
+        AlertChannel alertChannelMock = mock(AlertChannel.class);
+        when(alertChannelMock.process(Mockito.any())).thenAnswer(invocation -> {
+            sendLatch.await();
+            return new AlertResult("true", "success");
+        });
+        when(alertPluginManager.getAlertChannel(PLUGIN_DEFINE_ID)).thenReturn(Optional.of(alertChannelMock));
+        when(alertDao.listPendingAlerts(Mockito.anyCollection())).thenReturn(Collections.singletonList(alert));
+
+        alertBootstrapService.sendPendingAlerts();
+        // the alert 1 is still being sent, it should be excluded in the query
+        alertBootstrapService.sendPendingAlerts();
+        verify(alertDao).listPendingAlerts(Collections.singleton(1));
+        sendLatch.countDown();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            alertBootstrapService.updateSentAlerts();
+            verify(alertDao).batchUpdateAlert(Mockito.anyList());
+        });
+        alertBootstrapService.sendPendingAlerts();
+        verify(alertDao, times(2)).listPendingAlerts(Collections.emptySet());
+    }
 }
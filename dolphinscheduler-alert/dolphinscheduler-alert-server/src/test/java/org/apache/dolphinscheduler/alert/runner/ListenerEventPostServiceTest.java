@@ -17,13 +17,16 @@
 
 package org.apache.dolphinscheduler.alert.runner;
 
+import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.apache.dolphinscheduler.alert.api.AlertChannel;
 import org.apache.dolphinscheduler.alert.api.AlertResult;
 import org.apache.dolphinscheduler.alert.config.AlertConfig;
 import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
+import org.apache.dolphinscheduler.alert.sender.AlertSendDispatcher;
 import org.apache.dolphinscheduler.alert.service.ListenerEventPostService;
 import org.apache.dolphinscheduler.common.enums.AlertPluginInstanceType;
 import org.apache.dolphinscheduler.common.enums.AlertStatus;
@@ -37,11 +40,14 @@ import org.apache.dolphinscheduler.dao.mapper.ListenerEventMapper;
 
 import org.apache.commons.codec.digest.DigestUtils;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -49,6 +55,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,6 +71,8 @@ public class ListenerEventPostServiceTest {
     private AlertPluginManager alertPluginManager;
     @Mock
     private AlertConfig alertConfig;
+    @Spy
+    private AlertSendDispatcher alertSendDispatcher = new AlertSendDispatcher(new AlertConfig());
 
     @InjectMocks
     private ListenerEventPostService listenerEventPostService;
@@ -71,6 +80,12 @@ public class ListenerEventPostServiceTest {
     @BeforeEach
     public void before() {
         MockitoAnnotations.initMocks(this);
+        when(alertConfig.getSender()).thenReturn(new AlertConfig.AlertSenderConfig());
+    }
+
+    @AfterEach
+    public void after() {
+        alertSendDispatcher.close();
     }
 
     @Test
@@ -111,6 +126,10 @@ public class ListenerEventPostServiceTest {
         Assertions.assertTrue(Boolean.parseBoolean(sendResult.getStatus()));
         when(listenerEventMapper.deleteById(1)).thenReturn(1);
         listenerEventPostService.send(events);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            listenerEventPostService.updatePostedEvents();
+            verify(listenerEventMapper).deleteBatchIds(Collections.singletonList(1));
+        });
     }
 
     @Test
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.sender;
+
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.alert.api.AlertChannel;
+import org.apache.dolphinscheduler.alert.api.AlertData;
+import org.apache.dolphinscheduler.alert.api.AlertInfo;
+import org.apache.dolphinscheduler.alert.api.AlertResult;
+import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
+public class AlertSendDispatcherTest {
+
+    private AlertConfig alertConfig;
+
+    private AlertSendDispatcher alertSendDispatcher;
+
+    private final CountDownLatch blockingLatch = new CountDownLatch(1);
+
+    @BeforeEach
+    public void before() {
+        alertConfig = new AlertConfig();
+        alertConfig.getSender().setWorkerThreads(1);
+        alertConfig.getSender().setQueueCapacity(1);
+        alertConfig.getSender().setCircuitBreakerFailureThreshold(2);
+        alertConfig.getSender().setCircuitBreakerOpenDuration(Duration.ofMillis(200));
+        alertSendDispatcher = new AlertSendDispatcher(alertConfig);
+    }
+
+    @AfterEach
+    public void after() {
+        blockingLatch.countDown();
+        alertSendDispatcher.close();
+    }
+
+    @Test
+    public void testSendToDifferentPluginInstanceConcurrently() {
+        AlertChannel slowChannel = mock(AlertChannel.class);
+        when(slowChannel.process(Mockito.any())).thenAnswer(invocation -> {
+            blockingLatch.await();
+            return new AlertResult("true", "slow");
+        });
+        AlertChannel fastChannel = mock(AlertChannel.class);
+        when(fastChannel.process(Mockito.any())).thenReturn(new AlertResult("true", "fast"));
+
+        CompletableFuture<AlertResult> slowResult =
+                alertSendDispatcher.send(createPluginInstance(1), slowChannel, createAlertInfo());
+        AlertResult fastResult = alertSendDispatcher.send(createPluginInstance(2), fastChannel, createAlertInfo())
+                .join();
+
+        Assertions.assertEquals("fast", fastResult.getMessage());
+        Assertions.assertFalse(slowResult.isDone());
+        blockingLatch.countDown();
+        Assertions.assertEquals("slow", slowResult.join().getMessage());
+    }
+
+    @Test
+    public void testSendTimeout() {
+        alertConfig.setWaitTimeout(100);
+        AlertChannel slowChannel = mock(AlertChannel.class);
+        when(slowChannel.process(Mockito.any())).thenAnswer(invocation -> {
+            blockingLatch.await();
+            return new AlertResult("true", "slow");
+        });
+
+        AlertResult alertResult = alertSendDispatcher.send(createPluginInstance(1), slowChannel, createAlertInfo())
+                .join();
+
+        Assertions.assertEquals("false", alertResult.getStatus());
+        Assertions.assertTrue(alertResult.getMessage().contains("timeout"));
+    }
+
+    @Test
+    public void testSendRejectedWhenQueueIsFull() {
+        alertConfig.getSender().setCircuitBreakerFailureThreshold(0);
+        AlertChannel slowChannel = mock(AlertChannel.class);
+        when(slowChannel.process(Mockito.any())).thenAnswer(invocation -> {
+            blockingLatch.await();
+            return new AlertResult("true", "slow");
+        });
+        AlertPluginInstance alertPluginInstance = createPluginInstance(1);
+
+        CompletableFuture<AlertResult> runningResult =
+                alertSendDispatcher.send(alertPluginInstance, slowChannel, createAlertInfo());
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> verify(slowChannel, times(1)).process(Mockito.any()));
+        CompletableFuture<AlertResult> queuedResult =
+                alertSendDispatcher.send(alertPluginInstance, slowChannel, createAlertInfo());
+        AlertResult rejectedResult = alertSendDispatcher.send(alertPluginInstance, slowChannel, createAlertInfo())
+                .join();
+
+        Assertions.assertEquals("false", rejectedResult.getStatus());
+        Assertions.assertTrue(rejectedResult.getMessage().contains("queue is full"));
+        blockingLatch.countDown();
+        Assertions.assertEquals("true", runningResult.join().getStatus());
+        Assertions.assertEquals("true", queuedResult.join().getStatus());
+    }
+
+    @Test
+    public void testCircuitBreaker() {
+        AlertChannel brokenChannel = mock(AlertChannel.class);
+        when(brokenChannel.process(Mockito.any())).thenThrow(new IllegalStateException("connection refused"));
+        AlertPluginInstance alertPluginInstance = createPluginInstance(1);
+
+        for (int i = 0; i < 2; i++) {
+            AlertResult alertResult =
+                    alertSendDispatcher.send(alertPluginInstance, brokenChannel, createAlertInfo()).join();
+            Assertions.assertEquals("connection refused", alertResult.getMessage());
+        }
+        // the circuit breaker is open, the plugin will not be called
+        AlertResult skippedResult = alertSendDispatcher.send(alertPluginInstance, brokenChannel, createAlertInfo())
+                .join();
+        Assertions.assertTrue(skippedResult.getMessage().contains("circuit breaker is open"));
+        verify(brokenChannel, times(2)).process(Mockito.any());
+
+        // the probe alert is sent after the open duration, and close the circuit breaker once succeed
+        doReturn(new AlertResult("true", "recovered")).when(brokenChannel).process(Mockito.any());
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> "recovered".equals(
+                        alertSendDispatcher.send(alertPluginInstance, brokenChannel, createAlertInfo())
+                                .join().getMessage()));
+        Assertions.assertEquals("recovered",
+                alertSendDispatcher.send(alertPluginInstance, brokenChannel, createAlertInfo()).join().getMessage());
+    }
+
+    private AlertPluginInstance createPluginInstance(int id) {
+        AlertPluginInstance alertPluginInstance = new AlertPluginInstance(1, "{}", "alert-instance-" + id);
+        alertPluginInstance.setId(id);
+        return alertPluginInstance;
+    }
+
+    private AlertInfo createAlertInfo() {
+        return AlertInfo.builder()
+                .alertData(AlertData.builder().id(1).title("title").content("content").build())
+                .build();
+    }
+
+    @Test
+    public void testRecreateSenderWhenPluginInstanceUpdated() {
+        AlertChannel slowChannel = mock(AlertChannel.class);
+        when(slowChannel.process(Mockito.any())).thenAnswer(invocation -> {
+            blockingLatch.await();
+            return new AlertResult("true", "slow");
+        });
+        AlertChannel fastChannel = mock(AlertChannel.class);
+        when(fastChannel.process(Mockito.any())).thenReturn(new AlertResult("true", "fast"));
+        AlertPluginInstance alertPluginInstance = createPluginInstance(1);
+        alertPluginInstance.setUpdateTime(new Date(1000));
+
+        CompletableFuture<AlertResult> slowResult =
+                alertSendDispatcher.send(alertPluginInstance, slowChannel, createAlertInfo());
+        AlertPluginInstance updatedAlertPluginInstance = createPluginInstance(1);
+        updatedAlertPluginInstance.setUpdateTime(new Date(2000));
+        // the updated plugin instance is sent by a new sender, so it's not blocked by the slow alert
+        AlertResult fastResult =
+                alertSendDispatcher.send(updatedAlertPluginInstance, fastChannel, createAlertInfo()).join();
+
+        Assertions.assertEquals("fast", fastResult.getMessage());
+        blockingLatch.countDown();
+        Assertions.assertEquals("slow", slowResult.join().getMessage());
+    }
+
+    @Test
+    public void testShutdownSenderOfRemovedPluginInstance() {
+        AlertChannel alertChannel = mock(AlertChannel.class);
+        when(alertChannel.process(Mockito.any())).thenReturn(new AlertResult("true", "success"));
+        AlertPluginInstance alertPluginInstance = createPluginInstance(1);
+        alertSendDispatcher.send(alertPluginInstance, alertChannel, createAlertInfo()).join();
+        alertSendDispatcher.send(createPluginInstance(2), alertChannel, createAlertInfo()).join();
+        Assertions.assertNotNull(findBacklogGauge(alertPluginInstance));
+
+        alertSendDispatcher.retainAlertPluginInstanceSenders(Collections.singletonList(2));
+
+        Assertions.assertNull(findBacklogGauge(alertPluginInstance));
+        Assertions.assertNotNull(findBacklogGauge(createPluginInstance(2)));
+    }
+
+    private Gauge findBacklogGauge(AlertPluginInstance alertPluginInstance) {
+        return Metrics.globalRegistry.find("ds.alert.send.backlog")
+                .tag("plugin_instance", alertPluginInstance.getInstanceName())
+                .gauge();
+    }
+}
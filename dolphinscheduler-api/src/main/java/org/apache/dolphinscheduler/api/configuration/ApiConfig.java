@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.api.configuration;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -44,6 +45,8 @@ public class ApiConfig implements Validator {
 
     private PythonGatewayConfiguration pythonGateway = new PythonGatewayConfiguration();
 
+    private PermissionCacheConfiguration permissionCache = new PermissionCacheConfiguration();
+
     @Override
     public boolean supports(Class<?> clazz) {
         return ApiConfig.class.isAssignableFrom(clazz);
@@ -51,6 +54,13 @@ public class ApiConfig implements Validator {
 
     @Override
     public void validate(Object target, Errors errors) {
+        if (permissionCache.getMaximumSize() <= 0) {
+            errors.rejectValue("permissionCache", null, "permission-cache.maximum-size should be positive");
+        }
+        if (permissionCache.getExpireAfterWrite() == null || permissionCache.getExpireAfterWrite().isNegative()
+                || permissionCache.getExpireAfterWrite().isZero()) {
+            errors.rejectValue("permissionCache", null, "permission-cache.expire-after-write should be positive");
+        }
         printConfig();
     }
 
@@ -58,6 +68,7 @@ public class ApiConfig implements Validator {
         log.info("API config: auditEnable -> {} ", auditEnable);
         log.info("API config: trafficControl -> {} ", trafficControl);
         log.info("API config: pythonGateway -> {} ", pythonGateway);
+        log.info("API config: permissionCache -> {} ", permissionCache);
     }
 
     @Data
@@ -87,4 +98,14 @@ public class ApiConfig implements Validator {
         private String authToken = "jwUDzpLsNKEFER4*a8gruBH_GsAurNxU7A@Xc";
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PermissionCacheConfiguration {
+
+        private boolean enabled = false;
+        private long maximumSize = 10000;
+        private Duration expireAfterWrite = Duration.ofSeconds(10);
+    }
+
 }
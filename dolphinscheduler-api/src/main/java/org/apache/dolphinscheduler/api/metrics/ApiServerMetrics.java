@@ -21,11 +21,15 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
+
+import com.google.common.cache.Cache;
+
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 
 @UtilityClass
 public class ApiServerMetrics {
@@ -123,6 +127,11 @@ public class ApiServerMetrics {
                         "user.id", String.valueOf(userId)));
     }
 
+    public static void registerPermissionCache(final Cache<?, ?> cache) {
+        // exports the hit/miss count, the hit rate = hit / (hit + miss)
+        GuavaCacheMetrics.monitor(Metrics.globalRegistry, cache, "ds.api.permission.cache");
+    }
+
     public static void registerUncachedException(final Supplier<Number> supplier) {
         Gauge.builder("ds.api.uncached.exception", supplier)
                 .description("number of uncached exception")
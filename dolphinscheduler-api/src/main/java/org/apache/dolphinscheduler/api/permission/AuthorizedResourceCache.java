@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.permission;
+
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
+import org.apache.dolphinscheduler.api.metrics.ApiServerMetrics;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import lombok.Value;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache the authorized resource ids of each user and authorization type, the entries are bounded by size and expired
+ * after write.
+ * <p>
+ * The api services should invalidate the authorization type after they change the resources or the grants, the
+ * invalidation is repeated after the current transaction completes, so the data loaded before the commit will not be
+ * cached. Changes that are not made through this api server, e.g. a grant revoked on another api server, are only
+ * visible after the entries expire, so the cache is disabled by default.
+ */
+@Component
+public class AuthorizedResourceCache {
+
+    private final boolean enabled;
+
+    private final Cache<AuthorizedResourceKey, Set<?>> authorizedResourceCache;
+
+    // increased on each invalidation, the loaded value is dropped if an invalidation happened during loading
+    private final AtomicLong invalidationVersion = new AtomicLong();
+
+    @Autowired
+    public AuthorizedResourceCache(ApiConfig apiConfig) {
+        this(apiConfig.getPermissionCache());
+    }
+
+    public AuthorizedResourceCache(ApiConfig.PermissionCacheConfiguration permissionCacheConfiguration) {
+        this.enabled = permissionCacheConfiguration.isEnabled();
+        this.authorizedResourceCache = CacheBuilder.newBuilder()
+                .maximumSize(permissionCacheConfiguration.getMaximumSize())
+                .expireAfterWrite(permissionCacheConfiguration.getExpireAfterWrite().toMillis(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        if (enabled) {
+            ApiServerMetrics.registerPermissionCache(authorizedResourceCache);
+        }
+    }
+
+    /**
+     * Get the authorized resource ids from the cache, if absent, load them by the given loader.
+     * <p>
+     * The returned set is shared by the callers, it should not be modified.
+     */
+    public Set<?> getAuthorizedResourceIds(Object authorizationType, int userId,
+                                           Supplier<Set<?>> authorizedResourceIdsLoader) {
+        if (!enabled) {
+            return authorizedResourceIdsLoader.get();
+        }
+        AuthorizedResourceKey authorizedResourceKey = new AuthorizedResourceKey(authorizationType, userId);
+        Set<?> authorizedResourceIds = authorizedResourceCache.getIfPresent(authorizedResourceKey);
+        if (authorizedResourceIds != null) {
+            return authorizedResourceIds;
+        }
+        long version = invalidationVersion.get();
+        authorizedResourceIds = authorizedResourceIdsLoader.get();
+        if (authorizedResourceIds != null && version == invalidationVersion.get()) {
+            authorizedResourceCache.put(authorizedResourceKey, authorizedResourceIds);
+        }
+        return authorizedResourceIds;
+    }
+
+    public void invalidate(Object authorizationType) {
+        if (!enabled) {
+            return;
+        }
+        Predicate<AuthorizedResourceKey> predicate =
+                authorizedResourceKey -> Objects.equals(authorizedResourceKey.getAuthorizationType(),
+                        authorizationType);
+        doInvalidate(predicate);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    doInvalidate(predicate);
+                }
+            });
+        }
+    }
+
+    private void doInvalidate(Predicate<AuthorizedResourceKey> predicate) {
+        invalidationVersion.incrementAndGet();
+        authorizedResourceCache.asMap().keySet().removeIf(predicate);
+    }
+
+    @Value
+    private static class AuthorizedResourceKey {
+
+        Object authorizationType;
+
+        int userId;
+    }
+}
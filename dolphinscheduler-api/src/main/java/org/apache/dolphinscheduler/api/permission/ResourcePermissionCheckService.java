@@ -58,4 +58,11 @@ public interface ResourcePermissionCheckService<T> {
      */
     boolean functionDisabled();
 
+    /**
+     * invalidate the cached authorized resources of the authorization type, should be called after the resources
+     * or the grants of the authorization type are changed
+     * @param authorizationType
+     */
+    void invalidateAuthorizedResourceCache(Object authorizationType);
+
 }
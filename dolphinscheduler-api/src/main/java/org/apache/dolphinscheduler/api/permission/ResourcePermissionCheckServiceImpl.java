@@ -89,6 +89,9 @@ public class ResourcePermissionCheckServiceImpl
     @Autowired
     private ProcessService processService;
 
+    @Autowired
+    private AuthorizedResourceCache authorizedResourceCache;
+
     public static final Map<AuthorizationType, ResourceAcquisitionAndPermissionCheck<?>> RESOURCE_LIST_MAP =
             new ConcurrentHashMap<>();
 
@@ -106,7 +109,7 @@ public class ResourcePermissionCheckServiceImpl
                                            Logger logger) {
         if (Objects.nonNull(needChecks) && needChecks.length > 0) {
             Set<?> originResSet = new HashSet<>(Arrays.asList(needChecks));
-            Set<?> ownResSets = RESOURCE_LIST_MAP.get(authorizationType).listAuthorizedResourceIds(userId, logger);
+            Set<?> ownResSets = listAuthorizedResourceIds(authorizationType, userId, logger);
             boolean checkResult = ownResSets != null && ownResSets.containsAll(originResSet);
             if (!checkResult) {
                 logger.warn("User does not have resource permission on associated resources, userId:{}", userId);
@@ -142,8 +145,19 @@ public class ResourcePermissionCheckServiceImpl
             logger.error("User does not exist, userId:{}.", userId);
             return Collections.emptySet();
         }
-        return (Set<Object>) RESOURCE_LIST_MAP.get(authorizationType).listAuthorizedResourceIds(
-                user.getUserType().equals(UserType.ADMIN_USER) ? 0 : userId, logger);
+        // copy the cached set since the callers may modify it
+        return new HashSet<>(listAuthorizedResourceIds(authorizationType,
+                user.getUserType().equals(UserType.ADMIN_USER) ? 0 : userId, logger));
+    }
+
+    @Override
+    public void invalidateAuthorizedResourceCache(Object authorizationType) {
+        authorizedResourceCache.invalidate(authorizationType);
+    }
+
+    private Set<?> listAuthorizedResourceIds(Object authorizationType, int userId, Logger logger) {
+        return authorizedResourceCache.getAuthorizedResourceIds(authorizationType, userId,
+                () -> RESOURCE_LIST_MAP.get(authorizationType).listAuthorizedResourceIds(userId, logger));
     }
 
     @Component
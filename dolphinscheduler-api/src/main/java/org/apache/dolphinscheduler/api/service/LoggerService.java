@@ -21,6 +21,8 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
 import org.apache.dolphinscheduler.dao.entity.User;
 
+import javax.servlet.http.HttpServletResponse;
+
 /**
  * logger service
  */
@@ -67,4 +69,23 @@ public interface LoggerService {
      * @return log byte array
      */
     byte[] getLogBytes(User loginUser, long projectCode, int taskInstId);
+
+    /**
+     * download log, the log file is transferred by chunks and streamed to the response
+     *
+     * @param loginUser   login user
+     * @param taskInstId task instance id
+     * @param response    response
+     */
+    void downloadLog(User loginUser, int taskInstId, HttpServletResponse response);
+
+    /**
+     * download log in specified project, the log file is transferred by chunks and streamed to the response
+     *
+     * @param loginUser   login user
+     * @param projectCode project code
+     * @param taskInstId  task instance id
+     * @param response    response
+     */
+    void downloadLog(User loginUser, long projectCode, int taskInstId, HttpServletResponse response);
 }
@@ -138,6 +138,7 @@ public class AccessTokenServiceImpl extends BaseServiceImpl implements AccessTok
         accessToken.setUpdateTime(new Date());
 
         int insert = accessTokenMapper.insert(accessToken);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.ACCESS_TOKEN);
 
         if (insert > 0) {
             return accessToken;
@@ -181,6 +182,7 @@ public class AccessTokenServiceImpl extends BaseServiceImpl implements AccessTok
             throw new ServiceException(Status.USER_NO_OPERATION_PERM);
         }
         accessTokenMapper.deleteById(id);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.ACCESS_TOKEN);
     }
 
     /**
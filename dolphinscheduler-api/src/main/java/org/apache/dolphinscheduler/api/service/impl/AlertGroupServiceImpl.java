@@ -177,6 +177,7 @@ public class AlertGroupServiceImpl extends BaseServiceImpl implements AlertGroup
             int insert = alertGroupMapper.insert(alertGroup);
             if (insert > 0) {
                 log.info("Create alert group complete, groupName:{}", alertGroup.getGroupName());
+                resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.ALERT_GROUP);
                 return alertGroup;
             }
             log.error("Create alert group error, groupName:{}", alertGroup.getGroupName());
@@ -265,6 +266,7 @@ public class AlertGroupServiceImpl extends BaseServiceImpl implements AlertGroup
         }
 
         alertGroupMapper.deleteById(id);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.ALERT_GROUP);
         log.info("Delete alert group complete, groupId:{}", id);
     }
 
@@ -123,6 +123,7 @@ public class DataSourceServiceImpl extends BaseServiceImpl implements DataSource
         dataSource.setUpdateTime(now);
         try {
             dataSourceMapper.insert(dataSource);
+            resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.DATASOURCE);
             return dataSource;
         } catch (DuplicateKeyException ex) {
             throw new ServiceException(Status.DATASOURCE_EXIST);
@@ -367,6 +368,7 @@ public class DataSourceServiceImpl extends BaseServiceImpl implements DataSource
         }
         dataSourceMapper.deleteById(datasourceId);
         datasourceUserMapper.deleteByDatasourceId(datasourceId);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.DATASOURCE);
     }
 
     /**
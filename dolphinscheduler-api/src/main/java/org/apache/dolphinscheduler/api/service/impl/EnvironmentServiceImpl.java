@@ -133,6 +133,7 @@ public class EnvironmentServiceImpl extends BaseServiceImpl implements Environme
         }
 
         if (environmentMapper.insert(env) > 0) {
+            resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.ENVIRONMENT);
             if (!StringUtils.isEmpty(workerGroups)) {
                 List<String> workerGroupList = JSONUtils.parseObject(workerGroups, new TypeReference<List<String>>() {
                 });
@@ -329,6 +330,7 @@ public class EnvironmentServiceImpl extends BaseServiceImpl implements Environme
 
         int delete = environmentMapper.deleteByCode(code);
         if (delete > 0) {
+            resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.ENVIRONMENT);
             relationMapper.delete(new QueryWrapper<EnvironmentWorkerGroupRelation>()
                     .lambda()
                     .eq(EnvironmentWorkerGroupRelation::getEnvironmentCode, code));
@@ -24,6 +24,7 @@ import org.apache.dolphinscheduler.api.service.K8sNamespaceService;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.AuthorizationType;
 import org.apache.dolphinscheduler.common.utils.CodeGenerateUtils;
 import org.apache.dolphinscheduler.dao.entity.Cluster;
 import org.apache.dolphinscheduler.dao.entity.K8sNamespace;
@@ -172,6 +173,7 @@ public class K8SNamespaceServiceImpl extends BaseServiceImpl implements K8sNames
         }
 
         k8sNamespaceMapper.insert(k8sNamespaceObj);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.K8S_NAMESPACE);
         log.info("K8s namespace create complete, namespace:{}.", k8sNamespaceObj.getNamespace());
         result.put(Constants.DATA_LIST, k8sNamespaceObj);
         putMsg(result, Status.SUCCESS);
@@ -233,6 +235,7 @@ public class K8SNamespaceServiceImpl extends BaseServiceImpl implements K8sNames
         }
 
         k8sNamespaceMapper.deleteById(id);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.K8S_NAMESPACE);
         log.info("K8s namespace delete complete, namespace:{}.", k8sNamespaceObj.getNamespace());
         putMsg(result, Status.SUCCESS);
         return result;
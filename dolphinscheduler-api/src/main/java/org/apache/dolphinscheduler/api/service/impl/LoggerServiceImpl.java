@@ -35,7 +35,10 @@ import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
 import org.apache.dolphinscheduler.extract.common.ILogService;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
@@ -43,11 +46,17 @@ import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPag
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 
+import javax.servlet.http.HttpServletResponse;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
 import com.google.common.primitives.Bytes;
@@ -61,6 +70,8 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
 
     private static final String LOG_HEAD_FORMAT = "[LOG-PATH]: %s, [HOST]:  %s%s";
 
+    private static final int LOG_FILE_CHUNK_SIZE = 1024 * 1024;
+
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
@@ -113,13 +124,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      */
     @Override
     public byte[] getLogBytes(User loginUser, int taskInstId) {
-        TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
-        if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
-            throw new ServiceException("task instance is null or host is null");
-        }
-        Project project = projectMapper.queryProjectByTaskInstanceId(taskInstId);
-        projectService.checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
-        return getLogBytes(taskInstance);
+        return getLogBytes(getDownloadableTaskInstance(loginUser, taskInstId));
     }
 
     /**
@@ -160,6 +165,45 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      */
     @Override
     public byte[] getLogBytes(User loginUser, long projectCode, int taskInstId) {
+        return getLogBytes(getDownloadableTaskInstance(loginUser, projectCode, taskInstId));
+    }
+
+    /**
+     * download log
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param response   response
+     */
+    @Override
+    public void downloadLog(User loginUser, int taskInstId, HttpServletResponse response) {
+        downloadLog(getDownloadableTaskInstance(loginUser, taskInstId), response);
+    }
+
+    /**
+     * download log in specified project
+     *
+     * @param loginUser   login user
+     * @param projectCode project code
+     * @param taskInstId  task instance id
+     * @param response    response
+     */
+    @Override
+    public void downloadLog(User loginUser, long projectCode, int taskInstId, HttpServletResponse response) {
+        downloadLog(getDownloadableTaskInstance(loginUser, projectCode, taskInstId), response);
+    }
+
+    private TaskInstance getDownloadableTaskInstance(User loginUser, int taskInstId) {
+        TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
+        if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
+            throw new ServiceException("task instance is null or host is null");
+        }
+        Project project = projectMapper.queryProjectByTaskInstanceId(taskInstId);
+        projectService.checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
+        return taskInstance;
+    }
+
+    private TaskInstance getDownloadableTaskInstance(User loginUser, long projectCode, int taskInstId) {
         // check user access for project
         projectService.checkProjectAndAuthThrowException(loginUser, projectCode, DOWNLOAD_LOG);
 
@@ -173,7 +217,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         if (taskDefinition != null && projectCode != taskDefinition.getProjectCode()) {
             throw new ServiceException("task instance does not exist in project");
         }
-        return getLogBytes(task);
+        return task;
     }
 
     /**
@@ -252,4 +296,79 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
             throw new ServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR);
         }
     }
+
+    /**
+     * download log, the response is committed once the first chunk is written, so the failure after that can only
+     * be found by the truncated log file
+     *
+     * @param taskInstance task instance
+     * @param response     response
+     */
+    private void downloadLog(TaskInstance taskInstance, HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + System.currentTimeMillis() + ".log" + "\"");
+        try {
+            OutputStream outputStream = response.getOutputStream();
+            writeLog(taskInstance, outputStream);
+            outputStream.flush();
+        } catch (Exception ex) {
+            log.error("Download TaskInstance: {} Log Error", taskInstance.getName(), ex);
+            throw new ServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR);
+        }
+    }
+
+    /**
+     * write the log to the output stream chunk by chunk, only one chunk is held in memory at a time, the log is read
+     * until the file size at the first chunk, so the download of a running task will not last forever. If the server
+     * is not upgraded and doesn't provide the chunk download, fall back to download the whole log file
+     *
+     * @param taskInstance task instance
+     * @param outputStream output stream
+     */
+    void writeLog(TaskInstance taskInstance, OutputStream outputStream) throws IOException {
+        String logPath = taskInstance.getLogPath();
+        outputStream.write(String.format(LOG_HEAD_FORMAT,
+                logPath,
+                taskInstance.getHost(),
+                Constants.SYSTEM_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8));
+
+        ILogService iLogService =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(taskInstance.getHost(), ILogService.class);
+        long offset = 0;
+        long logFileSize = -1;
+        do {
+            TaskInstanceLogFileChunkDownloadRequest request = TaskInstanceLogFileChunkDownloadRequest.builder()
+                    .taskInstanceId(taskInstance.getId())
+                    .taskInstanceLogAbsolutePath(logPath)
+                    .offset(offset)
+                    .chunkSize(LOG_FILE_CHUNK_SIZE)
+                    .build();
+            TaskInstanceLogFileChunkDownloadResponse response;
+            try {
+                response = iLogService.getTaskInstanceLogFileChunk(request);
+            } catch (MethodInvocationException ex) {
+                if (offset > 0 || !ex.isMethodNotFound()) {
+                    throw ex;
+                }
+                log.warn("The server: {} doesn't support the chunk download, download the whole log file",
+                        taskInstance.getHost());
+                byte[] logBytes = iLogService.getTaskInstanceWholeLogFileBytes(
+                        new TaskInstanceLogFileDownloadRequest(taskInstance.getId(), logPath)).getLogBytes();
+                if (logBytes != null) {
+                    outputStream.write(logBytes);
+                }
+                return;
+            }
+            if (logFileSize < 0) {
+                logFileSize = response.getLogFileSize();
+            }
+            byte[] chunkBytes = response.getChunkBytes();
+            if (chunkBytes == null || chunkBytes.length == 0) {
+                break;
+            }
+            outputStream.write(chunkBytes);
+            offset += chunkBytes.length;
+        } while (offset < logFileSize);
+    }
 }
@@ -32,6 +32,7 @@ import org.apache.dolphinscheduler.dao.entity.ProjectParameter;
 import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProjectParameterMapper;
+import org.apache.dolphinscheduler.service.cache.ProjectParameterCacheManager;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -65,6 +66,9 @@ public class ProjectParameterServiceImpl extends BaseServiceImpl implements Proj
     @Autowired
     private ProjectMapper projectMapper;
 
+    @Autowired
+    private ProjectParameterCacheManager projectParameterCacheManager;
+
     @Override
     @Transactional
     public Result createProjectParameter(User loginUser, long projectCode, String projectParameterName,
@@ -111,6 +115,7 @@ public class ProjectParameterServiceImpl extends BaseServiceImpl implements Proj
 
         if (projectParameterMapper.insert(projectParameter) > 0) {
             log.info("Project parameter is created and id is :{}", projectParameter.getId());
+            projectParameterCacheManager.evict(projectCode);
             result.setData(projectParameter);
             putMsg(result, Status.SUCCESS);
         } else {
@@ -160,6 +165,7 @@ public class ProjectParameterServiceImpl extends BaseServiceImpl implements Proj
 
         if (projectParameterMapper.updateById(projectParameter) > 0) {
             log.info("Project parameter is updated and id is :{}", projectParameter.getId());
+            projectParameterCacheManager.evict(projectCode);
             result.setData(projectParameter);
             putMsg(result, Status.SUCCESS);
         } else {
@@ -192,6 +198,7 @@ public class ProjectParameterServiceImpl extends BaseServiceImpl implements Proj
 
         if (projectParameterMapper.deleteById(projectParameter.getId()) > 0) {
             log.info("Project parameter is deleted and id is :{}.", projectParameter.getId());
+            projectParameterCacheManager.evict(projectCode);
             result.setData(Boolean.TRUE);
             putMsg(result, Status.SUCCESS);
         } else {
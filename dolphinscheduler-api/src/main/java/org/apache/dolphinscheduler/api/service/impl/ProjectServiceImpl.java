@@ -141,6 +141,7 @@ public class ProjectServiceImpl extends BaseServiceImpl implements ProjectServic
 
         if (projectMapper.insert(project) > 0) {
             log.info("Project is created and id is :{}", project.getId());
+            resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.PROJECTS);
             result.setData(project);
             putMsg(result, Status.SUCCESS);
         } else {
@@ -489,6 +490,7 @@ public class ProjectServiceImpl extends BaseServiceImpl implements ProjectServic
         int delete = projectMapper.deleteById(project.getId());
         if (delete > 0) {
             log.info("Project is deleted and id is :{}.", project.getId());
+            resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.PROJECTS);
             result.setData(Boolean.TRUE);
             putMsg(result, Status.SUCCESS);
         } else {
@@ -556,6 +558,7 @@ public class ProjectServiceImpl extends BaseServiceImpl implements ProjectServic
         int update = projectMapper.updateById(project);
         if (update > 0) {
             log.info("Project is updated and id is :{}", project.getId());
+            resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.PROJECTS);
             result.setData(project);
             putMsg(result, Status.SUCCESS);
         } else {
@@ -172,6 +172,7 @@ public class QueueServiceImpl extends BaseServiceImpl implements QueueService {
         Queue queueObj = new Queue(queueName, queue);
         validQueue(queueObj);
         queueMapper.insert(queueObj);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.QUEUE);
 
         return queueObj;
     }
@@ -244,6 +245,7 @@ public class QueueServiceImpl extends BaseServiceImpl implements QueueService {
         if (delete <= 0) {
             throw new ServiceException(Status.DELETE_QUEUE_BY_ID_ERROR);
         }
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.QUEUE);
 
     }
 
@@ -314,6 +316,7 @@ public class QueueServiceImpl extends BaseServiceImpl implements QueueService {
         Queue queueObj = new Queue(queueName, queue);
         validQueue(queueObj);
         queueMapper.insert(queueObj);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.QUEUE);
         log.info("Queue create complete, queueName:{}.", queueObj.getQueueName());
         return queueObj;
     }
@@ -129,6 +129,7 @@ public class TaskGroupServiceImpl extends BaseServiceImpl implements TaskGroupSe
 
         if (taskGroupMapper.insert(taskGroup) > 0) {
             log.info("Create task group complete, taskGroupName:{}.", taskGroup.getName());
+            resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.TASK_GROUP);
             result.put(Constants.DATA_LIST, taskGroup);
             putMsg(result, Status.SUCCESS);
         } else {
@@ -417,6 +418,7 @@ public class TaskGroupServiceImpl extends BaseServiceImpl implements TaskGroupSe
                 .collect(Collectors.toList());
         taskGroupQueueService.deleteByTaskGroupIds(taskGroupIds);
         taskGroupMapper.deleteBatchIds(taskGroupIds);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.TASK_GROUP);
     }
 
     private boolean hasProjectPerm(User loginUser, long projectCode, Map<String, Object> result,
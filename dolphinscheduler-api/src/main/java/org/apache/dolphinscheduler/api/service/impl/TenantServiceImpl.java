@@ -153,6 +153,7 @@ public class TenantServiceImpl extends BaseServiceImpl implements TenantService
         Tenant tenant = new Tenant(tenantCode, desc, queueId);
         createTenantValid(tenant);
         tenantMapper.insert(tenant);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.TENANT);
 
         storageOperate.createTenantDirIfNotExists(tenantCode);
         return tenant;
@@ -260,6 +261,7 @@ public class TenantServiceImpl extends BaseServiceImpl implements TenantService
         if (delete <= 0) {
             throw new ServiceException(Status.DELETE_TENANT_BY_ID_ERROR);
         }
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.TENANT);
 
         processInstanceMapper.updateProcessInstanceByTenantCode(tenant.getTenantCode(), Constants.DEFAULT);
         storageOperate.deleteTenant(tenant.getTenantCode());
@@ -347,6 +349,7 @@ public class TenantServiceImpl extends BaseServiceImpl implements TenantService
         Tenant tenant = new Tenant(tenantCode, desc, queueObj.getId());
         createTenantValid(tenant);
         tenantMapper.insert(tenant);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.TENANT);
         return tenant;
     }
 }
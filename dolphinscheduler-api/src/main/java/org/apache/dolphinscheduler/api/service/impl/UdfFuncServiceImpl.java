@@ -142,6 +142,7 @@ public class UdfFuncServiceImpl extends BaseServiceImpl implements UdfFuncServic
         udf.setUpdateTime(now);
 
         udfFuncMapper.insert(udf);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.UDF);
         log.info("UDF function create complete, udfFuncName:{}.", udf.getFuncName());
         putMsg(result, Status.SUCCESS);
         return result;
@@ -373,6 +374,7 @@ public class UdfFuncServiceImpl extends BaseServiceImpl implements UdfFuncServic
         }
         udfFuncMapper.deleteById(id);
         udfUserMapper.deleteByUdfFuncId(id);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.UDF);
         log.info("UDF function delete complete, udfFuncId:{}.", id);
         putMsg(result, Status.SUCCESS);
         return result;
@@ -480,6 +480,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
         userMapper.queryTenantCodeByUserId(id);
 
         accessTokenMapper.deleteAccessTokenByUserId(id);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.ACCESS_TOKEN);
         sessionService.expireSession(id);
 
         if (userMapper.deleteById(id) > 0) {
@@ -533,6 +534,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
                 this.projectUserMapper.deleteProjectRelation(project.getId(), user.getId());
             }
         });
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.PROJECTS);
 
         this.putMsg(result, Status.SUCCESS);
         return result;
@@ -586,6 +588,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
             projectUser.setUpdateTime(now);
             projectUserMapper.insert(projectUser);
         });
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.PROJECTS);
         putMsg(result, Status.SUCCESS);
 
         return result;
@@ -641,6 +644,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
             projectUser.setUpdateTime(now);
             projectUserMapper.insert(projectUser);
         });
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.PROJECTS);
         putMsg(result, Status.SUCCESS);
 
         return result;
@@ -699,6 +703,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
             projectUser.setCreateTime(today);
             projectUser.setUpdateTime(today);
             this.projectUserMapper.insert(projectUser);
+            resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.PROJECTS);
         }
         log.info("User is granted permission for projects, userId:{}, projectCode:{}.", userId, projectCode);
         this.putMsg(result, Status.SUCCESS);
@@ -746,6 +751,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
 
         // 4. delete th relationship between project and user
         this.projectUserMapper.deleteProjectRelation(project.getId(), user.getId());
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.PROJECTS);
         log.info("User is revoked permission for projects, userId:{}, projectCode:{}.", userId, projectCode);
         this.putMsg(result, Status.SUCCESS);
         return result;
@@ -781,6 +787,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
         }
 
         udfUserMapper.deleteByUserId(userId);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.UDF);
 
         if (check(result, StringUtils.isEmpty(udfIds), Status.SUCCESS)) {
             log.warn("Parameter udfIds is empty.");
@@ -839,6 +846,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
         }
 
         k8sNamespaceUserMapper.deleteNamespaceRelation(0, userId);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.K8S_NAMESPACE);
         if (StringUtils.isNotEmpty(namespaceIds)) {
             String[] namespaceIdArr = namespaceIds.split(",");
             for (String namespaceId : namespaceIdArr) {
@@ -885,6 +893,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
         }
 
         datasourceUserMapper.deleteByUserId(userId);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.DATASOURCE);
 
         if (check(result, StringUtils.isEmpty(datasourceIds), Status.SUCCESS)) {
             return result;
@@ -155,6 +155,7 @@ public class WorkerGroupServiceImpl extends BaseServiceImpl implements WorkerGro
         }
 
         handleDefaultWorkGroup(workerGroupMapper, workerGroup, loginUser, otherParamsJson);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.WORKER_GROUP);
         log.info("Worker group save complete, workerGroupName:{}.", workerGroup.getName());
         putMsg(result, Status.SUCCESS);
         result.put(Constants.DATA_LIST, workerGroup);
@@ -411,6 +412,7 @@ public class WorkerGroupServiceImpl extends BaseServiceImpl implements WorkerGro
         }
 
         workerGroupMapper.deleteById(id);
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.WORKER_GROUP);
 
         log.info("Delete worker group complete, workerGroupName:{}.", workerGroup.getName());
         putMsg(result, Status.SUCCESS);
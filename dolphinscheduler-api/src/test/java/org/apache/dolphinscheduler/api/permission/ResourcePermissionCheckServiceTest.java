@@ -17,16 +17,26 @@
 
 package org.apache.dolphinscheduler.api.permission;
 
+import org.apache.dolphinscheduler.api.configuration.ApiConfig;
 import org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationConstant;
+import org.apache.dolphinscheduler.api.enums.Status;
+import org.apache.dolphinscheduler.api.service.impl.UsersServiceImpl;
+import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.AuthorizationType;
 import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.dao.entity.Project;
 import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
+import org.apache.dolphinscheduler.dao.mapper.ProjectUserMapper;
+import org.apache.dolphinscheduler.dao.mapper.UserMapper;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,9 +45,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
 
 /**
  * permission service test
@@ -53,6 +65,16 @@ public class ResourcePermissionCheckServiceTest {
     @Mock
     private ProjectMapper projectMapper;
 
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private ProjectUserMapper projectUserMapper;
+
+    @Spy
+    private AuthorizedResourceCache authorizedResourceCache = new AuthorizedResourceCache(
+            new ApiConfig.PermissionCacheConfiguration(true, 10000, Duration.ofSeconds(10)));
+
     @InjectMocks
     ResourcePermissionCheckServiceImpl resourcePermissionCheckService;
 
@@ -119,6 +141,43 @@ public class ResourcePermissionCheckServiceTest {
                 .userOwnedResourceIdsAcquisition(AuthorizationType.PROJECTS, adminUser.getId(), logger).size());
     }
 
+    @Test
+    public void testAuthorizedResourceCache() {
+        User user = getGeneralUser();
+        Mockito.when(projectMapper.listAuthorizedProjects(user.getId(), null))
+                .thenReturn(Arrays.asList(getProject(1), getProject(2)));
+
+        Assertions.assertTrue(resourcePermissionCheckService.resourcePermissionCheck(AuthorizationType.PROJECTS,
+                new Object[]{1}, user.getId(), logger));
+        Assertions.assertFalse(resourcePermissionCheckService.resourcePermissionCheck(AuthorizationType.PROJECTS,
+                new Object[]{3}, user.getId(), logger));
+        Mockito.verify(projectMapper, Mockito.times(1)).listAuthorizedProjects(user.getId(), null);
+
+        // the project 3 is granted to the user
+        Mockito.when(projectMapper.listAuthorizedProjects(user.getId(), null))
+                .thenReturn(Arrays.asList(getProject(1), getProject(2), getProject(3)));
+        resourcePermissionCheckService.invalidateAuthorizedResourceCache(AuthorizationType.PROJECTS);
+        Assertions.assertTrue(resourcePermissionCheckService.resourcePermissionCheck(AuthorizationType.PROJECTS,
+                new Object[]{3}, user.getId(), logger));
+        Mockito.verify(projectMapper, Mockito.times(2)).listAuthorizedProjects(user.getId(), null);
+    }
+
+    @Test
+    public void testAuthorizedResourceCacheDisabled() {
+        ApiConfig.PermissionCacheConfiguration permissionCacheConfiguration =
+                new ApiConfig.PermissionCacheConfiguration();
+        permissionCacheConfiguration.setEnabled(false);
+        AuthorizedResourceCache disabledCache = new AuthorizedResourceCache(permissionCacheConfiguration);
+        int[] loadTimes = new int[1];
+        for (int i = 0; i < 2; i++) {
+            disabledCache.getAuthorizedResourceIds(AuthorizationType.PROJECTS, 1, () -> {
+                loadTimes[0]++;
+                return Collections.singleton(1);
+            });
+        }
+        Assertions.assertEquals(2, loadTimes[0]);
+    }
+
     private User getGeneralUser() {
         User user = new User();
         user.setId(2);
@@ -144,4 +203,33 @@ public class ResourcePermissionCheckServiceTest {
         project.setName("projectName");
         return project;
     }
+
+    @Test
+    public void testRevokeProjectOnTheCachedPath() {
+        User user = getGeneralUser();
+        Project project = getProject(3);
+        List<Project> authorizedProjects = new ArrayList<>(Arrays.asList(getProject(1), project));
+        Mockito.when(projectMapper.listAuthorizedProjects(user.getId(), null))
+                .thenAnswer(invocation -> new ArrayList<>(authorizedProjects));
+        Assertions.assertTrue(resourcePermissionCheckService.resourcePermissionCheck(AuthorizationType.PROJECTS,
+                new Object[]{3}, user.getId(), logger));
+
+        UsersServiceImpl usersService = new UsersServiceImpl();
+        ReflectionTestUtils.setField(usersService, "userMapper", userMapper);
+        ReflectionTestUtils.setField(usersService, "projectMapper", projectMapper);
+        ReflectionTestUtils.setField(usersService, "projectUserMapper", projectUserMapper);
+        ReflectionTestUtils.setField(usersService, "resourcePermissionCheckService", resourcePermissionCheckService);
+        Mockito.when(userMapper.selectById(user.getId().intValue())).thenReturn(user);
+        Mockito.when(projectMapper.queryByCode(project.getCode())).thenReturn(project);
+        Mockito.when(projectUserMapper.deleteProjectRelation(project.getId(), user.getId()))
+                .thenAnswer(invocation -> authorizedProjects.remove(project) ? 1 : 0);
+
+        Map<String, Object> result = usersService.revokeProject(getAdminUser(), user.getId(), project.getCode());
+        Assertions.assertEquals(Status.SUCCESS, result.get(Constants.STATUS));
+        Assertions.assertFalse(resourcePermissionCheckService.resourcePermissionCheck(AuthorizationType.PROJECTS,
+                new Object[]{3}, user.getId(), logger));
+        Assertions.assertTrue(resourcePermissionCheckService.resourcePermissionCheck(AuthorizationType.PROJECTS,
+                new Object[]{1}, user.getId(), logger));
+        Mockito.verify(projectMapper, Mockito.times(2)).listAuthorizedProjects(user.getId(), null);
+    }
 }
@@ -40,19 +40,26 @@ import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
 import org.apache.dolphinscheduler.extract.common.ILogService;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
 
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -63,11 +70,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -118,6 +129,19 @@ public class LoggerServiceTest {
                 throw new ServiceException("download error");
             }
 
+            @Override
+            public TaskInstanceLogFileChunkDownloadResponse getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkDownloadRequest taskInstanceLogFileChunkDownloadRequest) {
+                if (taskInstanceLogFileChunkDownloadRequest.getTaskInstanceId() == 10) {
+                    byte[] logBytes = "log content".getBytes();
+                    int offset = (int) taskInstanceLogFileChunkDownloadRequest.getOffset();
+                    int end = Math.min(logBytes.length, offset + 4);
+                    return new TaskInstanceLogFileChunkDownloadResponse(Arrays.copyOfRange(logBytes, offset, end),
+                            logBytes.length);
+                }
+
+                throw new ServiceException("download error");
+            }
+
             @Override
             public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
                 if (taskInstanceLogPageQueryRequest.getTaskInstanceId() != null) {
@@ -131,6 +155,11 @@ public class LoggerServiceTest {
                 return new TaskInstanceLogPageQueryResponse();
             }
 
+            @Override
+            public TaskInstanceLogTailResponse tailTaskInstanceLog(TaskInstanceLogTailRequest taskInstanceLogTailRequest) {
+                return new TaskInstanceLogTailResponse();
+            }
+
             @Override
             public GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest) {
                 return new GetAppIdResponse();
@@ -250,6 +279,28 @@ public class LoggerServiceTest {
         Assertions.assertEquals(43, logBytes.length - String.valueOf(nettyServerPort).length());
     }
 
+    @Test
+    public void testDownloadLog() throws Exception {
+        User loginUser = new User();
+        loginUser.setId(-1);
+        loginUser.setUserType(UserType.GENERAL_USER);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(10);
+        taskInstance.setHost("127.0.0.1:" + nettyServerPort);
+        taskInstance.setLogPath("/temp/log");
+        when(taskInstanceDao.queryById(10)).thenReturn(taskInstance);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        loggerService.downloadLog(loginUser, 10, response);
+        Assertions.assertTrue(response.getContentAsString().endsWith("log content"));
+        Assertions.assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).startsWith("attachment"));
+
+        taskInstance.setId(100);
+        when(taskInstanceDao.queryById(100)).thenReturn(taskInstance);
+        assertThrowsServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR,
+                () -> loggerService.downloadLog(loginUser, 100, new MockHttpServletResponse()));
+    }
+
     @Test
     public void testQueryLogInSpecifiedProject() {
         long projectCode = 1L;
@@ -357,4 +408,37 @@ public class LoggerServiceTest {
             result.put(Constants.MSG, status.getMsg());
         }
     }
+
+    @Test
+    public void testDownloadLogFromServerWithoutChunkDownload() throws Exception {
+        User loginUser = new User();
+        loginUser.setId(-1);
+        loginUser.setUserType(UserType.GENERAL_USER);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(10);
+        taskInstance.setHost("127.0.0.1:" + nettyServerPort);
+        taskInstance.setLogPath("/temp/log");
+        when(taskInstanceDao.queryById(10)).thenReturn(taskInstance);
+
+        ILogService iLogService = Mockito.mock(ILogService.class);
+        when(iLogService.getTaskInstanceLogFileChunk(Mockito.any())).thenThrow(MethodInvocationException
+                .of(MethodInvocationException.METHOD_NOT_FOUND_MESSAGE_PREFIX + "getTaskInstanceLogFileChunk"));
+        when(iLogService.getTaskInstanceWholeLogFileBytes(Mockito.any()))
+                .thenReturn(new TaskInstanceLogFileDownloadResponse("log content".getBytes()));
+        try (
+                MockedStatic<SingletonJdkDynamicRpcClientProxyFactory> proxyFactory =
+                        Mockito.mockStatic(SingletonJdkDynamicRpcClientProxyFactory.class)) {
+            proxyFactory.when(() -> SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(taskInstance.getHost(),
+                    ILogService.class)).thenReturn(iLogService);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            loggerService.downloadLog(loginUser, 10, response);
+            Assertions.assertTrue(response.getContentAsString().endsWith("log content"));
+
+            doThrow(MethodInvocationException.of("download error")).when(iLogService)
+                    .getTaskInstanceLogFileChunk(Mockito.any());
+            assertThrowsServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR,
+                    () -> loggerService.downloadLog(loginUser, 10, new MockHttpServletResponse()));
+            Mockito.verify(iLogService, Mockito.times(1)).getTaskInstanceWholeLogFileBytes(Mockito.any());
+        }
+    }
 }
@@ -36,6 +36,7 @@ import org.apache.dolphinscheduler.dao.entity.ProjectParameter;
 import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProjectParameterMapper;
+import org.apache.dolphinscheduler.service.cache.ProjectParameterCacheManager;
 
 import java.util.Collections;
 
@@ -67,6 +68,9 @@ public class ProjectParameterServiceTest {
     @Mock
     private ProjectServiceImpl projectService;
 
+    @Mock
+    private ProjectParameterCacheManager projectParameterCacheManager;
+
     protected final static long projectCode = 1L;
 
     @Test
@@ -149,6 +153,7 @@ public class ProjectParameterServiceTest {
         ProjectParameter projectParameter = (ProjectParameter) result.getData();
         assertNotNull(projectParameter.getOperator());
         assertNotNull(projectParameter.getUpdateTime());
+        Mockito.verify(projectParameterCacheManager).evict(projectCode);
     }
 
     @Test
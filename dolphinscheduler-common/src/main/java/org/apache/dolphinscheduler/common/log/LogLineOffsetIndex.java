@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * A sparse line offset index of a log file, it records the byte offset of every {@link #indexInterval} lines, so the
+ * page query can seek to the nearest indexed line rather than scanning from the beginning of the file.
+ * <p>
+ * The log file is append only, the index is extended incrementally from the last indexed position when the file grows,
+ * and rebuilt if the file is truncated or replaced. A line is terminated by '\n', '\r' or "\r\n", the same as
+ * {@link java.io.BufferedReader#readLine()}, a '\r' at the end of the file is not indexed until the next byte is
+ * written, since it may be followed by a '\n'.
+ */
+@Slf4j
+public class LogLineOffsetIndex {
+
+    public static final int DEFAULT_INDEX_INTERVAL = 1000;
+
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    private static final Cache<String, LogLineOffsetIndex> LOG_LINE_OFFSET_INDEX_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .build();
+
+    private final Path filePath;
+
+    private final int indexInterval;
+
+    // checkpoints[i] is the byte offset of the line i * indexInterval
+    private long[] checkpoints = new long[16];
+
+    private int checkpointCount;
+
+    // the count of the lines which are terminated and have been indexed
+    private long indexedLineCount;
+
+    // the byte offset after the last indexed line terminator, which is the beginning of the line indexedLineCount
+    private long indexedOffset;
+
+    private Object fileKey;
+
+    LogLineOffsetIndex(Path filePath, int indexInterval) {
+        if (indexInterval <= 0) {
+            throw new IllegalArgumentException("The indexInterval should be positive, but is " + indexInterval);
+        }
+        this.filePath = filePath;
+        this.indexInterval = indexInterval;
+        reset(null);
+    }
+
+    public static LogLineOffsetIndex of(String filePath) {
+        try {
+            return LOG_LINE_OFFSET_INDEX_CACHE.get(filePath,
+                    () -> new LogLineOffsetIndex(Paths.get(filePath), DEFAULT_INDEX_INTERVAL));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Create the log line offset index of " + filePath + " error", e);
+        }
+    }
+
+    public static void invalidate(String filePath) {
+        LOG_LINE_OFFSET_INDEX_CACHE.invalidate(filePath);
+    }
+
+    /**
+     * Find the nearest indexed line which is not after the given line.
+     */
+    public synchronized LinePosition locate(long lineNumber) throws IOException {
+        if (lineNumber < 0) {
+            throw new IllegalArgumentException("The lineNumber should not be negative, but is " + lineNumber);
+        }
+        refresh();
+        if (lineNumber >= indexedLineCount) {
+            return new LinePosition(indexedLineCount, indexedOffset);
+        }
+        int checkpointIndex = (int) (lineNumber / indexInterval);
+        return new LinePosition((long) checkpointIndex * indexInterval, checkpoints[checkpointIndex]);
+    }
+
+    private void refresh() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+        long fileSize = attributes.size();
+        if (fileSize < indexedOffset || !Objects.equals(fileKey, attributes.fileKey())) {
+            log.debug("The log file: {} is truncated or replaced, rebuild the line offset index", filePath);
+            reset(attributes.fileKey());
+        }
+        if (fileSize == indexedOffset) {
+            return;
+        }
+        try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            ByteBuffer byteBuffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+            long position = indexedOffset;
+            // whether the previous byte is a '\r' which terminates a line
+            boolean carriageReturn = false;
+            int readLength;
+            while (position < fileSize && (readLength = fileChannel.read(byteBuffer, position)) != -1) {
+                byte[] bytes = byteBuffer.array();
+                for (int i = 0; i < readLength; i++) {
+                    if (carriageReturn) {
+                        carriageReturn = false;
+                        if (bytes[i] == '\n') {
+                            // "\r\n"
+                            indexLine(position + i + 1);
+                            continue;
+                        }
+                        indexLine(position + i);
+                    }
+                    if (bytes[i] == '\r') {
+                        carriageReturn = true;
+                    } else if (bytes[i] == '\n') {
+                        indexLine(position + i + 1);
+                    }
+                }
+                position += readLength;
+                byteBuffer.clear();
+            }
+        }
+    }
+
+    private void indexLine(long nextLineOffset) {
+        indexedLineCount++;
+        indexedOffset = nextLineOffset;
+        if (indexedLineCount % indexInterval == 0) {
+            addCheckpoint(indexedOffset);
+        }
+    }
+
+    private void reset(Object fileKey) {
+        this.fileKey = fileKey;
+        this.checkpointCount = 0;
+        this.indexedLineCount = 0;
+        this.indexedOffset = 0;
+        addCheckpoint(0);
+    }
+
+    private void addCheckpoint(long offset) {
+        if (checkpointCount == checkpoints.length) {
+            checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+        }
+        checkpoints[checkpointCount++] = offset;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class LinePosition {
+
+        private final long lineNumber;
+
+        private final long offset;
+    }
+}
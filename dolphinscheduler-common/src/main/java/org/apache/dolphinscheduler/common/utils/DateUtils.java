@@ -29,8 +29,10 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Map;
 import java.util.Objects;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -51,10 +53,36 @@ public final class DateUtils {
     private static final DateTimeFormatter YYYY_MM_DD_HH_MM_SS =
             DateTimeFormatter.ofPattern(DateConstants.YYYY_MM_DD_HH_MM_SS);
 
+    /**
+     * The formatters are immutable and thread-safe, cache them by pattern since the patterns come from a limited set
+     * of time placeholders and constants, the size is bounded in case of the unexpected patterns.
+     */
+    private static final int MAX_CACHED_FORMATTERS = 1024;
+
+    private static final Map<String, DateTimeFormatter> DATE_TIME_FORMATTER_CACHE = new ConcurrentHashMap<>();
+
     private DateUtils() {
         throw new UnsupportedOperationException("Construct DateUtils");
     }
 
+    /**
+     * get the cached formatter of the pattern
+     *
+     * @param pattern date format, e.g. yyyy-MM-dd HH:mm:ss
+     * @return date time formatter
+     */
+    public static DateTimeFormatter getDateTimeFormatter(String pattern) {
+        DateTimeFormatter dateTimeFormatter = DATE_TIME_FORMATTER_CACHE.get(pattern);
+        if (dateTimeFormatter != null) {
+            return dateTimeFormatter;
+        }
+        dateTimeFormatter = DateTimeFormatter.ofPattern(pattern);
+        if (DATE_TIME_FORMATTER_CACHE.size() < MAX_CACHED_FORMATTERS) {
+            DATE_TIME_FORMATTER_CACHE.putIfAbsent(pattern, dateTimeFormatter);
+        }
+        return dateTimeFormatter;
+    }
+
     /**
      * date to local datetime
      *
@@ -108,7 +136,7 @@ public final class DateUtils {
      * @return date string
      */
     public static String getCurrentTime(String format) {
-        return LocalDateTime.now().format(DateTimeFormatter.ofPattern(format));
+        return LocalDateTime.now().format(getDateTimeFormatter(format));
     }
 
     /**
@@ -119,7 +147,7 @@ public final class DateUtils {
      * @return date string
      */
     public static String format(Date date, String format, String timezone) {
-        return format(date, DateTimeFormatter.ofPattern(format), timezone);
+        return format(date, getDateTimeFormatter(format), timezone);
     }
 
     public static String format(Date date, DateTimeFormatter dateTimeFormatter, String timezone) {
@@ -137,7 +165,7 @@ public final class DateUtils {
      * @return date string
      */
     public static String format(LocalDateTime localDateTime, String format) {
-        return format(localDateTime, DateTimeFormatter.ofPattern(format));
+        return format(localDateTime, getDateTimeFormatter(format));
     }
 
     public static String format(LocalDateTime localDateTime, DateTimeFormatter dateTimeFormatter) {
@@ -194,7 +222,7 @@ public final class DateUtils {
      * @return zone date time string
      */
     public static String dateToString(ZonedDateTime zonedDateTime, ZoneId zoneId) {
-        return DateTimeFormatter.ofPattern(DateConstants.YYYY_MM_DD_HH_MM_SS).withZone(zoneId).format(zonedDateTime);
+        return YYYY_MM_DD_HH_MM_SS.withZone(zoneId).format(zonedDateTime);
     }
 
     /**
@@ -206,7 +234,7 @@ public final class DateUtils {
      * @return date
      */
     public static Date parse(String date, String format, String timezone) {
-        return parse(date, DateTimeFormatter.ofPattern(format), timezone);
+        return parse(date, getDateTimeFormatter(format), timezone);
     }
 
     public static Date parse(String date, DateTimeFormatter dateTimeFormatter, String timezone) {
@@ -622,7 +650,7 @@ public final class DateUtils {
         }
         String dateToString = dateToString(date, sourceTimezoneId);
         LocalDateTime localDateTime =
-                LocalDateTime.parse(dateToString, DateTimeFormatter.ofPattern(DateConstants.YYYY_MM_DD_HH_MM_SS));
+                LocalDateTime.parse(dateToString, YYYY_MM_DD_HH_MM_SS);
         ZonedDateTime zonedDateTime =
                 ZonedDateTime.of(localDateTime, TimeZone.getTimeZone(targetTimezoneId).toZoneId());
         return Date.from(zonedDateTime.toInstant());
@@ -725,7 +753,7 @@ public final class DateUtils {
      */
     public static Date parse(String date, String format) {
         try {
-            LocalDateTime ldt = LocalDateTime.parse(date, DateTimeFormatter.ofPattern(format));
+            LocalDateTime ldt = LocalDateTime.parse(date, getDateTimeFormatter(format));
             return localDateTime2Date(ldt);
         } catch (Exception e) {
             log.error("error while parse date:" + date, e);
@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.common.utils;
 
+import org.apache.dolphinscheduler.common.log.LogFileSegment;
+import org.apache.dolphinscheduler.common.log.LogLineOffsetIndex;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
 
 import java.io.BufferedReader;
@@ -26,12 +28,15 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,6 +47,11 @@ import ch.qos.logback.classic.LoggerContext;
 @Slf4j
 public class LogUtils {
 
+    /**
+     * The max bytes of a log file chunk which can be read at once, to bound the memory used by each download request.
+     */
+    public static final int MAX_LOG_FILE_CHUNK_SIZE = 4 * 1024 * 1024;
+
     public static byte[] getFileContentBytesFromLocal(String filePath) {
         try (
                 InputStream in = new FileInputStream(filePath);
@@ -74,13 +84,70 @@ public class LogUtils {
         return getFileContentBytesFromLocal(filePath);
     }
 
+    /**
+     * Read at most length bytes of the file from the given offset, the length is limited by
+     * {@link #MAX_LOG_FILE_CHUNK_SIZE}, an empty array will be returned if the offset is not before the end of file.
+     */
+    public static byte[] readFileBytesFromLocal(String filePath, long offset, int length) {
+        File file = new File(filePath);
+        if (!file.exists() || !file.isFile()) {
+            throw new RuntimeException("The file path: " + filePath + " not exists");
+        }
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long remaining = Math.max(fileChannel.size() - Math.max(offset, 0), 0);
+            int readLength = (int) Math.min(Math.min(Math.max(length, 0), MAX_LOG_FILE_CHUNK_SIZE), remaining);
+            ByteBuffer byteBuffer = ByteBuffer.allocate(readLength);
+            while (byteBuffer.hasRemaining()
+                    && fileChannel.read(byteBuffer, offset + byteBuffer.position()) != -1) {
+            }
+            if (byteBuffer.hasRemaining()) {
+                return Arrays.copyOf(byteBuffer.array(), byteBuffer.position());
+            }
+            return byteBuffer.array();
+        } catch (IOException e) {
+            log.error("read file error", e);
+            throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+        }
+    }
+
+    public static byte[] readFileBytesFromRemote(String filePath, long offset, int length) {
+        RemoteLogUtils.getRemoteLog(filePath);
+        return readFileBytesFromLocal(filePath, offset, length);
+    }
+
+    public static byte[] readFileBytes(String filePath, long offset, int length) {
+        File file = new File(filePath);
+        if (file.exists()) {
+            return readFileBytesFromLocal(filePath, offset, length);
+        }
+        if (RemoteLogUtils.isRemoteLoggingEnable()) {
+            return readFileBytesFromRemote(filePath, offset, length);
+        }
+        return readFileBytesFromLocal(filePath, offset, length);
+    }
+
     public static List<String> readPartFileContentFromLocal(String filePath,
                                                             int skipLine,
                                                             int limit) {
         File file = new File(filePath);
         if (file.exists() && file.isFile()) {
-            try (Stream<String> stream = Files.lines(Paths.get(filePath))) {
-                return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
+            try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                // seek to the nearest indexed line, so the latency doesn't depend on the requested line number
+                LogLineOffsetIndex.LinePosition linePosition = LogLineOffsetIndex.of(filePath).locate(skipLine);
+                fileChannel.position(linePosition.getOffset());
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(Channels.newInputStream(fileChannel), StandardCharsets.UTF_8));
+                for (long i = linePosition.getLineNumber(); i < skipLine; i++) {
+                    if (reader.readLine() == null) {
+                        return Collections.emptyList();
+                    }
+                }
+                List<String> lines = new ArrayList<>();
+                String line;
+                while (lines.size() < limit && (line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+                return lines;
             } catch (IOException e) {
                 log.error("read file error", e);
                 throw new RuntimeException(String.format("Read file: %s error", filePath), e);
@@ -110,6 +177,75 @@ public class LogUtils {
         return readPartFileContentFromLocal(filePath, skipLine, limit);
     }
 
+    /**
+     * Read at most maxBytes of the file from the given byte offset, the segment ends at a line break if there is one,
+     * so the caller can tail the log by passing the {@link LogFileSegment#getEndOffset()} back. The maxBytes is limited
+     * by {@link #MAX_LOG_FILE_CHUNK_SIZE}. If the offset is beyond the file size, e.g. the file has been truncated, the
+     * file will be read from the beginning.
+     */
+    public static LogFileSegment readFileSegmentFromLocal(String filePath,
+                                                          long offset,
+                                                          int maxBytes) {
+        File file = new File(filePath);
+        if (!file.exists() || !file.isFile()) {
+            throw new RuntimeException("The file path: " + filePath + " not exists");
+        }
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = fileChannel.size();
+            long startOffset = offset < 0 || offset > fileSize ? 0 : offset;
+            int readLength = (int) Math.min(Math.min(Math.max(maxBytes, 0), MAX_LOG_FILE_CHUNK_SIZE),
+                    fileSize - startOffset);
+            ByteBuffer byteBuffer = ByteBuffer.allocate(readLength);
+            while (byteBuffer.hasRemaining()
+                    && fileChannel.read(byteBuffer, startOffset + byteBuffer.position()) != -1) {
+            }
+            int length = getSegmentLength(byteBuffer.array(), byteBuffer.position());
+            String content = new String(byteBuffer.array(), 0, length, StandardCharsets.UTF_8);
+            return new LogFileSegment(content, startOffset, startOffset + length, fileSize);
+        } catch (IOException e) {
+            log.error("read file error", e);
+            throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+        }
+    }
+
+    public static LogFileSegment readFileSegmentFromRemote(String filePath,
+                                                           long offset,
+                                                           int maxBytes) {
+        RemoteLogUtils.getRemoteLog(filePath);
+        return readFileSegmentFromLocal(filePath, offset, maxBytes);
+    }
+
+    public static LogFileSegment readFileSegment(String filePath,
+                                                 long offset,
+                                                 int maxBytes) {
+        File file = new File(filePath);
+        if (file.exists()) {
+            return readFileSegmentFromLocal(filePath, offset, maxBytes);
+        }
+        if (RemoteLogUtils.isRemoteLoggingEnable()) {
+            return readFileSegmentFromRemote(filePath, offset, maxBytes);
+        }
+        return readFileSegmentFromLocal(filePath, offset, maxBytes);
+    }
+
+    private static int getSegmentLength(byte[] bytes, int length) {
+        // the same line breaks as the LogLineOffsetIndex, a '\n' following the '\r' is read by the next segment
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n' || bytes[i] == '\r') {
+                return i + 1;
+            }
+        }
+        // there is no line break, don't split a multibyte utf-8 character
+        for (int i = length - 1; i >= 0 && i >= length - 4; i--) {
+            int b = bytes[i] & 0xFF;
+            if ((b & 0xC0) != 0x80) {
+                int charLength = b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : b >= 0xC0 ? 2 : 1;
+                return i + charLength <= length ? length : i;
+            }
+        }
+        return length;
+    }
+
     public static String readWholeFileContentFromRemote(String filePath) {
         RemoteLogUtils.getRemoteLog(filePath);
         return LogUtils.readWholeFileContentFromLocal(filePath);
@@ -301,4 +301,11 @@ public class DateUtilsTest {
         Date date = DateUtils.timeStampToDate(0L);
         Assertions.assertNull(date);
     }
+
+    @Test
+    public void testGetDateTimeFormatter() {
+        Assertions.assertSame(DateUtils.getDateTimeFormatter("yyyyMMdd"), DateUtils.getDateTimeFormatter("yyyyMMdd"));
+        Assertions.assertEquals("20220101",
+                DateUtils.format(DateUtils.stringToDate("2022-01-01 12:00:00"), "yyyyMMdd", null));
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.utils;
+
+import org.apache.dolphinscheduler.common.log.LogFileSegment;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogUtilsTest {
+
+    @TempDir
+    private Path tempDirectory;
+
+    @Test
+    public void testReadPartFileContentFromLocal() throws IOException {
+        Path logFile = tempDirectory.resolve("task.log");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 3500; i++) {
+            lines.add("log line " + i);
+        }
+        Files.write(logFile, lines);
+        String logPath = logFile.toString();
+
+        for (int skipLine : Arrays.asList(0, 1, 999, 1000, 1001, 2500, 3499, 3500, 4000)) {
+            Assertions.assertEquals(readByLineScanning(logFile, skipLine, 20),
+                    LogUtils.readPartFileContentFromLocal(logPath, skipLine, 20));
+        }
+
+        // the index should be extended when the log file grows
+        Files.write(logFile, Arrays.asList("log line 3500", "log line 3501"), StandardOpenOption.APPEND);
+        Assertions.assertEquals(Arrays.asList("log line 3499", "log line 3500", "log line 3501"),
+                LogUtils.readPartFileContentFromLocal(logPath, 3499, 10));
+
+        // the index should be rebuilt when the log file is truncated
+        Files.write(logFile, Arrays.asList("new line 0", "new line 1"));
+        Assertions.assertEquals(Collections.singletonList("new line 1"),
+                LogUtils.readPartFileContentFromLocal(logPath, 1, 10));
+        Assertions.assertEquals(Collections.emptyList(), LogUtils.readPartFileContentFromLocal(logPath, 3000, 10));
+    }
+
+    @Test
+    public void testReadPartFileContentFromLocalWithPartialLastLine() throws IOException {
+        Path logFile = tempDirectory.resolve("partial.log");
+        Files.write(logFile, "line 0\nline 1\nline".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(Arrays.asList("line 1", "line"),
+                LogUtils.readPartFileContentFromLocal(logFile.toString(), 1, 10));
+
+        Files.write(logFile, " 2\nline 3\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        Assertions.assertEquals(Arrays.asList("line 2", "line 3"),
+                LogUtils.readPartFileContentFromLocal(logFile.toString(), 2, 10));
+    }
+
+    @Test
+    public void testReadPartFileContentFromLocalWithCarriageReturn() throws IOException {
+        Path logFile = tempDirectory.resolve("carriage-return.log");
+        List<String> lineSeparators = Arrays.asList("\n", "\r\n", "\r");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 3500; i++) {
+            content.append("log line ").append(i).append(lineSeparators.get(i % lineSeparators.size()));
+        }
+        Files.write(logFile, content.toString().getBytes(StandardCharsets.UTF_8));
+        String logPath = logFile.toString();
+
+        for (int skipLine : Arrays.asList(0, 1, 2, 999, 1000, 1001, 2500, 3499, 3500)) {
+            Assertions.assertEquals(readByLineScanning(logFile, skipLine, 20),
+                    LogUtils.readPartFileContentFromLocal(logPath, skipLine, 20));
+        }
+
+        // the '\r' at the end of file may be followed by a '\n'
+        Files.write(logFile, "line 0\r".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(Collections.singletonList("line 0"),
+                LogUtils.readPartFileContentFromLocal(logPath, 0, 10));
+        Files.write(logFile, "\nline 1\r".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        Assertions.assertEquals(Collections.singletonList("line 1"),
+                LogUtils.readPartFileContentFromLocal(logPath, 1, 10));
+        Files.write(logFile, "line 2\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        Assertions.assertEquals(Collections.singletonList("line 2"),
+                LogUtils.readPartFileContentFromLocal(logPath, 2, 10));
+    }
+
+    @Test
+    public void testReadFileSegmentFromLocal() throws IOException {
+        Path logFile = tempDirectory.resolve("tail.log");
+        Files.write(logFile, "line 0\nline 1\r\nline 2".getBytes(StandardCharsets.UTF_8));
+        String logPath = logFile.toString();
+
+        LogFileSegment logFileSegment = LogUtils.readFileSegmentFromLocal(logPath, 0, 10);
+        Assertions.assertEquals("line 0\n", logFileSegment.getContent());
+        Assertions.assertEquals(7, logFileSegment.getEndOffset());
+        Assertions.assertEquals(21, logFileSegment.getFileSize());
+
+        logFileSegment = LogUtils.readFileSegmentFromLocal(logPath, logFileSegment.getEndOffset(), 1024);
+        Assertions.assertEquals("line 1\r\n", logFileSegment.getContent());
+        Assertions.assertEquals(15, logFileSegment.getEndOffset());
+
+        // the last line is still being written, it will be returned when there is no line break
+        logFileSegment = LogUtils.readFileSegmentFromLocal(logPath, logFileSegment.getEndOffset(), 1024);
+        Assertions.assertEquals("line 2", logFileSegment.getContent());
+        Assertions.assertEquals(21, logFileSegment.getEndOffset());
+
+        logFileSegment = LogUtils.readFileSegmentFromLocal(logPath, logFileSegment.getEndOffset(), 1024);
+        Assertions.assertEquals("", logFileSegment.getContent());
+        Assertions.assertEquals(21, logFileSegment.getEndOffset());
+
+        // the offset is beyond the file size, read from the beginning
+        logFileSegment = LogUtils.readFileSegmentFromLocal(logPath, 100, 7);
+        Assertions.assertEquals("line 0\n", logFileSegment.getContent());
+        Assertions.assertEquals(0, logFileSegment.getStartOffset());
+    }
+
+    @Test
+    public void testReadFileSegmentFromLocalNotSplitMultiByteCharacter() throws IOException {
+        Path logFile = tempDirectory.resolve("utf8.log");
+        Files.write(logFile, "日志".getBytes(StandardCharsets.UTF_8));
+
+        LogFileSegment logFileSegment = LogUtils.readFileSegmentFromLocal(logFile.toString(), 0, 4);
+        Assertions.assertEquals("日", logFileSegment.getContent());
+        Assertions.assertEquals(3, logFileSegment.getEndOffset());
+    }
+
+    private List<String> readByLineScanning(Path logFile, int skipLine, int limit) throws IOException {
+        try (Stream<String> stream = Files.lines(logFile)) {
+            return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
+        }
+    }
+}
@@ -44,6 +44,8 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -117,6 +119,19 @@ public class AlertDao {
         return alertMapper.updateById(alert);
     }
 
+    /**
+     * update the sending(execution) status of several alerts in one statement
+     *
+     * @param alerts alerts carrying id, alertStatus and log
+     * @return update alert result
+     */
+    public int batchUpdateAlert(List<Alert> alerts) {
+        if (CollectionUtils.isEmpty(alerts)) {
+            return 0;
+        }
+        return alertMapper.batchUpdateAlertStatus(alerts, new Date());
+    }
+
     /**
      * generate sign for alert
      *
@@ -274,7 +289,27 @@ public class AlertDao {
      * List alerts that are pending for execution
      */
     public List<Alert> listPendingAlerts() {
-        return alertMapper.listingAlertByStatus(AlertStatus.WAIT_EXECUTION.getCode(), QUERY_ALERT_THRESHOLD);
+        return listPendingAlerts(Collections.emptyList());
+    }
+
+    /**
+     * List alerts that are pending for execution, except the given alerts, e.g. the alerts which are still being sent
+     */
+    public List<Alert> listPendingAlerts(Collection<Integer> excludedAlertIds) {
+        return alertMapper.listingAlertByStatus(AlertStatus.WAIT_EXECUTION.getCode(), excludedAlertIds,
+                QUERY_ALERT_THRESHOLD);
+    }
+
+    /**
+     * List the ids of all the alert plugin instances
+     */
+    public List<Integer> listAlertPluginInstanceIds() {
+        LambdaQueryWrapper<AlertPluginInstance> wrapper = new LambdaQueryWrapper<AlertPluginInstance>()
+                .select(AlertPluginInstance::getId);
+        return alertPluginInstanceMapper.selectList(wrapper)
+                .stream()
+                .map(AlertPluginInstance::getId)
+                .collect(Collectors.toList());
     }
 
     public List<Alert> listAlerts(int processInstanceId) {
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.entity;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+
+/**
+ * The last fire time of a schedule which is triggered by the in-memory scheduler.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@TableName("t_ds_schedule_checkpoint")
+public class ScheduleCheckpoint {
+
+    /**
+     * schedule id
+     */
+    @TableId(value = "schedule_id", type = IdType.INPUT)
+    private Integer scheduleId;
+
+    /**
+     * the fire time of the last command created for this schedule
+     */
+    @TableField("last_fire_time")
+    private Date lastFireTime;
+
+    /**
+     * update time
+     */
+    @TableField("update_time")
+    private Date updateTime;
+
+    /**
+     * the last fire time which is expected to be in the table before updating
+     */
+    @TableField(exist = false)
+    private Date expectedLastFireTime;
+
+}
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.dao.entity.Alert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -34,9 +35,11 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 public interface AlertMapper extends BaseMapper<Alert> {
 
     /**
-     * Query the alert by alertStatus and return limit with default sort.
+     * Query the alert by alertStatus and return limit with default sort, the alerts in excludedIds are skipped.
      */
-    List<Alert> listingAlertByStatus(@Param("alertStatus") int alertStatus, @Param("limit") int limit);
+    List<Alert> listingAlertByStatus(@Param("alertStatus") int alertStatus,
+                                     @Param("excludedIds") Collection<Integer> excludedIds,
+                                     @Param("limit") int limit);
 
     /**
      * Insert server crash alert
@@ -45,6 +48,11 @@ public interface AlertMapper extends BaseMapper<Alert> {
     void insertAlertWhenServerCrash(@Param("alert") Alert alert,
                                     @Param("crashAlarmSuppressionStartTime") Date crashAlarmSuppressionStartTime);
 
+    /**
+     * Update the alert status and log of the given alerts in one statement, each alert keeps its own status and log.
+     */
+    int batchUpdateAlertStatus(@Param("alerts") List<Alert> alerts, @Param("updateTime") Date updateTime);
+
     void deleteByWorkflowInstanceId(@Param("workflowInstanceId") Integer processInstanceId);
 
     List<Alert> selectByWorkflowInstanceId(@Param("workflowInstanceId") Integer processInstanceId);
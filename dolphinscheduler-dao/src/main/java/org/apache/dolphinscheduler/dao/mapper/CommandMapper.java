@@ -57,5 +57,24 @@ public interface CommandMapper extends BaseMapper<Command> {
                                        @Param("idStep") int idStep,
                                        @Param("fetchNumber") int fetchNum);
 
+    List<Command> queryCommandByIdSlotInIdRange(@Param("currentSlotIndex") int currentSlotIndex,
+                                                @Param("totalSlot") int totalSlot,
+                                                @Param("idStep") int idStep,
+                                                @Param("minId") long minId,
+                                                @Param("maxId") long maxId,
+                                                @Param("fetchNumber") int fetchNum);
+
+    Integer queryMinCommandId();
+
+    Integer queryMaxCommandId();
+
     void deleteByWorkflowInstanceIds(@Param("workflowInstanceIds") List<Integer> workflowInstanceIds);
+
+    /**
+     * insert commands in one statement, the generated ids are not written back
+     *
+     * @param commands commands
+     * @return insert count
+     */
+    int batchInsert(@Param("commands") List<Command> commands);
 }
@@ -327,4 +327,13 @@ public interface ProcessInstanceMapper extends BaseMapper<ProcessInstance> {
      * @return
      */
     List<ProcessInstance> queryByTriggerCode(@Param("triggerCode") Long triggerCode);
+
+    /**
+     * update the host of the given process instances
+     *
+     * @param ids process instance ids
+     * @param host host
+     * @return update result
+     */
+    int updateHostByIds(@Param("ids") List<Integer> ids, @Param("host") String host);
 }
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.mapper;
+
+import org.apache.dolphinscheduler.dao.entity.ScheduleCheckpoint;
+
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+/**
+ * schedule checkpoint mapper interface
+ */
+public interface ScheduleCheckpointMapper extends BaseMapper<ScheduleCheckpoint> {
+
+    /**
+     * Set the last fire time of the given checkpoints, a checkpoint is only updated when its last fire time in the
+     * table still equals to the expected last fire time.
+     *
+     * @param checkpoints checkpoints with the new and the expected last fire time
+     * @param updateTime  update time
+     * @return update count
+     */
+    int batchCompareAndSetLastFireTime(@Param("checkpoints") List<ScheduleCheckpoint> checkpoints,
+                                       @Param("updateTime") Date updateTime);
+}
@@ -118,4 +118,14 @@ public interface ScheduleMapper extends BaseMapper<Schedule> {
      * @return schedule list
      */
     List<Schedule> queryScheduleListByTenant(@Param("tenantCode") String tenantCode);
+
+    /**
+     * query online schedules whose id belongs to the given slot
+     *
+     * @param currentSlotIndex currentSlotIndex
+     * @param totalSlot totalSlot
+     * @return schedule list
+     */
+    List<Schedule> queryOnlineScheduleByIdSlot(@Param("currentSlotIndex") int currentSlotIndex,
+                                               @Param("totalSlot") int totalSlot);
 }
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Date;
 import java.util.List;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
@@ -91,6 +92,13 @@ public interface TaskGroupQueueMapper extends BaseMapper<TaskGroupQueue> {
 
     int updateInQueueCAS(@Param("oldValue") int oldValue, @Param("newValue") int newValue, @Param("id") int id);
 
+    int updateStatusCAS(@Param("id") int id,
+                        @Param("oldStatus") int oldStatus,
+                        @Param("newStatus") int newStatus,
+                        @Param("inQueue") int inQueue,
+                        @Param("forceStart") int forceStart,
+                        @Param("updateTime") Date updateTime);
+
     void modifyPriority(@Param("queueId") int queueId, @Param("priority") int priority);
 
     IPage<TaskGroupQueue> queryTaskGroupQueueByTaskGroupIdPaging(Page<TaskGroupQueue> page,
@@ -147,4 +147,8 @@ public interface TaskInstanceMapper extends BaseMapper<TaskInstance> {
     TaskInstance findLastTaskInstance(@Param("processInstanceId") Integer processInstanceId,
                                       @Param("taskCode") long depTaskCode,
                                       @Param("testFlag") int testFlag);
+
+    int updateStateAndFlagByIds(@Param("ids") List<Integer> ids,
+                                @Param("state") TaskExecutionStatus state,
+                                @Param("flag") Flag flag);
 }
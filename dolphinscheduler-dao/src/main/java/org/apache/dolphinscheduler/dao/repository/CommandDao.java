@@ -36,4 +36,36 @@ public interface CommandDao extends IDao<Command> {
                                        int totalSlot,
                                        int idStep,
                                        int fetchNum);
+
+    /**
+     * Query command by command id and server slot in the id window [minId, maxId), return the command which match
+     * (commandId / step) %s totalSlot = currentSlotIndex.
+     * <p>
+     * The id window is a range condition on the primary key, so the database only needs to scan the rows in the window
+     * rather than the whole table.
+     *
+     * @param currentSlotIndex current slot index
+     * @param totalSlot        total slot number
+     * @param idStep           id step in db
+     * @param minId            the minimum command id of the window, inclusive
+     * @param maxId            the maximum command id of the window, exclusive
+     * @param fetchNum         fetch number
+     * @return command list
+     */
+    List<Command> queryCommandByIdSlotInIdRange(int currentSlotIndex,
+                                                int totalSlot,
+                                                int idStep,
+                                                long minId,
+                                                long maxId,
+                                                int fetchNum);
+
+    /**
+     * Query the minimum command id, return null if there is no command.
+     */
+    Integer queryMinCommandId();
+
+    /**
+     * Query the maximum command id, return null if there is no command.
+     */
+    Integer queryMaxCommandId();
 }
@@ -92,4 +92,14 @@ public interface TaskGroupQueueDao extends IDao<TaskGroupQueue> {
      * @return TaskGroupQueue ordered by priority desc
      */
     List<TaskGroupQueue> queryWaitNotifyForceStartTaskGroupQueue(int minTaskGroupQueueId, int limit);
+
+    /**
+     * Set the {@link TaskGroupQueue} status from {@link org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus#WAIT_QUEUE}
+     * to {@link org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus#ACQUIRE_SUCCESS} if it is still in queue
+     * and not force start.
+     *
+     * @param taskGroupQueueId taskGroupQueueId
+     * @return true if the TaskGroupQueue is still waiting and acquire the slot successfully
+     */
+    boolean acquireWaitingTaskGroupQueue(Integer taskGroupQueueId);
 }
@@ -17,9 +17,12 @@
 
 package org.apache.dolphinscheduler.dao.repository;
 
+import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -108,4 +111,25 @@ public interface TaskInstanceDao extends IDao<TaskInstance> {
      */
     TaskInstance queryLastTaskInstanceIntervalInProcessInstance(Integer processInstanceId,
                                                                 long depTaskCode, int testFlag);
+
+    /**
+     * Update the given task instances by id, the updates are sent to the database in one JDBC batch.
+     * <p>
+     * The task instance which is already finished in the database, e.g. killed or need fault tolerance, will not be
+     * overwritten.
+     *
+     * @param taskInstances task instances
+     * @return the ids of the task instances which are not updated since they are already finished in the database
+     */
+    Set<Integer> batchUpdateUnfinishedById(Collection<TaskInstance> taskInstances);
+
+    /**
+     * Update the state and flag of the given task instances in one statement.
+     *
+     * @param taskInstanceIds task instance ids
+     * @param state           task instance state
+     * @param flag            task instance flag
+     * @return updated row count
+     */
+    int updateStateAndFlagByIds(List<Integer> taskInstanceIds, TaskExecutionStatus state, Flag flag);
 }
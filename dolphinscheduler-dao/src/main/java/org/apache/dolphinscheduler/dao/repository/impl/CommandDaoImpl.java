@@ -38,4 +38,25 @@ public class CommandDaoImpl extends BaseDao<Command, CommandMapper> implements C
         return mybatisMapper.queryCommandByIdSlot(currentSlotIndex, totalSlot, idStep, fetchNum);
     }
 
+    @Override
+    public List<Command> queryCommandByIdSlotInIdRange(int currentSlotIndex,
+                                                       int totalSlot,
+                                                       int idStep,
+                                                       long minId,
+                                                       long maxId,
+                                                       int fetchNum) {
+        return mybatisMapper.queryCommandByIdSlotInIdRange(currentSlotIndex, totalSlot, idStep, minId, maxId,
+                fetchNum);
+    }
+
+    @Override
+    public Integer queryMinCommandId() {
+        return mybatisMapper.queryMinCommandId();
+    }
+
+    @Override
+    public Integer queryMaxCommandId() {
+        return mybatisMapper.queryMaxCommandId();
+    }
+
 }
@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.dao.repository.TaskGroupQueueDao;
 
 import org.apache.commons.collections4.CollectionUtils;
 
+import java.util.Date;
 import java.util.List;
 
 import lombok.NonNull;
@@ -92,4 +93,18 @@ public class TaskGroupQueueDaoImpl extends BaseDao<TaskGroupQueue, TaskGroupQueu
                 minTaskGroupQueueId,
                 limit);
     }
+
+    @Override
+    public boolean acquireWaitingTaskGroupQueue(Integer taskGroupQueueId) {
+        if (taskGroupQueueId == null) {
+            throw new IllegalArgumentException("taskGroupQueueId cannot be null");
+        }
+        return mybatisMapper.updateStatusCAS(
+                taskGroupQueueId,
+                TaskGroupQueueStatus.WAIT_QUEUE.getCode(),
+                TaskGroupQueueStatus.ACQUIRE_SUCCESS.getCode(),
+                Flag.YES.getCode(),
+                Flag.NO.getCode(),
+                new Date()) > 0;
+    }
 }
@@ -28,11 +28,21 @@ import org.apache.dolphinscheduler.dao.repository.BaseDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.logging.LogFactory;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -40,6 +50,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+
 /**
  * Task Instance DAO implementation
  */
@@ -47,6 +62,11 @@ import org.springframework.stereotype.Repository;
 @Slf4j
 public class TaskInstanceDaoImpl extends BaseDao<TaskInstance, TaskInstanceMapper> implements TaskInstanceDao {
 
+    private static final List<Integer> FINISHED_STATE_CODES = Arrays.stream(TaskExecutionStatus.values())
+            .filter(TaskExecutionStatus::isFinished)
+            .map(TaskExecutionStatus::getCode)
+            .collect(Collectors.toList());
+
     @Autowired
     private ProcessInstanceMapper processInstanceMapper;
 
@@ -184,4 +204,45 @@ public class TaskInstanceDaoImpl extends BaseDao<TaskInstance, TaskInstanceMappe
                                                                        int testFlag) {
         return mybatisMapper.findLastTaskInstance(processInstanceId, depTaskCode, testFlag);
     }
+
+    @Override
+    public int updateStateAndFlagByIds(List<Integer> taskInstanceIds, TaskExecutionStatus state, Flag flag) {
+        if (CollectionUtils.isEmpty(taskInstanceIds)) {
+            return 0;
+        }
+        return mybatisMapper.updateStateAndFlagByIds(taskInstanceIds, state, flag);
+    }
+
+    @Override
+    public Set<Integer> batchUpdateUnfinishedById(Collection<TaskInstance> taskInstances) {
+        if (CollectionUtils.isEmpty(taskInstances)) {
+            return Collections.emptySet();
+        }
+        String updateStatement = SqlHelper.getSqlStatement(TaskInstanceMapper.class, SqlMethod.UPDATE);
+        Set<Integer> notUpdatedTaskInstanceIds = new HashSet<>();
+        SqlHelper.executeBatch(TaskInstance.class, LogFactory.getLog(TaskInstanceDaoImpl.class), sqlSession -> {
+            for (TaskInstance taskInstance : taskInstances) {
+                // the finished state, e.g. kill or need fault tolerance, may be set by others after the change is made
+                UpdateWrapper<TaskInstance> updateWrapper = new UpdateWrapper<TaskInstance>()
+                        .eq("id", taskInstance.getId())
+                        .notIn("state", FINISHED_STATE_CODES);
+                MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+                param.put(Constants.ENTITY, taskInstance);
+                param.put(Constants.WRAPPER, updateWrapper);
+                sqlSession.update(updateStatement, param);
+            }
+            for (BatchResult batchResult : sqlSession.flushStatements()) {
+                int[] updateCounts = batchResult.getUpdateCounts();
+                List<Object> parameterObjects = batchResult.getParameterObjects();
+                for (int i = 0; i < updateCounts.length; i++) {
+                    // the driver may return SUCCESS_NO_INFO, which is regarded as updated
+                    if (updateCounts[i] == 0) {
+                        Map<?, ?> param = (Map<?, ?>) parameterObjects.get(i);
+                        notUpdatedTaskInstanceIds.add(((TaskInstance) param.get(Constants.ENTITY)).getId());
+                    }
+                }
+            }
+        });
+        return notUpdatedTaskInstanceIds;
+    }
 }
@@ -2184,3 +2184,15 @@ CREATE TABLE t_ds_listener_event
     KEY         idx_status (post_status),
     KEY         idx_event_sign (sign)
 );
+
+-- ----------------------------
+-- Table structure for t_ds_schedule_checkpoint
+-- ----------------------------
+DROP TABLE IF EXISTS t_ds_schedule_checkpoint;
+CREATE TABLE t_ds_schedule_checkpoint
+(
+    schedule_id    int      NOT NULL,
+    last_fire_time datetime NOT NULL,
+    update_time    datetime DEFAULT NULL,
+    PRIMARY KEY (schedule_id)
+);
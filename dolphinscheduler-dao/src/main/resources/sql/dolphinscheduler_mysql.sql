@@ -2156,3 +2156,14 @@ CREATE TABLE `t_ds_listener_event` (
     KEY `idx_status` (`post_status`) USING BTREE,
     KEY `idx_sign` (`sign`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE = utf8_bin;
+
+-- ----------------------------
+-- Table structure for t_ds_schedule_checkpoint
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_schedule_checkpoint`;
+CREATE TABLE `t_ds_schedule_checkpoint` (
+  `schedule_id` int(11) NOT NULL COMMENT 'schedule id',
+  `last_fire_time` datetime NOT NULL COMMENT 'last fire time',
+  `update_time` datetime DEFAULT NULL COMMENT 'update time',
+  PRIMARY KEY (`schedule_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE = utf8_bin;
@@ -2148,3 +2148,15 @@ comment on column t_ds_listener_event.sign is 'sign=sha1(content)';
 
 create index idx_listener_event_post_status on t_ds_listener_event (post_status);
 create index idx_listener_event_sign on t_ds_listener_event (sign);
+
+--
+-- Table structure for table t_ds_schedule_checkpoint
+--
+
+DROP TABLE IF EXISTS t_ds_schedule_checkpoint;
+CREATE TABLE t_ds_schedule_checkpoint (
+    schedule_id    int       NOT NULL,
+    last_fire_time timestamp NOT NULL,
+    update_time    timestamp DEFAULT NULL,
+    PRIMARY KEY (schedule_id)
+);
@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.dao.entity.Alert;
 
 import org.apache.commons.codec.digest.DigestUtils;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -82,6 +83,30 @@ public class AlertMapperTest extends BaseDaoTest {
         Assertions.assertEquals(expectedAlert, actualAlert);
     }
 
+    @Test
+    public void testBatchUpdateAlertStatus() {
+        Alert successAlert = createAlert();
+        successAlert.setAlertStatus(AlertStatus.EXECUTION_SUCCESS);
+        successAlert.setLog("success log");
+        Alert failureAlert = createAlert();
+        failureAlert.setAlertStatus(AlertStatus.EXECUTION_FAILURE);
+        failureAlert.setLog("failure log");
+        Alert untouchedAlert = createAlert();
+
+        int updated = alertMapper.batchUpdateAlertStatus(Arrays.asList(successAlert, failureAlert),
+                DateUtils.getCurrentDate());
+        Assertions.assertEquals(2, updated);
+
+        Alert actualSuccessAlert = alertMapper.selectById(successAlert.getId());
+        Assertions.assertEquals(AlertStatus.EXECUTION_SUCCESS, actualSuccessAlert.getAlertStatus());
+        Assertions.assertEquals("success log", actualSuccessAlert.getLog());
+        Alert actualFailureAlert = alertMapper.selectById(failureAlert.getId());
+        Assertions.assertEquals(AlertStatus.EXECUTION_FAILURE, actualFailureAlert.getAlertStatus());
+        Assertions.assertEquals("failure log", actualFailureAlert.getLog());
+        Assertions.assertEquals(AlertStatus.WAIT_EXECUTION,
+                alertMapper.selectById(untouchedAlert.getId()).getAlertStatus());
+    }
+
     /**
      * test delete
      */
@@ -183,6 +183,46 @@ public class CommandMapperTest extends BaseDaoTest {
         assertThat(commandMapper.selectList(null)).isEmpty();
     }
 
+    @Test
+    void testBatchInsert() {
+        Command command1 = Command.builder()
+                .commandType(CommandType.SCHEDULER)
+                .processDefinitionCode(1L)
+                .failureStrategy(FailureStrategy.CONTINUE)
+                .warningType(WarningType.NONE)
+                .processInstancePriority(Priority.MEDIUM)
+                .scheduleTime(DateUtils.stringToDate("2019-12-29 12:10:00"))
+                .startTime(new Date())
+                .updateTime(new Date())
+                .workerGroup(Constants.DEFAULT_WORKER_GROUP)
+                .build();
+        Command command2 = Command.builder()
+                .commandType(CommandType.SCHEDULER)
+                .processDefinitionCode(2L)
+                .failureStrategy(FailureStrategy.END)
+                .warningType(WarningType.ALL)
+                .processInstancePriority(Priority.HIGH)
+                .scheduleTime(DateUtils.stringToDate("2019-12-29 12:20:00"))
+                .startTime(new Date())
+                .updateTime(new Date())
+                .workerGroup(Constants.DEFAULT_WORKER_GROUP)
+                .build();
+
+        Assertions.assertEquals(2, commandMapper.batchInsert(Lists.newArrayList(command1, command2)));
+
+        List<Command> commands = commandMapper.selectList(null);
+        assertThat(commands).hasSize(2);
+        Command actualCommand = commands.stream()
+                .filter(command -> command.getProcessDefinitionCode() == 2L)
+                .findFirst()
+                .orElse(null);
+        Assertions.assertNotNull(actualCommand);
+        Assertions.assertEquals(CommandType.SCHEDULER, actualCommand.getCommandType());
+        Assertions.assertEquals(FailureStrategy.END, actualCommand.getFailureStrategy());
+        Assertions.assertEquals(Priority.HIGH, actualCommand.getProcessInstancePriority());
+        Assertions.assertEquals(command2.getScheduleTime(), actualCommand.getScheduleTime());
+    }
+
     private boolean toTestQueryCommandPageBySlot(int masterCount, int thisMasterSlot) {
         Command command = createCommand();
         Integer id = command.getId();
@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -217,6 +218,36 @@ public class ProcessInstanceMapperTest extends BaseDaoTest {
 
     }
 
+    /**
+     * test update the host of process instances by ids, the way the master failover marks 10k instances in batches
+     */
+    @Test
+    public void testUpdateHostByIds() {
+        String deadMasterHost = "127.0.0.1:5678";
+        int[] needFailoverStates = WorkflowExecutionStatus.getNeedFailoverWorkflowInstanceState();
+        List<Integer> processInstanceIds = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ProcessInstance processInstance = new ProcessInstance();
+            processInstance.setProcessDefinitionCode(1L);
+            processInstance.setStartTime(new Date());
+            processInstance.setHost(deadMasterHost);
+            processInstance.setState(WorkflowExecutionStatus.RUNNING_EXECUTION);
+            processInstanceMapper.insert(processInstance);
+            processInstanceIds.add(processInstance.getId());
+        }
+        Assertions.assertEquals(10_000,
+                processInstanceMapper.queryByHostAndStatus(deadMasterHost, needFailoverStates).size());
+
+        int updated = 0;
+        for (List<Integer> ids : Lists.partition(processInstanceIds, 1000)) {
+            updated += processInstanceMapper.updateHostByIds(ids, "NULL");
+        }
+
+        Assertions.assertEquals(10_000, updated);
+        Assertions.assertTrue(processInstanceMapper.queryByHostAndStatus(deadMasterHost, needFailoverStates).isEmpty());
+        Assertions.assertEquals(10_000, processInstanceMapper.queryByHostAndStatus("NULL", needFailoverStates).size());
+    }
+
     /**
      * test count process instance state by user
      */
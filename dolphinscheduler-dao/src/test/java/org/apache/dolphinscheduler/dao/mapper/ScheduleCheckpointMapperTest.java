@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.mapper;
+
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.dao.BaseDaoTest;
+import org.apache.dolphinscheduler.dao.entity.ScheduleCheckpoint;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.collect.Lists;
+
+public class ScheduleCheckpointMapperTest extends BaseDaoTest {
+
+    @Autowired
+    private ScheduleCheckpointMapper scheduleCheckpointMapper;
+
+    private ScheduleCheckpoint insertOne(int scheduleId, String lastFireTime) {
+        ScheduleCheckpoint scheduleCheckpoint = ScheduleCheckpoint.builder()
+                .scheduleId(scheduleId)
+                .lastFireTime(DateUtils.stringToDate(lastFireTime))
+                .updateTime(new Date())
+                .build();
+        scheduleCheckpointMapper.insert(scheduleCheckpoint);
+        return scheduleCheckpoint;
+    }
+
+    @Test
+    public void testInsert() {
+        insertOne(1, "2024-01-01 00:00:00");
+        ScheduleCheckpoint scheduleCheckpoint = scheduleCheckpointMapper.selectById(1);
+        Assertions.assertNotNull(scheduleCheckpoint);
+        Assertions.assertEquals(DateUtils.stringToDate("2024-01-01 00:00:00"), scheduleCheckpoint.getLastFireTime());
+    }
+
+    @Test
+    public void testBatchCompareAndSetLastFireTime() {
+        insertOne(1, "2024-01-01 00:00:00");
+        insertOne(2, "2024-01-01 00:00:00");
+
+        ScheduleCheckpoint checkpoint1 = ScheduleCheckpoint.builder()
+                .scheduleId(1)
+                .expectedLastFireTime(DateUtils.stringToDate("2024-01-01 00:00:00"))
+                .lastFireTime(DateUtils.stringToDate("2024-01-01 00:01:00"))
+                .build();
+        ScheduleCheckpoint checkpoint2 = ScheduleCheckpoint.builder()
+                .scheduleId(2)
+                .expectedLastFireTime(DateUtils.stringToDate("2024-01-01 00:00:00"))
+                .lastFireTime(DateUtils.stringToDate("2024-01-01 00:02:00"))
+                .build();
+        Assertions.assertEquals(2, scheduleCheckpointMapper
+                .batchCompareAndSetLastFireTime(Lists.newArrayList(checkpoint1, checkpoint2), new Date()));
+        Assertions.assertEquals(DateUtils.stringToDate("2024-01-01 00:01:00"),
+                scheduleCheckpointMapper.selectById(1).getLastFireTime());
+        Assertions.assertEquals(DateUtils.stringToDate("2024-01-01 00:02:00"),
+                scheduleCheckpointMapper.selectById(2).getLastFireTime());
+
+        // the checkpoint of schedule 2 has been moved by others
+        checkpoint1.setExpectedLastFireTime(checkpoint1.getLastFireTime());
+        checkpoint1.setLastFireTime(DateUtils.stringToDate("2024-01-01 00:03:00"));
+        checkpoint2.setLastFireTime(DateUtils.stringToDate("2024-01-01 00:03:00"));
+        Assertions.assertEquals(1, scheduleCheckpointMapper
+                .batchCompareAndSetLastFireTime(Lists.newArrayList(checkpoint1, checkpoint2), new Date()));
+        Assertions.assertEquals(DateUtils.stringToDate("2024-01-01 00:02:00"),
+                scheduleCheckpointMapper.selectById(2).getLastFireTime());
+    }
+
+    @Test
+    public void testDelete() {
+        insertOne(1, "2024-01-01 00:00:00");
+        Assertions.assertEquals(1, scheduleCheckpointMapper.deleteById(1));
+        Assertions.assertNull(scheduleCheckpointMapper.selectById(1));
+    }
+}
@@ -246,4 +246,20 @@ public class ScheduleMapperTest extends BaseDaoTest {
         Schedule schedules = scheduleMapper.queryByProcessDefinitionCode(schedule.getProcessDefinitionCode());
         Assertions.assertNotNull(schedules);
     }
+
+    @Test
+    public void testQueryOnlineScheduleByIdSlot() {
+        Schedule offlineSchedule = insertOne();
+        Schedule onlineSchedule = insertOne();
+        onlineSchedule.setReleaseState(ReleaseState.ONLINE);
+        scheduleMapper.updateById(onlineSchedule);
+
+        List<Schedule> schedules = scheduleMapper.queryOnlineScheduleByIdSlot(onlineSchedule.getId() % 2, 2);
+        Assertions.assertEquals(1, schedules.size());
+        Assertions.assertEquals(onlineSchedule.getId(), schedules.get(0).getId());
+        Assertions.assertTrue(scheduleMapper.queryOnlineScheduleByIdSlot(offlineSchedule.getId() % 2, 2).stream()
+                .noneMatch(schedule -> schedule.getId().equals(offlineSchedule.getId())));
+        Assertions
+                .assertTrue(scheduleMapper.queryOnlineScheduleByIdSlot((onlineSchedule.getId() + 1) % 2, 2).isEmpty());
+    }
 }
@@ -38,6 +38,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 public class TaskInstanceMapperTest extends BaseDaoTest {
 
@@ -143,6 +144,30 @@ public class TaskInstanceMapperTest extends BaseDaoTest {
         Assertions.assertNotEquals(0, taskInstances.size());
     }
 
+    /**
+     * test update the state and flag of task instances by ids
+     */
+    @Test
+    public void testUpdateStateAndFlagByIds() {
+        ProcessInstance processInstance = insertProcessInstance();
+        TaskInstance task1 = insertTaskInstance(processInstance.getId());
+        TaskInstance task2 = insertTaskInstance(processInstance.getId());
+        TaskInstance task3 = insertTaskInstance(processInstance.getId());
+
+        int updated = taskInstanceMapper.updateStateAndFlagByIds(Lists.newArrayList(task1.getId(), task2.getId()),
+                TaskExecutionStatus.NEED_FAULT_TOLERANCE, Flag.NO);
+
+        Assertions.assertEquals(2, updated);
+        TaskInstance failoverTask = taskInstanceMapper.selectById(task1.getId());
+        Assertions.assertEquals(TaskExecutionStatus.NEED_FAULT_TOLERANCE, failoverTask.getState());
+        Assertions.assertEquals(Flag.NO, failoverTask.getFlag());
+        Assertions.assertEquals(TaskExecutionStatus.NEED_FAULT_TOLERANCE,
+                taskInstanceMapper.selectById(task2.getId()).getState());
+        TaskInstance untouchedTask = taskInstanceMapper.selectById(task3.getId());
+        Assertions.assertEquals(TaskExecutionStatus.RUNNING_EXECUTION, untouchedTask.getState());
+        Assertions.assertEquals(Flag.YES, untouchedTask.getFlag());
+    }
+
     /**
      * test find valid task list by process instance id
      */
@@ -215,6 +240,33 @@ public class TaskInstanceMapperTest extends BaseDaoTest {
         Assertions.assertEquals(1, taskInstances.size());
     }
 
+    /**
+     * test find the last task instance of each task code in the process instance
+     */
+    @Test
+    public void testFindLastTaskInstances() {
+        ProcessInstance processInstance = insertProcessInstance();
+
+        TaskInstance oldTask = insertTaskInstance(processInstance.getId());
+        oldTask.setTaskCode(1L);
+        oldTask.setEndTime(new Date(System.currentTimeMillis() - 60_000L));
+        taskInstanceMapper.updateById(oldTask);
+        TaskInstance newTask = insertTaskInstance(processInstance.getId());
+        newTask.setTaskCode(1L);
+        taskInstanceMapper.updateById(newTask);
+        TaskInstance otherTask = insertTaskInstance(processInstance.getId());
+        otherTask.setTaskCode(2L);
+        taskInstanceMapper.updateById(otherTask);
+
+        List<TaskInstance> taskInstances = taskInstanceMapper.findLastTaskInstances(processInstance.getId(),
+                Sets.newHashSet(1L, 2L), 0);
+        Assertions.assertEquals(2, taskInstances.size());
+        Assertions.assertTrue(taskInstances.stream().anyMatch(t -> t.getId().equals(newTask.getId())));
+        Assertions.assertTrue(taskInstances.stream().anyMatch(t -> t.getId().equals(otherTask.getId())));
+        Assertions.assertTrue(taskInstanceMapper.findLastTaskInstances(processInstance.getId(),
+                Sets.newHashSet(1L, 2L), 1).isEmpty());
+    }
+
     /**
      * test count task instance state by user
      */
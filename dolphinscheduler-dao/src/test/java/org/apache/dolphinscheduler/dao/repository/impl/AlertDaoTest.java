@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.dao.AlertDao;
 import org.apache.dolphinscheduler.dao.DaoConfiguration;
 import org.apache.dolphinscheduler.dao.entity.Alert;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
@@ -81,4 +82,19 @@ public class AlertDaoTest {
                 .count();
         Assertions.assertEquals(1L, count);
     }
+
+    @Test
+    public void testListPendingAlertsExcludeAlerts() {
+        Alert alert = new Alert();
+        alert.setTitle("Mysql Exception");
+        alert.setContent("content");
+        alert.setAlertGroupId(1);
+        alert.setAlertStatus(AlertStatus.WAIT_EXECUTION);
+        alertDao.addAlert(alert);
+
+        Assertions.assertTrue(alertDao.listPendingAlerts().stream()
+                .anyMatch(pendingAlert -> pendingAlert.getId().equals(alert.getId())));
+        Assertions.assertTrue(alertDao.listPendingAlerts(Collections.singletonList(alert.getId())).stream()
+                .noneMatch(pendingAlert -> pendingAlert.getId().equals(alert.getId())));
+    }
 }
@@ -66,6 +66,41 @@ class CommandDaoImplTest extends BaseDaoTest {
 
     }
 
+    @Test
+    void fetchCommandByIdSlotInIdRange() {
+        int commandSize = RandomUtils.nextInt(1, 1000);
+        for (int i = 0; i < commandSize; i++) {
+            createCommand(CommandType.START_PROCESS, 0);
+        }
+        int minId = commandDao.queryMinCommandId();
+        int maxId = commandDao.queryMaxCommandId();
+        assertThat(maxId - minId + 1).isEqualTo(commandSize);
+
+        int totalSlot = RandomUtils.nextInt(1, 10);
+        int currentSlotIndex = RandomUtils.nextInt(0, totalSlot);
+        int fetchSize = RandomUtils.nextInt(10, 100);
+        long windowMinId = minId + commandSize / 2;
+        long windowMaxId = windowMinId + RandomUtils.nextInt(1, 100);
+        for (int i = 1; i < 5; i++) {
+            int idStep = i;
+            List<Command> commands = commandDao.queryCommandByIdSlotInIdRange(
+                    currentSlotIndex, totalSlot, idStep, windowMinId, windowMaxId, fetchSize);
+            assertThat(commands.size())
+                    .isEqualTo(commandDao.queryAll()
+                            .stream()
+                            .filter(command -> command.getId() >= windowMinId && command.getId() < windowMaxId)
+                            .filter(command -> (command.getId() / idStep) % totalSlot == currentSlotIndex)
+                            .limit(fetchSize)
+                            .count());
+        }
+    }
+
+    @Test
+    void queryMinAndMaxCommandIdWhenEmpty() {
+        assertThat(commandDao.queryMinCommandId()).isNull();
+        assertThat(commandDao.queryMaxCommandId()).isNull();
+    }
+
     private void createCommand(CommandType commandType, int processDefinitionCode) {
         Command command = new Command();
         command.setCommandType(commandType);
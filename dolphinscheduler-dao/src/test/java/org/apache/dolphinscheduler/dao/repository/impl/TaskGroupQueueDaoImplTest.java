@@ -18,8 +18,10 @@
 package org.apache.dolphinscheduler.dao.repository.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
@@ -167,6 +169,21 @@ class TaskGroupQueueDaoImplTest extends BaseDaoTest {
         assertEquals(insertCount, queryCount);
     }
 
+    @Test
+    void acquireWaitingTaskGroupQueue() {
+        TaskGroupQueue taskGroupQueue = createTaskGroupQueue(Flag.NO, TaskGroupQueueStatus.WAIT_QUEUE);
+        taskGroupQueueDao.insert(taskGroupQueue);
+        assertTrue(taskGroupQueueDao.acquireWaitingTaskGroupQueue(taskGroupQueue.getId()));
+        assertEquals(TaskGroupQueueStatus.ACQUIRE_SUCCESS,
+                taskGroupQueueDao.queryById(taskGroupQueue.getId()).getStatus());
+        // The TaskGroupQueue is not waiting anymore
+        assertFalse(taskGroupQueueDao.acquireWaitingTaskGroupQueue(taskGroupQueue.getId()));
+
+        TaskGroupQueue forceStartTaskGroupQueue = createTaskGroupQueue(Flag.YES, TaskGroupQueueStatus.WAIT_QUEUE);
+        taskGroupQueueDao.insert(forceStartTaskGroupQueue);
+        assertFalse(taskGroupQueueDao.acquireWaitingTaskGroupQueue(forceStartTaskGroupQueue.getId()));
+    }
+
     private TaskGroupQueue createTaskGroupQueue(Flag forceStart, TaskGroupQueueStatus taskGroupQueueStatus) {
         return TaskGroupQueue.builder()
                 .taskId(1)
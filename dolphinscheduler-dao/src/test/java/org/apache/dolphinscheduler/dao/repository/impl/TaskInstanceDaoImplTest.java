@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository.impl;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.dao.BaseDaoTest;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class TaskInstanceDaoImplTest extends BaseDaoTest {
+
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
+    @Test
+    void batchUpdateUnfinishedById() {
+        List<TaskInstance> taskInstances = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setName("task-" + i);
+            taskInstance.setFlag(Flag.YES);
+            taskInstance.setState(TaskExecutionStatus.DISPATCH);
+            taskInstance.setProcessInstanceId(1);
+            taskInstance.setProjectCode(1L);
+            taskInstance.setTaskType("SHELL");
+            taskInstanceDao.insert(taskInstance);
+            taskInstances.add(taskInstance);
+        }
+
+        Date endTime = new Date();
+        for (TaskInstance taskInstance : taskInstances) {
+            taskInstance.setState(TaskExecutionStatus.SUCCESS);
+            taskInstance.setHost("127.0.0.1:1234");
+            taskInstance.setEndTime(endTime);
+        }
+        assertThat(taskInstanceDao.batchUpdateUnfinishedById(taskInstances)).isEmpty();
+
+        for (TaskInstance taskInstance : taskInstances) {
+            TaskInstance updatedTaskInstance = taskInstanceDao.queryById(taskInstance.getId());
+            assertThat(updatedTaskInstance.getState()).isEqualTo(TaskExecutionStatus.SUCCESS);
+            assertThat(updatedTaskInstance.getHost()).isEqualTo("127.0.0.1:1234");
+            assertThat(updatedTaskInstance.getEndTime()).isNotNull();
+            assertThat(updatedTaskInstance.getName()).isEqualTo(taskInstance.getName());
+        }
+    }
+
+    @Test
+    void batchUpdateUnfinishedByIdNotOverwriteFinishedState() {
+        List<TaskInstance> taskInstances = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setName("task-" + i);
+            taskInstance.setFlag(Flag.YES);
+            taskInstance.setState(TaskExecutionStatus.DISPATCH);
+            taskInstance.setProcessInstanceId(1);
+            taskInstance.setProjectCode(1L);
+            taskInstance.setTaskType("SHELL");
+            taskInstanceDao.insert(taskInstance);
+            taskInstances.add(taskInstance);
+        }
+        // the task instances are killed and failed over by others after the running changes are made
+        TaskInstance killedTaskInstance = taskInstanceDao.queryById(taskInstances.get(1).getId());
+        killedTaskInstance.setState(TaskExecutionStatus.KILL);
+        taskInstanceDao.updateById(killedTaskInstance);
+        TaskInstance failoverTaskInstance = taskInstanceDao.queryById(taskInstances.get(2).getId());
+        failoverTaskInstance.setState(TaskExecutionStatus.NEED_FAULT_TOLERANCE);
+        taskInstanceDao.updateById(failoverTaskInstance);
+
+        for (TaskInstance taskInstance : taskInstances) {
+            taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+            taskInstance.setHost("127.0.0.1:1234");
+        }
+        Set<Integer> notUpdatedTaskInstanceIds = taskInstanceDao.batchUpdateUnfinishedById(taskInstances);
+
+        assertThat(notUpdatedTaskInstanceIds).containsExactly(killedTaskInstance.getId(),
+                failoverTaskInstance.getId());
+        assertThat(taskInstanceDao.queryById(taskInstances.get(0).getId()).getState())
+                .isEqualTo(TaskExecutionStatus.RUNNING_EXECUTION);
+        TaskInstance notUpdatedKilledTaskInstance = taskInstanceDao.queryById(killedTaskInstance.getId());
+        assertThat(notUpdatedKilledTaskInstance.getState()).isEqualTo(TaskExecutionStatus.KILL);
+        assertThat(notUpdatedKilledTaskInstance.getHost()).isNull();
+        assertThat(taskInstanceDao.queryById(failoverTaskInstance.getId()).getState())
+                .isEqualTo(TaskExecutionStatus.NEED_FAULT_TOLERANCE);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mark a client side method which return {@link java.util.concurrent.CompletableFuture} as the async version of the
+ * {@link RpcMethod} named {@link #value()} with the same parameter types in the same interface.
+ * <p>
+ * The request is sent with the identifier and the timeout of the sync {@link RpcMethod}, so the server doesn't need to
+ * register a new method, and the async method can be used against the server which hasn't been upgraded. The method
+ * is only handled by the client proxy, the server will never receive a request of it.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AsyncRpcMethod {
+
+    /**
+     * The name of the sync {@link RpcMethod}.
+     */
+    String value();
+
+}
@@ -32,10 +32,21 @@ abstract class AbstractClientMethodInvoker implements ClientMethodInvoker {
     protected final Host serverHost;
 
     AbstractClientMethodInvoker(Host serverHost, Method localMethod, NettyRemotingClient nettyRemotingClient) {
+        this(serverHost, localMethod, localMethod, nettyRemotingClient);
+    }
+
+    /**
+     * @param remoteMethod the {@link org.apache.dolphinscheduler.extract.base.RpcMethod} registered in the server,
+     *                     the request is sent with its identifier.
+     */
+    AbstractClientMethodInvoker(Host serverHost,
+                                Method localMethod,
+                                Method remoteMethod,
+                                NettyRemotingClient nettyRemotingClient) {
         this.serverHost = serverHost;
         this.localMethod = localMethod;
         this.nettyRemotingClient = nettyRemotingClient;
-        this.methodIdentifier = localMethod.toGenericString();
+        this.methodIdentifier = remoteMethod.toGenericString();
     }
 
 }
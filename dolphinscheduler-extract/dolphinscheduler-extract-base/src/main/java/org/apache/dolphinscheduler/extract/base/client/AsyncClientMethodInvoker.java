@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import org.apache.dolphinscheduler.extract.base.AsyncRpcMethod;
+import org.apache.dolphinscheduler.extract.base.IRpcResponse;
+import org.apache.dolphinscheduler.extract.base.RpcMethod;
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The invoker used to invoke the method which return {@link CompletableFuture}, the caller will not be blocked to wait
+ * for the response.
+ * <p>
+ * The method is either an {@link AsyncRpcMethod}, which is sent as its sync {@link RpcMethod} so it works with the
+ * server which doesn't know the async method, or a {@link RpcMethod} which return {@link CompletableFuture} in the
+ * server side.
+ */
+class AsyncClientMethodInvoker extends AbstractClientMethodInvoker {
+
+    private final Class<?> responseClass;
+
+    private final long timeout;
+
+    AsyncClientMethodInvoker(Host serverHost,
+                             Method localMethod,
+                             Method remoteMethod,
+                             NettyRemotingClient nettyRemotingClient) {
+        super(serverHost, localMethod, remoteMethod, nettyRemotingClient);
+        this.responseClass = resolveResponseClass(remoteMethod);
+        this.timeout = remoteMethod.getAnnotation(RpcMethod.class).timeout();
+    }
+
+    static boolean isAsyncMethod(Method method) {
+        return CompletableFuture.class.equals(method.getReturnType());
+    }
+
+    /**
+     * Find the sync {@link RpcMethod} of the given {@link AsyncRpcMethod}.
+     */
+    static Method getRemoteMethod(Method asyncMethod) {
+        AsyncRpcMethod asyncRpcMethod = asyncMethod.getAnnotation(AsyncRpcMethod.class);
+        if (!isAsyncMethod(asyncMethod)) {
+            throw new IllegalArgumentException(
+                    "The AsyncRpcMethod: " + asyncMethod.toGenericString() + " should return CompletableFuture");
+        }
+        final Method remoteMethod;
+        try {
+            remoteMethod = asyncMethod.getDeclaringClass()
+                    .getMethod(asyncRpcMethod.value(), asyncMethod.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Cannot find the sync method: " + asyncRpcMethod.value()
+                    + " of the AsyncRpcMethod: " + asyncMethod.toGenericString(), e);
+        }
+        if (remoteMethod.getAnnotation(RpcMethod.class) == null) {
+            throw new IllegalArgumentException(
+                    "The sync method: " + remoteMethod.toGenericString() + " is not a RpcMethod");
+        }
+        return remoteMethod;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        IRpcSerializer rpcSerializer = nettyRemotingClient.getRpcSerializer(serverHost);
+        Transporter transporter = new Transporter();
+        transporter.setBody(rpcSerializer.serialize(StandardRpcRequest.of(args, rpcSerializer)));
+        transporter.setHeader(TransporterHeader.of(methodIdentifier, rpcSerializer.getCodecId()));
+
+        return nettyRemotingClient.sendAsync(serverHost, transporter, timeout)
+                .thenApply(iRpcResponse -> deserializeResponse(rpcSerializer, iRpcResponse));
+    }
+
+    private Object deserializeResponse(IRpcSerializer rpcSerializer, IRpcResponse iRpcResponse) {
+        if (!iRpcResponse.isSuccess()) {
+            throw MethodInvocationException.of(iRpcResponse.getMessage());
+        }
+        if (iRpcResponse.getBody() == null || Void.class.equals(responseClass) || void.class.equals(responseClass)) {
+            return null;
+        }
+        return rpcSerializer.deserialize(iRpcResponse.getBody(), responseClass);
+    }
+
+    private static Class<?> resolveResponseClass(Method method) {
+        if (!isAsyncMethod(method)) {
+            return method.getReturnType();
+        }
+        Type genericReturnType = method.getGenericReturnType();
+        if (!(genericReturnType instanceof ParameterizedType)) {
+            return Object.class;
+        }
+        Type actualType = ((ParameterizedType) genericReturnType).getActualTypeArguments()[0];
+        if (actualType instanceof Class) {
+            return (Class<?>) actualType;
+        }
+        if (actualType instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) actualType).getRawType();
+        }
+        return Object.class;
+    }
+}
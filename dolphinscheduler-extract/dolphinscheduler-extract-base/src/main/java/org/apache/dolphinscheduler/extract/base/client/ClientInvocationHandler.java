@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.extract.base.client;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import org.apache.dolphinscheduler.extract.base.AsyncRpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 
@@ -46,12 +47,23 @@ class ClientInvocationHandler implements InvocationHandler {
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        if (method.getAnnotation(RpcMethod.class) == null) {
+        if (method.getAnnotation(RpcMethod.class) == null && method.getAnnotation(AsyncRpcMethod.class) == null) {
             return method.invoke(proxy, args);
         }
         ClientMethodInvoker methodInvoker = methodInvokerMap.computeIfAbsent(
-                method.toGenericString(), m -> new SyncClientMethodInvoker(serverHost, method, nettyRemotingClient));
+                method.toGenericString(), m -> createMethodInvoker(method));
         return methodInvoker.invoke(proxy, method, args);
     }
 
+    private ClientMethodInvoker createMethodInvoker(Method method) {
+        if (method.getAnnotation(AsyncRpcMethod.class) != null) {
+            return new AsyncClientMethodInvoker(serverHost, method, AsyncClientMethodInvoker.getRemoteMethod(method),
+                    nettyRemotingClient);
+        }
+        if (AsyncClientMethodInvoker.isAsyncMethod(method)) {
+            return new AsyncClientMethodInvoker(serverHost, method, method, nettyRemotingClient);
+        }
+        return new SyncClientMethodInvoker(serverHost, method, nettyRemotingClient);
+    }
+
 }
@@ -18,13 +18,15 @@
 package org.apache.dolphinscheduler.extract.base.client;
 
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+import org.apache.dolphinscheduler.extract.base.exception.RpcSerializeException;
 import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import lombok.extern.slf4j.Slf4j;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -49,16 +51,30 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
-        processReceived((Transporter) msg);
+        processReceived(ctx.channel(), (Transporter) msg);
     }
 
-    private void processReceived(final Transporter transporter) {
+    private void processReceived(final Channel channel, final Transporter transporter) {
+        if (transporter.getHeader().getSupportedCodecIds() != null) {
+            nettyRemotingClient.onServerSupportedCodecs(ChannelUtils.toAddress(channel),
+                    transporter.getHeader().getSupportedCodecIds());
+        }
         ResponseFuture future = ResponseFuture.getFuture(transporter.getHeader().getOpaque());
         if (future == null) {
             log.warn("Cannot find the ResponseFuture if transporter: {}", transporter);
             return;
         }
-        StandardRpcResponse deserialize = JsonSerializer.deserialize(transporter.getBody(), StandardRpcResponse.class);
+        // The server will respond with the same codec of the request
+        final StandardRpcResponse deserialize;
+        try {
+            deserialize = RpcSerializerManager.getSerializer(transporter.getHeader().getCodecId())
+                    .deserialize(transporter.getBody(), StandardRpcResponse.class);
+        } catch (RpcSerializeException e) {
+            log.error("Deserialize the response of transporter: {} failed", transporter.getHeader(), e);
+            future.setCause(e);
+            future.putResponse(null);
+            return;
+        }
         future.setIRpcResponse(deserialize);
         future.putResponse(deserialize);
     }
@@ -22,16 +22,25 @@ import org.apache.dolphinscheduler.extract.base.IRpcResponse;
 import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
 import org.apache.dolphinscheduler.extract.base.exception.RemotingTimeoutException;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingTooMuchRequestException;
+import org.apache.dolphinscheduler.extract.base.future.ReleaseSemaphore;
 import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterDecoder;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterEncoder;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
 import org.apache.dolphinscheduler.extract.base.utils.Constants;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.extract.base.utils.NettyUtils;
 
 import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -48,6 +57,8 @@ import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
 
 @Slf4j
 public class NettyRemotingClient implements AutoCloseable {
@@ -56,6 +67,8 @@ public class NettyRemotingClient implements AutoCloseable {
 
     private final ConcurrentHashMap<Host, Channel> channels = new ConcurrentHashMap<>(128);
 
+    private final ConcurrentHashMap<Host, CompletableFuture<Channel>> connectingChannels = new ConcurrentHashMap<>();
+
     private final AtomicBoolean isStarted = new AtomicBoolean(false);
 
     private final EventLoopGroup workerGroup;
@@ -64,6 +77,24 @@ public class NettyRemotingClient implements AutoCloseable {
 
     private final NettyClientHandler clientHandler;
 
+    /**
+     * Bound the in-flight async requests, each async request hold a permit until it is completed or timeout.
+     */
+    private final Semaphore asyncSemaphore;
+
+    private final HashedWheelTimer asyncTimeoutTimer;
+
+    private final ExecutorService asyncCallbackExecutor;
+
+    private final IRpcSerializer defaultSerializer = RpcSerializerManager.getSerializer(JsonRpcSerializer.NAME);
+
+    private final IRpcSerializer preferredSerializer;
+
+    /**
+     * The serializer used to talk with each server, the server which is not in this map uses the json serializer.
+     */
+    private final ConcurrentHashMap<Host, IRpcSerializer> negotiatedSerializers = new ConcurrentHashMap<>();
+
     public NettyRemotingClient(final NettyClientConfig clientConfig) {
         this.clientConfig = clientConfig;
         ThreadFactory nettyClientThreadFactory = ThreadUtils.newDaemonThreadFactory("NettyClientThread-");
@@ -73,6 +104,12 @@ public class NettyRemotingClient implements AutoCloseable {
             this.workerGroup = new NioEventLoopGroup(clientConfig.getWorkerThreads(), nettyClientThreadFactory);
         }
         this.clientHandler = new NettyClientHandler(this);
+        this.preferredSerializer = RpcSerializerManager.getSerializer(clientConfig.getPreferredSerializer());
+        this.asyncSemaphore = new Semaphore(clientConfig.getMaxInFlightAsyncRequests(), true);
+        this.asyncTimeoutTimer = new HashedWheelTimer(
+                ThreadUtils.newDaemonThreadFactory("NettyClientAsyncTimeoutThread"), 10, TimeUnit.MILLISECONDS);
+        this.asyncCallbackExecutor = ThreadUtils.newDaemonFixedThreadExecutor(
+                "NettyClientAsyncCallbackThread-%d", clientConfig.getAsyncCallbackThreads());
 
         this.start();
     }
@@ -137,6 +174,104 @@ public class NettyRemotingClient implements AutoCloseable {
         return iRpcResponse;
     }
 
+    /**
+     * Send the request without blocking the caller to wait for the response, the requests to the same host are
+     * pipelined in one channel and matched with the response by opaque.
+     * <p>
+     * The returned future will be completed by the async callback thread, once the response is received, the request
+     * send failed or timeout. The caller will never be blocked, neither by connecting to the host nor by waiting for a
+     * permit, if the in-flight requests exceed {@link NettyClientConfig#getMaxInFlightAsyncRequests()}, the returned
+     * future will fail with {@link RemotingTooMuchRequestException} immediately.
+     */
+    public CompletableFuture<IRpcResponse> sendAsync(final Host host,
+                                                     final Transporter transporter,
+                                                     final long timeoutMillis) {
+        final CompletableFuture<IRpcResponse> completableFuture = new CompletableFuture<>();
+        if (!asyncSemaphore.tryAcquire()) {
+            completableFuture.completeExceptionally(new RemotingTooMuchRequestException(String.format(
+                    "Send async request to %s failed, the in-flight requests exceed %s, please retry later",
+                    host, clientConfig.getMaxInFlightAsyncRequests())));
+            return completableFuture;
+        }
+        final ReleaseSemaphore releaseSemaphore = new ReleaseSemaphore(asyncSemaphore);
+        final long opaque = transporter.getHeader().getOpaque();
+        // The timeout covers connecting to the host
+        final ResponseFuture responseFuture = new ResponseFuture(opaque, timeoutMillis,
+                future -> completeAsyncResponse(host, future, completableFuture), releaseSemaphore);
+        final Timeout timeout = asyncTimeoutTimer.newTimeout(t -> responseFuture.putResponse(null),
+                timeoutMillis, TimeUnit.MILLISECONDS);
+        completableFuture.whenComplete((response, ex) -> timeout.cancel());
+
+        getChannelAsync(host).whenComplete((channel, connectException) -> {
+            if (connectException != null) {
+                responseFuture.setSendOk(false);
+                responseFuture.setCause(connectException);
+                responseFuture.putResponse(null);
+                return;
+            }
+            channel.writeAndFlush(transporter).addListener(future -> {
+                if (future.isSuccess()) {
+                    responseFuture.setSendOk(true);
+                    return;
+                }
+                responseFuture.setSendOk(false);
+                responseFuture.setCause(future.cause());
+                responseFuture.putResponse(null);
+                log.error("Send async request {} to host {} failed", transporter, host, responseFuture.getCause());
+            });
+        });
+        return completableFuture;
+    }
+
+    private void completeAsyncResponse(final Host host,
+                                       final ResponseFuture responseFuture,
+                                       final CompletableFuture<IRpcResponse> completableFuture) {
+        final Runnable completeTask = () -> {
+            IRpcResponse iRpcResponse = responseFuture.getIRpcResponse();
+            if (iRpcResponse != null) {
+                completableFuture.complete(iRpcResponse);
+                return;
+            }
+            if (responseFuture.isSendOK()) {
+                completableFuture.completeExceptionally(new RemotingTimeoutException(
+                        host.toString(), responseFuture.getTimeoutMillis(), responseFuture.getCause()));
+            } else {
+                completableFuture.completeExceptionally(
+                        new RemotingException(host.toString(), responseFuture.getCause()));
+            }
+        };
+        try {
+            // Don't complete the future in the io thread, the dependent stages might block
+            asyncCallbackExecutor.execute(completeTask);
+        } catch (RejectedExecutionException ex) {
+            completeTask.run();
+        }
+    }
+
+    /**
+     * Get the serializer used to serialize the request to the given host.
+     */
+    public IRpcSerializer getRpcSerializer(Host host) {
+        return negotiatedSerializers.getOrDefault(host, defaultSerializer);
+    }
+
+    /**
+     * Switch to the preferred serializer if the server declared supporting it.
+     */
+    void onServerSupportedCodecs(Host host, byte[] supportedCodecIds) {
+        if (preferredSerializer == defaultSerializer || negotiatedSerializers.containsKey(host)) {
+            return;
+        }
+        for (byte codecId : supportedCodecIds) {
+            if (codecId == preferredSerializer.getCodecId()) {
+                negotiatedSerializers.put(host, preferredSerializer);
+                log.info("The server: {} supports the serializer: {}, will use it", host,
+                        preferredSerializer.getName());
+                return;
+            }
+        }
+    }
+
     private Channel getChannel(Host host) {
         Channel channel = channels.get(host);
         if (channel != null && channel.isActive()) {
@@ -145,6 +280,47 @@ public class NettyRemotingClient implements AutoCloseable {
         return createChannel(host, true);
     }
 
+    /**
+     * Get the active channel of the host, if there is no active channel, connect to the host without blocking the
+     * caller, the concurrent requests to the same host share one connecting.
+     */
+    private CompletableFuture<Channel> getChannelAsync(Host host) {
+        Channel channel = channels.get(host);
+        if (channel != null && channel.isActive()) {
+            return CompletableFuture.completedFuture(channel);
+        }
+        CompletableFuture<Channel> channelFuture = connectingChannels.computeIfAbsent(host, this::connectAsync);
+        if (channelFuture.isDone()) {
+            // The connecting might be completed before it is put into the map
+            connectingChannels.remove(host, channelFuture);
+        }
+        return channelFuture;
+    }
+
+    private CompletableFuture<Channel> connectAsync(Host host) {
+        final CompletableFuture<Channel> channelFuture = new CompletableFuture<>();
+        final ChannelFuture connectFuture;
+        try {
+            synchronized (bootstrap) {
+                connectFuture = bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
+            }
+        } catch (Exception ex) {
+            channelFuture.completeExceptionally(ex);
+            return channelFuture;
+        }
+        connectFuture.addListener(future -> {
+            connectingChannels.remove(host, channelFuture);
+            if (future.isSuccess()) {
+                channels.put(host, connectFuture.channel());
+                channelFuture.complete(connectFuture.channel());
+            } else {
+                channelFuture.completeExceptionally(
+                        new RemotingException(String.format("connect to : %s fail", host), future.cause()));
+            }
+        });
+        return channelFuture;
+    }
+
     /**
      * create channel
      *
@@ -178,6 +354,8 @@ public class NettyRemotingClient implements AutoCloseable {
         if (isStarted.compareAndSet(true, false)) {
             try {
                 closeChannels();
+                asyncTimeoutTimer.stop();
+                asyncCallbackExecutor.shutdown();
                 if (workerGroup != null) {
                     this.workerGroup.shutdownGracefully();
                 }
@@ -193,9 +371,12 @@ public class NettyRemotingClient implements AutoCloseable {
             channel.close();
         }
         this.channels.clear();
+        this.negotiatedSerializers.clear();
     }
 
     public void closeChannel(Host host) {
+        // The server might be replaced by an old version, negotiate again after reconnect
+        this.negotiatedSerializers.remove(host);
         Channel channel = this.channels.remove(host);
         if (channel != null) {
             channel.close();
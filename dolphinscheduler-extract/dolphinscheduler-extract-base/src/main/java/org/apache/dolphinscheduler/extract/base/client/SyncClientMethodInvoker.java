@@ -23,7 +23,7 @@ import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 
 import java.lang.reflect.Method;
@@ -37,9 +37,10 @@ class SyncClientMethodInvoker extends AbstractClientMethodInvoker {
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         RpcMethod sync = method.getAnnotation(RpcMethod.class);
+        IRpcSerializer rpcSerializer = nettyRemotingClient.getRpcSerializer(serverHost);
         Transporter transporter = new Transporter();
-        transporter.setBody(JsonSerializer.serialize(StandardRpcRequest.of(args)));
-        transporter.setHeader(TransporterHeader.of(methodIdentifier));
+        transporter.setBody(rpcSerializer.serialize(StandardRpcRequest.of(args, rpcSerializer)));
+        transporter.setHeader(TransporterHeader.of(methodIdentifier, rpcSerializer.getCodecId()));
 
         IRpcResponse iRpcResponse =
                 nettyRemotingClient.sendSync(serverHost, transporter, sync.timeout());
@@ -50,6 +51,6 @@ class SyncClientMethodInvoker extends AbstractClientMethodInvoker {
             return null;
         }
         Class<?> responseClass = method.getReturnType();
-        return JsonSerializer.deserialize(iRpcResponse.getBody(), responseClass);
+        return rpcSerializer.deserialize(iRpcResponse.getBody(), responseClass);
     }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.base.config;
 
+import org.apache.dolphinscheduler.extract.base.serialize.CborRpcSerializer;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -64,4 +66,24 @@ public class NettyClientConfig {
     @Builder.Default
     private int connectTimeoutMillis = 3000;
 
+    /**
+     * max in-flight async requests of the client, the exceeded request will fail immediately rather than block the caller
+     */
+    @Builder.Default
+    private int maxInFlightAsyncRequests = 4096;
+
+    /**
+     * the threads used to complete the async response, the callback will not be executed in the io thread
+     */
+    @Builder.Default
+    private int asyncCallbackThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * the name of the preferred serializer. The requests to a server are serialized by json by default, and switch to
+     * the preferred serializer only after the server declared supporting it in a response, so the client can still
+     * talk with the old server which only supports json.
+     */
+    @Builder.Default
+    private String preferredSerializer = CborRpcSerializer.NAME;
+
 }
@@ -19,6 +19,11 @@ package org.apache.dolphinscheduler.extract.base.exception;
 
 public class MethodInvocationException extends RuntimeException {
 
+    /**
+     * The message prefix returned by the server when the method is not provided, e.g. the server is not upgraded.
+     */
+    public static final String METHOD_NOT_FOUND_MESSAGE_PREFIX = "Cannot find the ServerMethodInvoker of ";
+
     public MethodInvocationException(String message) {
         super(message);
     }
@@ -27,4 +32,8 @@ public class MethodInvocationException extends RuntimeException {
         return new MethodInvocationException(message);
     }
 
+    public boolean isMethodNotFound() {
+        return getMessage() != null && getMessage().startsWith(METHOD_NOT_FOUND_MESSAGE_PREFIX);
+    }
+
 }
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.extract.base.IRpcResponse;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -51,9 +52,25 @@ public class ResponseFuture {
 
     private Throwable cause;
 
+    // The callback will be executed once the response is received, the request is failed or timeout
+    private final InvokeCallback invokeCallback;
+
+    private final ReleaseSemaphore releaseSemaphore;
+
+    private final AtomicBoolean done = new AtomicBoolean(false);
+
     public ResponseFuture(long opaque, long timeoutMillis) {
+        this(opaque, timeoutMillis, null, null);
+    }
+
+    public ResponseFuture(long opaque,
+                          long timeoutMillis,
+                          InvokeCallback invokeCallback,
+                          ReleaseSemaphore releaseSemaphore) {
         this.opaque = opaque;
         this.timeoutMillis = timeoutMillis;
+        this.invokeCallback = invokeCallback;
+        this.releaseSemaphore = releaseSemaphore;
         FUTURE_TABLE.put(opaque, this);
     }
 
@@ -69,10 +86,46 @@ public class ResponseFuture {
         return this.iRpcResponse;
     }
 
+    /**
+     * Complete the future, only the first response will take effect, the late response(e.g. after timeout) is ignored.
+     */
     public void putResponse(final IRpcResponse iRpcResponse) {
+        if (!done.compareAndSet(false, true)) {
+            return;
+        }
         this.iRpcResponse = iRpcResponse;
         this.latch.countDown();
         FUTURE_TABLE.remove(opaque);
+        try {
+            if (invokeCallback != null) {
+                invokeCallback.operationComplete(this);
+            }
+        } catch (Throwable ex) {
+            log.error("Execute the invoke callback of request id {} failed", opaque, ex);
+        } finally {
+            release();
+        }
+    }
+
+    public boolean isDone() {
+        return done.get();
+    }
+
+    public long getOpaque() {
+        return opaque;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * release the in-flight permit hold by this future
+     */
+    public void release() {
+        if (releaseSemaphore != null) {
+            releaseSemaphore.release();
+        }
     }
 
     public static ResponseFuture getFuture(long opaque) {
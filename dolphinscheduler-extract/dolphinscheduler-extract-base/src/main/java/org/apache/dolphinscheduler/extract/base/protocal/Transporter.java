@@ -19,7 +19,7 @@ package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
 
 import java.io.Serializable;
 
@@ -32,17 +32,25 @@ public class Transporter implements Serializable {
     private static final long serialVersionUID = -1L;
 
     public static final byte MAGIC = (byte) 0xbabe;
+    /**
+     * The header is serialized by json, only the json codec is supported in this version.
+     */
     public static final byte VERSION = 0;
 
+    /**
+     * The header is written in binary: codec id, opaque and method identifier, the body is serialized by the codec.
+     */
+    public static final byte BINARY_HEADER_VERSION = 1;
+
     private TransporterHeader header;
     private byte[] body;
 
     public static Transporter of(@NonNull TransporterHeader header, StandardRpcResponse iRpcResponse) {
-        return of(header, JsonSerializer.serialize(iRpcResponse));
+        return of(header, RpcSerializerManager.getSerializer(header.getCodecId()).serialize(iRpcResponse));
     }
 
     public static Transporter of(@NonNull TransporterHeader header, StandardRpcRequest iRpcRequest) {
-        return of(header, JsonSerializer.serialize(iRpcRequest));
+        return of(header, RpcSerializerManager.getSerializer(header.getCodecId()).serialize(iRpcRequest));
     }
 
     public static Transporter of(@NonNull TransporterHeader header, byte[] body) {
@@ -17,8 +17,11 @@
 
 package org.apache.dolphinscheduler.extract.base.protocal;
 
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
 import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
@@ -33,8 +36,10 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
         super(State.MAGIC);
     }
 
+    private byte version;
+    private byte codecId;
     private int headerLength;
-    private byte[] header;
+    private TransporterHeader header;
     private int bodyLength;
     private byte[] body;
 
@@ -45,14 +50,22 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
                 checkMagic(in.readByte());
                 checkpoint(State.VERSION);
             case VERSION:
-                checkVersion(in.readByte());
+                version = in.readByte();
+                checkVersion(version);
+                checkpoint(State.CODEC_ID);
+            case CODEC_ID:
+                if (version == Transporter.BINARY_HEADER_VERSION) {
+                    codecId = in.readByte();
+                    checkCodecId(codecId);
+                } else {
+                    codecId = JsonRpcSerializer.CODEC_ID;
+                }
                 checkpoint(State.HEADER_LENGTH);
             case HEADER_LENGTH:
                 headerLength = in.readInt();
                 checkpoint(State.HEADER);
             case HEADER:
-                header = new byte[headerLength];
-                in.readBytes(header);
+                header = readHeader(in);
                 checkpoint(State.BODY_LENGTH);
             case BODY_LENGTH:
                 bodyLength = in.readInt();
@@ -60,8 +73,7 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
             case BODY:
                 body = new byte[bodyLength];
                 in.readBytes(body);
-                Transporter transporter =
-                        Transporter.of(JsonSerializer.deserialize(header, TransporterHeader.class), body);
+                Transporter transporter = Transporter.of(header, body);
                 out.add(transporter);
                 checkpoint(State.MAGIC);
                 break;
@@ -70,6 +82,18 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
         }
     }
 
+    private TransporterHeader readHeader(ByteBuf in) {
+        if (version == Transporter.VERSION) {
+            byte[] headerBytes = new byte[headerLength];
+            in.readBytes(headerBytes);
+            return JsonSerializer.deserialize(headerBytes, TransporterHeader.class);
+        }
+        long opaque = in.readLong();
+        String methodIdentifier =
+                in.readCharSequence(headerLength - Long.BYTES, StandardCharsets.UTF_8).toString();
+        return TransporterHeader.of(opaque, methodIdentifier, codecId);
+    }
+
     private void checkMagic(byte magic) {
         if (magic != Transporter.MAGIC) {
             throw new IllegalArgumentException("illegal packet [magic]" + magic);
@@ -77,14 +101,21 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
     }
 
     private void checkVersion(byte version) {
-        if (version != Transporter.VERSION) {
+        if (version != Transporter.VERSION && version != Transporter.BINARY_HEADER_VERSION) {
             throw new IllegalArgumentException("illegal protocol [version]" + version);
         }
     }
 
+    private void checkCodecId(byte codecId) {
+        if (!RpcSerializerManager.isSupported(codecId)) {
+            throw new IllegalArgumentException("illegal protocol [codecId]" + codecId);
+        }
+    }
+
     enum State {
         MAGIC,
         VERSION,
+        CODEC_ID,
         HEADER_LENGTH,
         HEADER,
         BODY_LENGTH,
@@ -18,8 +18,10 @@
 package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
@@ -33,12 +35,24 @@ public class TransporterEncoder extends MessageToByteEncoder<Transporter> {
             throw new RemotingException("encode msg is null");
         }
         out.writeByte(Transporter.MAGIC);
-        out.writeByte(Transporter.VERSION);
 
-        // write header
-        byte[] header = transporter.getHeader().toBytes();
-        out.writeInt(header.length);
-        out.writeBytes(header);
+        final TransporterHeader transporterHeader = transporter.getHeader();
+        if (transporterHeader.getCodecId() == JsonRpcSerializer.CODEC_ID) {
+            // Keep the json transporter in the old format, so it can be decoded by the old version
+            out.writeByte(Transporter.VERSION);
+            byte[] header = transporterHeader.toBytes();
+            out.writeInt(header.length);
+            out.writeBytes(header);
+        } else {
+            // Write the header into the buffer directly, the header length is set after the method identifier written
+            out.writeByte(Transporter.BINARY_HEADER_VERSION);
+            out.writeByte(transporterHeader.getCodecId());
+            int headerLengthIndex = out.writerIndex();
+            out.writeInt(0);
+            out.writeLong(transporterHeader.getOpaque());
+            int methodIdentifierLength = ByteBufUtil.writeUtf8(out, transporterHeader.getMethodIdentifier());
+            out.setInt(headerLengthIndex, Long.BYTES + methodIdentifierLength);
+        }
 
         // write body
         byte[] body = transporter.getBody();
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.extract.base.protocal;
 
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
 import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
 
 import java.io.Serializable;
@@ -24,6 +25,8 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import lombok.Data;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 @Data
 public class TransporterHeader implements Serializable {
 
@@ -34,6 +37,19 @@ public class TransporterHeader implements Serializable {
     private String methodIdentifier;
     private long opaque;
 
+    /**
+     * The codec id of the {@link org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer} used to serialize
+     * the body, the header sent by the old version doesn't contain this field, which means json.
+     */
+    private byte codecId = JsonRpcSerializer.CODEC_ID;
+
+    /**
+     * The codec ids supported by the server, only carried in the json response, so the client can switch to its
+     * preferred codec once the server declared supporting it. The old version will ignore this field.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private byte[] supportedCodecIds;
+
     // Used for JsonDeSerializer
     public TransporterHeader() {
 
@@ -44,8 +60,13 @@ public class TransporterHeader implements Serializable {
     }
 
     public TransporterHeader(long opaque, String methodIdentifier) {
+        this(opaque, methodIdentifier, JsonRpcSerializer.CODEC_ID);
+    }
+
+    public TransporterHeader(long opaque, String methodIdentifier, byte codecId) {
         this.opaque = opaque;
         this.methodIdentifier = methodIdentifier;
+        this.codecId = codecId;
     }
 
     public static TransporterHeader of(String methodIdentifier) {
@@ -56,6 +77,14 @@ public class TransporterHeader implements Serializable {
         return new TransporterHeader(opaque, methodIdentifier);
     }
 
+    public static TransporterHeader of(String methodIdentifier, byte codecId) {
+        return new TransporterHeader(REQUEST_ID.getAndIncrement(), methodIdentifier, codecId);
+    }
+
+    public static TransporterHeader of(long opaque, String methodIdentifier, byte codecId) {
+        return new TransporterHeader(opaque, methodIdentifier, codecId);
+    }
+
     public byte[] toBytes() {
         return JsonSerializer.serialize(this);
     }
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+/**
+ * The serializer used to serialize the rpc request and response body.
+ * <p>
+ * Each serializer is identified by a unique codec id, the codec id is carried in the
+ * {@link org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader}, so that the receiver can decode the
+ * body with the same serializer, and the server will respond with the codec used by the request. The serializer is
+ * loaded by {@link java.util.ServiceLoader}, see {@link RpcSerializerManager}.
+ */
+public interface IRpcSerializer {
+
+    /**
+     * The unique codec id of the serializer, the codec id will be written into the transporter, so it cannot be
+     * changed once released.
+     */
+    byte getCodecId();
+
+    String getName();
+
+    /**
+     * @throws org.apache.dolphinscheduler.extract.base.exception.RpcSerializeException if serialize failed
+     */
+    <T> byte[] serialize(T obj);
+
+    /**
+     * @throws org.apache.dolphinscheduler.extract.base.exception.RpcSerializeException if deserialize failed
+     */
+    <T> T deserialize(byte[] src, Class<T> clazz);
+
+}
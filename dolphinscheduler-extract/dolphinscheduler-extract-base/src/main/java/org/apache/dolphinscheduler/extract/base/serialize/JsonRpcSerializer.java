@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import com.google.auto.service.AutoService;
+
+/**
+ * The json serializer, the transporter serialized by this serializer can be decoded by the old version.
+ */
+@AutoService(IRpcSerializer.class)
+public class JsonRpcSerializer implements IRpcSerializer {
+
+    public static final byte CODEC_ID = 0;
+
+    public static final String NAME = "json";
+
+    @Override
+    public byte getCodecId() {
+        return CODEC_ID;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public <T> byte[] serialize(T obj) {
+        return JsonSerializer.serialize(obj);
+    }
+
+    @Override
+    public <T> T deserialize(byte[] src, Class<T> clazz) {
+        return JsonSerializer.deserialize(src, clazz);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hold all the {@link IRpcSerializer} loaded by {@link ServiceLoader}, the serializer can be found by codec id or name.
+ */
+@Slf4j
+public class RpcSerializerManager {
+
+    private static final Map<Byte, IRpcSerializer> CODEC_ID_SERIALIZER_MAP = new HashMap<>();
+
+    private static final Map<String, IRpcSerializer> NAME_SERIALIZER_MAP = new HashMap<>();
+
+    static {
+        ServiceLoader.load(IRpcSerializer.class)
+                .forEach(rpcSerializer -> {
+                    IRpcSerializer existSerializer =
+                            CODEC_ID_SERIALIZER_MAP.putIfAbsent(rpcSerializer.getCodecId(), rpcSerializer);
+                    if (existSerializer != null) {
+                        throw new IllegalArgumentException("Duplicate codec id: " + rpcSerializer.getCodecId()
+                                + " of serializer " + rpcSerializer.getClass().getName() + " and "
+                                + existSerializer.getClass().getName());
+                    }
+                    NAME_SERIALIZER_MAP.put(rpcSerializer.getName(), rpcSerializer);
+                    log.info("Initialize IRpcSerializer: {} with codec id: {}",
+                            rpcSerializer.getClass().getName(), rpcSerializer.getCodecId());
+                });
+    }
+
+    private static final byte[] SUPPORTED_CODEC_IDS;
+
+    static {
+        SUPPORTED_CODEC_IDS = new byte[CODEC_ID_SERIALIZER_MAP.size()];
+        int i = 0;
+        for (Byte codecId : CODEC_ID_SERIALIZER_MAP.keySet()) {
+            SUPPORTED_CODEC_IDS[i++] = codecId;
+        }
+    }
+
+    private RpcSerializerManager() {
+    }
+
+    public static IRpcSerializer getSerializer(byte codecId) {
+        IRpcSerializer rpcSerializer = CODEC_ID_SERIALIZER_MAP.get(codecId);
+        if (rpcSerializer == null) {
+            throw new IllegalArgumentException("Cannot find the IRpcSerializer of codec id: " + codecId);
+        }
+        return rpcSerializer;
+    }
+
+    public static IRpcSerializer getSerializer(String name) {
+        IRpcSerializer rpcSerializer = NAME_SERIALIZER_MAP.get(name);
+        if (rpcSerializer == null) {
+            throw new IllegalArgumentException("Cannot find the IRpcSerializer of name: " + name);
+        }
+        return rpcSerializer;
+    }
+
+    public static boolean isSupported(byte codecId) {
+        return CODEC_ID_SERIALIZER_MAP.containsKey(codecId);
+    }
+
+    /**
+     * Get the codec ids of all the supported serializers, the server declares them to the client.
+     */
+    public static byte[] getSupportedCodecIds() {
+        return SUPPORTED_CODEC_IDS.clone();
+    }
+}
@@ -21,13 +21,18 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
@@ -82,53 +87,72 @@ class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
         try {
             if (methodInvoker == null) {
                 log.error("Cannot find the ServerMethodInvoker of : {}", transporter);
-                StandardRpcResponse iRpcResponse =
-                        StandardRpcResponse.fail("Cannot find the ServerMethodInvoker of " + methodIdentifier);
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
+                writeResponse(channel, transporter,
+                        StandardRpcResponse.fail(
+                                MethodInvocationException.METHOD_NOT_FOUND_MESSAGE_PREFIX + methodIdentifier));
                 return;
             }
             methodInvokeExecutor.execute(() -> {
-                StandardRpcResponse iRpcResponse;
                 try {
+                    // Use the codec of the request to deserialize the request and serialize the response
+                    final IRpcSerializer rpcSerializer =
+                            RpcSerializerManager.getSerializer(transporter.getHeader().getCodecId());
                     StandardRpcRequest standardRpcRequest =
-                            JsonSerializer.deserialize(transporter.getBody(), StandardRpcRequest.class);
+                            rpcSerializer.deserialize(transporter.getBody(), StandardRpcRequest.class);
                     Object[] args;
                     if (standardRpcRequest.getArgs() == null || standardRpcRequest.getArgs().length == 0) {
                         args = null;
                     } else {
                         args = new Object[standardRpcRequest.getArgs().length];
                         for (int i = 0; i < standardRpcRequest.getArgs().length; i++) {
-                            args[i] = JsonSerializer.deserialize(standardRpcRequest.getArgs()[i],
+                            args[i] = rpcSerializer.deserialize(standardRpcRequest.getArgs()[i],
                                     standardRpcRequest.getArgsTypes()[i]);
                         }
                     }
                     Object result = methodInvoker.invoke(args);
-                    if (result == null) {
-                        iRpcResponse = StandardRpcResponse.success(null, null);
-                    } else {
-                        iRpcResponse = StandardRpcResponse.success(JsonSerializer.serialize(result), result.getClass());
+                    if (result instanceof CompletableFuture) {
+                        // The async method, write the response once the future is completed
+                        ((CompletableFuture<?>) result).whenComplete((asyncResult, ex) -> {
+                            if (ex != null) {
+                                Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                                log.error("Invoke method {} failed, {}.", methodIdentifier, cause.getMessage(), cause);
+                                writeResponse(channel, transporter, StandardRpcResponse.fail(cause.getMessage()));
+                                return;
+                            }
+                            writeResponse(channel, transporter, toSuccessResponse(rpcSerializer, asyncResult));
+                        });
+                        return;
                     }
+                    writeResponse(channel, transporter, toSuccessResponse(rpcSerializer, result));
                 } catch (Throwable e) {
                     log.error("Invoke method {} failed, {}.", methodIdentifier, e.getMessage(), e);
-                    iRpcResponse = StandardRpcResponse.fail(e.getMessage());
+                    writeResponse(channel, transporter, StandardRpcResponse.fail(e.getMessage()));
                 }
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
             });
         } catch (RejectedExecutionException e) {
             log.warn("NettyRemotingServer's thread pool is full, discard msg {} from {}", transporter,
                     ChannelUtils.getRemoteAddress(channel));
-            StandardRpcResponse iRpcResponse = StandardRpcResponse.fail("NettyRemotingServer's thread pool is full");
-            TransporterHeader transporterHeader =
-                    TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-            Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-            channel.writeAndFlush(response);
+            writeResponse(channel, transporter, StandardRpcResponse.fail("NettyRemotingServer's thread pool is full"));
+        }
+    }
+
+    private StandardRpcResponse toSuccessResponse(IRpcSerializer rpcSerializer, Object result) {
+        if (result == null) {
+            return StandardRpcResponse.success(null, null);
+        }
+        return StandardRpcResponse.success(rpcSerializer.serialize(result), result.getClass());
+    }
+
+    private void writeResponse(final Channel channel,
+                               final Transporter request,
+                               final StandardRpcResponse iRpcResponse) {
+        TransporterHeader transporterHeader = TransporterHeader.of(request.getHeader().getOpaque(),
+                request.getHeader().getMethodIdentifier(), request.getHeader().getCodecId());
+        if (request.getHeader().getCodecId() == JsonRpcSerializer.CODEC_ID) {
+            // Declare the supported codecs, the client will switch to its preferred codec if it is supported
+            transporterHeader.setSupportedCodecIds(RpcSerializerManager.getSupportedCodecIds());
         }
+        channel.writeAndFlush(Transporter.of(transporterHeader, iRpcResponse));
     }
 
     @Override
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
+import org.apache.dolphinscheduler.extract.base.serialize.CborRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NettyRemotingClientTest {
+
+    private final Host host = Host.of("127.0.0.1:5678");
+
+    private NettyRemotingClient nettyRemotingClient;
+
+    @BeforeEach
+    void setUp() {
+        nettyRemotingClient = new NettyRemotingClient(NettyClientConfig.builder().build());
+    }
+
+    @Test
+    void testUseJsonBeforeServerDeclaredSupportedCodecs() {
+        assertThat(nettyRemotingClient.getRpcSerializer(host).getName()).isEqualTo(JsonRpcSerializer.NAME);
+    }
+
+    @Test
+    void testSwitchToPreferredSerializerIfServerSupported() {
+        nettyRemotingClient.onServerSupportedCodecs(host,
+                new byte[]{JsonRpcSerializer.CODEC_ID, CborRpcSerializer.CODEC_ID});
+        assertThat(nettyRemotingClient.getRpcSerializer(host).getName()).isEqualTo(CborRpcSerializer.NAME);
+
+        // negotiate again after the channel closed, the server might be replaced by an old version
+        nettyRemotingClient.closeChannel(host);
+        assertThat(nettyRemotingClient.getRpcSerializer(host).getName()).isEqualTo(JsonRpcSerializer.NAME);
+    }
+
+    @Test
+    void testKeepJsonIfServerNotSupportPreferredSerializer() {
+        nettyRemotingClient.onServerSupportedCodecs(host, new byte[]{JsonRpcSerializer.CODEC_ID});
+        assertThat(nettyRemotingClient.getRpcSerializer(host).getName()).isEqualTo(JsonRpcSerializer.NAME);
+    }
+
+    @Test
+    void testKeepJsonIfPreferJson() {
+        nettyRemotingClient.close();
+        nettyRemotingClient = new NettyRemotingClient(
+                NettyClientConfig.builder().preferredSerializer(JsonRpcSerializer.NAME).build());
+        nettyRemotingClient.onServerSupportedCodecs(host,
+                new byte[]{JsonRpcSerializer.CODEC_ID, CborRpcSerializer.CODEC_ID});
+        assertThat(nettyRemotingClient.getRpcSerializer(host).getName()).isEqualTo(JsonRpcSerializer.NAME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nettyRemotingClient.close();
+    }
+
+}
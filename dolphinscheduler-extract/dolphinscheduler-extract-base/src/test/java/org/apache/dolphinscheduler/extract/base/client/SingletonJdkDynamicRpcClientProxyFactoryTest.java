@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.extract.base.client;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import org.apache.dolphinscheduler.extract.base.AsyncRpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
@@ -29,6 +30,12 @@ import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvoker
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -78,6 +85,49 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
         assertDoesNotThrow(proxyClient::voidMethod);
     }
 
+    @Test
+    public void testPingAsync() throws Exception {
+        IService proxyClient =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(serverAddress, IService.class);
+        assertEquals("pong", proxyClient.pingAsync("ping").get());
+
+        ExecutionException executionException =
+                Assertions.assertThrows(ExecutionException.class, () -> proxyClient.pingAsync(null).get());
+        Assertions.assertInstanceOf(MethodInvocationException.class, executionException.getCause());
+        assertEquals("ping: null is illegal", executionException.getCause().getMessage());
+    }
+
+    @Test
+    public void testPipelinedPingAsync() {
+        IService proxyClient =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(serverAddress, IService.class);
+        List<CompletableFuture<String>> futures = IntStream.range(0, 100)
+                .mapToObj(i -> proxyClient.pingAsync("ping"))
+                .collect(Collectors.toList());
+        for (CompletableFuture<String> future : futures) {
+            assertEquals("pong", future.join());
+        }
+    }
+
+    @Test
+    public void testVoidAsync() {
+        IService proxyClient =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(serverAddress, IService.class);
+        Assertions.assertNull(proxyClient.voidMethodAsync().join());
+    }
+
+    @Test
+    public void testRpcMethodReturnFuture() {
+        IService proxyClient =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(serverAddress, IService.class);
+        assertEquals("pong", proxyClient.pingFuture("ping").join());
+    }
+
+    @Test
+    public void testAsyncRpcMethodIsNotRegisteredInServer() {
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> new IServiceImpl().pingAsync("ping"));
+    }
+
     @AfterEach
     public void tearDown() {
         springServerMethodInvokerDiscovery.close();
@@ -91,6 +141,19 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
 
         @RpcMethod
         void voidMethod();
+
+        @AsyncRpcMethod("ping")
+        default CompletableFuture<String> pingAsync(String ping) {
+            throw new UnsupportedOperationException();
+        }
+
+        @AsyncRpcMethod("voidMethod")
+        default CompletableFuture<Void> voidMethodAsync() {
+            throw new UnsupportedOperationException();
+        }
+
+        @RpcMethod
+        CompletableFuture<String> pingFuture(String ping);
     }
 
     public static class IServiceImpl implements IService {
@@ -107,6 +170,11 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
         public void voidMethod() {
             System.out.println("void method");
         }
+
+        @Override
+        public CompletableFuture<String> pingFuture(String ping) {
+            return CompletableFuture.supplyAsync(() -> ping(ping));
+        }
     }
 
 }
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.protocal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.exception.RpcSerializeException;
+import org.apache.dolphinscheduler.extract.base.serialize.CborRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+class TransporterCodecTest {
+
+    private static final String METHOD_IDENTIFIER = "public abstract java.lang.String IService.ping(java.lang.String)";
+
+    @Test
+    void testEncodeAndDecodeWithJsonSerializer() {
+        testEncodeAndDecode(JsonRpcSerializer.NAME);
+    }
+
+    @Test
+    void testEncodeAndDecodeWithCborSerializer() {
+        testEncodeAndDecode(CborRpcSerializer.NAME);
+    }
+
+    private void testEncodeAndDecode(String serializerName) {
+        IRpcSerializer rpcSerializer = RpcSerializerManager.getSerializer(serializerName);
+        Transporter transporter = Transporter.of(
+                TransporterHeader.of(100L, METHOD_IDENTIFIER, rpcSerializer.getCodecId()),
+                StandardRpcRequest.of(new Object[]{"ping"}, rpcSerializer));
+
+        EmbeddedChannel channel = new EmbeddedChannel(new TransporterEncoder(), new TransporterDecoder());
+        channel.writeOutbound(transporter);
+        ByteBuf encoded = channel.readOutbound();
+        channel.writeInbound(encoded);
+        Transporter decoded = channel.readInbound();
+
+        assertThat(decoded.getHeader().getOpaque()).isEqualTo(100L);
+        assertThat(decoded.getHeader().getMethodIdentifier()).isEqualTo(METHOD_IDENTIFIER);
+        assertThat(decoded.getHeader().getCodecId()).isEqualTo(rpcSerializer.getCodecId());
+        StandardRpcRequest request = rpcSerializer.deserialize(decoded.getBody(), StandardRpcRequest.class);
+        assertThat(rpcSerializer.deserialize(request.getArgs()[0], request.getArgsTypes()[0])).isEqualTo("ping");
+    }
+
+    @Test
+    void testDecodeTheTransporterOfOldVersion() {
+        // The old version write the json header without codec id
+        byte[] header = "{\"methodIdentifier\":\"ping\",\"opaque\":1}".getBytes();
+        byte[] body = JsonRpcSerializer.NAME.getBytes();
+        ByteBuf byteBuf = Unpooled.buffer();
+        byteBuf.writeByte(Transporter.MAGIC);
+        byteBuf.writeByte(Transporter.VERSION);
+        byteBuf.writeInt(header.length);
+        byteBuf.writeBytes(header);
+        byteBuf.writeInt(body.length);
+        byteBuf.writeBytes(body);
+
+        EmbeddedChannel channel = new EmbeddedChannel(new TransporterDecoder());
+        channel.writeInbound(byteBuf);
+        Transporter decoded = channel.readInbound();
+
+        assertThat(decoded.getHeader().getMethodIdentifier()).isEqualTo("ping");
+        assertThat(decoded.getHeader().getOpaque()).isEqualTo(1L);
+        assertThat(decoded.getHeader().getCodecId()).isEqualTo(JsonRpcSerializer.CODEC_ID);
+        assertThat(decoded.getBody()).isEqualTo(body);
+    }
+
+    @Test
+    void testCborDeserializeFailed() {
+        IRpcSerializer rpcSerializer = RpcSerializerManager.getSerializer(CborRpcSerializer.NAME);
+        byte[] illegalBytes = new byte[]{(byte) 0xff, 0x01};
+        Assertions.assertThrows(RpcSerializeException.class,
+                () -> rpcSerializer.deserialize(illegalBytes, StandardRpcRequest.class));
+    }
+
+    @Test
+    void testJsonResponseHeaderWithSupportedCodecIds() {
+        TransporterHeader transporterHeader = TransporterHeader.of(1L, "ping");
+        transporterHeader.setSupportedCodecIds(RpcSerializerManager.getSupportedCodecIds());
+        EmbeddedChannel channel = new EmbeddedChannel(new TransporterEncoder(), new TransporterDecoder());
+        channel.writeOutbound(Transporter.of(transporterHeader, new byte[0]));
+        ByteBuf encoded = channel.readOutbound();
+        channel.writeInbound(encoded);
+        Transporter decoded = channel.readInbound();
+
+        assertThat(decoded.getHeader().getSupportedCodecIds())
+                .asList()
+                .containsAtLeast(JsonRpcSerializer.CODEC_ID, CborRpcSerializer.CODEC_ID);
+    }
+
+    @Test
+    void testJsonTransporterIsEncodedInOldVersion() {
+        Transporter transporter = Transporter.of(TransporterHeader.of(1L, "ping"), new byte[0]);
+        EmbeddedChannel channel = new EmbeddedChannel(new TransporterEncoder());
+        channel.writeOutbound(transporter);
+        ByteBuf encoded = channel.readOutbound();
+
+        assertThat(encoded.readByte()).isEqualTo(Transporter.MAGIC);
+        assertThat(encoded.readByte()).isEqualTo(Transporter.VERSION);
+    }
+
+}
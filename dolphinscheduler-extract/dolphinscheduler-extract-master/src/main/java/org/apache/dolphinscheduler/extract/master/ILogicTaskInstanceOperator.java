@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.extract.master;
 
+import org.apache.dolphinscheduler.extract.base.AsyncRpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
 import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskDispatchRequest;
@@ -26,12 +27,22 @@ import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskKillRespo
 import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskPauseRequest;
 import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskPauseResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 @RpcService
 public interface ILogicTaskInstanceOperator {
 
     @RpcMethod
     LogicTaskDispatchResponse dispatchLogicTask(LogicTaskDispatchRequest taskDispatchRequest);
 
+    /**
+     * The async version of {@link #dispatchLogicTask(LogicTaskDispatchRequest)}, only supported by the rpc client proxy.
+     */
+    @AsyncRpcMethod("dispatchLogicTask")
+    default CompletableFuture<LogicTaskDispatchResponse> dispatchLogicTaskAsync(LogicTaskDispatchRequest taskDispatchRequest) {
+        throw new UnsupportedOperationException("dispatchLogicTaskAsync is only supported by the rpc client");
+    }
+
     @RpcMethod
     LogicTaskKillResponse killLogicTask(LogicTaskKillRequest taskKillRequest);
 
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.extract.master;
 
+import org.apache.dolphinscheduler.extract.base.AsyncRpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent;
@@ -24,6 +25,8 @@ import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecut
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionRunningEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.WorkflowInstanceStateChangeEvent;
 
+import java.util.concurrent.CompletableFuture;
+
 @RpcService
 public interface ITaskInstanceExecutionEventListener {
 
@@ -40,4 +43,34 @@ public interface ITaskInstanceExecutionEventListener {
     @RpcMethod
     void onWorkflowInstanceInstanceStateChange(WorkflowInstanceStateChangeEvent workflowInstanceStateChangeEvent);
 
+    /**
+     * The async version of {@link #onTaskInstanceExecutionRunning(TaskInstanceExecutionRunningEvent)}, only supported by the rpc client proxy.
+     */
+    @AsyncRpcMethod("onTaskInstanceExecutionRunning")
+    default CompletableFuture<Void> onTaskInstanceExecutionRunningAsync(
+                                                                        TaskInstanceExecutionRunningEvent taskInstanceExecutionRunningEvent) {
+        throw new UnsupportedOperationException(
+                "onTaskInstanceExecutionRunningAsync is only supported by the rpc client");
+    }
+
+    /**
+     * The async version of {@link #onTaskInstanceExecutionFinish(TaskInstanceExecutionFinishEvent)}, only supported by the rpc client proxy.
+     */
+    @AsyncRpcMethod("onTaskInstanceExecutionFinish")
+    default CompletableFuture<Void> onTaskInstanceExecutionFinishAsync(
+                                                                       TaskInstanceExecutionFinishEvent taskInstanceExecutionFinishEvent) {
+        throw new UnsupportedOperationException(
+                "onTaskInstanceExecutionFinishAsync is only supported by the rpc client");
+    }
+
+    /**
+     * The async version of {@link #onTaskInstanceExecutionInfoUpdate(TaskInstanceExecutionInfoEvent)}, only supported by the rpc client proxy.
+     */
+    @AsyncRpcMethod("onTaskInstanceExecutionInfoUpdate")
+    default CompletableFuture<Void> onTaskInstanceExecutionInfoUpdateAsync(
+                                                                           TaskInstanceExecutionInfoEvent taskInstanceExecutionInfoEvent) {
+        throw new UnsupportedOperationException(
+                "onTaskInstanceExecutionInfoUpdateAsync is only supported by the rpc client");
+    }
+
 }
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.extract.worker;
 
+import org.apache.dolphinscheduler.extract.base.AsyncRpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchRequest;
@@ -28,6 +29,8 @@ import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstancePauseR
 import org.apache.dolphinscheduler.extract.worker.transportor.UpdateWorkflowHostRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.UpdateWorkflowHostResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 @RpcService
 public interface ITaskInstanceOperator {
 
@@ -43,4 +46,25 @@ public interface ITaskInstanceOperator {
     @RpcMethod
     UpdateWorkflowHostResponse updateWorkflowInstanceHost(UpdateWorkflowHostRequest updateWorkflowHostRequest);
 
+    /**
+     * The async version of {@link #dispatchTask(TaskInstanceDispatchRequest)}, the caller will not wait for the
+     * response. This is only supported by the rpc client proxy, which send the request as
+     * {@link #dispatchTask(TaskInstanceDispatchRequest)}.
+     */
+    @AsyncRpcMethod("dispatchTask")
+    default CompletableFuture<TaskInstanceDispatchResponse> dispatchTaskAsync(
+                                                                              TaskInstanceDispatchRequest taskInstanceDispatchRequest) {
+        throw new UnsupportedOperationException("dispatchTaskAsync is only supported by the rpc client");
+    }
+
+    /**
+     * The async version of {@link #killTask(TaskInstanceKillRequest)}, the caller will not wait for the response.
+     * This is only supported by the rpc client proxy, which send the request as
+     * {@link #killTask(TaskInstanceKillRequest)}.
+     */
+    @AsyncRpcMethod("killTask")
+    default CompletableFuture<TaskInstanceKillResponse> killTaskAsync(TaskInstanceKillRequest taskInstanceKillRequest) {
+        throw new UnsupportedOperationException("killTaskAsync is only supported by the rpc client");
+    }
+
 }
@@ -32,6 +32,23 @@ public class TaskInstanceDispatchResponse {
 
     private String message;
 
+    /**
+     * The count of the running and waiting tasks in the worker when the response is created, the master use it to
+     * track the worker load between two heartbeats.
+     */
+    private int workerTaskCount;
+
+    /**
+     * The time when the workerTaskCount is collected, it's the worker clock which is the same as the heartbeat.
+     */
+    private long workerReportTime;
+
+    public TaskInstanceDispatchResponse(Integer taskInstanceId, boolean dispatchSuccess, String message) {
+        this.taskInstanceId = taskInstanceId;
+        this.dispatchSuccess = dispatchSuccess;
+        this.message = message;
+    }
+
     public static TaskInstanceDispatchResponse success(Integer taskInstanceId) {
         return new TaskInstanceDispatchResponse(taskInstanceId, true, "dispatch success");
     }
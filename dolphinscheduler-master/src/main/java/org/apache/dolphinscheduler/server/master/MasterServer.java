@@ -34,7 +34,6 @@ import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
 import org.apache.dolphinscheduler.server.master.registry.MasterRegistryClient;
 import org.apache.dolphinscheduler.server.master.registry.MasterSlotManager;
 import org.apache.dolphinscheduler.server.master.rpc.MasterRpcServer;
-import org.apache.dolphinscheduler.server.master.runner.EventExecuteService;
 import org.apache.dolphinscheduler.server.master.runner.FailoverExecuteThread;
 import org.apache.dolphinscheduler.server.master.runner.MasterSchedulerBootstrap;
 import org.apache.dolphinscheduler.server.master.runner.taskgroup.TaskGroupCoordinator;
@@ -72,9 +71,6 @@ public class MasterServer implements IStoppable {
     @Autowired
     private SchedulerApi schedulerApi;
 
-    @Autowired
-    private EventExecuteService eventExecuteService;
-
     @Autowired
     private FailoverExecuteThread failoverExecuteThread;
 
@@ -117,7 +113,6 @@ public class MasterServer implements IStoppable {
 
         this.masterSchedulerBootstrap.start();
 
-        this.eventExecuteService.start();
         this.failoverExecuteThread.start();
 
         this.schedulerApi.start();
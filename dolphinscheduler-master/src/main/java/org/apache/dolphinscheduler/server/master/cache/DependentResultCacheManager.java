@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache;
+
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache of the upstream workflow/task instances looked up by the dependent tasks, the dependent tasks waiting on the
+ * same upstream share the same entries, and the entries are invalidated when the upstream finished in this master.
+ */
+public interface DependentResultCacheManager {
+
+    /**
+     * Whether the lookups are cached, if not, each lookup will query the database.
+     */
+    boolean isEnabled();
+
+    /**
+     * Find the last workflow instance that is scheduled in the date interval or manual run and finished in the date
+     * interval.
+     *
+     * @return the last workflow instance, null if not exist
+     */
+    ProcessInstance queryLastProcessInstanceInterval(long definitionCode, long taskCode, DateInterval dateInterval,
+                                                     int testFlag);
+
+    /**
+     * Find the last task instance of the given task codes in the workflow instance, the missing entries will be
+     * loaded by one query.
+     *
+     * @return task code -> last task instance, the task code which doesn't have a finished task instance is absent
+     */
+    Map<Long, TaskInstance> queryLastTaskInstances(int processInstanceId, Set<Long> taskCodes, int testFlag);
+
+    /**
+     * Find the last task instance of the task code in the workflow instance.
+     *
+     * @return the last task instance, null if not exist
+     */
+    TaskInstance queryLastTaskInstance(int processInstanceId, long taskCode, int testFlag);
+
+    TaskDefinition queryTaskDefinition(long taskCode);
+
+    /**
+     * Invalidate the entries of the workflow definition and the workflow instance, should be called once the workflow
+     * instance is finished.
+     */
+    void invalidateWorkflowInstance(ProcessInstance workflowInstance);
+
+    /**
+     * Invalidate the task instance entries of the workflow instance, should be called once the task instance is
+     * finished.
+     */
+    void invalidateTaskInstance(TaskInstance taskInstance);
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache;
+
+import org.apache.dolphinscheduler.server.master.graph.WorkflowDefinitionGraph;
+
+/**
+ * Cache of the compiled workflow definition graphs keyed by the workflow definition code and version, the workflow
+ * instances of the same version share the same graph instead of loading the task definitions and building the graph
+ * each time.
+ */
+public interface WorkflowGraphCacheManager {
+
+    /**
+     * Get the compiled graph of the workflow definition version, the graph will be loaded and compiled if absent.
+     */
+    WorkflowDefinitionGraph getWorkflowDefinitionGraph(long processDefinitionCode,
+                                                       int processDefinitionVersion) throws Exception;
+
+}
@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
+import org.apache.dolphinscheduler.dao.repository.TaskDefinitionDao;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
+import org.apache.dolphinscheduler.server.master.config.DependentResultCacheConfig;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+
+@Slf4j
+@Component
+public class DependentResultCacheManagerImpl implements DependentResultCacheManager {
+
+    private final ProcessInstanceDao processInstanceDao;
+
+    private final TaskInstanceDao taskInstanceDao;
+
+    private final TaskDefinitionDao taskDefinitionDao;
+
+    private final boolean enabled;
+
+    private final LoadingCache<ProcessInstanceIntervalKey, Optional<ProcessInstance>> processInstanceCache;
+
+    private final LoadingCache<TaskInstanceKey, Optional<TaskInstance>> taskInstanceCache;
+
+    private final LoadingCache<Long, Optional<TaskDefinition>> taskDefinitionCache;
+
+    private final CacheKeyIndex<Long, ProcessInstanceIntervalKey, Optional<ProcessInstance>> processInstanceKeyIndex =
+            new CacheKeyIndex<>(ProcessInstanceIntervalKey::getDefinitionCode);
+
+    private final CacheKeyIndex<Integer, TaskInstanceKey, Optional<TaskInstance>> taskInstanceKeyIndex =
+            new CacheKeyIndex<>(TaskInstanceKey::getProcessInstanceId);
+
+    public DependentResultCacheManagerImpl(ProcessInstanceDao processInstanceDao,
+                                           TaskInstanceDao taskInstanceDao,
+                                           TaskDefinitionDao taskDefinitionDao,
+                                           MasterConfig masterConfig) {
+        this.processInstanceDao = processInstanceDao;
+        this.taskInstanceDao = taskInstanceDao;
+        this.taskDefinitionDao = taskDefinitionDao;
+        DependentResultCacheConfig cacheConfig = masterConfig.getDependentResultCacheConfig();
+        this.enabled = cacheConfig.isEnabled();
+        this.processInstanceCache = newCacheBuilder(cacheConfig)
+                .removalListener(processInstanceKeyIndex)
+                .build(CacheLoader.from(key -> {
+                    processInstanceKeyIndex.add(key);
+                    return Optional.ofNullable(doQueryLastProcessInstanceInterval(key));
+                }));
+        this.taskInstanceCache = newCacheBuilder(cacheConfig)
+                .removalListener(taskInstanceKeyIndex)
+                .build(new TaskInstanceCacheLoader());
+        this.processInstanceKeyIndex.setCache(processInstanceCache);
+        this.taskInstanceKeyIndex.setCache(taskInstanceCache);
+        this.taskDefinitionCache = newCacheBuilder(cacheConfig)
+                .build(CacheLoader.from(taskCode -> Optional.ofNullable(taskDefinitionDao.queryByCode(taskCode))));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public ProcessInstance queryLastProcessInstanceInterval(long definitionCode, long taskCode,
+                                                            DateInterval dateInterval, int testFlag) {
+        ProcessInstanceIntervalKey key = new ProcessInstanceIntervalKey(definitionCode, taskCode,
+                dateInterval.getStartTime().getTime(), dateInterval.getEndTime().getTime(), testFlag);
+        if (!enabled) {
+            return doQueryLastProcessInstanceInterval(key);
+        }
+        return processInstanceCache.getUnchecked(key).orElse(null);
+    }
+
+    @Override
+    public Map<Long, TaskInstance> queryLastTaskInstances(int processInstanceId, Set<Long> taskCodes, int testFlag) {
+        if (taskCodes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<TaskInstanceKey> keys = taskCodes.stream()
+                .map(taskCode -> new TaskInstanceKey(processInstanceId, taskCode, testFlag))
+                .collect(Collectors.toList());
+        Map<TaskInstanceKey, Optional<TaskInstance>> taskInstances;
+        try {
+            taskInstances = enabled ? taskInstanceCache.getAll(keys) : doQueryLastTaskInstances(keys);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Query the last task instances of workflow instance: "
+                    + processInstanceId + " failed", ex);
+        }
+        Map<Long, TaskInstance> result = new HashMap<>();
+        taskInstances.forEach((key, taskInstance) -> taskInstance
+                .ifPresent(instance -> result.put(key.getTaskCode(), instance)));
+        return result;
+    }
+
+    @Override
+    public TaskInstance queryLastTaskInstance(int processInstanceId, long taskCode, int testFlag) {
+        return queryLastTaskInstances(processInstanceId, Collections.singleton(taskCode), testFlag).get(taskCode);
+    }
+
+    @Override
+    public TaskDefinition queryTaskDefinition(long taskCode) {
+        if (!enabled) {
+            return taskDefinitionDao.queryByCode(taskCode);
+        }
+        return taskDefinitionCache.getUnchecked(taskCode).orElse(null);
+    }
+
+    @Override
+    public void invalidateWorkflowInstance(ProcessInstance workflowInstance) {
+        if (!enabled) {
+            return;
+        }
+        processInstanceCache
+                .invalidateAll(processInstanceKeyIndex.removeGroup(workflowInstance.getProcessDefinitionCode()));
+        taskInstanceCache.invalidateAll(taskInstanceKeyIndex.removeGroup(workflowInstance.getId()));
+    }
+
+    @Override
+    public void invalidateTaskInstance(TaskInstance taskInstance) {
+        if (!enabled) {
+            return;
+        }
+        taskInstanceCache.invalidateAll(taskInstanceKeyIndex.removeGroup(taskInstance.getProcessInstanceId()));
+    }
+
+    private ProcessInstance doQueryLastProcessInstanceInterval(ProcessInstanceIntervalKey key) {
+        DateInterval dateInterval = new DateInterval(new Date(key.getStartTime()),
+                new Date(key.getEndTime()));
+        ProcessInstance lastSchedulerProcess = processInstanceDao.queryLastSchedulerProcessInterval(
+                key.getDefinitionCode(), key.getTaskCode(), dateInterval, key.getTestFlag());
+        ProcessInstance lastManualProcess = processInstanceDao.queryLastManualProcessInterval(
+                key.getDefinitionCode(), key.getTaskCode(), dateInterval, key.getTestFlag());
+
+        if (lastManualProcess == null) {
+            return lastSchedulerProcess;
+        }
+        if (lastSchedulerProcess == null) {
+            return lastManualProcess;
+        }
+        // In the time range, there are both manual and scheduled workflow instances, return the last workflow instance
+        return lastManualProcess.getId() > lastSchedulerProcess.getId() ? lastManualProcess : lastSchedulerProcess;
+    }
+
+    /**
+     * Query the last task instances by one query per workflow instance, the task instance which is not finished
+     * doesn't have end time and will be absent, the caller should decide by the workflow instance state.
+     */
+    private Map<TaskInstanceKey, Optional<TaskInstance>> doQueryLastTaskInstances(Iterable<? extends TaskInstanceKey> keys) {
+        Map<TaskInstanceKey, Optional<TaskInstance>> result = new HashMap<>();
+        Map<TaskInstanceKey, Set<Long>> taskCodesGroup = new HashMap<>();
+        for (TaskInstanceKey key : keys) {
+            result.put(key, Optional.empty());
+            taskCodesGroup
+                    .computeIfAbsent(new TaskInstanceKey(key.getProcessInstanceId(), 0L, key.getTestFlag()),
+                            k -> new HashSet<>())
+                    .add(key.getTaskCode());
+        }
+        taskCodesGroup.forEach((group, taskCodes) -> {
+            List<TaskInstance> taskInstances = taskInstanceDao.queryLastTaskInstanceListIntervalInProcessInstance(
+                    group.getProcessInstanceId(), taskCodes, group.getTestFlag());
+            for (TaskInstance taskInstance : taskInstances) {
+                result.put(new TaskInstanceKey(group.getProcessInstanceId(), taskInstance.getTaskCode(),
+                        group.getTestFlag()), Optional.of(taskInstance));
+            }
+        });
+        return result;
+    }
+
+    private static CacheBuilder<Object, Object> newCacheBuilder(DependentResultCacheConfig cacheConfig) {
+        return CacheBuilder.newBuilder()
+                .expireAfterWrite(cacheConfig.getExpireAfterWrite())
+                .maximumSize(cacheConfig.getMaximumSize());
+    }
+
+    private class TaskInstanceCacheLoader extends CacheLoader<TaskInstanceKey, Optional<TaskInstance>> {
+
+        @Override
+        public Optional<TaskInstance> load(TaskInstanceKey key) {
+            return loadAll(Collections.singleton(key)).get(key);
+        }
+
+        @Override
+        public Map<TaskInstanceKey, Optional<TaskInstance>> loadAll(Iterable<? extends TaskInstanceKey> keys) {
+            keys.forEach(taskInstanceKeyIndex::add);
+            return doQueryLastTaskInstances(keys);
+        }
+    }
+
+    /**
+     * The cache keys grouped by the workflow definition code or the workflow instance id, so that the invalidation
+     * only removes the keys of the group instead of scanning the whole cache.
+     * <p>
+     * The key is added before it is loaded, and is removed with its group or when it is evicted by size or expiry.
+     */
+    private static class CacheKeyIndex<G, K, V> implements RemovalListener<K, V> {
+
+        private final ConcurrentMap<G, Set<K>> groupKeys = new ConcurrentHashMap<>();
+
+        private final Function<K, G> groupFunction;
+
+        private Cache<K, V> cache;
+
+        CacheKeyIndex(Function<K, G> groupFunction) {
+            this.groupFunction = groupFunction;
+        }
+
+        void setCache(Cache<K, V> cache) {
+            this.cache = cache;
+        }
+
+        void add(K key) {
+            groupKeys.compute(groupFunction.apply(key), (group, keys) -> {
+                Set<K> newKeys = keys == null ? new HashSet<>() : keys;
+                newKeys.add(key);
+                return newKeys;
+            });
+        }
+
+        Set<K> removeGroup(G group) {
+            Set<K> keys = groupKeys.remove(group);
+            return keys == null ? Collections.emptySet() : keys;
+        }
+
+        @Override
+        public void onRemoval(RemovalNotification<K, V> notification) {
+            K key = notification.getKey();
+            if (!notification.wasEvicted() || key == null) {
+                return;
+            }
+            groupKeys.computeIfPresent(groupFunction.apply(key), (group, keys) -> {
+                // the key may be loaded again after it is evicted
+                if (!cache.asMap().containsKey(key)) {
+                    keys.remove(key);
+                }
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    @Value
+    private static class ProcessInstanceIntervalKey {
+
+        long definitionCode;
+        long taskCode;
+        long startTime;
+        long endTime;
+        int testFlag;
+    }
+
+    @Value
+    private static class TaskInstanceKey {
+
+        int processInstanceId;
+        long taskCode;
+        int testFlag;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import org.apache.dolphinscheduler.dao.entity.ProcessTaskRelation;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinitionLog;
+import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowGraphCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.WorkflowGraphCacheConfig;
+import org.apache.dolphinscheduler.server.master.graph.WorkflowDefinitionGraph;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+@Slf4j
+@Component
+public class WorkflowGraphCacheManagerImpl implements WorkflowGraphCacheManager {
+
+    private final ProcessService processService;
+
+    private final TaskDefinitionLogDao taskDefinitionLogDao;
+
+    private final boolean enabled;
+
+    private final LoadingCache<WorkflowDefinitionKey, WorkflowDefinitionGraph> workflowDefinitionGraphCache;
+
+    public WorkflowGraphCacheManagerImpl(ProcessService processService,
+                                         TaskDefinitionLogDao taskDefinitionLogDao,
+                                         MasterConfig masterConfig) {
+        this.processService = processService;
+        this.taskDefinitionLogDao = taskDefinitionLogDao;
+        WorkflowGraphCacheConfig cacheConfig = masterConfig.getWorkflowGraphCacheConfig();
+        this.enabled = cacheConfig.isEnabled();
+        this.workflowDefinitionGraphCache = CacheBuilder.newBuilder()
+                .expireAfterAccess(cacheConfig.getExpireAfterAccess())
+                .maximumSize(cacheConfig.getMaximumSize())
+                .build(new CacheLoader<WorkflowDefinitionKey, WorkflowDefinitionGraph>() {
+
+                    @Override
+                    public WorkflowDefinitionGraph load(WorkflowDefinitionKey key) throws Exception {
+                        return doLoadWorkflowDefinitionGraph(key);
+                    }
+                });
+    }
+
+    @Override
+    public WorkflowDefinitionGraph getWorkflowDefinitionGraph(long processDefinitionCode,
+                                                              int processDefinitionVersion) throws Exception {
+        WorkflowDefinitionKey key = new WorkflowDefinitionKey(processDefinitionCode, processDefinitionVersion);
+        if (!enabled) {
+            return doLoadWorkflowDefinitionGraph(key);
+        }
+        try {
+            return workflowDefinitionGraphCache.get(key);
+        } catch (ExecutionException ex) {
+            throw (Exception) ex.getCause();
+        }
+    }
+
+    private WorkflowDefinitionGraph doLoadWorkflowDefinitionGraph(WorkflowDefinitionKey key) throws Exception {
+        List<ProcessTaskRelation> processTaskRelations =
+                processService.findRelationByCode(key.getProcessDefinitionCode(), key.getProcessDefinitionVersion());
+        List<TaskDefinitionLog> taskDefinitionLogs =
+                taskDefinitionLogDao.queryTaskDefineLogList(processTaskRelations);
+        List<TaskNode> taskNodeList = processService.transformTask(processTaskRelations, taskDefinitionLogs);
+        log.info("Compiled the graph of workflow definition: {}, task size: {}", key, taskNodeList.size());
+        return new WorkflowDefinitionGraph(key.getProcessDefinitionCode(), key.getProcessDefinitionVersion(),
+                taskNodeList);
+    }
+
+    @Value
+    private static class WorkflowDefinitionKey {
+
+        long processDefinitionCode;
+
+        int processDefinitionVersion;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEvent;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventType;
+import org.apache.dolphinscheduler.server.master.exception.WorkflowCreateException;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
+import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnableFactory;
+import org.apache.dolphinscheduler.service.command.CommandService;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * The workflow create stage of the command consume pipeline.
+ * <p>
+ * The fetched commands are put into a bounded queue, and consumed by a dedicated thread pool which creates the
+ * {@link WorkflowExecuteRunnable} and enqueues the {@link WorkflowEventType#START_WORKFLOW} event. The fetch stage
+ * should check {@link #remainingCapacity()} before fetching, so that the fetch will slow down if the create stage
+ * cannot keep up.
+ * <p>
+ * A command stays in the database until its workflow instance is created, so the in-flight command ids are recorded
+ * to avoid the same command being submitted again by the next fetch.
+ */
+@Slf4j
+@Component
+public class CommandHandlePipeline implements AutoCloseable {
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Autowired
+    private CommandService commandService;
+
+    @Autowired
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    @Autowired
+    private WorkflowExecuteRunnableFactory workflowExecuteRunnableFactory;
+
+    @Autowired
+    private WorkflowEventQueue workflowEventQueue;
+
+    private BlockingQueue<Command> pendingCommandQueue;
+
+    private final Set<Integer> inFlightCommandIds = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor commandHandleThreadPool;
+
+    private final AtomicBoolean runningFlag = new AtomicBoolean(false);
+
+    public synchronized void start() {
+        if (!runningFlag.compareAndSet(false, true)) {
+            log.error("CommandHandlePipeline has already started, will not start again");
+            return;
+        }
+        log.info("CommandHandlePipeline starting...");
+        pendingCommandQueue =
+                new LinkedBlockingQueue<>(masterConfig.getCommandConsumeConfig().getHandleQueueCapacity());
+        int handleThreads = masterConfig.getPreExecThreads();
+        commandHandleThreadPool = ThreadUtils.newDaemonFixedThreadExecutor("MasterCommandHandleThread-%d",
+                handleThreads);
+        for (int i = 0; i < handleThreads; i++) {
+            commandHandleThreadPool.execute(this::handleCommandLoop);
+        }
+        log.info("CommandHandlePipeline started...");
+    }
+
+    /**
+     * Submit the fetched commands into the pipeline, the command which is already in the pipeline will be skipped.
+     *
+     * @return the number of the commands accepted by the pipeline
+     */
+    public int submitCommands(List<Command> commands) {
+        int acceptedCount = 0;
+        for (Command command : commands) {
+            if (!inFlightCommandIds.add(command.getId())) {
+                continue;
+            }
+            if (!pendingCommandQueue.offer(command)) {
+                inFlightCommandIds.remove(command.getId());
+                log.warn("The command handle queue is full, the command: {} will be fetched again later",
+                        command.getId());
+                break;
+            }
+            acceptedCount++;
+        }
+        return acceptedCount;
+    }
+
+    public int remainingCapacity() {
+        return pendingCommandQueue.remainingCapacity();
+    }
+
+    public int getPendingCommandSize() {
+        return pendingCommandQueue.size();
+    }
+
+    private void handleCommandLoop() {
+        while (runningFlag.get()) {
+            Command command;
+            try {
+                command = pendingCommandQueue.take();
+            } catch (InterruptedException e) {
+                log.warn("MasterCommandHandleThread is interrupted, will close this loop");
+                Thread.currentThread().interrupt();
+                break;
+            }
+            try {
+                handleCommand(command);
+            } catch (Exception e) {
+                log.error("Master handle command {} error, will be fetched again later", command.getId(), e);
+            } finally {
+                inFlightCommandIds.remove(command.getId());
+            }
+        }
+    }
+
+    private void handleCommand(Command command) {
+        try {
+            Optional<WorkflowExecuteRunnable> workflowExecuteRunnableOptional =
+                    workflowExecuteRunnableFactory.createWorkflowExecuteRunnable(command);
+            MasterServerMetrics.incMasterConsumeCommand(1);
+            if (!workflowExecuteRunnableOptional.isPresent()) {
+                log.warn(
+                        "The command execute success, will not trigger a WorkflowExecuteRunnable, this workflowInstance might be in serial mode");
+                return;
+            }
+            WorkflowExecuteRunnable workflowExecuteRunnable = workflowExecuteRunnableOptional.get();
+            ProcessInstance processInstance = workflowExecuteRunnable
+                    .getWorkflowExecuteContext().getWorkflowInstance();
+            if (processInstanceExecCacheManager.contains(processInstance.getId())) {
+                log.error(
+                        "The workflow instance is already been cached, this case shouldn't be happened");
+            }
+            processInstanceExecCacheManager.cache(processInstance.getId(), workflowExecuteRunnable);
+            workflowEventQueue.addEvent(
+                    new WorkflowEvent(WorkflowEventType.START_WORKFLOW, processInstance.getId()));
+        } catch (WorkflowCreateException workflowCreateException) {
+            log.error("Master handle command {} error ", command.getId(), workflowCreateException);
+            commandService.moveToErrorCommand(command, workflowCreateException.toString());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!runningFlag.compareAndSet(true, false)) {
+            log.info("CommandHandlePipeline is not started, no need to close");
+            return;
+        }
+        log.info("CommandHandlePipeline stopping...");
+        commandHandleThreadPool.shutdownNow();
+        pendingCommandQueue.clear();
+        inFlightCommandIds.clear();
+        log.info("CommandHandlePipeline stopped...");
+    }
+}
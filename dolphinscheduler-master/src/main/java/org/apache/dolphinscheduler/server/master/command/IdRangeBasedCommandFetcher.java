@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
+import org.apache.dolphinscheduler.server.master.registry.MasterSlotManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The command fetcher which use the same slot rule as {@link IdSlotBasedCommandFetcher}, but split the command table
+ * into id windows: [minId, minId + windowSize), [minId + windowSize, minId + 2 * windowSize) ...
+ * <p>
+ * Each window query is a range scan on the primary key, the window size is {@code idStep * totalSlot * fetchSize} so
+ * that a dense window contains about {@code fetchSize} commands belongs to the current master. The fetcher will move
+ * to the next window until it fetched enough commands, reach the max command id or scanned {@code maxScanWindows}
+ * windows, so the cost of each fetch depends on the fetch size rather than the size of the command table.
+ * <p>
+ * The fetcher keeps a cursor of the window to resume from, so a sparse id range, e.g. a stale command with low id,
+ * is scanned across several fetches instead of in each fetch. The cursor goes back to the min command id once it
+ * reaches the max command id, or the slot of the current master changes.
+ * <p>
+ * The priority of command only works inside a window.
+ */
+@Slf4j
+public class IdRangeBasedCommandFetcher implements ICommandFetcher {
+
+    private final CommandFetchStrategy.IdSlotBasedFetchConfig idSlotBasedFetchConfig;
+
+    private final CommandDao commandDao;
+
+    private final MasterSlotManager masterSlotManager;
+
+    private int cursorSlotIndex = -1;
+
+    private int cursorTotalSlot = -1;
+
+    private long cursorWindowStart = -1;
+
+    public IdRangeBasedCommandFetcher(CommandFetchStrategy.IdSlotBasedFetchConfig idSlotBasedFetchConfig,
+                                      MasterSlotManager masterSlotManager,
+                                      CommandDao commandDao) {
+        this.idSlotBasedFetchConfig = idSlotBasedFetchConfig;
+        this.masterSlotManager = masterSlotManager;
+        this.commandDao = commandDao;
+    }
+
+    @Override
+    public List<Command> fetchCommands() {
+        long scheduleStartTime = System.currentTimeMillis();
+        int currentSlotIndex = masterSlotManager.getSlot();
+        int totalSlot = masterSlotManager.getMasterSize();
+        if (totalSlot <= 0 || currentSlotIndex < 0) {
+            log.warn("Slot is validated, current master slots: {}, the current slot index is {}", totalSlot,
+                    currentSlotIndex);
+            return Collections.emptyList();
+        }
+        Integer minCommandId = commandDao.queryMinCommandId();
+        Integer maxCommandId = commandDao.queryMaxCommandId();
+        if (minCommandId == null || maxCommandId == null) {
+            ProcessInstanceMetrics.recordCommandQueryTime(System.currentTimeMillis() - scheduleStartTime);
+            return Collections.emptyList();
+        }
+
+        int idStep = idSlotBasedFetchConfig.getIdStep();
+        int fetchSize = idSlotBasedFetchConfig.getFetchSize();
+        int maxScanWindows = idSlotBasedFetchConfig.getMaxScanWindows();
+        long windowSize = (long) idStep * totalSlot * fetchSize;
+        List<Command> commands = new ArrayList<>(fetchSize);
+        int scannedWindows = 0;
+        long fetchStartId = getWindowStart(currentSlotIndex, totalSlot, minCommandId, maxCommandId);
+        long windowStart = fetchStartId;
+        while (windowStart <= maxCommandId && scannedWindows < maxScanWindows) {
+            commands.addAll(commandDao.queryCommandByIdSlotInIdRange(
+                    currentSlotIndex,
+                    totalSlot,
+                    idStep,
+                    windowStart,
+                    windowStart + windowSize,
+                    fetchSize - commands.size()));
+            scannedWindows++;
+            if (commands.size() >= fetchSize) {
+                // the window may still contain commands, resume from it
+                break;
+            }
+            windowStart += windowSize;
+        }
+        cursorSlotIndex = currentSlotIndex;
+        cursorTotalSlot = totalSlot;
+        cursorWindowStart = windowStart > maxCommandId ? -1 : windowStart;
+        long cost = System.currentTimeMillis() - scheduleStartTime;
+        log.info(
+                "Fetch commands: {} success, cost: {}ms, totalSlot: {}, currentSlotIndex: {}, scannedWindows: {}, idRange: [{}, {}], fetchStartId: {}",
+                commands.size(), cost, totalSlot, currentSlotIndex, scannedWindows, minCommandId, maxCommandId,
+                fetchStartId);
+        ProcessInstanceMetrics.recordCommandQueryTime(cost);
+        return commands;
+    }
+
+    private long getWindowStart(int currentSlotIndex, int totalSlot, int minCommandId, int maxCommandId) {
+        if (cursorSlotIndex != currentSlotIndex || cursorTotalSlot != totalSlot || cursorWindowStart < minCommandId
+                || cursorWindowStart > maxCommandId) {
+            return minCommandId;
+        }
+        return cursorWindowStart;
+    }
+
+}
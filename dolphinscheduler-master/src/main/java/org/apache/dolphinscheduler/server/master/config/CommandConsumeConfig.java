@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+/**
+ * The config of the command consume pipeline: fetch command -> create workflow instance -> enqueue start event.
+ */
+@Data
+public class CommandConsumeConfig {
+
+    /**
+     * The capacity of the queue between the fetch stage and the workflow create stage, the master will not fetch
+     * command if the queue is full.
+     */
+    private int handleQueueCapacity = 1000;
+
+    /**
+     * The master will not fetch command if the size of the workflow event queue is bigger than this value.
+     */
+    private int maxWorkflowEventQueueSize = 1000;
+
+    /**
+     * The min interval between two fetches when there is no command to fetch, the interval will double after each
+     * empty fetch until reaching {@link #maxIdleFetchInterval}, and reset after a non-empty fetch.
+     */
+    private Duration minIdleFetchInterval = Duration.ofMillis(10);
+
+    /**
+     * The max interval between two fetches when there is no command to fetch.
+     */
+    private Duration maxIdleFetchInterval = Duration.ofSeconds(1);
+
+    public void validate(Errors errors) {
+        if (handleQueueCapacity <= 0) {
+            errors.rejectValue("handle-queue-capacity", null, "should be a positive value");
+        }
+        if (maxWorkflowEventQueueSize <= 0) {
+            errors.rejectValue("max-workflow-event-queue-size", null, "should be a positive value");
+        }
+        if (minIdleFetchInterval.toMillis() <= 0) {
+            errors.rejectValue("min-idle-fetch-interval", null, "should be a valid duration");
+        }
+        if (maxIdleFetchInterval.compareTo(minIdleFetchInterval) < 0) {
+            errors.rejectValue("max-idle-fetch-interval", null,
+                    "should not be smaller than min-idle-fetch-interval");
+        }
+    }
+}
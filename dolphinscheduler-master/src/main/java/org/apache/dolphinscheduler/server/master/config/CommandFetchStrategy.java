@@ -34,6 +34,12 @@ public class CommandFetchStrategy {
 
     public enum CommandFetchStrategyType {
         ID_SLOT_BASED,
+        /**
+         * Use the same slot rule as {@link #ID_SLOT_BASED}, but fetch the command in bounded id windows, so that the
+         * query can be served by the primary key index and the fetch cost doesn't grow with the command backlog.
+         * This strategy shares the {@link IdSlotBasedFetchConfig}.
+         */
+        ID_RANGE_BASED,
         ;
     }
 
@@ -48,6 +54,10 @@ public class CommandFetchStrategy {
 
         private int idStep = 1;
         private int fetchSize = 10;
+        /**
+         * The max id windows scanned in each fetch, only used by {@link CommandFetchStrategyType#ID_RANGE_BASED}
+         */
+        private int maxScanWindows = 10;
 
         @Override
         public void validate(Errors errors) {
@@ -57,6 +67,9 @@ public class CommandFetchStrategy {
             if (fetchSize <= 0) {
                 errors.rejectValue("fetchSize", null, "fetchSize must be greater than 0");
             }
+            if (maxScanWindows <= 0) {
+                errors.rejectValue("maxScanWindows", null, "maxScanWindows must be greater than 0");
+            }
         }
     }
 
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+/**
+ * The config of the cache used by the dependent task to look up the upstream workflow/task instances.
+ */
+@Data
+public class DependentResultCacheConfig {
+
+    /**
+     * Whether to cache the upstream lookups of the dependent task, if disabled each check will query the database.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The cached lookups will expire after this duration, the entries are also invalidated when the upstream
+     * workflow/task finished in this master, so this value bounds the delay to see the changes made by other masters.
+     */
+    private Duration expireAfterWrite = Duration.ofSeconds(30);
+
+    /**
+     * The max entries of each lookup cache.
+     */
+    private long maximumSize = 10000;
+
+    public void validate(Errors errors) {
+        if (expireAfterWrite.toMillis() <= 0) {
+            errors.rejectValue("expire-after-write", null, "should be a valid duration");
+        }
+        if (maximumSize <= 0) {
+            errors.rejectValue("maximum-size", null, "should be a positive value");
+        }
+    }
+}
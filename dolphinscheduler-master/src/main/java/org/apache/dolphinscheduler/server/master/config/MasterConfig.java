@@ -49,7 +49,8 @@ public class MasterConfig implements Validator {
      */
     private int listenPort = 5678;
     /**
-     * The thread number used to prepare processInstance. This number shouldn't bigger than fetchCommandNum.
+     * The thread number used to prepare processInstance, these threads consume the fetched commands and create the
+     * workflow instance.
      */
     private int preExecThreads = 10;
     /**
@@ -58,6 +59,11 @@ public class MasterConfig implements Validator {
      * Will create two thread poll to execute {@link WorkflowExecuteRunnable} and {@link TaskExecuteRunnable}.
      */
     private int execThreads = 10;
+    /**
+     * The thread number used to handle the workflow events, the events are sharded by workflow instance id, so the
+     * events of the same workflow instance are handled in order.
+     */
+    private int workflowEventLooperThreads = 4;
 
     // todo: change to sync thread pool/ async thread pool ?
     private int masterSyncTaskExecutorThreadPoolSize = Runtime.getRuntime().availableProcessors();
@@ -67,6 +73,14 @@ public class MasterConfig implements Validator {
      * The task dispatch thread pool size.
      */
     private int dispatchTaskNumber = 3;
+    /**
+     * The max in-flight async dispatch requests, each target host can use at most half of them.
+     */
+    private int maxInFlightDispatchTask = 64;
+    /**
+     * The max back-off interval of a host after continuous dispatch failures.
+     */
+    private Duration maxDispatchBackoffInterval = Duration.ofSeconds(10);
     /**
      * Worker select strategy.
      */
@@ -90,12 +104,33 @@ public class MasterConfig implements Validator {
     private MasterServerLoadProtection serverLoadProtection = new MasterServerLoadProtection();
     private Duration failoverInterval = Duration.ofMinutes(10);
     private boolean killApplicationWhenTaskFailover = true;
+    /**
+     * The max number of workflow/task instances whose failover status and recovery commands are written in one batch.
+     */
+    private int failoverBatchSize = 1000;
+    /**
+     * The thread pool size used to failover the workflow/task instances in parallel.
+     */
+    private int failoverThreadPoolSize = Runtime.getRuntime().availableProcessors();
     private ConnectStrategyProperties registryDisconnectStrategy = new ConnectStrategyProperties();
 
     private Duration workerGroupRefreshInterval = Duration.ofSeconds(10L);
+    /**
+     * The interval to recheck the task instances waiting for the task group slot in this master, the slots released by
+     * other masters and the force started task instances will be found in this interval.
+     */
+    private Duration taskGroupRecheckInterval = Duration.ofSeconds(10);
 
     private CommandFetchStrategy commandFetchStrategy = new CommandFetchStrategy();
 
+    private CommandConsumeConfig commandConsumeConfig = new CommandConsumeConfig();
+
+    private DependentResultCacheConfig dependentResultCacheConfig = new DependentResultCacheConfig();
+
+    private WorkflowGraphCacheConfig workflowGraphCacheConfig = new WorkflowGraphCacheConfig();
+
+    private TaskInstanceWriteBehindConfig taskInstanceWriteBehindConfig = new TaskInstanceWriteBehindConfig();
+
     // ip:listenPort
     private String masterAddress;
 
@@ -119,9 +154,18 @@ public class MasterConfig implements Validator {
         if (masterConfig.getExecThreads() <= 0) {
             errors.rejectValue("exec-threads", null, "should be a positive value");
         }
+        if (masterConfig.getWorkflowEventLooperThreads() <= 0) {
+            errors.rejectValue("workflow-event-looper-threads", null, "should be a positive value");
+        }
         if (masterConfig.getDispatchTaskNumber() <= 0) {
             errors.rejectValue("dispatch-task-number", null, "should be a positive value");
         }
+        if (masterConfig.getMaxInFlightDispatchTask() <= 0) {
+            errors.rejectValue("max-in-flight-dispatch-task", null, "should be a positive value");
+        }
+        if (masterConfig.getMaxDispatchBackoffInterval().toMillis() <= 0) {
+            errors.rejectValue("max-dispatch-backoff-interval", null, "should be a valid duration");
+        }
         if (masterConfig.getMaxHeartbeatInterval().toMillis() < 0) {
             errors.rejectValue("max-heartbeat-interval", null, "should be a valid duration");
         }
@@ -137,14 +181,27 @@ public class MasterConfig implements Validator {
         if (masterConfig.getFailoverInterval().toMillis() <= 0) {
             errors.rejectValue("failover-interval", null, "should be a valid duration");
         }
+        if (masterConfig.getFailoverBatchSize() <= 0) {
+            errors.rejectValue("failover-batch-size", null, "should be a positive value");
+        }
+        if (masterConfig.getFailoverThreadPoolSize() <= 0) {
+            errors.rejectValue("failover-thread-pool-size", null, "should be a positive value");
+        }
 
         if (masterConfig.getWorkerGroupRefreshInterval().getSeconds() < 10) {
             errors.rejectValue("worker-group-refresh-interval", null, "should >= 10s");
         }
+        if (masterConfig.getTaskGroupRecheckInterval().toMillis() <= 0) {
+            errors.rejectValue("task-group-recheck-interval", null, "should be a valid duration");
+        }
         if (StringUtils.isEmpty(masterConfig.getMasterAddress())) {
             masterConfig.setMasterAddress(NetUtils.getAddr(masterConfig.getListenPort()));
         }
         commandFetchStrategy.validate(errors);
+        commandConsumeConfig.validate(errors);
+        dependentResultCacheConfig.validate(errors);
+        workflowGraphCacheConfig.validate(errors);
+        taskInstanceWriteBehindConfig.validate(errors);
 
         masterConfig.setMasterRegistryPath(
                 RegistryNodeType.MASTER.getRegistryPath() + "/" + masterConfig.getMasterAddress());
@@ -157,7 +214,10 @@ public class MasterConfig implements Validator {
                         "\n  listen-port -> " + listenPort +
                         "\n  pre-exec-threads -> " + preExecThreads +
                         "\n  exec-threads -> " + execThreads +
+                        "\n  workflow-event-looper-threads -> " + workflowEventLooperThreads +
                         "\n  dispatch-task-number -> " + dispatchTaskNumber +
+                        "\n  max-in-flight-dispatch-task -> " + maxInFlightDispatchTask +
+                        "\n  max-dispatch-backoff-interval -> " + maxDispatchBackoffInterval +
                         "\n  host-selector -> " + hostSelector +
                         "\n  max-heartbeat-interval -> " + maxHeartbeatInterval +
                         "\n  task-commit-retry-times -> " + taskCommitRetryTimes +
@@ -166,11 +226,18 @@ public class MasterConfig implements Validator {
                         "\n  server-load-protection -> " + serverLoadProtection +
                         "\n  failover-interval -> " + failoverInterval +
                         "\n  kill-application-when-task-failover -> " + killApplicationWhenTaskFailover +
+                        "\n  failover-batch-size -> " + failoverBatchSize +
+                        "\n  failover-thread-pool-size -> " + failoverThreadPoolSize +
                         "\n  registry-disconnect-strategy -> " + registryDisconnectStrategy +
                         "\n  master-address -> " + masterAddress +
                         "\n  master-registry-path: " + masterRegistryPath +
                         "\n  worker-group-refresh-interval: " + workerGroupRefreshInterval +
+                        "\n  task-group-recheck-interval: " + taskGroupRecheckInterval +
                         "\n  command-fetch-strategy: " + commandFetchStrategy +
+                        "\n  command-consume-config: " + commandConsumeConfig +
+                        "\n  dependent-result-cache-config: " + dependentResultCacheConfig +
+                        "\n  workflow-graph-cache-config: " + workflowGraphCacheConfig +
+                        "\n  task-instance-write-behind-config: " + taskInstanceWriteBehindConfig +
                         "\n****************************Master Configuration**************************************";
         log.info(config);
     }
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+/**
+ * The config of the write-behind stage which persists the task instance changes of the task running/result events.
+ */
+@Data
+public class TaskInstanceWriteBehindConfig {
+
+    /**
+     * Whether to persist the task instance changes in batches, if disabled each event will update its task instance
+     * on the event handle thread.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The max time a task instance change waits in the buffer before it is flushed.
+     */
+    private Duration flushInterval = Duration.ofMillis(20);
+
+    /**
+     * The buffer is flushed immediately once it holds this number of task instances.
+     */
+    private int maxBatchSize = 500;
+
+    public void validate(Errors errors) {
+        if (flushInterval.toMillis() <= 0) {
+            errors.rejectValue("flush-interval", null, "should be a valid duration");
+        }
+        if (maxBatchSize <= 0) {
+            errors.rejectValue("max-batch-size", null, "should be a positive value");
+        }
+    }
+}
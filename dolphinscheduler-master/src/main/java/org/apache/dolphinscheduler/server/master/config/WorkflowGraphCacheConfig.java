@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+/**
+ * The config of the cache of the compiled workflow definition graphs, the graph of a workflow definition version never
+ * changes, so the cached graphs are shared by the workflow instances of the same version.
+ */
+@Data
+public class WorkflowGraphCacheConfig {
+
+    /**
+     * Whether to cache the compiled workflow definition graphs, if disabled each workflow instance will load its task
+     * definitions from the database and build the graph.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The cached graphs will be evicted if they are not accessed in this duration.
+     */
+    private Duration expireAfterAccess = Duration.ofHours(1);
+
+    /**
+     * The max workflow definition versions to cache.
+     */
+    private long maximumSize = 1000;
+
+    public void validate(Errors errors) {
+        if (expireAfterAccess.toMillis() <= 0) {
+            errors.rejectValue("expire-after-access", null, "should be a valid duration");
+        }
+        if (maximumSize <= 0) {
+            errors.rejectValue("maximum-size", null, "should be a positive value");
+        }
+    }
+}
@@ -44,8 +44,9 @@ public abstract class CommonHostManager implements HostManager {
     protected ServerNodeManager serverNodeManager;
 
     @Override
-    public Optional<Host> select(String workerGroup) throws WorkerGroupNotFoundException {
+    public Optional<Host> select(String workerGroup, Set<Host> excludedHosts) throws WorkerGroupNotFoundException {
         List<HostWorker> candidates = getWorkerCandidates(workerGroup);
+        candidates.removeIf(excludedHosts::contains);
         if (CollectionUtils.isEmpty(candidates)) {
             return Optional.empty();
         }
@@ -18,15 +18,40 @@
 package org.apache.dolphinscheduler.server.master.dispatch.host;
 
 import org.apache.dolphinscheduler.extract.base.utils.Host;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
 
+import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
+
+import javax.annotation.Nullable;
 
 /**
  *  host manager
  */
 public interface HostManager {
 
-    Optional<Host> select(String workerGroup) throws WorkerGroupNotFoundException;
+    default Optional<Host> select(String workerGroup) throws WorkerGroupNotFoundException {
+        return select(workerGroup, Collections.emptySet());
+    }
+
+    /**
+     * Select a host of the worker group except the excluded hosts.
+     *
+     * @param workerGroup   worker group
+     * @param excludedHosts the hosts which should not be selected, e.g. the hosts backing off
+     * @return the selected host, empty if there is no available host
+     */
+    Optional<Host> select(String workerGroup, Set<Host> excludedHosts) throws WorkerGroupNotFoundException;
+
+    /**
+     * Callback after dispatching the task to the selected host.
+     *
+     * @param host     the selected host
+     * @param response the dispatch response, null if the dispatch failed before receiving the response
+     */
+    default void onDispatchFinished(Host host, @Nullable TaskInstanceDispatchResponse response) {
+    }
 
 }
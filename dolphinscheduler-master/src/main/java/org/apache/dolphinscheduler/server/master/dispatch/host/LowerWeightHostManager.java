@@ -20,29 +20,34 @@ package org.apache.dolphinscheduler.server.master.dispatch.host;
 import org.apache.dolphinscheduler.common.enums.ServerStatus;
 import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
-import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWeight;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostLoad;
 import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWorker;
-import org.apache.dolphinscheduler.server.master.dispatch.host.assign.LowerWeightRoundRobin;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.PowerOfTwoChoicesSelector;
 import org.apache.dolphinscheduler.server.master.registry.WorkerInfoChangeListener;
 
-import org.apache.commons.collections4.CollectionUtils;
-
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
 import javax.annotation.PostConstruct;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * lower weight host manager
+ * <p>
+ * The load of each worker is the outstanding task count reported by the heartbeat and the dispatch response, plus the
+ * in-flight dispatches tracked by the master, the host is selected by power of two choices on the load.
  */
 @Slf4j
 public class LowerWeightHostManager extends CommonHostManager {
@@ -50,32 +55,56 @@ public class LowerWeightHostManager extends CommonHostManager {
     /**
      * selector
      */
-    private LowerWeightRoundRobin selector;
+    private PowerOfTwoChoicesSelector selector;
 
     /**
-     * worker host weights
+     * worker host loads, key is worker address
      */
-    private ConcurrentHashMap<String, Set<HostWeight>> workerHostWeightsMap;
-
-    private final ReentrantReadWriteLock workerGroupLock = new ReentrantReadWriteLock();
+    private ConcurrentHashMap<String, HostLoad> workerHostLoadMap;
 
-    private final ReentrantReadWriteLock.ReadLock workerGroupReadLock = workerGroupLock.readLock();
-    private final ReentrantReadWriteLock.WriteLock workerGroupWriteLock = workerGroupLock.writeLock();
+    /**
+     * the immutable host loads snapshot of each worker group, the snapshot is replaced as a whole when the worker
+     * changed, so the selection doesn't need any lock
+     */
+    private ConcurrentHashMap<String, List<HostLoad>> workerGroupHostLoadsMap;
 
     @PostConstruct
     public void init() {
-        this.selector = new LowerWeightRoundRobin();
-        this.workerHostWeightsMap = new ConcurrentHashMap<>();
+        this.selector = new PowerOfTwoChoicesSelector();
+        this.workerHostLoadMap = new ConcurrentHashMap<>();
+        this.workerGroupHostLoadsMap = new ConcurrentHashMap<>();
         serverNodeManager.addWorkerInfoChangeListener(new WorkerWeightListener());
     }
 
     @Override
-    public Optional<Host> select(String workerGroup) throws WorkerGroupNotFoundException {
-        Set<HostWeight> workerHostWeights = getWorkerHostWeights(workerGroup);
-        if (CollectionUtils.isNotEmpty(workerHostWeights)) {
-            return Optional.ofNullable(selector.select(workerHostWeights).getHost());
+    public Optional<Host> select(String workerGroup, Set<Host> excludedHosts) throws WorkerGroupNotFoundException {
+        List<HostLoad> hostLoads = workerGroupHostLoadsMap.get(workerGroup);
+        if (hostLoads == null) {
+            throw new WorkerGroupNotFoundException("Can not find worker group " + workerGroup);
+        }
+        if (!excludedHosts.isEmpty()) {
+            hostLoads = hostLoads.stream()
+                    .filter(hostLoad -> !excludedHosts.contains(hostLoad.getHostWorker()))
+                    .collect(Collectors.toList());
         }
-        return Optional.empty();
+        if (hostLoads.isEmpty()) {
+            return Optional.empty();
+        }
+        HostLoad hostLoad = selector.select(hostLoads);
+        hostLoad.onDispatchStart();
+        return Optional.of(hostLoad.getHostWorker());
+    }
+
+    @Override
+    public void onDispatchFinished(Host host, @Nullable TaskInstanceDispatchResponse response) {
+        HostLoad hostLoad = workerHostLoadMap.get(host.getAddress());
+        if (hostLoad == null) {
+            return;
+        }
+        if (response != null && response.getWorkerReportTime() > 0) {
+            hostLoad.onReport(response.getWorkerTaskCount(), response.getWorkerReportTime());
+        }
+        hostLoad.onDispatchFinished();
     }
 
     @Override
@@ -99,67 +128,55 @@ public class LowerWeightHostManager extends CommonHostManager {
         private void syncWorkerResources(final Map<String, Set<String>> workerGroupNodes,
                                          final Map<String, WorkerHeartBeat> workerNodeInfoMap) {
             try {
-                Map<String, Set<HostWeight>> workerHostWeights = new HashMap<>();
+                Set<String> aliveWorkers = new HashSet<>();
                 for (Map.Entry<String, Set<String>> entry : workerGroupNodes.entrySet()) {
                     String workerGroup = entry.getKey();
                     Set<String> nodes = entry.getValue();
-                    Set<HostWeight> hostWeights = new HashSet<>(nodes.size());
+                    List<HostLoad> availableHostLoads = new ArrayList<>(nodes.size());
+                    List<HostLoad> busyHostLoads = new ArrayList<>();
                     for (String node : nodes) {
                         WorkerHeartBeat heartbeat = workerNodeInfoMap.getOrDefault(node, null);
-                        Optional<HostWeight> hostWeightOpt = getHostWeight(node, workerGroup, heartbeat);
-                        hostWeightOpt.ifPresent(hostWeights::add);
+                        Optional<HostLoad> hostLoadOpt = getHostLoad(node, workerGroup, heartbeat);
+                        if (!hostLoadOpt.isPresent()) {
+                            continue;
+                        }
+                        aliveWorkers.add(node);
+                        if (ServerStatus.BUSY == heartbeat.getServerStatus()) {
+                            busyHostLoads.add(hostLoadOpt.get());
+                        } else {
+                            availableHostLoads.add(hostLoadOpt.get());
+                        }
                     }
-                    if (!hostWeights.isEmpty()) {
-                        workerHostWeights.put(workerGroup, hostWeights);
+                    // the busy workers are only used when all the workers in the group are busy, the worker will
+                    // reject the task if it's really overloaded
+                    List<HostLoad> hostLoads = availableHostLoads.isEmpty() ? busyHostLoads : availableHostLoads;
+                    if (hostLoads.isEmpty()) {
+                        workerGroupHostLoadsMap.remove(workerGroup);
+                    } else {
+                        workerGroupHostLoadsMap.put(workerGroup, Collections.unmodifiableList(hostLoads));
                     }
                 }
-                syncWorkerHostWeight(workerHostWeights);
+                workerGroupHostLoadsMap.keySet().retainAll(workerGroupNodes.keySet());
+                workerHostLoadMap.keySet().retainAll(aliveWorkers);
             } catch (Throwable ex) {
                 log.error("Sync worker resource error", ex);
             }
         }
-
-        private void syncWorkerHostWeight(Map<String, Set<HostWeight>> workerHostWeights) {
-            workerGroupWriteLock.lock();
-            try {
-                workerHostWeightsMap.clear();
-                workerHostWeightsMap.putAll(workerHostWeights);
-            } finally {
-                workerGroupWriteLock.unlock();
-            }
-        }
     }
 
-    public Optional<HostWeight> getHostWeight(String workerAddress, String workerGroup, WorkerHeartBeat heartBeat) {
+    private Optional<HostLoad> getHostLoad(String workerAddress, String workerGroup, WorkerHeartBeat heartBeat) {
         if (heartBeat == null) {
             log.warn("Worker {} in WorkerGroup {} have not received the heartbeat", workerAddress, workerGroup);
             return Optional.empty();
         }
         if (ServerStatus.BUSY == heartBeat.getServerStatus()) {
             log.warn("Worker {} in workerGroup {} is Busy, heartbeat is {}", workerAddress, workerGroup, heartBeat);
-            return Optional.empty();
-        }
-        return Optional.of(
-                new HostWeight(
-                        HostWorker.of(workerAddress, heartBeat.getWorkerHostWeight(), workerGroup),
-                        heartBeat.getCpuUsage(),
-                        heartBeat.getMemoryUsage(),
-                        heartBeat.getDiskUsage(),
-                        heartBeat.getThreadPoolUsage(),
-                        heartBeat.getStartupTime()));
-    }
-
-    private Set<HostWeight> getWorkerHostWeights(String workerGroup) throws WorkerGroupNotFoundException {
-        workerGroupReadLock.lock();
-        try {
-            Set<HostWeight> hostWeights = workerHostWeightsMap.get(workerGroup);
-            if (hostWeights == null) {
-                throw new WorkerGroupNotFoundException("Can not find worker group " + workerGroup);
-            }
-            return hostWeights;
-        } finally {
-            workerGroupReadLock.unlock();
         }
+        HostLoad hostLoad = workerHostLoadMap.computeIfAbsent(workerAddress,
+                address -> new HostLoad(HostWorker.of(address, heartBeat.getWorkerHostWeight(), workerGroup)));
+        hostLoad.onHeartBeat(heartBeat.getWorkerHostWeight(), heartBeat.getThreadPoolUsage(),
+                heartBeat.getReportTime());
+        return Optional.of(hostLoad);
     }
 
 }
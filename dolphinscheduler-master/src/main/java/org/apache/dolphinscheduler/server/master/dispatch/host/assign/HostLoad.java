@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+
+/**
+ * The load of a worker host which is tracked by the master.
+ * <p>
+ * The task count is reported by the worker heartbeat and the dispatch response, the newer report wins. The in-flight
+ * dispatch count is tracked by the master locally, it contains the dispatches which have selected this host but not
+ * received the response yet, so the bursty dispatch will not land on the same host before the worker reports.
+ */
+public class HostLoad {
+
+    @Getter
+    private final HostWorker hostWorker;
+
+    private volatile int reportedTaskCount;
+
+    private volatile long reportTime;
+
+    private final AtomicInteger inFlightDispatchCount = new AtomicInteger();
+
+    public HostLoad(HostWorker hostWorker) {
+        this.hostWorker = hostWorker;
+    }
+
+    public synchronized void onHeartBeat(int workerHostWeight, int taskCount, long reportTime) {
+        this.hostWorker.setHostWeight(workerHostWeight);
+        onReport(taskCount, reportTime);
+    }
+
+    public synchronized void onReport(int taskCount, long reportTime) {
+        if (reportTime >= this.reportTime) {
+            this.reportedTaskCount = taskCount;
+            this.reportTime = reportTime;
+        }
+    }
+
+    public void onDispatchStart() {
+        inFlightDispatchCount.incrementAndGet();
+    }
+
+    public void onDispatchFinished() {
+        inFlightDispatchCount.updateAndGet(count -> Math.max(count - 1, 0));
+    }
+
+    public int getInFlightDispatchCount() {
+        return inFlightDispatchCount.get();
+    }
+
+    public int getReportedTaskCount() {
+        return reportedTaskCount;
+    }
+
+    /**
+     * The outstanding task count normalized by the host weight, the lower the load, the more likely it will be chosen.
+     */
+    public double getLoad() {
+        int outstandingTaskCount = reportedTaskCount + inFlightDispatchCount.get();
+        return (outstandingTaskCount + 1) * 100.0D / Math.max(hostWorker.getHostWeight(), 1);
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power of two choices, pick two random hosts and choose the one with the lower load, it avoids the herd behavior of
+ * always choosing the lightest host when the load information is stale.
+ */
+public class PowerOfTwoChoicesSelector extends AbstractSelector<HostLoad> {
+
+    @Override
+    protected HostLoad doSelect(Collection<HostLoad> sources) {
+        List<HostLoad> hostLoads = sources instanceof List ? (List<HostLoad>) sources : new ArrayList<>(sources);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int size = hostLoads.size();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        HostLoad firstHostLoad = hostLoads.get(first);
+        HostLoad secondHostLoad = hostLoads.get(second);
+        return secondHostLoad.getLoad() < firstHostLoad.getLoad() ? secondHostLoad : firstHostLoad;
+    }
+
+}
@@ -20,7 +20,6 @@ package org.apache.dolphinscheduler.server.master.event;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.TaskEventType;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
 import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
@@ -28,6 +27,8 @@ import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecut
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskInstanceWriteBehindService;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskInstanceWriteBehindService.PersistCallback;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
 import org.apache.dolphinscheduler.server.master.utils.DataQualityResultOperator;
@@ -57,7 +58,7 @@ public class TaskResultEventHandler implements TaskEventHandler {
     private ProcessService processService;
 
     @Autowired
-    private TaskInstanceDao taskInstanceDao;
+    private TaskInstanceWriteBehindService taskInstanceWriteBehindService;
 
     @Autowired
     private MasterConfig masterConfig;
@@ -88,35 +89,65 @@ public class TaskResultEventHandler implements TaskEventHandler {
         }
         dataQualityResultOperator.operateDqExecuteResult(taskEvent, taskInstance);
 
-        TaskInstance oldTaskInstance = new TaskInstance();
-        TaskInstanceUtils.copyTaskInstance(taskInstance, oldTaskInstance);
+        // The change is applied to the cached task instance and acked to the worker after it is persisted
+        TaskInstance finishedTaskInstance = new TaskInstance();
+        TaskInstanceUtils.copyTaskInstance(taskInstance, finishedTaskInstance);
         try {
-            taskInstance.setStartTime(taskEvent.getStartTime());
-            taskInstance.setHost(taskEvent.getWorkerAddress());
-            taskInstance.setLogPath(taskEvent.getLogPath());
-            taskInstance.setExecutePath(taskEvent.getExecutePath());
-            taskInstance.setPid(taskEvent.getProcessId());
-            taskInstance.setAppLink(taskEvent.getAppIds());
-            taskInstance.setState(taskEvent.getState());
-            taskInstance.setEndTime(taskEvent.getEndTime());
-            taskInstance.setVarPool(taskEvent.getVarPool());
-            processService.changeOutParam(taskInstance);
-            taskInstanceDao.updateById(taskInstance);
+            applyResultEvent(finishedTaskInstance, taskEvent);
+            processService.changeOutParam(finishedTaskInstance);
         } catch (Exception ex) {
-            TaskInstanceUtils.copyTaskInstance(oldTaskInstance, taskInstance);
-            throw new TaskEventHandleError("Handle task result event error, save taskInstance to db error", ex);
+            throw new TaskEventHandleError("Handle task result event error, change out param of taskInstance error",
+                    ex);
         }
+        taskInstanceWriteBehindService.persist(finishedTaskInstance, new PersistCallback() {
+
+            @Override
+            public void onPersisted() {
+                if (taskInstance.getState().isFinished()) {
+                    // the task instance is finished by a result event persisted before, this event is duplicated
+                    sendAckToWorker(taskEvent);
+                    return;
+                }
+                applyResultEvent(taskInstance, taskEvent);
+                taskInstance.setTaskParams(finishedTaskInstance.getTaskParams());
+                sendAckToWorker(taskEvent);
+
+                TaskStateEvent stateEvent = TaskStateEvent.builder()
+                        .processInstanceId(taskEvent.getProcessInstanceId())
+                        .taskInstanceId(taskEvent.getTaskInstanceId())
+                        .status(taskEvent.getState())
+                        .type(StateEventType.TASK_STATE_CHANGE)
+                        .build();
+                workflowExecuteThreadPool.submitStateEvent(stateEvent);
+            }
+
+            @Override
+            public void onSkipped() {
+                // the task instance is killed or failed over by others, the result will not overwrite its state
+                log.warn("The taskInstance is already finished in db, will discard this result event: {}",
+                        taskEvent);
+                sendAckToWorker(taskEvent);
+            }
+
+            @Override
+            public void onPersistFailed(Throwable throwable) {
+                log.error(
+                        "Handle task result event error, save taskInstance to db error, the worker will retry this event, event: {}",
+                        taskEvent, throwable);
+            }
+        });
+    }
 
-        sendAckToWorker(taskEvent);
-
-        TaskStateEvent stateEvent = TaskStateEvent.builder()
-                .processInstanceId(taskEvent.getProcessInstanceId())
-                .taskInstanceId(taskEvent.getTaskInstanceId())
-                .status(taskEvent.getState())
-                .type(StateEventType.TASK_STATE_CHANGE)
-                .build();
-        workflowExecuteThreadPool.submitStateEvent(stateEvent);
-
+    private void applyResultEvent(TaskInstance taskInstance, TaskEvent taskEvent) {
+        taskInstance.setStartTime(taskEvent.getStartTime());
+        taskInstance.setHost(taskEvent.getWorkerAddress());
+        taskInstance.setLogPath(taskEvent.getLogPath());
+        taskInstance.setExecutePath(taskEvent.getExecutePath());
+        taskInstance.setPid(taskEvent.getProcessId());
+        taskInstance.setAppLink(taskEvent.getAppIds());
+        taskInstance.setState(taskEvent.getState());
+        taskInstance.setEndTime(taskEvent.getEndTime());
+        taskInstance.setVarPool(taskEvent.getVarPool());
     }
 
     public void sendAckToWorker(TaskEvent taskEvent) {
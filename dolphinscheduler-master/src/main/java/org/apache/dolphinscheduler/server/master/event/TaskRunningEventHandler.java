@@ -20,7 +20,6 @@ package org.apache.dolphinscheduler.server.master.event;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.TaskEventType;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
 import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
@@ -28,15 +27,20 @@ import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecut
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskInstanceWriteBehindService;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskInstanceWriteBehindService.PersistCallback;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
 
 import java.util.Optional;
 
+import lombok.extern.slf4j.Slf4j;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
+@Slf4j
 public class TaskRunningEventHandler implements TaskEventHandler {
 
     @Autowired
@@ -46,7 +50,7 @@ public class TaskRunningEventHandler implements TaskEventHandler {
     private WorkflowExecuteThreadPool workflowExecuteThreadPool;
 
     @Autowired
-    private TaskInstanceDao taskInstanceDao;
+    private TaskInstanceWriteBehindService taskInstanceWriteBehindService;
 
     @Autowired
     private MasterConfig masterConfig;
@@ -76,44 +80,71 @@ public class TaskRunningEventHandler implements TaskEventHandler {
                     "Handle task running event error, this task instance is already finished, this event is delay, will discard this event");
         }
 
-        TaskInstance oldTaskInstance = new TaskInstance();
-        TaskInstanceUtils.copyTaskInstance(taskInstance, oldTaskInstance);
-        try {
-            taskInstance.setState(taskEvent.getState());
-            taskInstance.setStartTime(taskEvent.getStartTime());
-            taskInstance.setHost(taskEvent.getWorkerAddress());
-            taskInstance.setLogPath(taskEvent.getLogPath());
-            taskInstance.setExecutePath(taskEvent.getExecutePath());
-            taskInstance.setPid(taskEvent.getProcessId());
-            taskInstance.setAppLink(taskEvent.getAppIds());
-            if (!taskInstanceDao.updateById(taskInstance)) {
-                throw new TaskEventHandleError("Handle task running event error, update taskInstance to db failed");
+        // The change is applied to the cached task instance and acked to the worker after it is persisted
+        TaskInstance runningTaskInstance = new TaskInstance();
+        TaskInstanceUtils.copyTaskInstance(taskInstance, runningTaskInstance);
+        applyRunningEvent(runningTaskInstance, taskEvent);
+        taskInstanceWriteBehindService.persist(runningTaskInstance, new PersistCallback() {
+
+            @Override
+            public void onPersisted() {
+                if (taskInstance.getState().isFinished()) {
+                    // the task instance is finished by a result event persisted before, this event is delay
+                    sendAckToWorker(taskEvent);
+                    return;
+                }
+                applyRunningEvent(taskInstance, taskEvent);
+                sendAckToWorker(taskEvent);
+
+                TaskStateEvent stateEvent = TaskStateEvent.builder()
+                        .processInstanceId(taskEvent.getProcessInstanceId())
+                        .taskInstanceId(taskEvent.getTaskInstanceId())
+                        .status(taskEvent.getState())
+                        .type(StateEventType.TASK_STATE_CHANGE)
+                        .build();
+                workflowExecuteThreadPool.submitStateEvent(stateEvent);
             }
-            sendAckToWorker(taskEvent);
-        } catch (Exception ex) {
-            TaskInstanceUtils.copyTaskInstance(oldTaskInstance, taskInstance);
-            if (ex instanceof TaskEventHandleError) {
-                throw ex;
+
+            @Override
+            public void onSkipped() {
+                // the task instance is killed or failed over by others, this event is delay
+                log.warn("The taskInstance is already finished in db, will discard this running event: {}",
+                        taskEvent);
+                sendAckToWorker(taskEvent);
             }
-            throw new TaskEventHandleError("Handle task running event error, update taskInstance to db failed", ex);
-        }
 
-        TaskStateEvent stateEvent = TaskStateEvent.builder()
-                .processInstanceId(taskEvent.getProcessInstanceId())
-                .taskInstanceId(taskEvent.getTaskInstanceId())
-                .status(taskEvent.getState())
-                .type(StateEventType.TASK_STATE_CHANGE)
-                .build();
-        workflowExecuteThreadPool.submitStateEvent(stateEvent);
+            @Override
+            public void onPersistFailed(Throwable throwable) {
+                log.error(
+                        "Handle task running event error, update taskInstance to db failed, the worker will retry this event, event: {}",
+                        taskEvent, throwable);
+            }
+        });
+    }
+
+    private void applyRunningEvent(TaskInstance taskInstance, TaskEvent taskEvent) {
+        taskInstance.setState(taskEvent.getState());
+        taskInstance.setStartTime(taskEvent.getStartTime());
+        taskInstance.setHost(taskEvent.getWorkerAddress());
+        taskInstance.setLogPath(taskEvent.getLogPath());
+        taskInstance.setExecutePath(taskEvent.getExecutePath());
+        taskInstance.setPid(taskEvent.getProcessId());
+        taskInstance.setAppLink(taskEvent.getAppIds());
     }
 
     private void sendAckToWorker(TaskEvent taskEvent) {
         // If event handle success, send ack to worker to otherwise the worker will retry this event
-        ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
-                SingletonJdkDynamicRpcClientProxyFactory
-                        .getProxyClient(taskEvent.getWorkerAddress(), ITaskInstanceExecutionEventAckListener.class);
-        instanceExecutionEventAckListener.handleTaskInstanceExecutionRunningEventAck(
-                TaskInstanceExecutionRunningEventAck.success(taskEvent.getTaskInstanceId()));
+        try {
+            ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
+                    SingletonJdkDynamicRpcClientProxyFactory
+                            .getProxyClient(taskEvent.getWorkerAddress(),
+                                    ITaskInstanceExecutionEventAckListener.class);
+            instanceExecutionEventAckListener.handleTaskInstanceExecutionRunningEventAck(
+                    TaskInstanceExecutionRunningEventAck.success(taskEvent.getTaskInstanceId()));
+        } catch (Exception e) {
+            // master ignore the exception, worker will retry to send this TaskEventType.RUNNING event again.
+            log.warn("send ack to worker error, taskInstanceId: {}", taskEvent.getTaskInstanceId(), e);
+        }
     }
 
     @Override
@@ -17,34 +17,74 @@
 
 package org.apache.dolphinscheduler.server.master.event;
 
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
 
+/**
+ * The workflow events are sharded by workflow instance id, each shard is consumed by one
+ * {@link org.apache.dolphinscheduler.server.master.runner.WorkflowEventLooper} thread, so the events of the same
+ * workflow instance are handled in order, and the events of different workflow instances are handled in parallel.
+ */
 @Component
 @Slf4j
 public class WorkflowEventQueue {
 
-    private static final LinkedBlockingQueue<WorkflowEvent> workflowEventQueue = new LinkedBlockingQueue<>();
+    private final List<LinkedBlockingQueue<WorkflowEvent>> workflowEventQueues;
+
+    public WorkflowEventQueue(MasterConfig masterConfig) {
+        int shardCount = masterConfig.getWorkflowEventLooperThreads();
+        this.workflowEventQueues = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            LinkedBlockingQueue<WorkflowEvent> workflowEventQueue = new LinkedBlockingQueue<>();
+            workflowEventQueues.add(workflowEventQueue);
+            ProcessInstanceMetrics.registerWorkflowEventQueueSizeGauge(i, workflowEventQueue::size);
+        }
+    }
 
     /**
-     * Add a workflow event.
+     * Add a workflow event to the shard of its workflow instance.
      */
     public void addEvent(WorkflowEvent workflowEvent) {
-        workflowEventQueue.add(workflowEvent);
+        workflowEventQueues.get(getShardIndex(workflowEvent.getWorkflowInstanceId())).add(workflowEvent);
         log.info("Added workflow event to workflowEvent queue, event: {}", workflowEvent);
     }
 
     /**
-     * Pool the head of the workflow event queue and wait an workflow event.
+     * Pool the head of the given shard and wait an workflow event.
      */
-    public WorkflowEvent poolEvent() throws InterruptedException {
-        return workflowEventQueue.take();
+    public WorkflowEvent poolEvent(int shardIndex) throws InterruptedException {
+        return workflowEventQueues.get(shardIndex).take();
+    }
+
+    public int getShardCount() {
+        return workflowEventQueues.size();
+    }
+
+    public int getShardIndex(int workflowInstanceId) {
+        return Math.floorMod(workflowInstanceId, workflowEventQueues.size());
+    }
+
+    public int getWorkflowEventQueueSize() {
+        int size = 0;
+        for (LinkedBlockingQueue<WorkflowEvent> workflowEventQueue : workflowEventQueues) {
+            size += workflowEventQueue.size();
+        }
+        return size;
+    }
+
+    public int getWorkflowEventQueueSize(int shardIndex) {
+        return workflowEventQueues.get(shardIndex).size();
     }
 
     public void clearWorkflowEventQueue() {
-        workflowEventQueue.clear();
+        workflowEventQueues.forEach(LinkedBlockingQueue::clear);
     }
 }
@@ -67,6 +67,8 @@ public class WorkflowStartEventHandler implements WorkflowEventHandler {
                         if (processInstance.getTimeout() > 0) {
                             stateWheelExecuteThread.addProcess4TimeoutCheck(processInstance);
                         }
+                        // handle the events which are added before the workflow started
+                        workflowExecuteThreadPool.executeEvent(workflowExecuteRunnable);
                     } else if (WorkflowStartStatus.FAILED == workflowStartStatus) {
                         log.error(
                                 "Failed to submit the workflow instance, will send fail state event: {}",
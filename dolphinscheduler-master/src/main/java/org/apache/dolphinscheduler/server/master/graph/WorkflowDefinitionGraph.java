@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+import org.apache.dolphinscheduler.service.process.ProcessDag;
+import org.apache.dolphinscheduler.service.utils.DagHelper;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+
+/**
+ * The compiled graph of a workflow definition version, it's immutable and shared by all the workflow instances of the
+ * same version, so the per-instance state must not be kept here.
+ */
+@Getter
+public class WorkflowDefinitionGraph {
+
+    private final long processDefinitionCode;
+
+    private final int processDefinitionVersion;
+
+    private final List<TaskNode> taskNodes;
+
+    private final Map<Long, TaskNode> taskNodeMap;
+
+    private final Set<Long> forbiddenTaskCodes;
+
+    /**
+     * The DAG contains all the task nodes, used by the workflow instances which run the whole workflow, null if the
+     * workflow definition doesn't contain any task.
+     */
+    private final DAG<Long, TaskNode, TaskNodeRelation> fullDag;
+
+    public WorkflowDefinitionGraph(long processDefinitionCode,
+                                   int processDefinitionVersion,
+                                   List<TaskNode> taskNodes) throws Exception {
+        checkNotNull(taskNodes, "taskNodes can not be null");
+        this.processDefinitionCode = processDefinitionCode;
+        this.processDefinitionVersion = processDefinitionVersion;
+        this.taskNodes = Collections.unmodifiableList(taskNodes);
+        this.taskNodeMap = Collections.unmodifiableMap(taskNodes.stream()
+                .collect(Collectors.toMap(TaskNode::getCode, Function.identity(), (a, b) -> a, LinkedHashMap::new)));
+        this.forbiddenTaskCodes = Collections.unmodifiableSet(
+                taskNodes.stream().filter(TaskNode::isForbidden).map(TaskNode::getCode).collect(Collectors.toSet()));
+        ProcessDag processDag = DagHelper.generateFlowDag(this.taskNodes, Collections.emptyList(),
+                Collections.emptyList(), TaskDependType.TASK_POST);
+        this.fullDag = processDag == null ? null : DagHelper.buildDagGraph(processDag);
+    }
+
+}
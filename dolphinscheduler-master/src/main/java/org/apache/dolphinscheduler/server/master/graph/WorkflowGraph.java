@@ -47,6 +47,20 @@ public class WorkflowGraph implements IWorkflowGraph {
                 taskNodes.stream().filter(TaskNode::isForbidden).map(TaskNode::getCode).collect(Collectors.toSet());
     }
 
+    /**
+     * Create the graph of a workflow instance from the compiled graph of its workflow definition version, the task
+     * nodes are shared with the other workflow instances of the same version.
+     */
+    public WorkflowGraph(WorkflowDefinitionGraph workflowDefinitionGraph,
+                         DAG<Long, TaskNode, TaskNodeRelation> dag) {
+        checkNotNull(workflowDefinitionGraph, "workflowDefinitionGraph can not be null");
+        checkNotNull(dag, "dag can not be null");
+
+        this.taskNodeMap = workflowDefinitionGraph.getTaskNodeMap();
+        this.dag = dag;
+        this.forbiddenTaskCodes = workflowDefinitionGraph.getForbiddenTaskCodes();
+    }
+
     @Override
     public TaskNode getTaskNodeByCode(Long taskCode) {
         TaskNode taskNode = taskNodeMap.get(taskCode);
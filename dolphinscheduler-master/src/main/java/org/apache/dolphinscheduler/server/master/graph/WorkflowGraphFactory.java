@@ -22,18 +22,16 @@ import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.C
 import static org.apache.dolphinscheduler.common.constants.Constants.COMMA;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
 import org.apache.dolphinscheduler.common.graph.DAG;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
-import org.apache.dolphinscheduler.dao.entity.ProcessTaskRelation;
-import org.apache.dolphinscheduler.dao.entity.TaskDefinitionLog;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowGraphCacheManager;
 import org.apache.dolphinscheduler.service.model.TaskNode;
 import org.apache.dolphinscheduler.service.process.ProcessDag;
-import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.utils.DagHelper;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -55,38 +53,52 @@ import org.springframework.stereotype.Component;
 @Component
 public class WorkflowGraphFactory {
 
-    @Autowired
-    private ProcessService processService;
-
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
     @Autowired
-    private TaskDefinitionLogDao taskDefinitionLogDao;
+    private WorkflowGraphCacheManager workflowGraphCacheManager;
 
     public IWorkflowGraph createWorkflowGraph(ProcessInstance workflowInstance) throws Exception {
-
-        List<ProcessTaskRelation> processTaskRelations =
-                processService.findRelationByCode(workflowInstance.getProcessDefinitionCode(),
-                        workflowInstance.getProcessDefinitionVersion());
-        List<TaskDefinitionLog> taskDefinitionLogs =
-                taskDefinitionLogDao.queryTaskDefineLogList(processTaskRelations);
-        List<TaskNode> taskNodeList = processService.transformTask(processTaskRelations, taskDefinitionLogs);
+        WorkflowDefinitionGraph workflowDefinitionGraph = workflowGraphCacheManager.getWorkflowDefinitionGraph(
+                workflowInstance.getProcessDefinitionCode(), workflowInstance.getProcessDefinitionVersion());
 
         // generate process to get DAG info
         List<Long> recoveryTaskNodeCodeList = getRecoveryTaskNodeCodeList(workflowInstance.getCommandParam());
         List<Long> startNodeNameList = parseStartNodeName(workflowInstance.getCommandParam());
-        ProcessDag processDag = DagHelper.generateFlowDag(taskNodeList, startNodeNameList, recoveryTaskNodeCodeList,
-                workflowInstance.getTaskDependType());
-        if (processDag == null) {
-            log.error("ProcessDag is null");
-            throw new IllegalArgumentException("Create WorkflowGraph failed, ProcessDag is null");
+        DAG<Long, TaskNode, TaskNodeRelation> dagGraph;
+        if (isRunWholeWorkflow(startNodeNameList, recoveryTaskNodeCodeList, workflowInstance.getTaskDependType())) {
+            // the DAG is read only, so the whole workflow DAG is shared by the workflow instances
+            dagGraph = workflowDefinitionGraph.getFullDag();
+            if (dagGraph == null) {
+                log.error("ProcessDag is null");
+                throw new IllegalArgumentException("Create WorkflowGraph failed, ProcessDag is null");
+            }
+        } else {
+            ProcessDag processDag = DagHelper.generateFlowDag(workflowDefinitionGraph.getTaskNodes(),
+                    startNodeNameList, recoveryTaskNodeCodeList, workflowInstance.getTaskDependType());
+            if (processDag == null) {
+                log.error("ProcessDag is null");
+                throw new IllegalArgumentException("Create WorkflowGraph failed, ProcessDag is null");
+            }
+            // generate process dag
+            dagGraph = DagHelper.buildDagGraph(processDag);
         }
-        // generate process dag
-        DAG<Long, TaskNode, TaskNodeRelation> dagGraph = DagHelper.buildDagGraph(processDag);
         log.debug("Build dag success, dag: {}", dagGraph);
 
-        return new WorkflowGraph(taskNodeList, dagGraph);
+        return new WorkflowGraph(workflowDefinitionGraph, dagGraph);
+    }
+
+    /**
+     * The workflow instance runs all the tasks if it doesn't specify the start nodes and isn't recovered from some
+     * task instances, see {@link DagHelper#generateFlowNodeListByStartNode}.
+     */
+    private boolean isRunWholeWorkflow(List<Long> startNodeNameList,
+                                       List<Long> recoveryTaskNodeCodeList,
+                                       TaskDependType taskDependType) {
+        return TaskDependType.TASK_POST == taskDependType
+                && CollectionUtils.isEmpty(startNodeNameList)
+                && CollectionUtils.isEmpty(recoveryTaskNodeCodeList);
     }
 
     /**
@@ -17,12 +17,14 @@
 
 package org.apache.dolphinscheduler.server.master.metrics;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class MasterServerMetrics {
@@ -43,6 +45,29 @@ public class MasterServerMetrics {
                     .description("Master server consume command count")
                     .register(Metrics.globalRegistry);
 
+    /**
+     * Used to measure the delay between the deadline of a state wheel check and the time it is actually fired.
+     */
+    private final Timer stateWheelTickLagTimer =
+            Timer.builder("ds.master.state.wheel.tick.lag")
+                    .description("The lag between the deadline and the fire time of the state wheel check")
+                    .register(Metrics.globalRegistry);
+
+    /**
+     * Used to measure the time cost of failover a dead master/worker server.
+     */
+    private final Timer masterFailoverTimer =
+            Timer.builder("ds.master.failover.duration")
+                    .tag("type", "master")
+                    .description("The time cost of failover the workflow instances of a master server")
+                    .register(Metrics.globalRegistry);
+
+    private final Timer workerFailoverTimer =
+            Timer.builder("ds.master.failover.duration")
+                    .tag("type", "worker")
+                    .description("The time cost of failover the task instances of a worker server")
+                    .register(Metrics.globalRegistry);
+
     public void registerMasterMemoryAvailableGauge(Supplier<Number> supplier) {
         Gauge.builder("ds.master.memory.available", supplier)
                 .description("Master memory available")
@@ -67,6 +92,13 @@ public class MasterServerMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerStateWheelSizeGauge(String checkType, Supplier<Number> supplier) {
+        Gauge.builder("ds.master.state.wheel.size", supplier)
+                .tag("type", checkType)
+                .description("The number of the pending checks in the state wheel")
+                .register(Metrics.globalRegistry);
+    }
+
     public void incMasterOverload() {
         masterOverloadCounter.increment();
     }
@@ -75,4 +107,16 @@ public class MasterServerMetrics {
         masterConsumeCommandCounter.increment(commandCount);
     }
 
+    public void recordStateWheelTickLag(long milliseconds) {
+        stateWheelTickLagTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordMasterFailoverDuration(long milliseconds) {
+        masterFailoverTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordWorkerFailoverDuration(long milliseconds) {
+        workerFailoverTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
 }
@@ -17,7 +17,9 @@
 
 package org.apache.dolphinscheduler.server.master.metrics;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -58,6 +60,11 @@ public class ProcessInstanceMetrics {
                     .description("Process instance generated duration")
                     .register(Metrics.globalRegistry);
 
+    /**
+     * The workflow event handle timers keyed by shard and event type, build the timer once rather than on each event.
+     */
+    private final Map<String, Timer> workflowEventHandleTimers = new ConcurrentHashMap<>();
+
     public void recordCommandQueryTime(long milliseconds) {
         commandQueryTimer.record(milliseconds, TimeUnit.MILLISECONDS);
     }
@@ -78,6 +85,23 @@ public class ProcessInstanceMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerWorkflowEventQueueSizeGauge(int shardIndex, Supplier<Number> function) {
+        Gauge.builder("ds.workflow.event.queue.size", function)
+                .tag("shard", String.valueOf(shardIndex))
+                .description("The pending workflow event count of the shard")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void recordWorkflowEventHandleTime(int shardIndex, String eventType, long milliseconds) {
+        workflowEventHandleTimers.computeIfAbsent(shardIndex + ":" + eventType,
+                key -> Timer.builder("ds.workflow.event.handle.duration")
+                        .tags("shard", String.valueOf(shardIndex), "type", eventType)
+                        .description("Workflow event handle duration")
+                        .publishPercentileHistogram()
+                        .register(Metrics.globalRegistry))
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
     public void incProcessInstanceByStateAndProcessDefinitionCode(final String state,
                                                                   final String processDefinitionCode) {
         // When tags need to be determined from local context,
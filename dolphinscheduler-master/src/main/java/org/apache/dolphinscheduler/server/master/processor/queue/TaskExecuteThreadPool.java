@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheM
 import org.apache.dolphinscheduler.server.master.cache.StreamTaskInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.TaskEventHandler;
+import org.apache.dolphinscheduler.server.master.runner.StreamTaskExecuteThreadPool;
 
 import java.util.HashMap;
 import java.util.List;
@@ -56,6 +57,9 @@ public class TaskExecuteThreadPool extends ThreadPoolTaskExecutor {
     @Autowired
     private StreamTaskInstanceExecCacheManager streamTaskInstanceExecCacheManager;
 
+    @Autowired
+    private StreamTaskExecuteThreadPool streamTaskExecuteThreadPool;
+
     private Map<TaskEventType, TaskEventHandler> taskEventHandlerMap = new HashMap<>();
 
     /**
@@ -77,8 +81,7 @@ public class TaskExecuteThreadPool extends ThreadPoolTaskExecutor {
         // stream task event handle
         if (taskEvent.getProcessInstanceId() == 0
                 && streamTaskInstanceExecCacheManager.contains(taskEvent.getTaskInstanceId())) {
-            streamTaskInstanceExecCacheManager.getByTaskInstanceId(taskEvent.getTaskInstanceId())
-                    .addTaskEvent(taskEvent);
+            streamTaskExecuteThreadPool.submitTaskEvent(taskEvent);
             return;
         }
         if (!processInstanceExecCacheManager.contains(taskEvent.getProcessInstanceId())) {
@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.processor.queue;
+
+import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.TaskInstanceWriteBehindConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The write-behind stage of the task instance changes made by the task running/result events.
+ * <p>
+ * The changes are buffered and flushed in one JDBC batch once the buffer holds
+ * {@link TaskInstanceWriteBehindConfig#getMaxBatchSize()} task instances or the first buffered change has waited
+ * {@link TaskInstanceWriteBehindConfig#getFlushInterval()}. The changes of the same task instance are coalesced into one
+ * update. The callbacks are invoked in submission order after the batch is committed, so the worker only receives the
+ * ACK of an event once its change is durable.
+ * <p>
+ * The task instance may be finished by others before the change is flushed, e.g. killed or marked as need fault
+ * tolerance, such a task instance is not overwritten and the callbacks of its changes are told by
+ * {@link PersistCallback#onSkipped()}.
+ */
+@Slf4j
+@Component
+public class TaskInstanceWriteBehindService {
+
+    private final TaskInstanceDao taskInstanceDao;
+
+    private final TaskInstanceWriteBehindConfig writeBehindConfig;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition bufferChanged = lock.newCondition();
+
+    private final Condition bufferNotFull = lock.newCondition();
+
+    // guarded by lock
+    private Map<Integer, TaskInstance> bufferedTaskInstances = new LinkedHashMap<>();
+
+    // guarded by lock
+    private List<BufferedCallback> bufferedCallbacks = new ArrayList<>();
+
+    private volatile boolean started;
+
+    private Thread flushThread;
+
+    public TaskInstanceWriteBehindService(@NonNull TaskInstanceDao taskInstanceDao,
+                                          @NonNull MasterConfig masterConfig) {
+        this.taskInstanceDao = taskInstanceDao;
+        this.writeBehindConfig = masterConfig.getTaskInstanceWriteBehindConfig();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!writeBehindConfig.isEnabled()) {
+            log.info("TaskInstance write-behind is disabled, the task instances will be persisted one by one");
+            return;
+        }
+        started = true;
+        flushThread = new TaskInstanceFlushThread();
+        flushThread.start();
+        log.info("TaskInstance write-behind flush thread started");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!started) {
+            return;
+        }
+        started = false;
+        flushThread.interrupt();
+        try {
+            flushThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // flush the remaining changes so that the events are acked before the master exits
+        PendingBatch remainingBatch;
+        lock.lock();
+        try {
+            remainingBatch = swapBuffer();
+        } finally {
+            lock.unlock();
+        }
+        flush(remainingBatch);
+        log.info("TaskInstance write-behind flush thread stopped");
+    }
+
+    /**
+     * Persist the given task instance, the callback will be invoked once the change is committed or failed.
+     * <p>
+     * The given task instance should be a snapshot which will not be changed by others, if the buffer already holds a
+     * change of the same task instance, the change of a finished task instance will not be overwritten by the change
+     * of an unfinished one.
+     */
+    public void persist(@NonNull TaskInstance taskInstance, @NonNull PersistCallback callback) {
+        lock.lock();
+        try {
+            // the buffer is full only when the flush thread is busy with the previous batch
+            while (started && bufferedTaskInstances.size() >= writeBehindConfig.getMaxBatchSize()) {
+                bufferNotFull.awaitUninterruptibly();
+            }
+            if (started) {
+                bufferedTaskInstances.merge(taskInstance.getId(), taskInstance,
+                        TaskInstanceWriteBehindService::coalesce);
+                bufferedCallbacks.add(new BufferedCallback(taskInstance.getId(), callback));
+                if (bufferedCallbacks.size() == 1
+                        || bufferedTaskInstances.size() >= writeBehindConfig.getMaxBatchSize()) {
+                    bufferChanged.signal();
+                }
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        // the write-behind is disabled or stopped
+        flush(new PendingBatch(Collections.singletonMap(taskInstance.getId(), taskInstance),
+                Collections.singletonList(new BufferedCallback(taskInstance.getId(), callback))));
+    }
+
+    private static TaskInstance coalesce(TaskInstance bufferedTaskInstance, TaskInstance taskInstance) {
+        if (isFinished(bufferedTaskInstance) && !isFinished(taskInstance)) {
+            return bufferedTaskInstance;
+        }
+        return taskInstance;
+    }
+
+    private static boolean isFinished(TaskInstance taskInstance) {
+        return taskInstance.getState() != null && taskInstance.getState().isFinished();
+    }
+
+    private PendingBatch awaitBatch() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (bufferedCallbacks.isEmpty()) {
+                bufferChanged.await();
+            }
+            long remainingNanos = writeBehindConfig.getFlushInterval().toNanos();
+            while (bufferedTaskInstances.size() < writeBehindConfig.getMaxBatchSize() && remainingNanos > 0) {
+                remainingNanos = bufferChanged.awaitNanos(remainingNanos);
+            }
+            return swapBuffer();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PendingBatch swapBuffer() {
+        PendingBatch pendingBatch = new PendingBatch(bufferedTaskInstances, bufferedCallbacks);
+        bufferedTaskInstances = new LinkedHashMap<>();
+        bufferedCallbacks = new ArrayList<>();
+        bufferNotFull.signalAll();
+        return pendingBatch;
+    }
+
+    private void flush(PendingBatch pendingBatch) {
+        if (pendingBatch.callbacks.isEmpty()) {
+            return;
+        }
+        Set<Integer> skippedTaskInstanceIds;
+        try {
+            skippedTaskInstanceIds = taskInstanceDao.batchUpdateUnfinishedById(pendingBatch.taskInstances.values());
+        } catch (Exception ex) {
+            log.error("Persist {} taskInstances failed, the related task events will not be acked",
+                    pendingBatch.taskInstances.size(), ex);
+            for (BufferedCallback bufferedCallback : pendingBatch.callbacks) {
+                try {
+                    bufferedCallback.callback.onPersistFailed(ex);
+                } catch (Exception callbackException) {
+                    log.error("Invoke the persist failed callback error", callbackException);
+                }
+            }
+            return;
+        }
+        if (!skippedTaskInstanceIds.isEmpty()) {
+            log.warn("The taskInstances: {} are already finished in db, their changes are skipped",
+                    skippedTaskInstanceIds);
+        }
+        for (BufferedCallback bufferedCallback : pendingBatch.callbacks) {
+            try {
+                if (skippedTaskInstanceIds.contains(bufferedCallback.taskInstanceId)) {
+                    bufferedCallback.callback.onSkipped();
+                } else {
+                    bufferedCallback.callback.onPersisted();
+                }
+            } catch (Exception callbackException) {
+                log.error("Invoke the persisted callback error", callbackException);
+            }
+        }
+    }
+
+    /**
+     * The callback of a persisted task instance change.
+     */
+    public interface PersistCallback {
+
+        void onPersisted();
+
+        /**
+         * The change is not persisted since the task instance is already finished in the database.
+         */
+        void onSkipped();
+
+        void onPersistFailed(Throwable throwable);
+    }
+
+    private static class PendingBatch {
+
+        private final Map<Integer, TaskInstance> taskInstances;
+
+        private final List<BufferedCallback> callbacks;
+
+        private PendingBatch(Map<Integer, TaskInstance> taskInstances, List<BufferedCallback> callbacks) {
+            this.taskInstances = taskInstances;
+            this.callbacks = callbacks;
+        }
+    }
+
+    private static class BufferedCallback {
+
+        private final int taskInstanceId;
+
+        private final PersistCallback callback;
+
+        private BufferedCallback(int taskInstanceId, PersistCallback callback) {
+            this.taskInstanceId = taskInstanceId;
+            this.callback = callback;
+        }
+    }
+
+    class TaskInstanceFlushThread extends BaseDaemonThread {
+
+        protected TaskInstanceFlushThread() {
+            super("TaskInstanceWriteBehindFlushThread");
+        }
+
+        @Override
+        public void run() {
+            while (started && !ServerLifeCycleManager.isStopped()) {
+                try {
+                    flush(awaitBatch());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("TaskInstance write-behind flush thread interrupted, will return this loop");
+                    break;
+                } catch (Exception e) {
+                    log.error("TaskInstance write-behind flush thread error", e);
+                }
+            }
+        }
+    }
+}
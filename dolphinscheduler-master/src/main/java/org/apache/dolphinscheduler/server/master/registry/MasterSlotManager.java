@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.server.master.registry;
 import org.apache.dolphinscheduler.common.enums.ServerStatus;
 import org.apache.dolphinscheduler.common.model.MasterHeartBeat;
 import org.apache.dolphinscheduler.common.model.Server;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerSlotProvider;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.service.queue.MasterPriorityQueue;
 
@@ -37,7 +38,7 @@ import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
-public class MasterSlotManager {
+public class MasterSlotManager implements SchedulerSlotProvider {
 
     @Autowired
     protected ServerNodeManager serverNodeManager;
@@ -52,6 +53,7 @@ public class MasterSlotManager {
         serverNodeManager.addMasterInfoChangeListener(new MasterSlotManager.SlotChangeListener());
     }
 
+    @Override
     public int getSlot() {
         return currentSlot;
     }
@@ -60,6 +62,11 @@ public class MasterSlotManager {
         return totalSlot;
     }
 
+    @Override
+    public int getTotalSlot() {
+        return totalSlot;
+    }
+
     public class SlotChangeListener implements MasterInfoChangeListener {
 
         private final Lock slotLock = new ReentrantLock();
@@ -17,16 +17,23 @@
 
 package org.apache.dolphinscheduler.server.master.rpc;
 
+import org.apache.dolphinscheduler.common.log.LogFileSegment;
+import org.apache.dolphinscheduler.common.log.LogLineOffsetIndex;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.extract.common.ILogService;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.List;
 
@@ -46,6 +53,15 @@ public class MasterLogServiceImpl implements ILogService {
         return new TaskInstanceLogFileDownloadResponse(bytes);
     }
 
+    @Override
+    public TaskInstanceLogFileChunkDownloadResponse getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkDownloadRequest taskInstanceLogFileChunkDownloadRequest) {
+        String logPath = taskInstanceLogFileChunkDownloadRequest.getTaskInstanceLogAbsolutePath();
+        byte[] chunkBytes = LogUtils.readFileBytes(logPath,
+                taskInstanceLogFileChunkDownloadRequest.getOffset(),
+                taskInstanceLogFileChunkDownloadRequest.getChunkSize());
+        return new TaskInstanceLogFileChunkDownloadResponse(chunkBytes, new File(logPath).length());
+    }
+
     @Override
     public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
 
@@ -58,6 +74,16 @@ public class MasterLogServiceImpl implements ILogService {
         return new TaskInstanceLogPageQueryResponse(logContent);
     }
 
+    @Override
+    public TaskInstanceLogTailResponse tailTaskInstanceLog(TaskInstanceLogTailRequest taskInstanceLogTailRequest) {
+        LogFileSegment logFileSegment = LogUtils.readFileSegment(
+                taskInstanceLogTailRequest.getTaskInstanceLogAbsolutePath(),
+                taskInstanceLogTailRequest.getByteOffset(),
+                taskInstanceLogTailRequest.getMaxBytes());
+        return new TaskInstanceLogTailResponse(logFileSegment.getContent(), logFileSegment.getEndOffset(),
+                logFileSegment.getFileSize());
+    }
+
     @Override
     public GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest) {
         return new GetAppIdResponse(Collections.emptyList());
@@ -66,5 +92,6 @@ public class MasterLogServiceImpl implements ILogService {
     @Override
     public void removeTaskInstanceLog(String taskInstanceLogAbsolutePath) {
         FileUtils.deleteFile(taskInstanceLogAbsolutePath);
+        LogLineOffsetIndex.invalidate(taskInstanceLogAbsolutePath);
     }
 }
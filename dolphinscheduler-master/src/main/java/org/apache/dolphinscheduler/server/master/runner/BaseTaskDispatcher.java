@@ -33,6 +33,8 @@ import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatche
 
 import java.util.Date;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -50,18 +52,36 @@ public abstract class BaseTaskDispatcher implements TaskDispatcher {
 
     @Override
     public void dispatchTask(TaskExecuteRunnable taskExecuteRunnable) throws TaskDispatchException {
-        Host taskInstanceDispatchHost;
+        Optional<Host> taskInstanceDispatchHost = selectDispatchHost(taskExecuteRunnable);
+        if (!taskInstanceDispatchHost.isPresent()) {
+            return;
+        }
+        taskExecuteRunnable.getTaskExecutionContext().setHost(taskInstanceDispatchHost.get().getAddress());
+        doDispatch(taskExecuteRunnable);
+        onDispatchSuccess(taskExecuteRunnable, taskInstanceDispatchHost.get());
+    }
+
+    @Override
+    public Optional<Host> selectDispatchHost(TaskExecuteRunnable taskExecuteRunnable,
+                                             Set<Host> excludedHosts) throws TaskDispatchException {
         try {
-            taskInstanceDispatchHost = getTaskInstanceDispatchHost(taskExecuteRunnable)
-                    .orElseThrow(() -> new TaskDispatchException("Cannot find the host to execute task."));
+            return Optional.of(getTaskInstanceDispatchHost(taskExecuteRunnable, excludedHosts)
+                    .orElseThrow(() -> new TaskDispatchException("Cannot find the host to execute task.")));
         } catch (WorkerGroupNotFoundException workerGroupNotFoundException) {
             log.error("Dispatch task: {} failed, worker group not found.",
                     taskExecuteRunnable.getTaskExecutionContext().getTaskName(), workerGroupNotFoundException);
             addDispatchFailedEvent(taskExecuteRunnable);
-            return;
+            return Optional.empty();
         }
-        taskExecuteRunnable.getTaskExecutionContext().setHost(taskInstanceDispatchHost.getAddress());
-        doDispatch(taskExecuteRunnable);
+    }
+
+    @Override
+    public CompletableFuture<Void> dispatchTaskAsync(TaskExecuteRunnable taskExecuteRunnable, Host host) {
+        taskExecuteRunnable.getTaskExecutionContext().setHost(host.getAddress());
+        return doDispatchAsync(taskExecuteRunnable).thenRun(() -> onDispatchSuccess(taskExecuteRunnable, host));
+    }
+
+    private void onDispatchSuccess(TaskExecuteRunnable taskExecuteRunnable, Host taskInstanceDispatchHost) {
         taskExecuteRunnable.getTaskInstance().setHost(taskInstanceDispatchHost.getAddress());
         log.info("Success dispatch task {} to {}.", taskExecuteRunnable.getTaskExecutionContext().getTaskName(),
                 taskInstanceDispatchHost.getAddress());
@@ -70,7 +90,14 @@ public abstract class BaseTaskDispatcher implements TaskDispatcher {
 
     protected abstract void doDispatch(TaskExecuteRunnable taskExecuteRunnable) throws TaskDispatchException;
 
-    protected abstract Optional<Host> getTaskInstanceDispatchHost(TaskExecuteRunnable taskExecutionContext) throws TaskDispatchException, WorkerGroupNotFoundException;
+    /**
+     * Send the dispatch request without blocking the caller, the returned future should be completed exceptionally
+     * with {@link TaskDispatchException} if the dispatch failed.
+     */
+    protected abstract CompletableFuture<Void> doDispatchAsync(TaskExecuteRunnable taskExecuteRunnable);
+
+    protected abstract Optional<Host> getTaskInstanceDispatchHost(TaskExecuteRunnable taskExecutionContext,
+                                                                  Set<Host> excludedHosts) throws TaskDispatchException, WorkerGroupNotFoundException;
 
     protected void addDispatchEvent(TaskExecuteRunnable taskExecuteRunnable) {
         TaskExecutionContext taskExecutionContext = taskExecuteRunnable.getTaskExecutionContext();
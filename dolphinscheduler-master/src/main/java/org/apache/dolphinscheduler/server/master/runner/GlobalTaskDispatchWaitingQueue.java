@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
+import java.util.Collection;
 import java.util.concurrent.DelayQueue;
 
 import lombok.SneakyThrows;
@@ -43,6 +44,16 @@ public class GlobalTaskDispatchWaitingQueue {
         return queue.take();
     }
 
+    /**
+     * Remove at most the given number of {@link DefaultTaskExecuteRunnable} whose delay is expired, and add them to the
+     * given collection, this method will not block.
+     *
+     * @return the number of elements transferred
+     */
+    public int drainTaskExecuteRunnable(Collection<DefaultTaskExecuteRunnable> collection, int maxElements) {
+        return queue.drainTo(collection, maxElements);
+    }
+
     public int getWaitingDispatchTaskNumber() {
         return queue.size();
     }
@@ -18,11 +18,22 @@
 package org.apache.dolphinscheduler.server.master.runner;
 
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
-import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatchFactory;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatcher;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -31,21 +42,40 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Take the {@link DefaultTaskExecuteRunnable} from {@link GlobalTaskDispatchWaitingQueue} in batches, and send the
+ * dispatch request asynchronously, the looper is never blocked by the RPC.
+ * <p>
+ * The in-flight dispatch requests are bounded, each target host can use at most half of them, and a host backs off
+ * exponentially after continuous dispatch failures, so that an unavailable host will not block the dispatch to other
+ * hosts. The hosts backing off or reaching the in-flight limit are excluded when selecting the host. The task which cannot be dispatched now is put back to the {@link GlobalTaskDispatchWaitingQueue} with a
+ * back-off, which overlaps its delay time.
+ */
 @Slf4j
 @Component
 public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread implements AutoCloseable {
 
+    private static final long MIN_DISPATCH_BACKOFF_MILLS = 100L;
+
     @Autowired
     private GlobalTaskDispatchWaitingQueue globalTaskDispatchWaitingQueue;
 
     @Autowired
     private TaskDispatchFactory taskDispatchFactory;
 
+    @Autowired
+    private MasterConfig masterConfig;
+
     private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
 
-    private final AtomicInteger DISPATCHED_CONSECUTIVE_FAILURE_TIMES = new AtomicInteger();
+    /**
+     * The dispatch state of each target host, only created and evicted by the looper thread.
+     */
+    private final Map<Host, DispatchHostState> dispatchHostStates = new ConcurrentHashMap<>();
 
-    private static final Integer MAX_DISPATCHED_FAILED_TIMES = 100;
+    private Semaphore dispatchPermits;
+
+    private int maxInFlightDispatchPerHost;
 
     public GlobalTaskDispatchWaitingQueueLooper() {
         super("GlobalTaskDispatchWaitingQueueLooper");
@@ -58,36 +88,142 @@ public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread imple
             return;
         }
         log.info("GlobalTaskDispatchWaitingQueueLooper starting...");
+        int maxInFlightDispatchTask = masterConfig.getMaxInFlightDispatchTask();
+        dispatchPermits = new Semaphore(maxInFlightDispatchTask);
+        maxInFlightDispatchPerHost = Math.max(1, maxInFlightDispatchTask / 2);
         super.start();
         log.info("GlobalTaskDispatchWaitingQueueLooper started...");
     }
 
     @Override
     public void run() {
-        DefaultTaskExecuteRunnable defaultTaskExecuteRunnable;
+        List<DefaultTaskExecuteRunnable> taskExecuteRunnableBatch = new ArrayList<>();
         while (RUNNING_FLAG.get()) {
-            defaultTaskExecuteRunnable = globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable();
-            try {
+            taskExecuteRunnableBatch.clear();
+            taskExecuteRunnableBatch.add(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable());
+            globalTaskDispatchWaitingQueue.drainTaskExecuteRunnable(taskExecuteRunnableBatch,
+                    masterConfig.getDispatchTaskNumber() - 1);
+
+            for (DefaultTaskExecuteRunnable defaultTaskExecuteRunnable : taskExecuteRunnableBatch) {
                 TaskExecutionStatus status = defaultTaskExecuteRunnable.getTaskInstance().getState();
                 if (status != TaskExecutionStatus.SUBMITTED_SUCCESS && status != TaskExecutionStatus.DELAY_EXECUTION) {
                     log.warn("The TaskInstance {} state is : {}, will not dispatch",
                             defaultTaskExecuteRunnable.getTaskInstance().getName(), status);
                     continue;
                 }
+                dispatchTask(defaultTaskExecuteRunnable);
+            }
+            evictIdleDispatchHostStates();
+        }
+    }
 
-                TaskDispatcher taskDispatcher =
-                        taskDispatchFactory.getTaskDispatcher(defaultTaskExecuteRunnable.getTaskInstance());
-                taskDispatcher.dispatchTask(defaultTaskExecuteRunnable);
-                DISPATCHED_CONSECUTIVE_FAILURE_TIMES.set(0);
-            } catch (Exception e) {
-                defaultTaskExecuteRunnable.getTaskExecutionContext().increaseDispatchFailTimes();
-                globalTaskDispatchWaitingQueue.submitTaskExecuteRunnable(defaultTaskExecuteRunnable);
-                if (DISPATCHED_CONSECUTIVE_FAILURE_TIMES.incrementAndGet() > MAX_DISPATCHED_FAILED_TIMES) {
-                    ThreadUtils.sleep(10 * 1000L);
+    private void dispatchTask(DefaultTaskExecuteRunnable defaultTaskExecuteRunnable) {
+        // acquire the permit before selecting the host, the selection is counted in the load of the host
+        if (!dispatchPermits.tryAcquire()) {
+            resubmitTaskExecuteRunnable(defaultTaskExecuteRunnable, MIN_DISPATCH_BACKOFF_MILLS);
+            return;
+        }
+        TaskDispatcher taskDispatcher =
+                taskDispatchFactory.getTaskDispatcher(defaultTaskExecuteRunnable.getTaskInstance());
+        final Optional<Host> dispatchHost;
+        try {
+            dispatchHost = taskDispatcher.selectDispatchHost(defaultTaskExecuteRunnable, getUnavailableHosts());
+        } catch (Exception e) {
+            dispatchPermits.release();
+            // there is no available host now, back off the task itself
+            defaultTaskExecuteRunnable.getTaskExecutionContext().increaseDispatchFailTimes();
+            long backoffMills = getBackoffMills(
+                    defaultTaskExecuteRunnable.getTaskExecutionContext().getDispatchFailTimes(),
+                    masterConfig.getMaxDispatchBackoffInterval().toMillis());
+            log.error("Select host for task: {} failed, will retry after {} ms",
+                    defaultTaskExecuteRunnable.getTaskInstance().getName(), backoffMills, e);
+            resubmitTaskExecuteRunnable(defaultTaskExecuteRunnable, backoffMills);
+            return;
+        }
+        if (!dispatchHost.isPresent()) {
+            dispatchPermits.release();
+            return;
+        }
+        Host host = dispatchHost.get();
+        DispatchHostState dispatchHostState = dispatchHostStates.computeIfAbsent(host, DispatchHostState::new);
+        // the host might start backing off after the selection, or it is the only host of the task, e.g. the master
+        long backoffMills = dispatchHostState.getRemainingBackoffMills();
+        if (backoffMills > 0 || !dispatchHostState.tryAcquireInFlight(maxInFlightDispatchPerHost)) {
+            taskDispatcher.releaseDispatchHost(host);
+            dispatchPermits.release();
+            resubmitTaskExecuteRunnable(defaultTaskExecuteRunnable, Math.max(backoffMills, MIN_DISPATCH_BACKOFF_MILLS));
+            return;
+        }
+        CompletableFuture<Void> dispatchFuture;
+        try {
+            dispatchFuture = taskDispatcher.dispatchTaskAsync(defaultTaskExecuteRunnable, host);
+        } catch (Exception e) {
+            dispatchFuture = new CompletableFuture<>();
+            dispatchFuture.completeExceptionally(e);
+        }
+        dispatchFuture.whenComplete((result, ex) -> {
+            try {
+                if (ex == null) {
+                    dispatchHostState.onDispatchSuccess();
+                } else {
+                    onDispatchFailed(defaultTaskExecuteRunnable, dispatchHostState,
+                            ex instanceof CompletionException ? ex.getCause() : ex);
                 }
-                log.error("Dispatch Task: {} failed", defaultTaskExecuteRunnable.getTaskInstance().getName(), e);
+            } finally {
+                // release after the failure is recorded, so the state will not be evicted before backing off
+                dispatchHostState.releaseInFlight();
+                dispatchPermits.release();
             }
+        });
+    }
+
+    private void onDispatchFailed(DefaultTaskExecuteRunnable defaultTaskExecuteRunnable,
+                                  DispatchHostState dispatchHostState,
+                                  Throwable ex) {
+        defaultTaskExecuteRunnable.getTaskExecutionContext().increaseDispatchFailTimes();
+        long backoffMills = dispatchHostState.onDispatchFailure(
+                masterConfig.getMaxDispatchBackoffInterval().toMillis());
+        log.error("Dispatch Task: {} failed, host: {} will back off {} ms",
+                defaultTaskExecuteRunnable.getTaskInstance().getName(), dispatchHostState.getHost(),
+                backoffMills, ex);
+        resubmitTaskExecuteRunnable(defaultTaskExecuteRunnable, backoffMills);
+    }
+
+    private void resubmitTaskExecuteRunnable(DefaultTaskExecuteRunnable defaultTaskExecuteRunnable,
+                                             long backoffMills) {
+        if (!RUNNING_FLAG.get()) {
+            return;
         }
+        defaultTaskExecuteRunnable.backoffDispatch(backoffMills);
+        globalTaskDispatchWaitingQueue.submitTaskExecuteRunnable(defaultTaskExecuteRunnable);
+    }
+
+    /**
+     * The hosts which are backing off or have too many in-flight dispatches, they will not be selected.
+     */
+    private Set<Host> getUnavailableHosts() {
+        Set<Host> unavailableHosts = new HashSet<>();
+        for (DispatchHostState dispatchHostState : dispatchHostStates.values()) {
+            if (dispatchHostState.getRemainingBackoffMills() > 0
+                    || dispatchHostState.getInFlightDispatchCount() >= maxInFlightDispatchPerHost) {
+                unavailableHosts.add(dispatchHostState.getHost());
+            }
+        }
+        return unavailableHosts;
+    }
+
+    /**
+     * Remove the state of the host which has no in-flight dispatch and is not backing off for a while, e.g. the host
+     * has gone offline.
+     */
+    private void evictIdleDispatchHostStates() {
+        long maxBackoffMills = masterConfig.getMaxDispatchBackoffInterval().toMillis();
+        dispatchHostStates.values().removeIf(dispatchHostState -> dispatchHostState.isIdle(maxBackoffMills));
+    }
+
+    static long getBackoffMills(int failureTimes, long maxBackoffMills) {
+        int shift = Math.min(Math.max(failureTimes, 1), 30) - 1;
+        return Math.min(MIN_DISPATCH_BACKOFF_MILLS << shift, maxBackoffMills);
     }
 
     @Override
@@ -99,4 +235,71 @@ public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread imple
             log.error("GlobalTaskDispatchWaitingQueueLooper is not started");
         }
     }
+
+    /**
+     * The dispatch state of a target host, used to isolate the dispatch failure of different hosts.
+     */
+    private static class DispatchHostState {
+
+        private final Host host;
+
+        private final AtomicInteger inFlightDispatchCount = new AtomicInteger();
+
+        private final AtomicInteger consecutiveFailureTimes = new AtomicInteger();
+
+        private volatile long backoffDeadline;
+
+        private volatile long lastDispatchTime = System.currentTimeMillis();
+
+        DispatchHostState(Host host) {
+            this.host = host;
+        }
+
+        Host getHost() {
+            return host;
+        }
+
+        boolean tryAcquireInFlight(int maxInFlight) {
+            if (inFlightDispatchCount.incrementAndGet() > maxInFlight) {
+                inFlightDispatchCount.decrementAndGet();
+                return false;
+            }
+            lastDispatchTime = System.currentTimeMillis();
+            return true;
+        }
+
+        int getInFlightDispatchCount() {
+            return inFlightDispatchCount.get();
+        }
+
+        void releaseInFlight() {
+            inFlightDispatchCount.decrementAndGet();
+        }
+
+        long getRemainingBackoffMills() {
+            return backoffDeadline - System.currentTimeMillis();
+        }
+
+        boolean isIdle(long idleMills) {
+            return inFlightDispatchCount.get() == 0
+                    && getRemainingBackoffMills() <= 0
+                    && System.currentTimeMillis() - lastDispatchTime > idleMills;
+        }
+
+        void onDispatchSuccess() {
+            consecutiveFailureTimes.set(0);
+            backoffDeadline = 0;
+        }
+
+        /**
+         * Record a dispatch failure, the back-off interval doubles with each consecutive failure.
+         *
+         * @return the back-off mills
+         */
+        long onDispatchFailure(long maxBackoffMills) {
+            long backoffMills = getBackoffMills(consecutiveFailureTimes.incrementAndGet(), maxBackoffMills);
+            backoffDeadline = System.currentTimeMillis() + backoffMills;
+            return backoffMills;
+        }
+    }
 }
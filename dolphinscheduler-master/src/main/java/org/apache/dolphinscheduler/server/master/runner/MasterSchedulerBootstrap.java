@@ -22,24 +22,19 @@ import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.entity.Command;
-import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.meter.metrics.MetricsProvider;
 import org.apache.dolphinscheduler.meter.metrics.SystemMetrics;
-import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.command.CommandHandlePipeline;
 import org.apache.dolphinscheduler.server.master.command.ICommandFetcher;
+import org.apache.dolphinscheduler.server.master.config.CommandConsumeConfig;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.config.MasterServerLoadProtection;
-import org.apache.dolphinscheduler.server.master.event.WorkflowEvent;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
-import org.apache.dolphinscheduler.server.master.event.WorkflowEventType;
-import org.apache.dolphinscheduler.server.master.exception.WorkflowCreateException;
 import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
-import org.apache.dolphinscheduler.service.command.CommandService;
 
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.List;
-import java.util.Optional;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -47,7 +42,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
- * Master scheduler thread, this thread will consume the commands from database and trigger processInstance executed.
+ * Master scheduler thread, this thread will fetch the commands from database and submit them to the
+ * {@link CommandHandlePipeline}, which will trigger processInstance executed.
+ * <p>
+ * The fetch will slow down when the command handle queue or the workflow event queue is busy, and back off
+ * exponentially when there is no command.
  */
 @Service
 @Slf4j
@@ -56,17 +55,11 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     @Autowired
     private ICommandFetcher commandFetcher;
 
-    @Autowired
-    private CommandService commandService;
-
     @Autowired
     private MasterConfig masterConfig;
 
     @Autowired
-    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
-
-    @Autowired
-    private WorkflowExecuteRunnableFactory workflowExecuteRunnableFactory;
+    private CommandHandlePipeline commandHandlePipeline;
 
     @Autowired
     private WorkflowEventQueue workflowEventQueue;
@@ -87,6 +80,7 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     @Override
     public synchronized void start() {
         log.info("MasterSchedulerBootstrap starting..");
+        commandHandlePipeline.start();
         super.start();
         workflowEventLooper.start();
         masterTaskExecutorBootstrap.start();
@@ -97,6 +91,7 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     public void close() throws Exception {
         log.info("MasterSchedulerBootstrap stopping...");
         try (
+                final CommandHandlePipeline commandHandlePipeline1 = commandHandlePipeline;
                 final WorkflowEventLooper workflowEventLooper1 = workflowEventLooper;
                 final MasterTaskExecutorBootstrap masterTaskExecutorBootstrap1 = masterTaskExecutorBootstrap) {
             // closed the resource
@@ -107,6 +102,10 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     @Override
     public void run() {
         MasterServerLoadProtection serverLoadProtection = masterConfig.getServerLoadProtection();
+        CommandConsumeConfig commandConsumeConfig = masterConfig.getCommandConsumeConfig();
+        long minIdleFetchIntervalMills = commandConsumeConfig.getMinIdleFetchInterval().toMillis();
+        long maxIdleFetchIntervalMills = commandConsumeConfig.getMaxIdleFetchInterval().toMillis();
+        long idleFetchIntervalMills = minIdleFetchIntervalMills;
         while (!ServerLifeCycleManager.isStopped()) {
             try {
                 if (!ServerLifeCycleManager.isRunning()) {
@@ -114,7 +113,6 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
                     log.warn("The current server is not at running status, cannot consumes commands.");
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                 }
-                // todo: if the workflow event queue is much, we need to handle the back pressure
                 SystemMetrics systemMetrics = metricsProvider.getSystemMetrics();
                 if (serverLoadProtection.isOverload(systemMetrics)) {
                     log.warn("The current server is overload, cannot consumes commands.");
@@ -122,39 +120,18 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
+                if (isBackPressure(commandConsumeConfig)) {
+                    Thread.sleep(minIdleFetchIntervalMills);
+                    continue;
+                }
                 List<Command> commands = commandFetcher.fetchCommands();
-                if (CollectionUtils.isEmpty(commands)) {
-                    // indicate that no command ,sleep for 1s
-                    Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                if (CollectionUtils.isEmpty(commands) || commandHandlePipeline.submitCommands(commands) == 0) {
+                    // indicate that no new command, sleep and double the interval until reaching the max interval
+                    Thread.sleep(idleFetchIntervalMills);
+                    idleFetchIntervalMills = Math.min(idleFetchIntervalMills * 2, maxIdleFetchIntervalMills);
                     continue;
                 }
-
-                commands.parallelStream()
-                        .forEach(command -> {
-                            try {
-                                Optional<WorkflowExecuteRunnable> workflowExecuteRunnableOptional =
-                                        workflowExecuteRunnableFactory.createWorkflowExecuteRunnable(command);
-                                if (!workflowExecuteRunnableOptional.isPresent()) {
-                                    log.warn(
-                                            "The command execute success, will not trigger a WorkflowExecuteRunnable, this workflowInstance might be in serial mode");
-                                    return;
-                                }
-                                WorkflowExecuteRunnable workflowExecuteRunnable = workflowExecuteRunnableOptional.get();
-                                ProcessInstance processInstance = workflowExecuteRunnable
-                                        .getWorkflowExecuteContext().getWorkflowInstance();
-                                if (processInstanceExecCacheManager.contains(processInstance.getId())) {
-                                    log.error(
-                                            "The workflow instance is already been cached, this case shouldn't be happened");
-                                }
-                                processInstanceExecCacheManager.cache(processInstance.getId(), workflowExecuteRunnable);
-                                workflowEventQueue.addEvent(
-                                        new WorkflowEvent(WorkflowEventType.START_WORKFLOW, processInstance.getId()));
-                            } catch (WorkflowCreateException workflowCreateException) {
-                                log.error("Master handle command {} error ", command.getId(), workflowCreateException);
-                                commandService.moveToErrorCommand(command, workflowCreateException.toString());
-                            }
-                        });
-                MasterServerMetrics.incMasterConsumeCommand(commands.size());
+                idleFetchIntervalMills = minIdleFetchIntervalMills;
             } catch (InterruptedException interruptedException) {
                 log.warn("Master schedule bootstrap interrupted, close the loop", interruptedException);
                 Thread.currentThread().interrupt();
@@ -167,4 +144,22 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
         }
     }
 
+    /**
+     * The downstream stages cannot keep up, the master should stop fetching commands until they are drained.
+     */
+    private boolean isBackPressure(CommandConsumeConfig commandConsumeConfig) {
+        if (commandHandlePipeline.remainingCapacity() < commandConsumeConfig.getHandleQueueCapacity() / 2) {
+            log.debug("The command handle queue is busy, pending command size: {}, will not fetch commands",
+                    commandHandlePipeline.getPendingCommandSize());
+            return true;
+        }
+        int workflowEventQueueSize = workflowEventQueue.getWorkflowEventQueueSize();
+        if (workflowEventQueueSize > commandConsumeConfig.getMaxWorkflowEventQueueSize()) {
+            log.debug("The workflow event queue is busy, workflow event size: {}, will not fetch commands",
+                    workflowEventQueueSize);
+            return true;
+        }
+        return false;
+    }
+
 }
@@ -27,18 +27,31 @@ import java.util.concurrent.TimeUnit;
 
 public abstract class PriorityDelayTaskExecuteRunnable extends BaseTaskExecuteRunnable implements Delayed {
 
+    /**
+     * The task will not be dispatched before this time, used to back off after dispatch failure.
+     */
+    private volatile long dispatchBackoffDeadline;
+
     public PriorityDelayTaskExecuteRunnable(ProcessInstance workflowInstance,
                                             TaskInstance taskInstance,
                                             TaskExecutionContext taskExecutionContext) {
         super(workflowInstance, taskInstance, taskExecutionContext);
     }
 
+    /**
+     * Delay the next dispatch for the given back-off, the back-off overlaps the delay time of the task rather than
+     * being added to it. This should only be called when the task is not in the delay queue.
+     */
+    public void backoffDispatch(long backoffMills) {
+        this.dispatchBackoffDeadline = System.currentTimeMillis() + backoffMills;
+    }
+
     @Override
     public long getDelay(TimeUnit unit) {
-        return unit.convert(
-                DateUtils.getRemainTime(taskExecutionContext.getFirstSubmitTime(),
-                        taskExecutionContext.getDelayTime() * 60L),
-                TimeUnit.SECONDS);
+        long delayMills = TimeUnit.SECONDS.toMillis(DateUtils.getRemainTime(taskExecutionContext.getFirstSubmitTime(),
+                taskExecutionContext.getDelayTime() * 60L));
+        long backoffMills = dispatchBackoffDeadline - System.currentTimeMillis();
+        return unit.convert(Math.max(delayMills, backoffMills), TimeUnit.MILLISECONDS);
     }
 
     @Override
@@ -20,8 +20,7 @@ package org.apache.dolphinscheduler.server.master.runner;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.TimeoutFlag;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
-import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
-import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
@@ -32,13 +31,18 @@ import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheM
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
 import org.apache.dolphinscheduler.server.master.event.WorkflowStateEvent;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
 import org.apache.dolphinscheduler.server.master.runner.task.TaskInstanceKey;
 
+import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -47,31 +51,41 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+
 /**
  * Check thread
  * 1. timeout task check
  * 2. dependent task state check
  * 3. retry task check
  * 4. timeout process check
+ * <p>
+ * Each check is scheduled into a hashed timing wheel at the time its timeout or retry interval expires, the wheel
+ * ticks every {@link MasterConfig#getStateWheelInterval()}, so add and remove a check are O(1) and a tick only visits
+ * the checks which are expired. When a check is fired but the condition is not satisfied, e.g. the task instance
+ * has not started, the check will be rescheduled.
  */
 @Component
 @Slf4j
-public class StateWheelExecuteThread extends BaseDaemonThread {
+public class StateWheelExecuteThread implements AutoCloseable {
+
+    private static final int TICKS_PER_WHEEL = 512;
 
     /**
-     * ProcessInstance timeout check list, element is the processInstanceId.
+     * ProcessInstance timeout check map, key is the processInstanceId.
      */
-    private final ConcurrentLinkedQueue<Integer> processInstanceTimeoutCheckList = new ConcurrentLinkedQueue<>();
+    private final Map<Integer, Timeout> processInstanceTimeoutCheckMap = new ConcurrentHashMap<>();
 
     /**
-     * task time out check list
+     * task time out check map
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceTimeoutCheckList = new ConcurrentLinkedQueue<>();
+    private final Map<TaskInstanceKey, Timeout> taskInstanceTimeoutCheckMap = new ConcurrentHashMap<>();
 
     /**
-     * task retry check list
+     * task retry check map
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceRetryCheckList = new ConcurrentLinkedQueue<>();
+    private final Map<TaskInstanceKey, Timeout> taskInstanceRetryCheckMap = new ConcurrentHashMap<>();
 
     @Autowired
     private MasterConfig masterConfig;
@@ -83,89 +97,92 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
     @Autowired
     private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
 
-    protected StateWheelExecuteThread() {
-        super("StateWheelExecuteThread");
-    }
+    private HashedWheelTimer stateWheelTimer;
+
+    private long tickDurationMills;
 
     @PostConstruct
     public void startWheelThread() {
-        super.start();
+        tickDurationMills = masterConfig.getStateWheelInterval().toMillis();
+        stateWheelTimer = new HashedWheelTimer(
+                ThreadUtils.newDaemonThreadFactory("StateWheelExecuteThread"),
+                tickDurationMills,
+                TimeUnit.MILLISECONDS,
+                TICKS_PER_WHEEL);
+        stateWheelTimer.start();
+        MasterServerMetrics.registerStateWheelSizeGauge("workflow_timeout", processInstanceTimeoutCheckMap::size);
+        MasterServerMetrics.registerStateWheelSizeGauge("task_timeout", taskInstanceTimeoutCheckMap::size);
+        MasterServerMetrics.registerStateWheelSizeGauge("task_retry", taskInstanceRetryCheckMap::size);
     }
 
+    @PreDestroy
     @Override
-    public void run() {
-        final long checkInterval = masterConfig.getStateWheelInterval().toMillis();
-        while (!ServerLifeCycleManager.isStopped()) {
-            try {
-                checkTask4Timeout();
-                checkTask4Retry();
-                checkProcess4Timeout();
-            } catch (Exception e) {
-                log.error("state wheel thread check error:", e);
-            }
-            try {
-                Thread.sleep(checkInterval);
-            } catch (InterruptedException e) {
-                log.error("state wheel thread sleep error, will close the loop", e);
-                Thread.currentThread().interrupt();
-                break;
-            }
+    public void close() {
+        if (stateWheelTimer != null) {
+            stateWheelTimer.stop();
         }
     }
 
     public void addProcess4TimeoutCheck(ProcessInstance processInstance) {
-        processInstanceTimeoutCheckList.add(processInstance.getId());
-        log.info("Success add workflow instance {} into timeout check list", processInstance.getId());
+        long delayMills = processInstance.getStartTime() == null
+                ? TimeUnit.MINUTES.toMillis(processInstance.getTimeout())
+                : getRemainMills(processInstance.getStartTime(),
+                        TimeUnit.MINUTES.toSeconds(processInstance.getTimeout()));
+        if (scheduleCheck(processInstanceTimeoutCheckMap, processInstance.getId(), delayMills,
+                this::checkProcess4Timeout)) {
+            log.info("Success add workflow instance {} into timeout check list", processInstance.getId());
+        }
     }
 
     public void removeProcess4TimeoutCheck(int processInstanceId) {
-        boolean removeFlag = processInstanceTimeoutCheckList.remove(processInstanceId);
-        if (removeFlag) {
+        if (cancelCheck(processInstanceTimeoutCheckMap, processInstanceId)) {
             log.info("Success remove workflow instance {} from timeout check list", processInstanceId);
         }
     }
 
-    private void checkProcess4Timeout() {
-        if (processInstanceTimeoutCheckList.isEmpty()) {
-            return;
-        }
-        for (Integer processInstanceId : processInstanceTimeoutCheckList) {
-            try {
-                LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
-                WorkflowExecuteRunnable workflowExecuteThread = processInstanceExecCacheManager.getByProcessInstanceId(
-                        processInstanceId);
-                if (workflowExecuteThread == null) {
-                    log.warn(
-                            "Check workflow timeout failed, can not find workflowExecuteThread from cache manager, will remove this workflowInstance from check list");
-                    processInstanceTimeoutCheckList.remove(processInstanceId);
-                    continue;
-                }
-                ProcessInstance processInstance =
-                        workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
-                if (processInstance == null) {
-                    log.warn("Check workflow timeout failed, the workflowInstance is null");
-                    continue;
-                }
-                long timeRemain = DateUtils.getRemainTime(processInstance.getStartTime(),
-                        TimeUnit.MINUTES.toSeconds(processInstance.getTimeout()));
-                if (timeRemain < 0) {
-                    log.info("Workflow instance {} timeout, adding timeout event", processInstance.getId());
-                    addProcessTimeoutEvent(processInstance);
-                    processInstanceTimeoutCheckList.remove(processInstance.getId());
-                    log.info("Workflow instance timeout, added timeout event");
-                }
-            } catch (Exception ex) {
-                log.error("Check workflow instance timeout error");
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
+    private void checkProcess4Timeout(Integer processInstanceId, Timeout currentTimeout) {
+        try {
+            LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
+            WorkflowExecuteRunnable workflowExecuteThread = processInstanceExecCacheManager.getByProcessInstanceId(
+                    processInstanceId);
+            if (workflowExecuteThread == null) {
+                log.warn(
+                        "Check workflow timeout failed, can not find workflowExecuteThread from cache manager, will remove this workflowInstance from check list");
+                processInstanceTimeoutCheckMap.remove(processInstanceId, currentTimeout);
+                return;
             }
+            ProcessInstance processInstance =
+                    workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
+            if (processInstance == null) {
+                log.warn("Check workflow timeout failed, the workflowInstance is null");
+                rescheduleCheck(processInstanceTimeoutCheckMap, processInstanceId, currentTimeout, tickDurationMills,
+                        this::checkProcess4Timeout);
+                return;
+            }
+            long timeoutSeconds = TimeUnit.MINUTES.toSeconds(processInstance.getTimeout());
+            long timeRemain = DateUtils.getRemainTime(processInstance.getStartTime(), timeoutSeconds);
+            if (timeRemain < 0) {
+                log.info("Workflow instance {} timeout, adding timeout event", processInstance.getId());
+                addProcessTimeoutEvent(processInstance);
+                processInstanceTimeoutCheckMap.remove(processInstanceId, currentTimeout);
+                log.info("Workflow instance timeout, added timeout event");
+                return;
+            }
+            rescheduleCheck(processInstanceTimeoutCheckMap, processInstanceId, currentTimeout,
+                    getRemainMills(processInstance.getStartTime(), timeoutSeconds), this::checkProcess4Timeout);
+        } catch (Exception ex) {
+            log.error("Check workflow instance timeout error", ex);
+            rescheduleCheck(processInstanceTimeoutCheckMap, processInstanceId, currentTimeout, tickDurationMills,
+                    this::checkProcess4Timeout);
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
         }
     }
 
     public void addTask4TimeoutCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
         log.info("Adding task instance into timeout check list");
-        if (taskInstanceTimeoutCheckList.contains(taskInstanceKey)) {
+        if (taskInstanceTimeoutCheckMap.containsKey(taskInstanceKey)) {
             log.warn("Task instance is already in timeout check list");
             return;
         }
@@ -175,21 +192,27 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
             return;
         }
         if (TimeoutFlag.OPEN == taskDefinition.getTimeoutFlag()) {
-            taskInstanceTimeoutCheckList.add(taskInstanceKey);
-            log.info("Timeout flag is open, added task instance into timeout check list");
+            // the task instance cannot timeout before the timeout duration since now if it hasn't started
+            long delayMills = taskInstance.getStartTime() == null
+                    ? TimeUnit.MINUTES.toMillis(taskDefinition.getTimeout())
+                    : getRemainMills(taskInstance.getStartTime(),
+                            TimeUnit.MINUTES.toSeconds(taskDefinition.getTimeout()));
+            if (scheduleCheck(taskInstanceTimeoutCheckMap, taskInstanceKey, delayMills, this::checkTask4Timeout)) {
+                log.info("Timeout flag is open, added task instance into timeout check list");
+            }
         }
     }
 
     public void removeTask4TimeoutCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceTimeoutCheckList.remove(taskInstanceKey);
+        cancelCheck(taskInstanceTimeoutCheckMap, taskInstanceKey);
         log.info("remove task instance from timeout check list");
     }
 
     public void addTask4RetryCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         log.info("Adding task instance into retry check list");
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        if (taskInstanceRetryCheckList.contains(taskInstanceKey)) {
+        if (taskInstanceRetryCheckMap.containsKey(taskInstanceKey)) {
             log.warn("Task instance is already in retry check list");
             return;
         }
@@ -198,134 +221,215 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
             log.error("Add task instance into retry check list error, taskDefinition is null");
             return;
         }
-        taskInstanceRetryCheckList.add(taskInstanceKey);
-        log.info("[WorkflowInstance-{}][TaskInstanceKey-{}:{}] Added task instance into retry check list",
-                processInstance.getId(), taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
+        if (scheduleCheck(taskInstanceRetryCheckMap, taskInstanceKey, getRetryRemainMills(taskInstance),
+                this::checkTask4Retry)) {
+            log.info("[WorkflowInstance-{}][TaskInstanceKey-{}:{}] Added task instance into retry check list",
+                    processInstance.getId(), taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
+        }
     }
 
     public void removeTask4RetryCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceRetryCheckList.remove(taskInstanceKey);
+        cancelCheck(taskInstanceRetryCheckMap, taskInstanceKey);
         log.info("remove task instance from retry check list");
     }
 
     public void clearAllTasks() {
-        processInstanceTimeoutCheckList.clear();
-        taskInstanceTimeoutCheckList.clear();
-        taskInstanceRetryCheckList.clear();
+        processInstanceTimeoutCheckMap.keySet().forEach(key -> cancelCheck(processInstanceTimeoutCheckMap, key));
+        taskInstanceTimeoutCheckMap.keySet().forEach(key -> cancelCheck(taskInstanceTimeoutCheckMap, key));
+        taskInstanceRetryCheckMap.keySet().forEach(key -> cancelCheck(taskInstanceRetryCheckMap, key));
     }
 
-    private void checkTask4Timeout() {
-        if (taskInstanceTimeoutCheckList.isEmpty()) {
-            return;
+    private void checkTask4Timeout(TaskInstanceKey taskInstanceKey, Timeout currentTimeout) {
+        try {
+            LogUtils.setWorkflowInstanceIdMDC(taskInstanceKey.getProcessInstanceId());
+            int processInstanceId = taskInstanceKey.getProcessInstanceId();
+            long taskCode = taskInstanceKey.getTaskCode();
+
+            WorkflowExecuteRunnable workflowExecuteThread =
+                    processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
+            if (workflowExecuteThread == null) {
+                log.warn(
+                        "Check task instance timeout failed, can not find workflowExecuteThread from cache manager, will remove this check task");
+                taskInstanceTimeoutCheckMap.remove(taskInstanceKey, currentTimeout);
+                return;
+            }
+            Optional<TaskInstance> taskInstanceOptional =
+                    workflowExecuteThread.getActiveTaskInstanceByTaskCode(taskCode);
+            if (!taskInstanceOptional.isPresent()) {
+                log.warn(
+                        "Check task instance timeout failed, can not get taskInstance from workflowExecuteThread, taskCode: {}"
+                                + "will remove this check task",
+                        taskCode);
+                taskInstanceTimeoutCheckMap.remove(taskInstanceKey, currentTimeout);
+                return;
+            }
+            TaskInstance taskInstance = taskInstanceOptional.get();
+            if (TimeoutFlag.OPEN != taskInstance.getTaskDefine().getTimeoutFlag()) {
+                taskInstanceTimeoutCheckMap.remove(taskInstanceKey, currentTimeout);
+                return;
+            }
+            long timeoutSeconds = TimeUnit.MINUTES.toSeconds(taskInstance.getTaskDefine().getTimeout());
+            if (taskInstance.getStartTime() == null) {
+                // the task instance is not started, check it again after the timeout duration
+                rescheduleCheck(taskInstanceTimeoutCheckMap, taskInstanceKey, currentTimeout,
+                        TimeUnit.SECONDS.toMillis(timeoutSeconds), this::checkTask4Timeout);
+                return;
+            }
+            long timeRemain = DateUtils.getRemainTime(taskInstance.getStartTime(), timeoutSeconds);
+            if (timeRemain < 0) {
+                log.info("Task instance is timeout, adding task timeout event and remove the check");
+                addTaskTimeoutEvent(taskInstance);
+                taskInstanceTimeoutCheckMap.remove(taskInstanceKey, currentTimeout);
+                return;
+            }
+            rescheduleCheck(taskInstanceTimeoutCheckMap, taskInstanceKey, currentTimeout,
+                    getRemainMills(taskInstance.getStartTime(), timeoutSeconds), this::checkTask4Timeout);
+        } catch (Exception ex) {
+            log.error("Check task timeout error, taskInstanceKey: {}", taskInstanceKey, ex);
+            rescheduleCheck(taskInstanceTimeoutCheckMap, taskInstanceKey, currentTimeout, tickDurationMills,
+                    this::checkTask4Timeout);
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
         }
-        for (TaskInstanceKey taskInstanceKey : taskInstanceTimeoutCheckList) {
-            try {
-                LogUtils.setWorkflowInstanceIdMDC(taskInstanceKey.getProcessInstanceId());
-                int processInstanceId = taskInstanceKey.getProcessInstanceId();
-                long taskCode = taskInstanceKey.getTaskCode();
-
-                WorkflowExecuteRunnable workflowExecuteThread =
-                        processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
-                if (workflowExecuteThread == null) {
-                    log.warn(
-                            "Check task instance timeout failed, can not find workflowExecuteThread from cache manager, will remove this check task");
-                    taskInstanceTimeoutCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-                Optional<TaskInstance> taskInstanceOptional =
-                        workflowExecuteThread.getActiveTaskInstanceByTaskCode(taskCode);
-                if (!taskInstanceOptional.isPresent()) {
-                    log.warn(
-                            "Check task instance timeout failed, can not get taskInstance from workflowExecuteThread, taskCode: {}"
-                                    + "will remove this check task",
-                            taskCode);
-                    taskInstanceTimeoutCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-                TaskInstance taskInstance = taskInstanceOptional.get();
-                if (TimeoutFlag.OPEN == taskInstance.getTaskDefine().getTimeoutFlag()) {
-                    long timeRemain = DateUtils.getRemainTime(taskInstance.getStartTime(),
-                            TimeUnit.MINUTES.toSeconds(taskInstance.getTaskDefine().getTimeout()));
-                    if (timeRemain < 0) {
-                        log.info("Task instance is timeout, adding task timeout event and remove the check");
-                        addTaskTimeoutEvent(taskInstance);
-                        taskInstanceTimeoutCheckList.remove(taskInstanceKey);
-                    }
-                }
-            } catch (Exception ex) {
-                log.error("Check task timeout error, taskInstanceKey: {}", taskInstanceKey, ex);
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
+    }
+
+    private void checkTask4Retry(TaskInstanceKey taskInstanceKey, Timeout currentTimeout) {
+        int processInstanceId = taskInstanceKey.getProcessInstanceId();
+        long taskCode = taskInstanceKey.getTaskCode();
+        try {
+            LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
+
+            WorkflowExecuteRunnable workflowExecuteThread =
+                    processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
+
+            if (workflowExecuteThread == null) {
+                log.warn(
+                        "Task instance retry check failed, can not find workflowExecuteThread from cache manager, "
+                                + "will remove this check task");
+                taskInstanceRetryCheckMap.remove(taskInstanceKey, currentTimeout);
+                return;
+            }
+
+            Optional<TaskInstance> taskInstanceOptional =
+                    workflowExecuteThread.getRetryTaskInstanceByTaskCode(taskCode);
+            ProcessInstance processInstance =
+                    workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
+
+            if (processInstance.getState().isReadyStop()) {
+                log.warn(
+                        "The process instance is ready to stop, will send process stop event and remove the check task");
+                addProcessStopEvent(processInstance);
+                taskInstanceRetryCheckMap.remove(taskInstanceKey, currentTimeout);
+                return;
             }
+
+            if (!taskInstanceOptional.isPresent()) {
+                log.warn(
+                        "Task instance retry check failed, can not find taskInstance from workflowExecuteThread, will remove this check");
+                taskInstanceRetryCheckMap.remove(taskInstanceKey, currentTimeout);
+                return;
+            }
+
+            TaskInstance taskInstance = taskInstanceOptional.get();
+            // We check the status to avoid when we do worker failover we submit a failover task, this task may be
+            // resubmit by this
+            // thread
+            if (taskInstance.getState() != TaskExecutionStatus.NEED_FAULT_TOLERANCE
+                    && taskInstance.retryTaskIntervalOverTime()) {
+                // reset taskInstance endTime and state
+                // todo relative function: TaskInstance.retryTaskIntervalOverTime,
+                // WorkflowExecuteThread.cloneRetryTaskInstance
+                log.info("[TaskInstanceKey-{}:{}]The task instance can retry, will retry this task instance",
+                        taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
+                taskInstance.setEndTime(null);
+                taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+
+                addTaskRetryEvent(taskInstance);
+                taskInstanceRetryCheckMap.remove(taskInstanceKey, currentTimeout);
+                return;
+            }
+            rescheduleCheck(taskInstanceRetryCheckMap, taskInstanceKey, currentTimeout,
+                    getRetryRemainMills(taskInstance), this::checkTask4Retry);
+        } catch (Exception ex) {
+            log.error("Check task retry error, taskInstanceKey: {}", taskInstanceKey, ex);
+            rescheduleCheck(taskInstanceRetryCheckMap, taskInstanceKey, currentTimeout, tickDurationMills,
+                    this::checkTask4Retry);
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
         }
     }
 
-    private void checkTask4Retry() {
-        if (taskInstanceRetryCheckList.isEmpty()) {
-            return;
+    /**
+     * Schedule a check into the wheel if there is no check with the same key.
+     *
+     * @return true if the check is scheduled
+     */
+    private <K> boolean scheduleCheck(Map<K, Timeout> checkMap,
+                                      K key,
+                                      long delayMills,
+                                      BiConsumer<K, Timeout> checker) {
+        Timeout timeout = newCheckTimeout(key, delayMills, checker);
+        if (checkMap.putIfAbsent(key, timeout) != null) {
+            timeout.cancel();
+            return false;
         }
+        return true;
+    }
 
-        for (TaskInstanceKey taskInstanceKey : taskInstanceRetryCheckList) {
-            int processInstanceId = taskInstanceKey.getProcessInstanceId();
-            long taskCode = taskInstanceKey.getTaskCode();
-            try {
-                LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
-
-                WorkflowExecuteRunnable workflowExecuteThread =
-                        processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
-
-                if (workflowExecuteThread == null) {
-                    log.warn(
-                            "Task instance retry check failed, can not find workflowExecuteThread from cache manager, "
-                                    + "will remove this check task");
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-
-                Optional<TaskInstance> taskInstanceOptional =
-                        workflowExecuteThread.getRetryTaskInstanceByTaskCode(taskCode);
-                ProcessInstance processInstance =
-                        workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance();
-
-                if (processInstance.getState().isReadyStop()) {
-                    log.warn(
-                            "The process instance is ready to stop, will send process stop event and remove the check task");
-                    addProcessStopEvent(processInstance);
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    break;
-                }
-
-                if (!taskInstanceOptional.isPresent()) {
-                    log.warn(
-                            "Task instance retry check failed, can not find taskInstance from workflowExecuteThread, will remove this check");
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-
-                TaskInstance taskInstance = taskInstanceOptional.get();
-                // We check the status to avoid when we do worker failover we submit a failover task, this task may be
-                // resubmit by this
-                // thread
-                if (taskInstance.getState() != TaskExecutionStatus.NEED_FAULT_TOLERANCE
-                        && taskInstance.retryTaskIntervalOverTime()) {
-                    // reset taskInstance endTime and state
-                    // todo relative function: TaskInstance.retryTaskIntervalOverTime,
-                    // WorkflowExecuteThread.cloneRetryTaskInstance
-                    log.info("[TaskInstanceKey-{}:{}]The task instance can retry, will retry this task instance",
-                            taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
-                    taskInstance.setEndTime(null);
-                    taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
-
-                    addTaskRetryEvent(taskInstance);
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                }
-            } catch (Exception ex) {
-                log.error("Check task retry error, taskInstanceKey: {}", taskInstanceKey, ex);
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
-            }
+    /**
+     * Reschedule the fired check, if the check has been removed during it is fired, it will not be rescheduled.
+     */
+    private <K> void rescheduleCheck(Map<K, Timeout> checkMap,
+                                     K key,
+                                     Timeout currentTimeout,
+                                     long delayMills,
+                                     BiConsumer<K, Timeout> checker) {
+        Timeout timeout = newCheckTimeout(key, delayMills, checker);
+        if (!checkMap.replace(key, currentTimeout, timeout)) {
+            timeout.cancel();
+        }
+    }
+
+    private <K> boolean cancelCheck(Map<K, Timeout> checkMap, K key) {
+        Timeout timeout = checkMap.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        timeout.cancel();
+        return true;
+    }
+
+    private <K> Timeout newCheckTimeout(K key, long delayMills, BiConsumer<K, Timeout> checker) {
+        long delay = Math.max(delayMills, tickDurationMills);
+        long deadline = System.currentTimeMillis() + delay;
+        return stateWheelTimer.newTimeout(timeout -> {
+            MasterServerMetrics.recordStateWheelTickLag(Math.max(System.currentTimeMillis() - deadline, 0));
+            checker.accept(key, timeout);
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the remain mills until {@link DateUtils#getRemainTime(Date, long)} is negative.
+     */
+    private long getRemainMills(Date baseTime, long intervalSeconds) {
+        if (baseTime == null) {
+            return tickDurationMills;
+        }
+        return baseTime.getTime() + TimeUnit.SECONDS.toMillis(intervalSeconds + 1) - System.currentTimeMillis();
+    }
+
+    /**
+     * Get the remain mills until {@link TaskInstance#retryTaskIntervalOverTime()} is true.
+     */
+    private long getRetryRemainMills(TaskInstance taskInstance) {
+        if (taskInstance.getState() != TaskExecutionStatus.FAILURE
+                || taskInstance.getMaxRetryTimes() == 0
+                || taskInstance.getRetryInterval() == 0
+                || taskInstance.getEndTime() == null) {
+            return tickDurationMills;
         }
+        return getRemainMills(taskInstance.getEndTime(), TimeUnit.MINUTES.toSeconds(taskInstance.getRetryInterval()));
     }
 
     private void addProcessStopEvent(ProcessInstance processInstance) {
@@ -93,6 +93,8 @@ public class StreamTaskExecuteRunnable implements Runnable {
 
     private StreamTaskInstanceExecCacheManager streamTaskInstanceExecCacheManager;
 
+    private StreamTaskExecuteThreadPool streamTaskExecuteThreadPool;
+
     protected TaskDefinition taskDefinition;
 
     protected TaskInstance taskInstance;
@@ -120,6 +122,7 @@ public class StreamTaskExecuteRunnable implements Runnable {
         this.taskInstanceDao = SpringApplicationContext.getBean(TaskInstanceDao.class);
         this.streamTaskInstanceExecCacheManager =
                 SpringApplicationContext.getBean(StreamTaskInstanceExecCacheManager.class);
+        this.streamTaskExecuteThreadPool = SpringApplicationContext.getBean(StreamTaskExecuteThreadPool.class);
         this.taskDefinition = taskDefinition;
         this.taskExecuteStartMessage = taskExecuteStartMessage;
         this.taskExecutionContextFactory = SpringApplicationContext.getBean(TaskExecutionContextFactory.class);
@@ -159,6 +162,8 @@ public class StreamTaskExecuteRunnable implements Runnable {
         taskRunnableStatus = TaskRunnableStatus.STARTED;
         log.info("Master success dispatch task to worker, taskInstanceName: {}, worker: {}", taskInstance.getId(),
                 taskInstance.getHost());
+        // handle the events which are added before the task started
+        streamTaskExecuteThreadPool.executeEvent(this);
     }
 
     public boolean isStart() {
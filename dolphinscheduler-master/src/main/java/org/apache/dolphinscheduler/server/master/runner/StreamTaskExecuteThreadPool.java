@@ -18,13 +18,18 @@
 package org.apache.dolphinscheduler.server.master.runner;
 
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+import org.apache.dolphinscheduler.server.master.cache.StreamTaskInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.PostConstruct;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.concurrent.ListenableFuture;
@@ -40,6 +45,16 @@ public class StreamTaskExecuteThreadPool extends ThreadPoolTaskExecutor {
     @Autowired
     private MasterConfig masterConfig;
 
+    @Autowired
+    private StreamTaskInstanceExecCacheManager streamTaskInstanceExecCacheManager;
+
+    /**
+     * The stream task instances which have been scheduled to handle their events, each stream task instance will be
+     * handled by at most one thread at the same time.
+     */
+    private final ConcurrentHashMap<Integer, StreamTaskExecuteRunnable> multiThreadFilterMap =
+            new ConcurrentHashMap<>();
+
     @PostConstruct
     private void init() {
         this.setDaemon(true);
@@ -49,14 +64,43 @@ public class StreamTaskExecuteThreadPool extends ThreadPoolTaskExecutor {
     }
 
     /**
-     * Handle the events belong to the given stream task
+     * submit task event
+     */
+    public void submitTaskEvent(TaskEvent taskEvent) {
+        StreamTaskExecuteRunnable streamTaskExecuteRunnable =
+                streamTaskInstanceExecCacheManager.getByTaskInstanceId(taskEvent.getTaskInstanceId());
+        if (streamTaskExecuteRunnable == null) {
+            log.warn("Submit task event error, cannot find streamTaskExecuteRunnable from cache manager, event: {}",
+                    taskEvent);
+            return;
+        }
+        streamTaskExecuteRunnable.addTaskEvent(taskEvent);
+        executeEvent(streamTaskExecuteRunnable);
+    }
+
+    /**
+     * Handle the events belong to the given stream task.
+     * <p>
+     * The stream task will be submitted only if it is not scheduled yet, the events added while it is being handled
+     * will be picked up by rescheduling it once the current handling finished.
      */
     public void executeEvent(final StreamTaskExecuteRunnable streamTaskExecuteRunnable) {
         if (!streamTaskExecuteRunnable.isStart() || streamTaskExecuteRunnable.eventSize() == 0) {
             return;
         }
         int taskInstanceId = streamTaskExecuteRunnable.getTaskInstance().getId();
-        ListenableFuture<?> future = this.submitListenable(streamTaskExecuteRunnable::handleEvents);
+        if (multiThreadFilterMap.putIfAbsent(taskInstanceId, streamTaskExecuteRunnable) != null) {
+            log.debug("The stream task has been scheduled by another thread");
+            return;
+        }
+        ListenableFuture<?> future;
+        try {
+            future = this.submitListenable(streamTaskExecuteRunnable::handleEvents);
+        } catch (TaskRejectedException ex) {
+            multiThreadFilterMap.remove(taskInstanceId);
+            log.error("Submit stream task instance: {} events handle failed", taskInstanceId, ex);
+            return;
+        }
         future.addCallback(new ListenableFutureCallback() {
 
             @Override
@@ -64,6 +108,8 @@ public class StreamTaskExecuteThreadPool extends ThreadPoolTaskExecutor {
                 LogUtils.setTaskInstanceIdMDC(taskInstanceId);
                 log.error("Stream task instance events handle failed", ex);
                 LogUtils.removeTaskInstanceIdMDC();
+                multiThreadFilterMap.remove(taskInstanceId);
+                executeEvent(streamTaskExecuteRunnable);
             }
 
             @Override
@@ -71,6 +117,8 @@ public class StreamTaskExecuteThreadPool extends ThreadPoolTaskExecutor {
                 LogUtils.setTaskInstanceIdMDC(taskInstanceId);
                 log.info("Stream task instance is finished.");
                 LogUtils.removeTaskInstanceIdMDC();
+                multiThreadFilterMap.remove(taskInstanceId);
+                executeEvent(streamTaskExecuteRunnable);
             }
         });
     }
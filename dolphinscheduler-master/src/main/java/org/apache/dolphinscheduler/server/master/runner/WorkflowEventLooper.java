@@ -27,7 +27,9 @@ import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandleExcept
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandler;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventType;
+import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,9 +42,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Consume the {@link WorkflowEventQueue}, each shard of the queue is consumed by one looper thread, so the events of
+ * the same workflow instance are handled in order.
+ */
 @Component
 @Slf4j
-public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseable {
+public class WorkflowEventLooper implements AutoCloseable {
 
     @Autowired
     private WorkflowEventQueue workflowEventQueue;
@@ -52,11 +58,9 @@ public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseab
 
     private final Map<WorkflowEventType, WorkflowEventHandler> workflowEventHandlerMap = new HashMap<>();
 
-    private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
+    private final List<WorkflowEventShardLooper> workflowEventShardLoopers = new ArrayList<>();
 
-    protected WorkflowEventLooper() {
-        super("WorkflowEventLooper");
-    }
+    private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
 
     @PostConstruct
     public void init() {
@@ -65,52 +69,18 @@ public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseab
                         workflowEventHandler));
     }
 
-    @Override
     public synchronized void start() {
         if (!RUNNING_FLAG.compareAndSet(false, true)) {
             log.error("WorkflowEventLooper thread has already started, will not start again");
             return;
         }
         log.info("WorkflowEventLooper starting...");
-        super.start();
-        log.info("WorkflowEventLooper started...");
-    }
-
-    public void run() {
-        WorkflowEvent workflowEvent;
-        while (RUNNING_FLAG.get()) {
-            try {
-                workflowEvent = workflowEventQueue.poolEvent();
-            } catch (InterruptedException e) {
-                log.warn("WorkflowEventLooper thread is interrupted, will close this loop");
-                Thread.currentThread().interrupt();
-                break;
-            }
-            try {
-                LogUtils.setWorkflowInstanceIdMDC(workflowEvent.getWorkflowInstanceId());
-                log.info("Begin to handle WorkflowEvent: {}", workflowEvent);
-                WorkflowEventHandler workflowEventHandler =
-                        workflowEventHandlerMap.get(workflowEvent.getWorkflowEventType());
-                workflowEventHandler.handleWorkflowEvent(workflowEvent);
-                log.info("Success handle WorkflowEvent: {}", workflowEvent);
-            } catch (WorkflowEventHandleException workflowEventHandleException) {
-                log.error("Handle workflow event failed, will retry again: {}", workflowEvent,
-                        workflowEventHandleException);
-                workflowEventQueue.addEvent(workflowEvent);
-                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
-            } catch (WorkflowEventHandleError workflowEventHandleError) {
-                log.error("Handle workflow event error, will drop this event: {}",
-                        workflowEvent,
-                        workflowEventHandleError);
-            } catch (Exception unknownException) {
-                log.error("Handle workflow event failed, get a unknown exception, will retry again: {}", workflowEvent,
-                        unknownException);
-                workflowEventQueue.addEvent(workflowEvent);
-                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
-            }
+        for (int i = 0; i < workflowEventQueue.getShardCount(); i++) {
+            WorkflowEventShardLooper workflowEventShardLooper = new WorkflowEventShardLooper(i);
+            workflowEventShardLoopers.add(workflowEventShardLooper);
+            workflowEventShardLooper.start();
         }
+        log.info("WorkflowEventLooper started with {} shards...", workflowEventShardLoopers.size());
     }
 
     @Override
@@ -120,7 +90,61 @@ public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseab
             return;
         }
         log.info("WorkflowEventLooper is closing...");
-        this.interrupt();
+        workflowEventShardLoopers.forEach(Thread::interrupt);
+        workflowEventShardLoopers.clear();
         log.info("WorkflowEventLooper closed...");
     }
+
+    private class WorkflowEventShardLooper extends BaseDaemonThread {
+
+        private final int shardIndex;
+
+        private WorkflowEventShardLooper(int shardIndex) {
+            super("WorkflowEventLooper-" + shardIndex);
+            this.shardIndex = shardIndex;
+        }
+
+        @Override
+        public void run() {
+            WorkflowEvent workflowEvent;
+            while (RUNNING_FLAG.get()) {
+                try {
+                    workflowEvent = workflowEventQueue.poolEvent(shardIndex);
+                } catch (InterruptedException e) {
+                    log.warn("WorkflowEventLooper thread is interrupted, will close this loop");
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                long startTime = System.currentTimeMillis();
+                try {
+                    LogUtils.setWorkflowInstanceIdMDC(workflowEvent.getWorkflowInstanceId());
+                    log.info("Begin to handle WorkflowEvent: {}", workflowEvent);
+                    WorkflowEventHandler workflowEventHandler =
+                            workflowEventHandlerMap.get(workflowEvent.getWorkflowEventType());
+                    workflowEventHandler.handleWorkflowEvent(workflowEvent);
+                    log.info("Success handle WorkflowEvent: {}", workflowEvent);
+                } catch (WorkflowEventHandleException workflowEventHandleException) {
+                    log.error("Handle workflow event failed, will retry again: {}", workflowEvent,
+                            workflowEventHandleException);
+                    // The event will be added to the same shard, only the workflows in this shard are delayed
+                    workflowEventQueue.addEvent(workflowEvent);
+                    ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
+                } catch (WorkflowEventHandleError workflowEventHandleError) {
+                    log.error("Handle workflow event error, will drop this event: {}",
+                            workflowEvent,
+                            workflowEventHandleError);
+                } catch (Exception unknownException) {
+                    log.error("Handle workflow event failed, get a unknown exception, will retry again: {}",
+                            workflowEvent,
+                            unknownException);
+                    workflowEventQueue.addEvent(workflowEvent);
+                    ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
+                } finally {
+                    ProcessInstanceMetrics.recordWorkflowEventHandleTime(shardIndex,
+                            workflowEvent.getWorkflowEventType().name(), System.currentTimeMillis() - startTime);
+                    LogUtils.removeWorkflowInstanceIdMDC();
+                }
+            }
+        }
+    }
 }
@@ -62,6 +62,7 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.SwitchParameters;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.StateEvent;
 import org.apache.dolphinscheduler.server.master.event.StateEventHandleError;
@@ -100,7 +101,6 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -222,6 +222,8 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
 
     private final TaskGroupCoordinator taskGroupCoordinator;
 
+    private final DependentResultCacheManager dependentResultCacheManager;
+
     public WorkflowExecuteRunnable(
                                    @NonNull IWorkflowExecuteContext workflowExecuteContext,
                                    @NonNull CommandService commandService,
@@ -234,7 +236,8 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                                    @NonNull TaskInstanceDao taskInstanceDao,
                                    @NonNull DefaultTaskExecuteRunnableFactory defaultTaskExecuteRunnableFactory,
                                    @NonNull ListenerEventAlertManager listenerEventAlertManager,
-                                   @NonNull TaskGroupCoordinator taskGroupCoordinator) {
+                                   @NonNull TaskGroupCoordinator taskGroupCoordinator,
+                                   @NonNull DependentResultCacheManager dependentResultCacheManager) {
         this.processService = processService;
         this.commandService = commandService;
         this.processInstanceDao = processInstanceDao;
@@ -247,6 +250,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         this.defaultTaskExecuteRunnableFactory = defaultTaskExecuteRunnableFactory;
         this.listenerEventAlertManager = listenerEventAlertManager;
         this.taskGroupCoordinator = taskGroupCoordinator;
+        this.dependentResultCacheManager = dependentResultCacheManager;
         TaskMetrics.registerTaskPrepared(standByTaskInstancePriorityQueue::size);
     }
 
@@ -368,6 +372,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             taskExecuteRunnableMap.remove(taskInstance.getTaskCode());
             stateWheelExecuteThread.removeTask4TimeoutCheck(workflowInstance, taskInstance);
             stateWheelExecuteThread.removeTask4RetryCheck(workflowInstance, taskInstance);
+            dependentResultCacheManager.invalidateTaskInstance(taskInstance);
             if (taskInstance.getTaskGroupId() > 0) {
                 releaseTaskGroupIfNeeded(taskInstance);
                 log.info("Release task Group slot: {}  for taskInstance: {} ", taskInstance.getTaskGroupId(),
@@ -712,6 +717,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             checkSerialProcess(workflowDefinition);
         }
         ProcessInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
+        dependentResultCacheManager.invalidateWorkflowInstance(workflowInstance);
         ProjectUser projectUser = processService.queryProjectWithUserByProcessInstanceId(workflowInstance.getId());
         processAlertManager.sendAlertProcessInstance(workflowInstance, getValidTaskList(), projectUser);
         if (workflowInstance.getState().isSuccess()) {
@@ -1637,9 +1643,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             }
         }
         if (standByTaskInstancePriorityQueue.size() > 0) {
-            for (Iterator<TaskInstance> iter = standByTaskInstancePriorityQueue.iterator(); iter.hasNext();) {
-                iter.next().setState(TaskExecutionStatus.PAUSE);
-            }
+            standByTaskInstancePriorityQueue.forEach(taskInstance -> taskInstance.setState(TaskExecutionStatus.PAUSE));
         }
         return WorkflowExecutionStatus.BLOCK;
     }
@@ -1831,12 +1835,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
      * @return Boolean whether has retry task in standby
      */
     private boolean hasRetryTaskInStandBy() {
-        for (Iterator<TaskInstance> iter = standByTaskInstancePriorityQueue.iterator(); iter.hasNext();) {
-            if (iter.next().getState().isFailure()) {
-                return true;
-            }
-        }
-        return false;
+        return standByTaskInstancePriorityQueue.hasRetryTaskInstance();
     }
 
     /**
@@ -1911,9 +1910,9 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             if (task.isFirstRun()) {
                 // get pre task ,get all the task varPool to this task
                 // Do not use dag.getPreviousNodes because of the dag may be miss the upstream node
-                String preTasks = workflowExecuteContext.getWorkflowGraph()
-                        .getTaskNodeByCode(task.getTaskCode()).getPreTasks();
-                Set<Long> preTaskList = new HashSet<>(JSONUtils.toList(preTasks, Long.class));
+                List<Long> preTasks = workflowExecuteContext.getWorkflowGraph()
+                        .getTaskNodeByCode(task.getTaskCode()).getDepList();
+                Set<Long> preTaskList = preTasks == null ? new HashSet<>() : new HashSet<>(preTasks);
                 getPreVarPool(task, preTaskList);
             }
             DependResult dependResult = getDependResultForTask(task);
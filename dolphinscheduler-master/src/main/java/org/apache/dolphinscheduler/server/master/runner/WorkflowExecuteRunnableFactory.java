@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.server.master.runner;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.exception.WorkflowCreateException;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
@@ -77,6 +78,9 @@ public class WorkflowExecuteRunnableFactory {
     @Autowired
     private TaskGroupCoordinator taskGroupCoordinator;
 
+    @Autowired
+    private DependentResultCacheManager dependentResultCacheManager;
+
     public Optional<WorkflowExecuteRunnable> createWorkflowExecuteRunnable(Command command) throws WorkflowCreateException {
         try {
             Optional<IWorkflowExecuteContext> workflowExecuteRunnableContextOptional =
@@ -93,7 +97,8 @@ public class WorkflowExecuteRunnableFactory {
                     taskInstanceDao,
                     defaultTaskExecuteRunnableFactory,
                     listenerEventAlertManager,
-                    taskGroupCoordinator));
+                    taskGroupCoordinator,
+                    dependentResultCacheManager));
         } catch (Exception ex) {
             throw new WorkflowCreateException("Create WorkflowExecuteRunnable failed", ex);
         }
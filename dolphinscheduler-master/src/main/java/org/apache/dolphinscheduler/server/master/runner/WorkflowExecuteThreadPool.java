@@ -29,6 +29,7 @@ import javax.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.concurrent.ListenableFuture;
@@ -51,9 +52,10 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
     private StateWheelExecuteThread stateWheelExecuteThread;
 
     /**
-     * multi-thread filter, avoid handling workflow at the same time
+     * The workflow instances which have been scheduled to handle their events, each workflow instance will be handled
+     * by at most one thread at the same time.
      */
-    private ConcurrentHashMap<Integer, WorkflowExecuteRunnable> multiThreadFilterMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, WorkflowExecuteRunnable> multiThreadFilterMap = new ConcurrentHashMap<>();
 
     @PostConstruct
     private void init() {
@@ -76,10 +78,14 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
         }
         workflowExecuteThread.addStateEvent(stateEvent);
         log.info("Submit state event success, stateEvent: {}", stateEvent);
+        executeEvent(workflowExecuteThread);
     }
 
     /**
      * Handle the events belong to the given workflow.
+     * <p>
+     * The workflow will be submitted only if it is not scheduled yet, the events added while it is being handled will
+     * be picked up by rescheduling it once the current handling finished.
      */
     public void executeEvent(final WorkflowExecuteRunnable workflowExecuteThread) {
         if (!workflowExecuteThread.isStart() || workflowExecuteThread.eventSize() == 0) {
@@ -89,12 +95,18 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                 workflowExecuteThread.getWorkflowExecuteContext();
         Integer workflowInstanceId = workflowExecuteRunnableContext.getWorkflowInstance().getId();
 
-        if (multiThreadFilterMap.containsKey(workflowInstanceId)) {
-            log.debug("The workflow has been executed by another thread");
+        if (multiThreadFilterMap.putIfAbsent(workflowInstanceId, workflowExecuteThread) != null) {
+            log.debug("The workflow has been scheduled by another thread");
+            return;
+        }
+        ListenableFuture<?> future;
+        try {
+            future = this.submitListenable(workflowExecuteThread::handleEvents);
+        } catch (TaskRejectedException ex) {
+            multiThreadFilterMap.remove(workflowInstanceId);
+            log.error("Submit workflow instance: {} events handle failed", workflowInstanceId, ex);
             return;
         }
-        multiThreadFilterMap.put(workflowInstanceId, workflowExecuteThread);
-        ListenableFuture<?> future = this.submitListenable(workflowExecuteThread::handleEvents);
         future.addCallback(new ListenableFutureCallback() {
 
             @Override
@@ -103,6 +115,7 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                 try {
                     log.error("Workflow instance events handle failed", ex);
                     multiThreadFilterMap.remove(workflowInstanceId);
+                    executeEvent(workflowExecuteThread);
                 } finally {
                     LogUtils.removeWorkflowInstanceIdMDC();
                 }
@@ -111,22 +124,22 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
             @Override
             public void onSuccess(Object result) {
                 try {
-                    LogUtils.setWorkflowInstanceIdMDC(
-                            workflowExecuteThread.getWorkflowExecuteContext().getWorkflowInstance().getId());
+                    LogUtils.setWorkflowInstanceIdMDC(workflowInstanceId);
                     if (workflowExecuteThread.workFlowFinish() && workflowExecuteThread.eventSize() == 0) {
-                        stateWheelExecuteThread
-                                .removeProcess4TimeoutCheck(workflowExecuteThread.getWorkflowExecuteContext()
-                                        .getWorkflowInstance().getId());
+                        stateWheelExecuteThread.removeProcess4TimeoutCheck(workflowInstanceId);
                         processInstanceExecCacheManager.removeByProcessInstanceId(workflowInstanceId);
+                        multiThreadFilterMap.remove(workflowInstanceId);
                         log.info("Workflow instance is finished.");
+                        return;
                     }
                 } catch (Exception e) {
                     log.error("Workflow instance is finished, but notify changed error", e);
                 } finally {
-                    // make sure the process has been removed from multiThreadFilterMap
-                    multiThreadFilterMap.remove(workflowInstanceId);
                     LogUtils.removeWorkflowInstanceIdMDC();
                 }
+                // the events added during handling have not been scheduled, since the workflow is still marked
+                multiThreadFilterMap.remove(workflowInstanceId);
+                executeEvent(workflowExecuteThread);
             }
         });
     }
@@ -30,6 +30,9 @@ import org.apache.dolphinscheduler.server.master.runner.BaseTaskDispatcher;
 import org.apache.dolphinscheduler.server.master.runner.TaskExecuteRunnable;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -68,7 +71,36 @@ public class MasterTaskDispatcher extends BaseTaskDispatcher {
     }
 
     @Override
-    protected Optional<Host> getTaskInstanceDispatchHost(TaskExecuteRunnable taskExecutionContext) {
+    protected CompletableFuture<Void> doDispatchAsync(TaskExecuteRunnable taskExecuteRunnable) {
+        TaskExecutionContext taskExecutionContext = taskExecuteRunnable.getTaskExecutionContext();
+        CompletableFuture<LogicTaskDispatchResponse> responseFuture;
+        try {
+            ILogicTaskInstanceOperator taskInstanceOperator = SingletonJdkDynamicRpcClientProxyFactory
+                    .getProxyClient(taskExecutionContext.getHost(), ILogicTaskInstanceOperator.class);
+            responseFuture = taskInstanceOperator.dispatchLogicTaskAsync(
+                    new LogicTaskDispatchRequest(taskExecuteRunnable.getTaskExecutionContext()));
+        } catch (Exception e) {
+            responseFuture = new CompletableFuture<>();
+            responseFuture.completeExceptionally(e);
+        }
+        return responseFuture.handle((logicTaskDispatchResponse, ex) -> {
+            if (ex != null) {
+                throw new CompletionException(new TaskDispatchException(String.format("Dispatch task to %s failed",
+                        taskExecutionContext.getHost()), ex instanceof CompletionException ? ex.getCause() : ex));
+            }
+            if (!logicTaskDispatchResponse.isDispatchSuccess()) {
+                throw new CompletionException(new TaskDispatchException(String.format(
+                        "Dispatch LogicTask to %s failed, response is: %s", taskExecutionContext.getHost(),
+                        logicTaskDispatchResponse)));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    protected Optional<Host> getTaskInstanceDispatchHost(TaskExecuteRunnable taskExecutionContext,
+                                                         Set<Host> excludedHosts) {
+        // the logic task can only be executed by the master itself
         return masterTaskExecuteHost;
     }
 }
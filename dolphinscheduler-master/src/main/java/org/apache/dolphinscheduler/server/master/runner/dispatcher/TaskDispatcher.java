@@ -17,10 +17,16 @@
 
 package org.apache.dolphinscheduler.server.master.runner.dispatcher;
 
+import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
 import org.apache.dolphinscheduler.server.master.exception.TaskDispatchException;
 import org.apache.dolphinscheduler.server.master.runner.TaskExecuteRunnable;
 
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Used to do task dispatcher.
  */
@@ -28,4 +34,38 @@ public interface TaskDispatcher {
 
     void dispatchTask(TaskExecuteRunnable taskExecuteRunnable) throws TaskDispatchException, WorkerGroupNotFoundException;
 
+    /**
+     * Select the host to execute the task.
+     *
+     * @return the selected host, empty if the task cannot be dispatched any more and has been marked as failure, e.g.
+     * the worker group is not found.
+     * @throws TaskDispatchException if there is no available host now
+     */
+    default Optional<Host> selectDispatchHost(TaskExecuteRunnable taskExecuteRunnable) throws TaskDispatchException {
+        return selectDispatchHost(taskExecuteRunnable, Collections.emptySet());
+    }
+
+    /**
+     * Select the host to execute the task except the excluded hosts.
+     *
+     * @return the selected host, empty if the task cannot be dispatched any more and has been marked as failure, e.g.
+     * the worker group is not found.
+     * @throws TaskDispatchException if there is no available host now
+     */
+    Optional<Host> selectDispatchHost(TaskExecuteRunnable taskExecuteRunnable,
+                                      Set<Host> excludedHosts) throws TaskDispatchException;
+
+    /**
+     * Release the host selected by {@link #selectDispatchHost} when the task will not be dispatched to it, e.g. the
+     * dispatch is throttled.
+     */
+    default void releaseDispatchHost(Host host) {
+    }
+
+    /**
+     * Dispatch the task to the given host without blocking the caller, the returned future is completed once the
+     * host accepted the task, or completed exceptionally with {@link TaskDispatchException}.
+     */
+    CompletableFuture<Void> dispatchTaskAsync(TaskExecuteRunnable taskExecuteRunnable, Host host);
+
 }
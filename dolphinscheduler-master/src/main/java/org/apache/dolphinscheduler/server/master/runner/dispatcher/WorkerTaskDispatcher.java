@@ -34,6 +34,9 @@ import org.apache.dolphinscheduler.server.master.runner.BaseTaskDispatcher;
 import org.apache.dolphinscheduler.server.master.runner.TaskExecuteRunnable;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -55,10 +58,11 @@ public class WorkerTaskDispatcher extends BaseTaskDispatcher {
     @Override
     protected void doDispatch(TaskExecuteRunnable taskExecuteRunnable) throws TaskDispatchException {
         TaskExecutionContext taskExecutionContext = taskExecuteRunnable.getTaskExecutionContext();
+        TaskInstanceDispatchResponse taskInstanceDispatchResponse = null;
         try {
             ITaskInstanceOperator taskInstanceOperator = SingletonJdkDynamicRpcClientProxyFactory
                     .getProxyClient(taskExecutionContext.getHost(), ITaskInstanceOperator.class);
-            TaskInstanceDispatchResponse taskInstanceDispatchResponse = taskInstanceOperator
+            taskInstanceDispatchResponse = taskInstanceOperator
                     .dispatchTask(new TaskInstanceDispatchRequest(taskExecuteRunnable.getTaskExecutionContext()));
             if (!taskInstanceDispatchResponse.isDispatchSuccess()) {
                 throw new TaskDispatchException(String.format("Dispatch task to %s failed, response is: %s",
@@ -69,13 +73,48 @@ public class WorkerTaskDispatcher extends BaseTaskDispatcher {
         } catch (Exception e) {
             throw new TaskDispatchException(String.format("Dispatch task to %s failed",
                     taskExecutionContext.getHost()), e);
+        } finally {
+            hostManager.onDispatchFinished(Host.of(taskExecutionContext.getHost()), taskInstanceDispatchResponse);
         }
     }
 
     @Override
-    protected Optional<Host> getTaskInstanceDispatchHost(TaskExecuteRunnable taskExecuteRunnable) throws WorkerGroupNotFoundException {
+    protected CompletableFuture<Void> doDispatchAsync(TaskExecuteRunnable taskExecuteRunnable) {
+        TaskExecutionContext taskExecutionContext = taskExecuteRunnable.getTaskExecutionContext();
+        CompletableFuture<TaskInstanceDispatchResponse> responseFuture;
+        try {
+            ITaskInstanceOperator taskInstanceOperator = SingletonJdkDynamicRpcClientProxyFactory
+                    .getProxyClient(taskExecutionContext.getHost(), ITaskInstanceOperator.class);
+            responseFuture = taskInstanceOperator
+                    .dispatchTaskAsync(new TaskInstanceDispatchRequest(taskExecuteRunnable.getTaskExecutionContext()));
+        } catch (Exception e) {
+            responseFuture = new CompletableFuture<>();
+            responseFuture.completeExceptionally(e);
+        }
+        return responseFuture.handle((taskInstanceDispatchResponse, ex) -> {
+            hostManager.onDispatchFinished(Host.of(taskExecutionContext.getHost()), taskInstanceDispatchResponse);
+            if (ex != null) {
+                throw new CompletionException(new TaskDispatchException(String.format("Dispatch task to %s failed",
+                        taskExecutionContext.getHost()), ex instanceof CompletionException ? ex.getCause() : ex));
+            }
+            if (!taskInstanceDispatchResponse.isDispatchSuccess()) {
+                throw new CompletionException(new TaskDispatchException(String.format(
+                        "Dispatch task to %s failed, response is: %s", taskExecutionContext.getHost(),
+                        taskInstanceDispatchResponse)));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    protected Optional<Host> getTaskInstanceDispatchHost(TaskExecuteRunnable taskExecuteRunnable,
+                                                         Set<Host> excludedHosts) throws WorkerGroupNotFoundException {
         String workerGroup = taskExecuteRunnable.getTaskExecutionContext().getWorkerGroup();
-        return hostManager.select(workerGroup);
+        return hostManager.select(workerGroup, excludedHosts);
+    }
 
+    @Override
+    public void releaseDispatchHost(Host host) {
+        hostManager.onDispatchFinished(host, null);
     }
 }
@@ -22,7 +22,6 @@ import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceKillRequest;
-import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceKillResponse;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -49,9 +48,16 @@ public class TaskExecuteRunnableTimeoutOperator extends BaseTaskExecuteRunnableT
                 .getProxyClient(taskInstance.getHost(), ITaskInstanceOperator.class);
 
         final TaskInstanceKillRequest taskInstanceKillRequest = new TaskInstanceKillRequest(taskInstance.getId());
-        final TaskInstanceKillResponse taskInstanceKillResponse =
-                iTaskInstanceOperator.killTask(taskInstanceKillRequest);
-        log.info("Timeout kill TaskInstance {} in host {} with response {}", taskInstance.getName(),
-                taskInstance.getHost(), taskInstanceKillResponse);
+        // Don't block the caller(e.g. the state wheel) to wait for the worker response
+        iTaskInstanceOperator.killTaskAsync(taskInstanceKillRequest)
+                .whenComplete((taskInstanceKillResponse, ex) -> {
+                    if (ex != null) {
+                        log.error("Timeout kill TaskInstance {} in host {} failed", taskInstance.getName(),
+                                taskInstance.getHost(), ex);
+                        return;
+                    }
+                    log.info("Timeout kill TaskInstance {} in host {} with response {}", taskInstance.getName(),
+                            taskInstance.getHost(), taskInstanceKillResponse);
+                });
     }
 }
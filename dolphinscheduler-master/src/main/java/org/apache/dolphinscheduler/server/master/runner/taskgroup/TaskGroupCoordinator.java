@@ -40,13 +40,19 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.time.StopWatch;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -55,6 +61,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.Lists;
+
 /**
  * The TaskGroupCoordinator use to manage the task group slot. The task group slot is used to limit the number of {@link TaskInstance} that can be run at the same time.
  * <p>
@@ -76,6 +84,16 @@ import org.springframework.stereotype.Component;
  *         taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
  *     }
  * </pre>
+ * <p>
+ * The waiting {@link TaskGroupQueue}s of the current master are kept in a {@link TaskGroupWaitingQueue} per task group,
+ * the TaskGroupQueue in db is the durable log. Acquire and release will wake up the coordinator to assign the released
+ * slot to the waiting TaskGroupQueue with the highest priority immediately. The slots released by other masters and the
+ * force start TaskGroupQueues are checked every {@link MasterConfig#getTaskGroupRecheckInterval()} when there are waiting
+ * TaskGroupQueues in the current master, no matter how often the coordinator is woken up, the masters recheck one by one under the registry lock. The useSize of the
+ * TaskGroup is acquired by compare and set in db, and the TaskGroupQueue only changes from
+ * {@link TaskGroupQueueStatus#WAIT_QUEUE} to {@link TaskGroupQueueStatus#ACQUIRE_SUCCESS} if it is still waiting in db.
+ * The useSize of the TaskGroup and the status of the TaskGroupQueue are only reconciled at startup and after master
+ * failover.
  */
 @Slf4j
 @Component
@@ -96,8 +114,26 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
     @Autowired
     private ProcessInstanceDao processInstanceDao;
 
+    @Autowired
+    private MasterConfig masterConfig;
+
     private static int DEFAULT_LIMIT = 1000;
 
+    /**
+     * taskGroupId -> the waiting TaskGroupQueues in the current master.
+     */
+    private final Map<Integer, TaskGroupWaitingQueue> taskGroupWaitingQueues = new ConcurrentHashMap<>();
+
+    /**
+     * The task groups whose slot is acquired or released, the coordinator will check the waiting queue of them.
+     */
+    private final BlockingQueue<Integer> changedTaskGroupIds = new LinkedBlockingQueue<>();
+
+    /**
+     * Make sure a slot is not released while assigning it to the TaskGroupQueue.
+     */
+    private final Object slotLock = new Object();
+
     public TaskGroupCoordinator() {
         super("TaskGroupCoordinator");
     }
@@ -111,35 +147,59 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
 
     @Override
     public void run() {
+        reconcileTaskGroup();
+        long lastRecheckTime = System.currentTimeMillis();
         while (!ServerLifeCycleManager.isStopped()) {
             try {
+                long recheckIntervalMills = masterConfig.getTaskGroupRecheckInterval().toMillis();
+                long nextRecheckDelayMills = lastRecheckTime + recheckIntervalMills - System.currentTimeMillis();
+                Integer changedTaskGroupId = changedTaskGroupIds.poll(
+                        Math.max(nextRecheckDelayMills, 0), TimeUnit.MILLISECONDS);
                 if (!ServerLifeCycleManager.isRunning()) {
                     continue;
                 }
-                try {
-                    registryClient.getLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
-                    StopWatch taskGroupCoordinatorRoundTimeCost = StopWatch.createStarted();
-
-                    amendTaskGroupUseSize();
-                    amendTaskGroupQueueStatus();
-                    dealWithForceStartTaskGroupQueue();
-                    dealWithWaitingTaskGroupQueue();
-
-                    taskGroupCoordinatorRoundTimeCost.stop();
-                    log.info("TaskGroupCoordinator round time cost: {}/ms",
-                            taskGroupCoordinatorRoundTimeCost.getTime());
-                } finally {
-                    registryClient.releaseLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
+                if (changedTaskGroupId != null) {
+                    dealWithWaitingTaskGroupQueue(changedTaskGroupId);
+                }
+                // Recheck the slots released by other masters and force start even if this master keeps changing
+                if (System.currentTimeMillis() - lastRecheckTime >= recheckIntervalMills) {
+                    lastRecheckTime = System.currentTimeMillis();
+                    recheckWaitingTaskGroupQueue();
                 }
+            } catch (InterruptedException interruptedException) {
+                log.warn("TaskGroupCoordinator is interrupted");
+                Thread.currentThread().interrupt();
+                return;
             } catch (Throwable e) {
                 log.error("TaskGroupCoordinator error", e);
-            } finally {
-                // sleep 5s
-                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS * 5);
+                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
             }
         }
     }
 
+    /**
+     * Reconcile the TaskGroup useSize and TaskGroupQueue status with the TaskInstances in db, this is only needed when
+     * the TaskGroupQueues are not released by the master which acquired them, e.g. the master is down and failover.
+     */
+    public void reconcileTaskGroup() {
+        try {
+            registryClient.getLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
+            StopWatch taskGroupCoordinatorRoundTimeCost = StopWatch.createStarted();
+
+            amendTaskGroupQueueStatus();
+            amendTaskGroupUseSize();
+
+            taskGroupCoordinatorRoundTimeCost.stop();
+            log.info("TaskGroupCoordinator reconcile time cost: {}/ms", taskGroupCoordinatorRoundTimeCost.getTime());
+        } catch (Throwable e) {
+            log.error("TaskGroupCoordinator reconcile error", e);
+        } finally {
+            registryClient.releaseLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
+        }
+        // The slots may be released by reconciling
+        taskGroupWaitingQueues.keySet().forEach(this::wakeupTaskGroup);
+    }
+
     /**
      * Make sure the TaskGroup useSize is equal to the TaskGroupQueue which status is {@link TaskGroupQueueStatus#ACQUIRE_SUCCESS} and forceStart is {@link org.apache.dolphinscheduler.common.enums.Flag#NO}.
      */
@@ -218,28 +278,62 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
         }
     }
 
-    private void dealWithForceStartTaskGroupQueue() {
-        // Find the force start task group queue(Which is inQueue and forceStart is YES)
-        // Notify the related waiting task instance
-        // Set the taskGroupQueue status to RELEASE and remove it from queue
-        // We use limit here to avoid OOM, and we will retry to notify force start queue at next time
-        int minTaskGroupQueueId = -1;
-        int limit = DEFAULT_LIMIT;
-        StopWatch taskGroupCoordinatorRoundTimeCost = StopWatch.createStarted();
-        while (true) {
-            List<TaskGroupQueue> taskGroupQueues =
-                    taskGroupQueueDao.queryWaitNotifyForceStartTaskGroupQueue(minTaskGroupQueueId, limit);
-            if (CollectionUtils.isEmpty(taskGroupQueues)) {
-                break;
-            }
-            dealWithForceStartTaskGroupQueue(taskGroupQueues);
-            if (taskGroupQueues.size() < limit) {
-                break;
+    /**
+     * Reload the waiting TaskGroupQueues of the current master from db to find the force start ones and the priority
+     * changes, and try to assign the slots released by other masters.
+     */
+    private void recheckWaitingTaskGroupQueue() {
+        List<Integer> waitingTaskGroupQueueIds = taskGroupWaitingQueues.values()
+                .stream()
+                .flatMap(taskGroupWaitingQueue -> taskGroupWaitingQueue.getAll().stream())
+                .map(TaskGroupQueue::getId)
+                .collect(Collectors.toList());
+        if (waitingTaskGroupQueueIds.isEmpty()) {
+            return;
+        }
+        // The masters recheck one by one, so the released slots are assigned in priority order across the masters
+        try {
+            registryClient.getLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
+            StopWatch taskGroupCoordinatorRoundTimeCost = StopWatch.createStarted();
+
+            recheckWaitingTaskGroupQueue(waitingTaskGroupQueueIds);
+
+            taskGroupCoordinatorRoundTimeCost.stop();
+            log.debug("TaskGroupCoordinator recheck time cost: {}/ms", taskGroupCoordinatorRoundTimeCost.getTime());
+        } finally {
+            registryClient.releaseLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
+        }
+    }
+
+    private void recheckWaitingTaskGroupQueue(List<Integer> waitingTaskGroupQueueIds) {
+        List<TaskGroupQueue> forceStartTaskGroupQueues = new ArrayList<>();
+        for (List<Integer> taskGroupQueueIds : Lists.partition(waitingTaskGroupQueueIds, DEFAULT_LIMIT)) {
+            for (TaskGroupQueue taskGroupQueue : taskGroupQueueDao.queryByIds(taskGroupQueueIds)) {
+                TaskGroupWaitingQueue taskGroupWaitingQueue =
+                        taskGroupWaitingQueues.get(taskGroupQueue.getGroupId());
+                if (taskGroupWaitingQueue == null) {
+                    continue;
+                }
+                if (Flag.YES.getCode() == taskGroupQueue.getForceStart()
+                        && Flag.YES.getCode() == taskGroupQueue.getInQueue()) {
+                    taskGroupWaitingQueue.remove(taskGroupQueue.getId());
+                    forceStartTaskGroupQueues.add(taskGroupQueue);
+                    continue;
+                }
+                if (TaskGroupQueueStatus.WAIT_QUEUE != taskGroupQueue.getStatus()
+                        || Flag.YES.getCode() != taskGroupQueue.getInQueue()) {
+                    log.warn("The TaskGroupQueue: {} is not waiting, remove it from waiting queue", taskGroupQueue);
+                    taskGroupWaitingQueue.remove(taskGroupQueue.getId());
+                    continue;
+                }
+                // refresh the priority
+                taskGroupWaitingQueue.add(taskGroupQueue);
             }
-            minTaskGroupQueueId = taskGroupQueues.get(taskGroupQueues.size() - 1).getId();
         }
-        log.info("Success deal with force start TaskGroupQueue cost: {}/ms",
-                taskGroupCoordinatorRoundTimeCost.getTime());
+        if (!forceStartTaskGroupQueues.isEmpty()) {
+            dealWithForceStartTaskGroupQueue(forceStartTaskGroupQueues);
+        }
+        taskGroupWaitingQueues.keySet().forEach(this::dealWithWaitingTaskGroupQueue);
     }
 
     private void dealWithForceStartTaskGroupQueue(List<TaskGroupQueue> taskGroupQueues) {
@@ -275,62 +369,54 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
         }
     }
 
-    private void dealWithWaitingTaskGroupQueue() {
-        // Find the TaskGroup which usage < maxSize.
-        // Find the highest priority inQueue task group queue(Which is inQueue and status is Waiting and force start is
-        // NO) belong to the
-        // task group.
-        List<TaskGroup> taskGroups = taskGroupDao.queryAvailableTaskGroups();
-        if (CollectionUtils.isEmpty(taskGroups)) {
-            log.debug("There is no available task group");
+    /**
+     * Assign the available slots of the task group to the waiting TaskGroupQueues in priority order.
+     */
+    private void dealWithWaitingTaskGroupQueue(int taskGroupId) {
+        TaskGroupWaitingQueue taskGroupWaitingQueue = taskGroupWaitingQueues.get(taskGroupId);
+        if (taskGroupWaitingQueue == null) {
             return;
         }
-        for (TaskGroup taskGroup : taskGroups) {
-            int availableSize = taskGroup.getGroupSize() - taskGroup.getUseSize();
-            if (availableSize <= 0) {
-                log.info("TaskGroup {} is full, available size is {}", taskGroup, availableSize);
-                continue;
-            }
-            List<TaskGroupQueue> taskGroupQueues =
-                    taskGroupQueueDao.queryAllInQueueTaskGroupQueueByGroupId(taskGroup.getId())
-                            .stream()
-                            .filter(taskGroupQueue -> Flag.NO.getCode() == taskGroupQueue.getForceStart())
-                            .filter(taskGroupQueue -> TaskGroupQueueStatus.WAIT_QUEUE == taskGroupQueue.getStatus())
-                            .limit(availableSize)
-                            .collect(Collectors.toList());
-            if (CollectionUtils.isEmpty(taskGroupQueues)) {
-                log.debug("There is no waiting task group queue for task group {}", taskGroup.getName());
-                continue;
+        while (true) {
+            TaskGroupQueue taskGroupQueue = taskGroupWaitingQueue.peek();
+            if (taskGroupQueue == null) {
+                return;
             }
-            for (TaskGroupQueue taskGroupQueue : taskGroupQueues) {
-                try {
-                    LogUtils.setTaskInstanceIdMDC(taskGroupQueue.getTaskId());
+            try {
+                LogUtils.setTaskInstanceIdMDC(taskGroupQueue.getTaskId());
+                synchronized (slotLock) {
+                    // The TaskGroupQueue may be released during waiting
+                    if (!taskGroupWaitingQueue.remove(taskGroupQueue.getId())) {
+                        continue;
+                    }
                     // Reduce the taskGroupSize
-                    boolean acquireResult = taskGroupDao.acquireTaskGroupSlot(taskGroup.getId());
-                    if (!acquireResult) {
-                        log.error("Failed to acquire task group slot for task group {}", taskGroup);
+                    if (!taskGroupDao.acquireTaskGroupSlot(taskGroupId)) {
+                        log.debug("The TaskGroup: {} is full, TaskGroupQueue: {} will keep waiting", taskGroupId,
+                                taskGroupQueue.getId());
+                        taskGroupWaitingQueue.add(taskGroupQueue);
+                        return;
+                    }
+                    // Set the taskGroupQueue status to ACQUIRE_SUCCESS only if it is still waiting in db, it may be
+                    // released or force started by others
+                    if (!taskGroupQueueDao.acquireWaitingTaskGroupQueue(taskGroupQueue.getId())) {
+                        log.info("The TaskGroupQueue: {} is not waiting in db, give back the slot of TaskGroup: {}",
+                                taskGroupQueue.getId(), taskGroupId);
+                        taskGroupDao.releaseTaskGroupSlot(taskGroupId);
                         continue;
                     }
-                    // Notify the waiting task instance
-                    // We notify first, it notify failed, the taskGroupQueue will be in queue, and then we will retry it
-                    // next time.
-                    notifyWaitingTaskInstance(taskGroupQueue);
-
-                    // Set the taskGroupQueue status to RUNNING and remove from queue
-                    taskGroupQueue.setInQueue(Flag.YES.getCode());
                     taskGroupQueue.setStatus(TaskGroupQueueStatus.ACQUIRE_SUCCESS);
-                    taskGroupQueue.setUpdateTime(new Date());
-                    taskGroupQueueDao.updateById(taskGroupQueue);
-                } catch (UnsupportedOperationException unsupportedOperationException) {
-                    releaseTaskGroupQueueSlot(taskGroupQueue);
-                    log.info(
-                            "Notify the Waiting TaskInstance: {} for taskGroupQueue: {} failed, will release the taskGroupQueue",
-                            taskGroupQueue.getTaskName(), taskGroupQueue.getId(), unsupportedOperationException);
-                } catch (Throwable throwable) {
-                    log.error("Notify Waiting TaskGroupQueue: {} failed", taskGroupQueue, throwable);
-                } finally {
-                    LogUtils.removeTaskInstanceIdMDC();
                 }
+                // Notify the waiting task instance
+                notifyWaitingTaskInstance(taskGroupQueue);
+            } catch (UnsupportedOperationException unsupportedOperationException) {
+                releaseTaskGroupQueueSlot(taskGroupQueue);
+                log.info(
+                        "Notify the Waiting TaskInstance: {} for taskGroupQueue: {} failed, will release the taskGroupQueue",
+                        taskGroupQueue.getTaskName(), taskGroupQueue.getId(), unsupportedOperationException);
+            } catch (Throwable throwable) {
+                log.error("Notify Waiting TaskGroupQueue: {} failed", taskGroupQueue, throwable);
+            } finally {
+                LogUtils.removeTaskInstanceIdMDC();
             }
         }
     }
@@ -361,7 +447,8 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
     /**
      * Acquire the task group slot for the given {@link TaskInstance}.
      * <p>
-     * When taskInstance want to acquire a TaskGroup slot, should call this method. If acquire successfully, will create a TaskGroupQueue in db which is in queue and status is {@link TaskGroupQueueStatus#WAIT_QUEUE}.
+     * When taskInstance want to acquire a TaskGroup slot, should call this method. If acquire successfully, will create a TaskGroupQueue in db which is in queue and status is {@link TaskGroupQueueStatus#WAIT_QUEUE},
+     * and add it to the waiting queue of the task group in the current master.
      * The TaskInstance shouldn't dispatch until there exist available slot, the taskGroupCoordinator notify it.
      *
      * @param taskInstance the task instance which want to acquire task group slot.
@@ -393,8 +480,11 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
                 .createTime(now)
                 .updateTime(now)
                 .build();
-        log.info("Success insert TaskGroupQueue: {} for TaskInstance: {}", taskGroupQueue, taskInstance.getName());
         taskGroupQueueDao.insert(taskGroupQueue);
+        log.info("Success insert TaskGroupQueue: {} for TaskInstance: {}", taskGroupQueue, taskInstance.getName());
+        taskGroupWaitingQueues.computeIfAbsent(taskGroupQueue.getGroupId(), id -> new TaskGroupWaitingQueue())
+                .add(taskGroupQueue);
+        wakeupTaskGroup(taskGroupQueue.getGroupId());
     }
 
     /**
@@ -427,12 +517,25 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
         if (taskInstance == null || taskInstance.getTaskGroupId() <= 0) {
             throw new IllegalArgumentException("The current TaskInstance does not use task group");
         }
+        TaskGroupWaitingQueue taskGroupWaitingQueue = taskGroupWaitingQueues.get(taskInstance.getTaskGroupId());
+        if (taskGroupWaitingQueue != null) {
+            taskGroupWaitingQueue.removeByTaskInstanceId(taskInstance.getId());
+        }
         List<TaskGroupQueue> taskGroupQueues = taskGroupQueueDao.queryByTaskInstanceId(taskInstance.getId());
         for (TaskGroupQueue taskGroupQueue : taskGroupQueues) {
             releaseTaskGroupQueueSlot(taskGroupQueue);
         }
     }
 
+    /**
+     * Wake up the coordinator to check the waiting queue of the task group.
+     */
+    private void wakeupTaskGroup(int taskGroupId) {
+        if (taskGroupWaitingQueues.containsKey(taskGroupId)) {
+            changedTaskGroupIds.offer(taskGroupId);
+        }
+    }
+
     private void notifyWaitingTaskInstance(TaskGroupQueue taskGroupQueue) {
         // Find the related waiting task instance
         // send RPC to notify the waiting task instance
@@ -485,11 +588,20 @@ public class TaskGroupCoordinator extends BaseDaemonThread {
             log.info("The TaskGroupQueue: {} is already released", taskGroupQueue);
             return;
         }
-        taskGroupQueue.setInQueue(Flag.NO.getCode());
-        taskGroupQueue.setStatus(TaskGroupQueueStatus.RELEASE);
-        taskGroupQueue.setUpdateTime(new Date());
-        taskGroupQueueDao.updateById(taskGroupQueue);
+        synchronized (slotLock) {
+            // The slot is only used by the TaskGroupQueue which status is ACQUIRE_SUCCESS and forceStart is NO
+            boolean usingSlot = TaskGroupQueueStatus.ACQUIRE_SUCCESS.equals(taskGroupQueue.getStatus())
+                    && Flag.NO.getCode() == taskGroupQueue.getForceStart();
+            taskGroupQueue.setInQueue(Flag.NO.getCode());
+            taskGroupQueue.setStatus(TaskGroupQueueStatus.RELEASE);
+            taskGroupQueue.setUpdateTime(new Date());
+            taskGroupQueueDao.updateById(taskGroupQueue);
+            if (usingSlot) {
+                taskGroupDao.releaseTaskGroupSlot(taskGroupQueue.getGroupId());
+            }
+        }
         log.info("Success release TaskGroupQueue: {}", taskGroupQueue);
+        wakeupTaskGroup(taskGroupQueue.getGroupId());
     }
 
 }
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.taskgroup;
+
+import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The waiting {@link TaskGroupQueue}s of one task group in the current master, the head is the one with the highest
+ * priority, and the earlier one is in front if the priority is the same.
+ * <p>
+ * The waiting TaskGroupQueues are indexed by id and by task instance id, so add, remove and peek are O(log n).
+ */
+public class TaskGroupWaitingQueue {
+
+    private static final Comparator<TaskGroupQueue> TASK_GROUP_QUEUE_COMPARATOR =
+            Comparator.comparingInt(TaskGroupQueue::getPriority).reversed()
+                    .thenComparing(TaskGroupQueue::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final TreeSet<TaskGroupQueue> waitingQueue = new TreeSet<>(TASK_GROUP_QUEUE_COMPARATOR);
+
+    /**
+     * taskGroupQueueId -> the TaskGroupQueue in the waitingQueue, the TaskGroupQueue in the waitingQueue should not be
+     * changed, otherwise it cannot be found by the comparator.
+     */
+    private final Map<Integer, TaskGroupQueue> taskGroupQueueIndex = new HashMap<>();
+
+    /**
+     * taskInstanceId -> taskGroupQueueId
+     */
+    private final Map<Integer, Integer> taskInstanceIndex = new HashMap<>();
+
+    public synchronized void add(TaskGroupQueue taskGroupQueue) {
+        remove(taskGroupQueue.getId());
+        waitingQueue.add(taskGroupQueue);
+        taskGroupQueueIndex.put(taskGroupQueue.getId(), taskGroupQueue);
+        taskInstanceIndex.put(taskGroupQueue.getTaskId(), taskGroupQueue.getId());
+    }
+
+    /**
+     * @return the waiting TaskGroupQueue with the highest priority, null if the queue is empty
+     */
+    public synchronized TaskGroupQueue peek() {
+        return waitingQueue.isEmpty() ? null : waitingQueue.first();
+    }
+
+    public synchronized boolean remove(Integer taskGroupQueueId) {
+        TaskGroupQueue taskGroupQueue = taskGroupQueueIndex.remove(taskGroupQueueId);
+        if (taskGroupQueue == null) {
+            return false;
+        }
+        taskInstanceIndex.remove(taskGroupQueue.getTaskId(), taskGroupQueueId);
+        return waitingQueue.remove(taskGroupQueue);
+    }
+
+    public synchronized boolean removeByTaskInstanceId(int taskInstanceId) {
+        if (!taskInstanceIndex.containsKey(taskInstanceId)) {
+            return false;
+        }
+        return remove(taskInstanceIndex.get(taskInstanceId));
+    }
+
+    public synchronized List<TaskGroupQueue> getAll() {
+        return new ArrayList<>(waitingQueue);
+    }
+
+    public synchronized int size() {
+        return waitingQueue.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return waitingQueue.isEmpty();
+    }
+
+}
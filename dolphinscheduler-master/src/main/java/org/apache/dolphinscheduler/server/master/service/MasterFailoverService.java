@@ -19,21 +19,27 @@ package org.apache.dolphinscheduler.server.master.service;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.model.Server;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
 import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
+import org.apache.dolphinscheduler.server.master.runner.taskgroup.TaskGroupCoordinator;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.time.StopWatch;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -42,6 +48,8 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
 
+import com.google.common.collect.Lists;
+
 import io.micrometer.core.annotation.Counted;
 import io.micrometer.core.annotation.Timed;
 
@@ -56,15 +64,23 @@ public class MasterFailoverService {
 
     private final ProcessInstanceExecCacheManager processInstanceExecCacheManager;
 
+    private final TaskGroupCoordinator taskGroupCoordinator;
+
+    private final ExecutorService failoverThreadPool;
+
     public MasterFailoverService(@NonNull RegistryClient registryClient,
                                  @NonNull MasterConfig masterConfig,
                                  @NonNull ProcessService processService,
-                                 @NonNull ProcessInstanceExecCacheManager processInstanceExecCacheManager) {
+                                 @NonNull ProcessInstanceExecCacheManager processInstanceExecCacheManager,
+                                 @NonNull TaskGroupCoordinator taskGroupCoordinator) {
         this.registryClient = registryClient;
         this.masterConfig = masterConfig;
         this.processService = processService;
         this.localAddress = masterConfig.getMasterAddress();
         this.processInstanceExecCacheManager = processInstanceExecCacheManager;
+        this.taskGroupCoordinator = taskGroupCoordinator;
+        this.failoverThreadPool = ThreadUtils.newDaemonFixedThreadExecutor("MasterFailoverThread-%d",
+                masterConfig.getFailoverThreadPoolSize());
     }
 
     /**
@@ -127,27 +143,51 @@ public class MasterFailoverService {
                 needFailoverProcessInstanceList.size(),
                 needFailoverProcessInstanceList.stream().map(ProcessInstance::getId).collect(Collectors.toList()));
 
-        for (ProcessInstance processInstance : needFailoverProcessInstanceList) {
+        // Each batch is checked and failover in one transaction, the batches are handled in parallel
+        CompletableFuture<?>[] failoverFutures =
+                Lists.partition(needFailoverProcessInstanceList, masterConfig.getFailoverBatchSize())
+                        .stream()
+                        .map(processInstances -> CompletableFuture.runAsync(
+                                () -> failoverProcessInstances(masterStartupTimeOptional, processInstances),
+                                failoverThreadPool))
+                        .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(failoverFutures).join();
+
+        // The task group slots used by the failover task instances need to be reconciled
+        taskGroupCoordinator.reconcileTaskGroup();
+
+        failoverTimeCost.stop();
+        MasterServerMetrics.recordMasterFailoverDuration(failoverTimeCost.getTime(TimeUnit.MILLISECONDS));
+        log.info("Master[{}] failover finished, useTime:{}ms",
+                masterHost,
+                failoverTimeCost.getTime(TimeUnit.MILLISECONDS));
+    }
+
+    private void failoverProcessInstances(Optional<Date> masterStartupTimeOptional,
+                                          List<ProcessInstance> processInstances) {
+        List<ProcessInstance> needFailoverProcessInstances = new ArrayList<>(processInstances.size());
+        for (ProcessInstance processInstance : processInstances) {
             try {
                 LogUtils.setWorkflowInstanceIdMDC(processInstance.getId());
                 log.info("WorkflowInstance failover starting");
-                if (!checkProcessInstanceNeedFailover(masterStartupTimeOptional, processInstance)) {
-                    continue;
+                if (checkProcessInstanceNeedFailover(masterStartupTimeOptional, processInstance)) {
+                    needFailoverProcessInstances.add(processInstance);
                 }
-
-                ProcessInstanceMetrics.incProcessInstanceByStateAndProcessDefinitionCode("failover",
-                        processInstance.getProcessDefinitionCode().toString());
-                processService.processNeedFailoverProcessInstances(processInstance);
-                log.info("WorkflowInstance failover finished");
             } finally {
                 LogUtils.removeWorkflowInstanceIdMDC();
             }
         }
+        if (needFailoverProcessInstances.isEmpty()) {
+            return;
+        }
 
-        failoverTimeCost.stop();
-        log.info("Master[{}] failover finished, useTime:{}ms",
-                masterHost,
-                failoverTimeCost.getTime(TimeUnit.MILLISECONDS));
+        processService.processNeedFailoverProcessInstances(needFailoverProcessInstances);
+        for (ProcessInstance processInstance : needFailoverProcessInstances) {
+            ProcessInstanceMetrics.incProcessInstanceByStateAndProcessDefinitionCode("failover",
+                    processInstance.getProcessDefinitionCode().toString());
+        }
+        log.info("WorkflowInstance failover finished, workflowInstanceIds: {}",
+                needFailoverProcessInstances.stream().map(ProcessInstance::getId).collect(Collectors.toList()));
     }
 
     private Optional<Date> getServerStartupTime(List<Server> servers, String host) {
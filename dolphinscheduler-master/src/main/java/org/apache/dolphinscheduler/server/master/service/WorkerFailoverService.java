@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.model.Server;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
@@ -37,6 +38,7 @@ import org.apache.dolphinscheduler.server.master.builder.TaskExecutionContextBui
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
 import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
@@ -48,11 +50,14 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -63,6 +68,8 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
 
+import com.google.common.collect.Lists;
+
 @Service
 @Slf4j
 public class WorkerFailoverService {
@@ -76,6 +83,8 @@ public class WorkerFailoverService {
 
     private final TaskInstanceDao taskInstanceDao;
 
+    private final ExecutorService failoverThreadPool;
+
     public WorkerFailoverService(@NonNull RegistryClient registryClient,
                                  @NonNull MasterConfig masterConfig,
                                  @NonNull ProcessService processService,
@@ -89,6 +98,8 @@ public class WorkerFailoverService {
         this.cacheManager = cacheManager;
         this.localAddress = masterConfig.getMasterAddress();
         this.taskInstanceDao = taskInstanceDao;
+        this.failoverThreadPool = ThreadUtils.newDaemonFixedThreadExecutor("WorkerFailoverThread-%d",
+                masterConfig.getFailoverThreadPoolSize());
     }
 
     /**
@@ -118,6 +129,7 @@ public class WorkerFailoverService {
                 needFailoverTaskInstanceList.size(),
                 needFailoverTaskInstanceList.stream().map(TaskInstance::getId).collect(Collectors.toList()));
         final Map<Integer, ProcessInstance> processInstanceCacheMap = new HashMap<>();
+        final List<TaskInstance> failoverTaskInstances = new ArrayList<>();
         for (TaskInstance taskInstance : needFailoverTaskInstanceList) {
             try {
                 LogUtils.setWorkflowAndTaskInstanceIDMDC(taskInstance.getProcessInstanceId(), taskInstance.getId());
@@ -135,55 +147,89 @@ public class WorkerFailoverService {
                     log.info("Worker[{}] the current taskInstance doesn't need to failover", workerHost);
                     continue;
                 }
-                log.info(
-                        "Worker[{}] failover: begin to failover taskInstance, will set the status to NEED_FAULT_TOLERANCE",
-                        workerHost);
-                failoverTaskInstance(processInstance, taskInstance);
-                log.info("Worker[{}] failover: Finish failover taskInstance", workerHost);
+                taskInstance.setProcessInstance(processInstance);
+                failoverTaskInstances.add(taskInstance);
             } catch (Exception ex) {
                 log.info("Worker[{}] failover taskInstance occur exception", workerHost, ex);
             } finally {
                 LogUtils.removeWorkflowAndTaskInstanceIdMDC();
             }
         }
+
+        // The yarn/k8s applications are killed in parallel, and the states are updated batch by batch
+        CompletableFuture<?>[] killFutures = failoverTaskInstances.stream()
+                .map(taskInstance -> CompletableFuture.runAsync(() -> killTaskApplication(taskInstance),
+                        failoverThreadPool))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(killFutures).join();
+        for (List<TaskInstance> taskInstances : Lists.partition(failoverTaskInstances,
+                masterConfig.getFailoverBatchSize())) {
+            try {
+                log.info(
+                        "Worker[{}] failover: begin to failover taskInstances, will set the status to NEED_FAULT_TOLERANCE, taskInstanceIds: {}",
+                        workerHost,
+                        taskInstances.stream().map(TaskInstance::getId).collect(Collectors.toList()));
+                failoverTaskInstances(taskInstances);
+                log.info("Worker[{}] failover: Finish failover taskInstances", workerHost);
+            } catch (Exception ex) {
+                log.info("Worker[{}] failover taskInstances occur exception", workerHost, ex);
+            }
+        }
         failoverTimeCost.stop();
+        MasterServerMetrics.recordWorkerFailoverDuration(failoverTimeCost.getTime(TimeUnit.MILLISECONDS));
         log.info("Worker[{}] failover finished, useTime:{}ms",
                 workerHost,
                 failoverTimeCost.getTime(TimeUnit.MILLISECONDS));
     }
 
     /**
-     * failover task instance
-     * <p>
-     * 1. kill yarn/k8s job if run on worker and there are yarn/k8s jobs in tasks.
-     * 2. change task state from running to need failover.
-     * 3. try to notify local master
+     * kill yarn/k8s job if run on worker and there are yarn/k8s jobs in tasks.
      *
-     * @param processInstance
      * @param taskInstance
      */
-    private void failoverTaskInstance(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
-        TaskMetrics.incTaskInstanceByState("failover");
-
-        taskInstance.setProcessInstance(processInstance);
-
-        if (!TaskUtils.isMasterTask(taskInstance.getTaskType())) {
-            killYarnTask(taskInstance, processInstance);
-        } else {
-            log.info("The failover taskInstance is a master task, no need to failover in worker failover");
+    private void killTaskApplication(@NonNull TaskInstance taskInstance) {
+        try {
+            LogUtils.setWorkflowAndTaskInstanceIDMDC(taskInstance.getProcessInstanceId(), taskInstance.getId());
+            if (!TaskUtils.isMasterTask(taskInstance.getTaskType())) {
+                killYarnTask(taskInstance, taskInstance.getProcessInstance());
+            } else {
+                log.info("The failover taskInstance is a master task, no need to failover in worker failover");
+            }
+        } catch (Exception ex) {
+            log.info("Kill the application of the failover taskInstance occur exception", ex);
+        } finally {
+            LogUtils.removeWorkflowAndTaskInstanceIdMDC();
         }
+    }
 
-        taskInstance.setState(TaskExecutionStatus.NEED_FAULT_TOLERANCE);
-        taskInstance.setFlag(Flag.NO);
-        taskInstanceDao.upsertTaskInstance(taskInstance);
+    /**
+     * failover task instances
+     * <p>
+     * 1. change task state from running to need failover with one batched statement.
+     * 2. try to notify local master
+     *
+     * @param taskInstances
+     */
+    private void failoverTaskInstances(@NonNull List<TaskInstance> taskInstances) {
+        for (TaskInstance taskInstance : taskInstances) {
+            TaskMetrics.incTaskInstanceByState("failover");
+            taskInstance.setState(TaskExecutionStatus.NEED_FAULT_TOLERANCE);
+            taskInstance.setFlag(Flag.NO);
+        }
+        taskInstanceDao.updateStateAndFlagByIds(
+                taskInstances.stream().map(TaskInstance::getId).collect(Collectors.toList()),
+                TaskExecutionStatus.NEED_FAULT_TOLERANCE,
+                Flag.NO);
 
-        TaskStateEvent stateEvent = TaskStateEvent.builder()
-                .processInstanceId(processInstance.getId())
-                .taskInstanceId(taskInstance.getId())
-                .status(TaskExecutionStatus.NEED_FAULT_TOLERANCE)
-                .type(StateEventType.TASK_STATE_CHANGE)
-                .build();
-        workflowExecuteThreadPool.submitStateEvent(stateEvent);
+        for (TaskInstance taskInstance : taskInstances) {
+            TaskStateEvent stateEvent = TaskStateEvent.builder()
+                    .processInstanceId(taskInstance.getProcessInstanceId())
+                    .taskInstanceId(taskInstance.getId())
+                    .status(TaskExecutionStatus.NEED_FAULT_TOLERANCE)
+                    .type(StateEventType.TASK_STATE_CHANGE)
+                    .build();
+            workflowExecuteThreadPool.submitStateEvent(stateEvent);
+        }
     }
 
     /**
@@ -29,9 +29,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinitionLog;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
-import org.apache.dolphinscheduler.dao.repository.TaskDefinitionDao;
 import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DependResult;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DependentRelation;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
@@ -41,6 +39,7 @@ import org.apache.dolphinscheduler.plugin.task.api.model.DependentItem;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.DependentParameters;
 import org.apache.dolphinscheduler.plugin.task.api.utils.DependentUtils;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
@@ -49,8 +48,10 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -64,7 +65,8 @@ public class DependentExecute {
 
     private final ProcessInstanceDao processInstanceDao = SpringApplicationContext.getBean(ProcessInstanceDao.class);
 
-    private final TaskInstanceDao taskInstanceDao = SpringApplicationContext.getBean(TaskInstanceDao.class);
+    private final DependentResultCacheManager dependentResultCacheManager =
+            SpringApplicationContext.getBean(DependentResultCacheManager.class);
 
     /**
      * depend item list
@@ -96,11 +98,6 @@ public class DependentExecute {
     private final TaskDefinitionLogDao taskDefinitionLogDao =
             SpringApplicationContext.getBean(TaskDefinitionLogDao.class);
 
-    /**
-     * task definition dao
-     */
-    private final TaskDefinitionDao taskDefinitionDao = SpringApplicationContext.getBean(TaskDefinitionDao.class);
-
     private Map<String, Property> dependTaskVarPoolPropertyMap = new HashMap<>();
 
     private Map<String, Long> dependTaskVarPoolEndTimeMap = new HashMap<>();
@@ -109,6 +106,11 @@ public class DependentExecute {
 
     private Map<String, Long> dependItemVarPoolEndTimeMap = new HashMap<>();
 
+    /**
+     * the last task instances prefetched in one check, process instance id -> task code -> task instance
+     */
+    private final Map<Integer, Map<Long, TaskInstance>> prefetchedTaskInstanceMap = new HashMap<>();
+
     /**
      * constructor
      *
@@ -210,11 +212,9 @@ public class DependentExecute {
                     taskDefinitionLogs.stream().filter(taskDefinitionLog -> taskDefinitionLog.getFlag() == Flag.YES)
                             .collect(Collectors.toMap(TaskDefinitionLog::getCode, TaskDefinitionLog::getName));
 
-            List<TaskInstance> taskInstanceList =
-                    taskInstanceDao.queryLastTaskInstanceListIntervalInProcessInstance(processInstance.getId(),
-                            taskDefinitionCodeMap.keySet(), testFlag);
             Map<Long, TaskExecutionStatus> taskExecutionStatusMap =
-                    taskInstanceList.stream()
+                    dependentResultCacheManager.queryLastTaskInstances(processInstance.getId(),
+                            taskDefinitionCodeMap.keySet(), testFlag).values().stream()
                             .filter(taskInstance -> taskInstance.getTaskExecuteType() != TaskExecuteType.STREAM)
                             .collect(Collectors.toMap(TaskInstance::getTaskCode, TaskInstance::getState));
 
@@ -249,12 +249,12 @@ public class DependentExecute {
      */
     private DependResult dependResultBySingleTaskInstance(ProcessInstance processInstance, long depTaskCode,
                                                           int testFlag) {
-        TaskInstance taskInstance =
-                taskInstanceDao.queryLastTaskInstanceIntervalInProcessInstance(processInstance.getId(),
-                        depTaskCode, testFlag);
+        Map<Long, TaskInstance> prefetchedTaskInstances = prefetchedTaskInstanceMap.get(processInstance.getId());
+        TaskInstance taskInstance = prefetchedTaskInstances != null ? prefetchedTaskInstances.get(depTaskCode)
+                : dependentResultCacheManager.queryLastTaskInstance(processInstance.getId(), depTaskCode, testFlag);
 
         if (taskInstance == null) {
-            TaskDefinition taskDefinition = taskDefinitionDao.queryByCode(depTaskCode);
+            TaskDefinition taskDefinition = dependentResultCacheManager.queryTaskDefinition(depTaskCode);
 
             if (taskDefinition == null) {
                 log.error("The dependent task definition can not be find, so return depend failed, taskCode: {}",
@@ -318,22 +318,41 @@ public class DependentExecute {
      */
     private ProcessInstance findLastProcessInterval(Long definitionCode, Long taskCode, DateInterval dateInterval,
                                                     int testFlag) {
+        return dependentResultCacheManager.queryLastProcessInstanceInterval(definitionCode, taskCode, dateInterval,
+                testFlag);
+    }
 
-        ProcessInstance lastSchedulerProcess =
-                processInstanceDao.queryLastSchedulerProcessInterval(definitionCode, taskCode, dateInterval, testFlag);
-
-        ProcessInstance lastManualProcess =
-                processInstanceDao.queryLastManualProcessInterval(definitionCode, taskCode, dateInterval, testFlag);
-
-        if (lastManualProcess == null) {
-            return lastSchedulerProcess;
+    /**
+     * prefetch the last task instances of the depend_task items, the task instances in the same process instance are
+     * loaded by one query rather than one query per item
+     *
+     * @param currentTime current time
+     * @param testFlag test flag
+     */
+    private void prefetchDependentTaskInstances(Date currentTime, int testFlag) {
+        prefetchedTaskInstanceMap.clear();
+        if (!dependentResultCacheManager.isEnabled()) {
+            return;
         }
-        if (lastSchedulerProcess == null) {
-            return lastManualProcess;
+        Map<Integer, Set<Long>> dependTaskCodeMap = new HashMap<>();
+        for (DependentItem dependentItem : dependItemList) {
+            long depTaskCode = dependentItem.getDepTaskCode();
+            if (depTaskCode == Constants.DEPENDENT_WORKFLOW_CODE || depTaskCode == Constants.DEPENDENT_ALL_TASK_CODE
+                    || dependResultMap.containsKey(dependentItem.getKey())) {
+                continue;
+            }
+            for (DateInterval dateInterval : DependentUtils.getDateIntervalList(currentTime,
+                    dependentItem.getDateValue())) {
+                ProcessInstance lastProcessInstance = findLastProcessInterval(dependentItem.getDefinitionCode(),
+                        depTaskCode, dateInterval, testFlag);
+                if (lastProcessInstance != null) {
+                    dependTaskCodeMap.computeIfAbsent(lastProcessInstance.getId(), k -> new HashSet<>())
+                            .add(depTaskCode);
+                }
+            }
         }
-
-        // In the time range, there are both manual and scheduled workflow instances, return the last workflow instance
-        return lastManualProcess.getId() > lastSchedulerProcess.getId() ? lastManualProcess : lastSchedulerProcess;
+        dependTaskCodeMap.forEach((processInstanceId, taskCodes) -> prefetchedTaskInstanceMap.put(processInstanceId,
+                dependentResultCacheManager.queryLastTaskInstances(processInstanceId, taskCodes, testFlag)));
     }
 
     /**
@@ -385,6 +404,7 @@ public class DependentExecute {
 
         List<DependResult> dependResultList = new ArrayList<>();
 
+        prefetchDependentTaskInstances(currentTime, testFlag);
         for (DependentItem dependentItem : dependItemList) {
             if (isSelfDependent(dependentItem) && isFirstProcessInstance(dependentItem)) {
                 // if self-dependent, default success at first time
@@ -407,6 +427,7 @@ public class DependentExecute {
             dependItemVarPoolEndTimeMap.clear();
             dependResultList.add(dependResult);
         }
+        prefetchedTaskInstanceMap.clear();
         return DependentUtils.getDependResultForRelation(this.relation, dependResultList);
     }
 
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
+import org.apache.dolphinscheduler.dao.repository.TaskDefinitionDao;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+@ExtendWith(MockitoExtension.class)
+class DependentResultCacheManagerImplTest {
+
+    @Mock
+    private ProcessInstanceDao processInstanceDao;
+
+    @Mock
+    private TaskInstanceDao taskInstanceDao;
+
+    @Mock
+    private TaskDefinitionDao taskDefinitionDao;
+
+    private final MasterConfig masterConfig = new MasterConfig();
+
+    private final DateInterval dateInterval = new DateInterval(new Date(0), new Date(1000));
+
+    private DependentResultCacheManagerImpl dependentResultCacheManager;
+
+    @BeforeEach
+    void setUp() {
+        dependentResultCacheManager =
+                new DependentResultCacheManagerImpl(processInstanceDao, taskInstanceDao, taskDefinitionDao,
+                        masterConfig);
+    }
+
+    @Test
+    void queryLastProcessInstanceIntervalOnlyQueryOnce() {
+        ProcessInstance scheduledProcessInstance = processInstance(1, 10L);
+        ProcessInstance manualProcessInstance = processInstance(2, 10L);
+        when(processInstanceDao.queryLastSchedulerProcessInterval(eq(10L), eq(-1L), any(), eq(0)))
+                .thenReturn(scheduledProcessInstance);
+        when(processInstanceDao.queryLastManualProcessInterval(eq(10L), eq(-1L), any(), eq(0)))
+                .thenReturn(manualProcessInstance);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(dependentResultCacheManager.queryLastProcessInstanceInterval(10L, -1L, dateInterval, 0))
+                    .isSameInstanceAs(manualProcessInstance);
+        }
+        verify(processInstanceDao, times(1)).queryLastSchedulerProcessInterval(anyLong(), anyLong(), any(), anyInt());
+        verify(processInstanceDao, times(1)).queryLastManualProcessInterval(anyLong(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void invalidateWorkflowInstanceReloadTheUpstreamWorkflow() {
+        ProcessInstance processInstance = processInstance(1, 10L);
+        assertThat(dependentResultCacheManager.queryLastProcessInstanceInterval(10L, -1L, dateInterval, 0)).isNull();
+
+        when(processInstanceDao.queryLastSchedulerProcessInterval(eq(10L), eq(-1L), any(), eq(0)))
+                .thenReturn(processInstance);
+        assertThat(dependentResultCacheManager.queryLastProcessInstanceInterval(10L, -1L, dateInterval, 0)).isNull();
+
+        dependentResultCacheManager.invalidateWorkflowInstance(processInstance);
+        assertThat(dependentResultCacheManager.queryLastProcessInstanceInterval(10L, -1L, dateInterval, 0))
+                .isSameInstanceAs(processInstance);
+    }
+
+    @Test
+    void queryLastTaskInstancesLoadMissingTaskCodesInOneQuery() {
+        TaskInstance taskInstance1 = taskInstance(1, 1L);
+        TaskInstance taskInstance2 = taskInstance(1, 2L);
+        when(taskInstanceDao.queryLastTaskInstanceListIntervalInProcessInstance(1, Sets.newHashSet(1L, 2L, 3L), 0))
+                .thenReturn(Lists.newArrayList(taskInstance1, taskInstance2));
+
+        Map<Long, TaskInstance> taskInstances =
+                dependentResultCacheManager.queryLastTaskInstances(1, Sets.newHashSet(1L, 2L, 3L), 0);
+        assertThat(taskInstances).containsExactly(1L, taskInstance1, 2L, taskInstance2);
+
+        // all the task codes are cached, including the one without task instance
+        assertThat(dependentResultCacheManager.queryLastTaskInstance(1, 1L, 0)).isSameInstanceAs(taskInstance1);
+        assertThat(dependentResultCacheManager.queryLastTaskInstance(1, 3L, 0)).isNull();
+        verify(taskInstanceDao, times(1)).queryLastTaskInstanceListIntervalInProcessInstance(anyInt(), any(),
+                anyInt());
+    }
+
+    @Test
+    void invalidateTaskInstanceReloadTheTaskInstancesOfWorkflowInstance() {
+        TaskInstance taskInstance = taskInstance(1, 1L);
+        assertThat(dependentResultCacheManager.queryLastTaskInstance(1, 1L, 0)).isNull();
+
+        when(taskInstanceDao.queryLastTaskInstanceListIntervalInProcessInstance(1, Sets.newHashSet(1L), 0))
+                .thenReturn(Lists.newArrayList(taskInstance));
+        dependentResultCacheManager.invalidateTaskInstance(taskInstance);
+        assertThat(dependentResultCacheManager.queryLastTaskInstance(1, 1L, 0)).isSameInstanceAs(taskInstance);
+    }
+
+    @Test
+    void invalidateTaskInstanceOnlyReloadTheSameWorkflowInstance() {
+        dependentResultCacheManager.queryLastTaskInstance(1, 1L, 0);
+        dependentResultCacheManager.queryLastTaskInstance(2, 1L, 0);
+
+        dependentResultCacheManager.invalidateTaskInstance(taskInstance(1, 1L));
+        dependentResultCacheManager.queryLastTaskInstance(1, 1L, 0);
+        dependentResultCacheManager.queryLastTaskInstance(2, 1L, 0);
+
+        verify(taskInstanceDao, times(2)).queryLastTaskInstanceListIntervalInProcessInstance(eq(1), any(), anyInt());
+        verify(taskInstanceDao, times(1)).queryLastTaskInstanceListIntervalInProcessInstance(eq(2), any(), anyInt());
+    }
+
+    @Test
+    void invalidateTaskInstanceReloadTheTaskInstanceLoadedAgainAfterEvicted() {
+        masterConfig.getDependentResultCacheConfig().setMaximumSize(1);
+        dependentResultCacheManager =
+                new DependentResultCacheManagerImpl(processInstanceDao, taskInstanceDao, taskDefinitionDao,
+                        masterConfig);
+
+        dependentResultCacheManager.queryLastTaskInstance(1, 1L, 0);
+        // evict the task instance of workflow instance 1, and then load it again
+        dependentResultCacheManager.queryLastTaskInstance(2, 1L, 0);
+        dependentResultCacheManager.queryLastTaskInstance(1, 1L, 0);
+        verify(taskInstanceDao, times(2)).queryLastTaskInstanceListIntervalInProcessInstance(eq(1), any(), anyInt());
+
+        TaskInstance taskInstance = taskInstance(1, 1L);
+        when(taskInstanceDao.queryLastTaskInstanceListIntervalInProcessInstance(1, Sets.newHashSet(1L), 0))
+                .thenReturn(Lists.newArrayList(taskInstance));
+        dependentResultCacheManager.invalidateTaskInstance(taskInstance);
+        assertThat(dependentResultCacheManager.queryLastTaskInstance(1, 1L, 0)).isSameInstanceAs(taskInstance);
+    }
+
+    @Test
+    void disabledCacheAlwaysQueryDatabase() {
+        masterConfig.getDependentResultCacheConfig().setEnabled(false);
+        dependentResultCacheManager =
+                new DependentResultCacheManagerImpl(processInstanceDao, taskInstanceDao, taskDefinitionDao,
+                        masterConfig);
+
+        dependentResultCacheManager.queryLastProcessInstanceInterval(10L, -1L, dateInterval, 0);
+        dependentResultCacheManager.queryLastProcessInstanceInterval(10L, -1L, dateInterval, 0);
+        dependentResultCacheManager.queryTaskDefinition(1L);
+        dependentResultCacheManager.queryTaskDefinition(1L);
+
+        verify(processInstanceDao, times(2)).queryLastSchedulerProcessInterval(anyLong(), anyLong(), any(), anyInt());
+        verify(taskDefinitionDao, times(2)).queryByCode(1L);
+    }
+
+    private ProcessInstance processInstance(int id, long definitionCode) {
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(id);
+        processInstance.setProcessDefinitionCode(definitionCode);
+        return processInstance;
+    }
+
+    private TaskInstance taskInstance(int processInstanceId, long taskCode) {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setProcessInstanceId(processInstanceId);
+        taskInstance.setTaskCode(taskCode);
+        return taskInstance;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.graph.WorkflowDefinitionGraph;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.google.common.collect.Lists;
+
+@ExtendWith(MockitoExtension.class)
+class WorkflowGraphCacheManagerImplTest {
+
+    @Mock
+    private ProcessService processService;
+
+    @Mock
+    private TaskDefinitionLogDao taskDefinitionLogDao;
+
+    private final MasterConfig masterConfig = new MasterConfig();
+
+    @Test
+    void getWorkflowDefinitionGraphOnlyLoadOncePerVersion() throws Exception {
+        when(processService.transformTask(anyList(), anyList()))
+                .thenAnswer(invocation -> Lists.newArrayList(taskNode(1L), taskNode(2L, 1L)));
+        WorkflowGraphCacheManagerImpl workflowGraphCacheManager =
+                new WorkflowGraphCacheManagerImpl(processService, taskDefinitionLogDao, masterConfig);
+
+        WorkflowDefinitionGraph workflowDefinitionGraph = workflowGraphCacheManager.getWorkflowDefinitionGraph(10L, 1);
+        for (int i = 0; i < 10; i++) {
+            assertThat(workflowGraphCacheManager.getWorkflowDefinitionGraph(10L, 1))
+                    .isSameInstanceAs(workflowDefinitionGraph);
+        }
+        assertThat(workflowGraphCacheManager.getWorkflowDefinitionGraph(10L, 2))
+                .isNotSameInstanceAs(workflowDefinitionGraph);
+        verify(processService, times(2)).findRelationByCode(anyLong(), anyInt());
+        verify(processService, times(2)).transformTask(anyList(), anyList());
+    }
+
+    @Test
+    void getWorkflowDefinitionGraphWhenCacheDisabled() throws Exception {
+        masterConfig.getWorkflowGraphCacheConfig().setEnabled(false);
+        when(processService.transformTask(anyList(), anyList()))
+                .thenAnswer(invocation -> Lists.newArrayList(taskNode(1L)));
+        WorkflowGraphCacheManagerImpl workflowGraphCacheManager =
+                new WorkflowGraphCacheManagerImpl(processService, taskDefinitionLogDao, masterConfig);
+
+        assertThat(workflowGraphCacheManager.getWorkflowDefinitionGraph(10L, 1))
+                .isNotSameInstanceAs(workflowGraphCacheManager.getWorkflowDefinitionGraph(10L, 1));
+        verify(processService, times(2)).transformTask(anyList(), anyList());
+    }
+
+    @Test
+    void getWorkflowDefinitionGraphCompileFullDag() throws Exception {
+        when(processService.transformTask(anyList(), anyList()))
+                .thenReturn(Lists.newArrayList(taskNode(1L), taskNode(2L, 1L), taskNode(3L, 1L, 2L)));
+        WorkflowGraphCacheManagerImpl workflowGraphCacheManager =
+                new WorkflowGraphCacheManagerImpl(processService, taskDefinitionLogDao, masterConfig);
+
+        WorkflowDefinitionGraph workflowDefinitionGraph = workflowGraphCacheManager.getWorkflowDefinitionGraph(10L, 1);
+        assertThat(workflowDefinitionGraph.getTaskNodeMap().keySet()).containsExactly(1L, 2L, 3L);
+        assertThat(workflowDefinitionGraph.getFullDag().getBeginNode()).containsExactly(1L);
+        assertThat(workflowDefinitionGraph.getFullDag().getSubsequentNodes(1L)).containsExactly(2L, 3L);
+        assertThat(workflowDefinitionGraph.getFullDag().getPreviousNodes(3L)).containsExactly(1L, 2L);
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> workflowDefinitionGraph.getTaskNodes().add(taskNode(4L)));
+    }
+
+    @Test
+    void getWorkflowDefinitionGraphWithoutTask() throws Exception {
+        when(processService.transformTask(any(), any())).thenReturn(Lists.newArrayList());
+        WorkflowGraphCacheManagerImpl workflowGraphCacheManager =
+                new WorkflowGraphCacheManagerImpl(processService, taskDefinitionLogDao, masterConfig);
+
+        WorkflowDefinitionGraph workflowDefinitionGraph = workflowGraphCacheManager.getWorkflowDefinitionGraph(10L, 1);
+        assertThat(workflowDefinitionGraph.getTaskNodes()).isEmpty();
+        Assertions.assertNull(workflowDefinitionGraph.getFullDag());
+    }
+
+    private static TaskNode taskNode(long code, Long... preTaskCodes) {
+        TaskNode taskNode = new TaskNode();
+        taskNode.setCode(code);
+        taskNode.setName("task-" + code);
+        taskNode.setDepList(preTaskCodes.length == 0 ? Collections.emptyList() : Lists.newArrayList(preTaskCodes));
+        return taskNode;
+    }
+}
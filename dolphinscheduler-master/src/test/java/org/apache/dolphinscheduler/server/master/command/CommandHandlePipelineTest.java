@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.server.master.config.CommandConsumeConfig;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnableFactory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CommandHandlePipelineTest {
+
+    @InjectMocks
+    private CommandHandlePipeline commandHandlePipeline;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @Mock
+    private WorkflowExecuteRunnableFactory workflowExecuteRunnableFactory;
+
+    private int nextCommandId = 1;
+
+    @AfterEach
+    void tearDown() {
+        commandHandlePipeline.close();
+    }
+
+    @Test
+    void submitCommandsSkipInFlightCommand() throws Exception {
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        Mockito.when(workflowExecuteRunnableFactory.createWorkflowExecuteRunnable(Mockito.any()))
+                .thenAnswer(invocation -> {
+                    blockLatch.await();
+                    return Optional.empty();
+                });
+        startPipeline(1, 10);
+
+        List<Command> commands = createCommands(5);
+        assertThat(commandHandlePipeline.submitCommands(commands)).isEqualTo(5);
+        Mockito.verify(workflowExecuteRunnableFactory, Mockito.timeout(5000)).createWorkflowExecuteRunnable(
+                Mockito.any());
+        // the commands are still in the pipeline, should not be submitted again
+        assertThat(commandHandlePipeline.submitCommands(commands)).isEqualTo(0);
+        blockLatch.countDown();
+    }
+
+    @Test
+    void submitCommandsWhenQueueIsFull() throws Exception {
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        Mockito.when(workflowExecuteRunnableFactory.createWorkflowExecuteRunnable(Mockito.any()))
+                .thenAnswer(invocation -> {
+                    blockLatch.await();
+                    return Optional.empty();
+                });
+        startPipeline(1, 2);
+
+        // one command is taken by the handle thread, two commands are in the queue
+        assertThat(commandHandlePipeline.submitCommands(createCommands(1))).isEqualTo(1);
+        Mockito.verify(workflowExecuteRunnableFactory, Mockito.timeout(5000)).createWorkflowExecuteRunnable(
+                Mockito.any());
+        List<Command> commands = createCommands(4);
+        assertThat(commandHandlePipeline.submitCommands(commands)).isEqualTo(2);
+        assertThat(commandHandlePipeline.remainingCapacity()).isEqualTo(0);
+        blockLatch.countDown();
+    }
+
+    @Test
+    void handleCommands() throws Exception {
+        Mockito.when(workflowExecuteRunnableFactory.createWorkflowExecuteRunnable(Mockito.any()))
+                .thenReturn(Optional.empty());
+        startPipeline(2, 10);
+
+        assertThat(commandHandlePipeline.submitCommands(createCommands(5))).isEqualTo(5);
+        Mockito.verify(workflowExecuteRunnableFactory, Mockito.timeout(5000).times(5))
+                .createWorkflowExecuteRunnable(Mockito.any());
+    }
+
+    private void startPipeline(int handleThreads, int handleQueueCapacity) {
+        CommandConsumeConfig commandConsumeConfig = new CommandConsumeConfig();
+        commandConsumeConfig.setHandleQueueCapacity(handleQueueCapacity);
+        Mockito.when(masterConfig.getCommandConsumeConfig()).thenReturn(commandConsumeConfig);
+        Mockito.when(masterConfig.getPreExecThreads()).thenReturn(handleThreads);
+        commandHandlePipeline.start();
+    }
+
+    private List<Command> createCommands(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> {
+                    Command command = new Command();
+                    command.setId(nextCommandId++);
+                    return command;
+                })
+                .collect(Collectors.toList());
+    }
+}
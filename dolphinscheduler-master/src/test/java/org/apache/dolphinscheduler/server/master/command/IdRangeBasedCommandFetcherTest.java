@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.command;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+import org.apache.dolphinscheduler.server.master.registry.MasterSlotManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class IdRangeBasedCommandFetcherTest {
+
+    @Mock
+    private CommandDao commandDao;
+
+    @Mock
+    private MasterSlotManager masterSlotManager;
+
+    private IdRangeBasedCommandFetcher idRangeBasedCommandFetcher;
+
+    @BeforeEach
+    void setUp() {
+        CommandFetchStrategy.IdSlotBasedFetchConfig fetchConfig = new CommandFetchStrategy.IdSlotBasedFetchConfig();
+        fetchConfig.setIdStep(1);
+        fetchConfig.setFetchSize(10);
+        idRangeBasedCommandFetcher = new IdRangeBasedCommandFetcher(fetchConfig, masterSlotManager, commandDao);
+    }
+
+    @Test
+    void fetchCommandsWhenSlotIsInvalid() {
+        Mockito.when(masterSlotManager.getSlot()).thenReturn(-1);
+        Mockito.when(masterSlotManager.getMasterSize()).thenReturn(0);
+        assertThat(idRangeBasedCommandFetcher.fetchCommands()).isEmpty();
+        Mockito.verifyNoInteractions(commandDao);
+    }
+
+    @Test
+    void fetchCommandsWhenNoCommand() {
+        Mockito.when(masterSlotManager.getSlot()).thenReturn(0);
+        Mockito.when(masterSlotManager.getMasterSize()).thenReturn(2);
+        Mockito.when(commandDao.queryMinCommandId()).thenReturn(null);
+        Mockito.when(commandDao.queryMaxCommandId()).thenReturn(null);
+        assertThat(idRangeBasedCommandFetcher.fetchCommands()).isEmpty();
+        Mockito.verify(commandDao, Mockito.never())
+                .queryCommandByIdSlotInIdRange(anyInt(), anyInt(), anyInt(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void fetchCommandsAcrossWindows() {
+        Mockito.when(masterSlotManager.getSlot()).thenReturn(0);
+        Mockito.when(masterSlotManager.getMasterSize()).thenReturn(2);
+        Mockito.when(commandDao.queryMinCommandId()).thenReturn(1);
+        Mockito.when(commandDao.queryMaxCommandId()).thenReturn(100);
+        // window size = 1 * 2 * 10 = 20
+        Mockito.when(commandDao.queryCommandByIdSlotInIdRange(0, 2, 1, 1L, 21L, 10))
+                .thenReturn(createCommands(4));
+        Mockito.when(commandDao.queryCommandByIdSlotInIdRange(0, 2, 1, 21L, 41L, 6))
+                .thenReturn(Collections.emptyList());
+        Mockito.when(commandDao.queryCommandByIdSlotInIdRange(0, 2, 1, 41L, 61L, 6))
+                .thenReturn(createCommands(6));
+
+        assertThat(idRangeBasedCommandFetcher.fetchCommands()).hasSize(10);
+        Mockito.verify(commandDao, Mockito.times(3))
+                .queryCommandByIdSlotInIdRange(eq(0), eq(2), eq(1), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void fetchCommandsStopAtMaxCommandId() {
+        Mockito.when(masterSlotManager.getSlot()).thenReturn(1);
+        Mockito.when(masterSlotManager.getMasterSize()).thenReturn(2);
+        Mockito.when(commandDao.queryMinCommandId()).thenReturn(1);
+        Mockito.when(commandDao.queryMaxCommandId()).thenReturn(30);
+        Mockito.when(commandDao.queryCommandByIdSlotInIdRange(eq(1), eq(2), eq(1), anyLong(), anyLong(), anyInt()))
+                .thenReturn(createCommands(1));
+
+        assertThat(idRangeBasedCommandFetcher.fetchCommands()).hasSize(2);
+        Mockito.verify(commandDao, Mockito.times(2))
+                .queryCommandByIdSlotInIdRange(eq(1), eq(2), eq(1), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void fetchCommandsResumeFromCursorWhenReachMaxScanWindows() {
+        CommandFetchStrategy.IdSlotBasedFetchConfig fetchConfig = new CommandFetchStrategy.IdSlotBasedFetchConfig();
+        fetchConfig.setIdStep(1);
+        fetchConfig.setFetchSize(10);
+        fetchConfig.setMaxScanWindows(3);
+        idRangeBasedCommandFetcher = new IdRangeBasedCommandFetcher(fetchConfig, masterSlotManager, commandDao);
+        Mockito.when(masterSlotManager.getSlot()).thenReturn(0);
+        Mockito.when(masterSlotManager.getMasterSize()).thenReturn(2);
+        Mockito.when(commandDao.queryMinCommandId()).thenReturn(1);
+        Mockito.when(commandDao.queryMaxCommandId()).thenReturn(100);
+        Mockito.when(commandDao.queryCommandByIdSlotInIdRange(eq(0), eq(2), eq(1), anyLong(), anyLong(), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+        // window size = 1 * 2 * 10 = 20, the first fetch scans [1, 61), the second one resumes from 61 and reaches
+        // the max command id, the third one starts from the min command id again
+        assertThat(idRangeBasedCommandFetcher.fetchCommands()).isEmpty();
+        assertThat(idRangeBasedCommandFetcher.fetchCommands()).isEmpty();
+        assertThat(idRangeBasedCommandFetcher.fetchCommands()).isEmpty();
+
+        InOrder inOrder = Mockito.inOrder(commandDao);
+        for (long windowStart : new long[]{1L, 21L, 41L, 61L, 81L, 1L}) {
+            inOrder.verify(commandDao).queryCommandByIdSlotInIdRange(0, 2, 1, windowStart, windowStart + 20, 10);
+        }
+    }
+
+    @Test
+    void fetchCommandsResumeFromLastWindowWhenFetchedEnough() {
+        Mockito.when(masterSlotManager.getSlot()).thenReturn(0);
+        Mockito.when(masterSlotManager.getMasterSize()).thenReturn(2);
+        Mockito.when(commandDao.queryMinCommandId()).thenReturn(1);
+        Mockito.when(commandDao.queryMaxCommandId()).thenReturn(100);
+        Mockito.when(commandDao.queryCommandByIdSlotInIdRange(0, 2, 1, 1L, 21L, 10))
+                .thenReturn(Collections.emptyList());
+        Mockito.when(commandDao.queryCommandByIdSlotInIdRange(0, 2, 1, 21L, 41L, 10))
+                .thenReturn(createCommands(10));
+
+        assertThat(idRangeBasedCommandFetcher.fetchCommands()).hasSize(10);
+        assertThat(idRangeBasedCommandFetcher.fetchCommands()).hasSize(10);
+        Mockito.verify(commandDao, Mockito.times(1)).queryCommandByIdSlotInIdRange(0, 2, 1, 1L, 21L, 10);
+        Mockito.verify(commandDao, Mockito.times(2)).queryCommandByIdSlotInIdRange(0, 2, 1, 21L, 41L, 10);
+    }
+
+    private List<Command> createCommands(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> new Command())
+                .collect(Collectors.toList());
+    }
+
+}
@@ -21,6 +21,8 @@ import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -61,4 +63,13 @@ public class MasterConfigTest {
         assertThat(idSlotBasedFetchConfig.getIdStep()).isEqualTo(3);
         assertThat(idSlotBasedFetchConfig.getFetchSize()).isEqualTo(11);
     }
+
+    @Test
+    public void getCommandConsumeConfig() {
+        CommandConsumeConfig commandConsumeConfig = masterConfig.getCommandConsumeConfig();
+        assertThat(commandConsumeConfig.getHandleQueueCapacity()).isEqualTo(1000);
+        assertThat(commandConsumeConfig.getMaxWorkflowEventQueueSize()).isEqualTo(1000);
+        assertThat(commandConsumeConfig.getMinIdleFetchInterval()).isEqualTo(Duration.ofMillis(10));
+        assertThat(commandConsumeConfig.getMaxIdleFetchInterval()).isEqualTo(Duration.ofSeconds(1));
+    }
 }
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host;
+
+import org.apache.dolphinscheduler.common.enums.ServerStatus;
+import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
+import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+import org.apache.dolphinscheduler.server.master.registry.WorkerInfoChangeListener;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class LowerWeightHostManagerTest {
+
+    private static final String WORKER_GROUP = "default";
+
+    private static final String WORKER_1 = "127.0.0.1:1234";
+
+    private static final String WORKER_2 = "127.0.0.2:1234";
+
+    @Mock
+    private ServerNodeManager serverNodeManager;
+
+    @InjectMocks
+    private LowerWeightHostManager lowerWeightHostManager;
+
+    private WorkerInfoChangeListener workerInfoChangeListener;
+
+    @BeforeEach
+    public void setUp() {
+        lowerWeightHostManager.init();
+        ArgumentCaptor<WorkerInfoChangeListener> listenerCaptor =
+                ArgumentCaptor.forClass(WorkerInfoChangeListener.class);
+        Mockito.verify(serverNodeManager).addWorkerInfoChangeListener(listenerCaptor.capture());
+        workerInfoChangeListener = listenerCaptor.getValue();
+    }
+
+    @Test
+    public void testSelectWorkerGroupNotFound() {
+        Assertions.assertThrows(WorkerGroupNotFoundException.class,
+                () -> lowerWeightHostManager.select(WORKER_GROUP));
+    }
+
+    @Test
+    public void testSelectTrackInFlightDispatch() throws WorkerGroupNotFoundException {
+        Map<String, WorkerHeartBeat> heartBeats = new HashMap<>();
+        heartBeats.put(WORKER_1, heartBeat(ServerStatus.NORMAL, 0, 1000L));
+        heartBeats.put(WORKER_2, heartBeat(ServerStatus.NORMAL, 0, 1000L));
+        notifyWorkers(heartBeats);
+
+        // the dispatches are not finished, they should be spread to all workers rather than the same lightest one
+        Map<String, Integer> selectedCount = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            String address = lowerWeightHostManager.select(WORKER_GROUP).get().getAddress();
+            selectedCount.merge(address, 1, Integer::sum);
+        }
+        Assertions.assertEquals(5, selectedCount.get(WORKER_1));
+        Assertions.assertEquals(5, selectedCount.get(WORKER_2));
+    }
+
+    @Test
+    public void testSelectByDispatchResponseLoad() throws WorkerGroupNotFoundException {
+        Map<String, WorkerHeartBeat> heartBeats = new HashMap<>();
+        heartBeats.put(WORKER_1, heartBeat(ServerStatus.NORMAL, 0, 1000L));
+        heartBeats.put(WORKER_2, heartBeat(ServerStatus.NORMAL, 0, 1000L));
+        notifyWorkers(heartBeats);
+
+        // the worker 1 reports that it has a lot of tasks in the dispatch response
+        lowerWeightHostManager.onDispatchFinished(Host.of(WORKER_1), dispatchResponse(20, 2000L));
+        for (int i = 0; i < 10; i++) {
+            Host host = lowerWeightHostManager.select(WORKER_GROUP).get();
+            Assertions.assertEquals(WORKER_2, host.getAddress());
+            lowerWeightHostManager.onDispatchFinished(host, dispatchResponse(i + 1, 2000L + i));
+        }
+
+        // the stale heartbeat should not override the newer dispatch response
+        notifyWorkers(heartBeats);
+        Assertions.assertEquals(WORKER_2, lowerWeightHostManager.select(WORKER_GROUP).get().getAddress());
+
+        // the newer heartbeat shows the tasks in worker 1 are finished
+        heartBeats.put(WORKER_1, heartBeat(ServerStatus.NORMAL, 0, 3000L));
+        notifyWorkers(heartBeats);
+        Assertions.assertEquals(WORKER_1, lowerWeightHostManager.select(WORKER_GROUP).get().getAddress());
+    }
+
+    @Test
+    public void testSelectBusyWorker() throws WorkerGroupNotFoundException {
+        Map<String, WorkerHeartBeat> heartBeats = new HashMap<>();
+        heartBeats.put(WORKER_1, heartBeat(ServerStatus.BUSY, 0, 1000L));
+        heartBeats.put(WORKER_2, heartBeat(ServerStatus.NORMAL, 10, 1000L));
+        notifyWorkers(heartBeats);
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals(WORKER_2, lowerWeightHostManager.select(WORKER_GROUP).get().getAddress());
+        }
+
+        // all the workers are busy
+        heartBeats.put(WORKER_2, heartBeat(ServerStatus.BUSY, 10, 2000L));
+        notifyWorkers(heartBeats);
+        Assertions.assertTrue(lowerWeightHostManager.select(WORKER_GROUP).isPresent());
+    }
+
+    @Test
+    public void testSelectExcludeHosts() throws WorkerGroupNotFoundException {
+        Map<String, WorkerHeartBeat> heartBeats = new HashMap<>();
+        heartBeats.put(WORKER_1, heartBeat(ServerStatus.NORMAL, 0, 1000L));
+        heartBeats.put(WORKER_2, heartBeat(ServerStatus.NORMAL, 10, 1000L));
+        notifyWorkers(heartBeats);
+
+        // the worker 1 is lighter but excluded, e.g. it is backing off
+        Set<Host> excludedHosts = Collections.singleton(Host.of(WORKER_1));
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals(WORKER_2,
+                    lowerWeightHostManager.select(WORKER_GROUP, excludedHosts).get().getAddress());
+        }
+        Set<Host> allHosts = new HashSet<>(Arrays.asList(Host.of(WORKER_1), Host.of(WORKER_2)));
+        Assertions.assertFalse(lowerWeightHostManager.select(WORKER_GROUP, allHosts).isPresent());
+    }
+
+    @Test
+    public void testSelectAfterWorkerGroupRemoved() throws WorkerGroupNotFoundException {
+        Map<String, WorkerHeartBeat> heartBeats = new HashMap<>();
+        heartBeats.put(WORKER_1, heartBeat(ServerStatus.NORMAL, 0, 1000L));
+        notifyWorkers(heartBeats);
+        Assertions.assertEquals(WORKER_1, lowerWeightHostManager.select(WORKER_GROUP).get().getAddress());
+
+        workerInfoChangeListener.notify(new HashMap<>(), new HashMap<>());
+        Assertions.assertThrows(WorkerGroupNotFoundException.class,
+                () -> lowerWeightHostManager.select(WORKER_GROUP));
+    }
+
+    private void notifyWorkers(Map<String, WorkerHeartBeat> heartBeats) {
+        Map<String, Set<String>> workerGroups = new HashMap<>();
+        workerGroups.put(WORKER_GROUP, new HashSet<>(heartBeats.keySet()));
+        workerInfoChangeListener.notify(workerGroups, new HashMap<>(heartBeats));
+    }
+
+    private WorkerHeartBeat heartBeat(ServerStatus serverStatus, int taskCount, long reportTime) {
+        return WorkerHeartBeat.builder()
+                .serverStatus(serverStatus)
+                .workerHostWeight(100)
+                .threadPoolUsage(taskCount)
+                .reportTime(reportTime)
+                .build();
+    }
+
+    private TaskInstanceDispatchResponse dispatchResponse(int workerTaskCount, long workerReportTime) {
+        TaskInstanceDispatchResponse response = TaskInstanceDispatchResponse.success(1);
+        response.setWorkerTaskCount(workerTaskCount);
+        response.setWorkerReportTime(workerReportTime);
+        return response;
+    }
+}
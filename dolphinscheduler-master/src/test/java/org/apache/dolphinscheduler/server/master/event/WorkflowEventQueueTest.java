@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.event;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WorkflowEventQueueTest {
+
+    private WorkflowEventQueue workflowEventQueue;
+
+    @BeforeEach
+    void setUp() {
+        MasterConfig masterConfig = new MasterConfig();
+        masterConfig.setWorkflowEventLooperThreads(4);
+        workflowEventQueue = new WorkflowEventQueue(masterConfig);
+    }
+
+    @Test
+    void addEventToTheShardOfWorkflowInstance() throws InterruptedException {
+        workflowEventQueue.addEvent(new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1));
+        workflowEventQueue.addEvent(new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 5));
+        workflowEventQueue.addEvent(new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 2));
+
+        assertThat(workflowEventQueue.getShardCount()).isEqualTo(4);
+        assertThat(workflowEventQueue.getWorkflowEventQueueSize()).isEqualTo(3);
+        assertThat(workflowEventQueue.getWorkflowEventQueueSize(1)).isEqualTo(2);
+        assertThat(workflowEventQueue.getWorkflowEventQueueSize(2)).isEqualTo(1);
+
+        // the events in the same shard keep the order
+        assertThat(workflowEventQueue.poolEvent(1).getWorkflowInstanceId()).isEqualTo(1);
+        assertThat(workflowEventQueue.poolEvent(1).getWorkflowInstanceId()).isEqualTo(5);
+        assertThat(workflowEventQueue.poolEvent(2).getWorkflowInstanceId()).isEqualTo(2);
+    }
+
+    @Test
+    void clearWorkflowEventQueue() {
+        for (int i = 0; i < 10; i++) {
+            workflowEventQueue.addEvent(new WorkflowEvent(WorkflowEventType.START_WORKFLOW, i));
+        }
+        assertThat(workflowEventQueue.getWorkflowEventQueueSize()).isEqualTo(10);
+
+        workflowEventQueue.clearWorkflowEventQueue();
+        assertThat(workflowEventQueue.getWorkflowEventQueueSize()).isEqualTo(0);
+    }
+}
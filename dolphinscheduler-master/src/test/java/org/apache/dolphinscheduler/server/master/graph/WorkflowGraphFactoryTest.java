@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowGraphCacheManager;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.google.common.collect.Lists;
+
+@ExtendWith(MockitoExtension.class)
+class WorkflowGraphFactoryTest {
+
+    @InjectMocks
+    private WorkflowGraphFactory workflowGraphFactory;
+
+    @Mock
+    private WorkflowGraphCacheManager workflowGraphCacheManager;
+
+    private WorkflowDefinitionGraph workflowDefinitionGraph;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        workflowDefinitionGraph = new WorkflowDefinitionGraph(10L, 1,
+                Lists.newArrayList(taskNode(1L), taskNode(2L, 1L), taskNode(3L, 2L)));
+        when(workflowGraphCacheManager.getWorkflowDefinitionGraph(10L, 1)).thenReturn(workflowDefinitionGraph);
+    }
+
+    @Test
+    void createWorkflowGraphShareFullDag() throws Exception {
+        IWorkflowGraph workflowGraph = workflowGraphFactory.createWorkflowGraph(workflowInstance(null));
+
+        assertThat(workflowGraph.getDag()).isSameInstanceAs(workflowDefinitionGraph.getFullDag());
+        assertThat(workflowGraph.getTaskNodeByCode(2L))
+                .isSameInstanceAs(workflowDefinitionGraph.getTaskNodeMap().get(2L));
+    }
+
+    @Test
+    void createWorkflowGraphWithStartNodes() throws Exception {
+        IWorkflowGraph workflowGraph =
+                workflowGraphFactory.createWorkflowGraph(workflowInstance("{\"StartNodeList\":\"2\"}"));
+
+        assertThat(workflowGraph.getDag()).isNotSameInstanceAs(workflowDefinitionGraph.getFullDag());
+        assertThat(workflowGraph.getDag().getBeginNode()).containsExactly(2L);
+        assertThat(workflowGraph.getDag().containsNode(1L)).isFalse();
+        assertThat(workflowGraph.getDag().getSubsequentNodes(2L)).containsExactly(3L);
+        // the task nodes out of the DAG can still be found
+        assertThat(workflowGraph.getTaskNodeByCode(1L).getCode()).isEqualTo(1L);
+    }
+
+    private static ProcessInstance workflowInstance(String commandParam) {
+        ProcessInstance workflowInstance = new ProcessInstance();
+        workflowInstance.setProcessDefinitionCode(10L);
+        workflowInstance.setProcessDefinitionVersion(1);
+        workflowInstance.setTaskDependType(TaskDependType.TASK_POST);
+        workflowInstance.setCommandParam(commandParam);
+        return workflowInstance;
+    }
+
+    private static TaskNode taskNode(long code, Long... preTaskCodes) {
+        TaskNode taskNode = new TaskNode();
+        taskNode.setCode(code);
+        taskNode.setName("task-" + code);
+        taskNode.setDepList(preTaskCodes.length == 0 ? Collections.emptyList() : Lists.newArrayList(preTaskCodes));
+        return taskNode;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.processor.queue;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskInstanceWriteBehindService.PersistCallback;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TaskInstanceWriteBehindServiceTest {
+
+    @Mock
+    private TaskInstanceDao taskInstanceDao;
+
+    private MasterConfig masterConfig;
+
+    private TaskInstanceWriteBehindService taskInstanceWriteBehindService;
+
+    private final List<List<TaskInstance>> flushedBatches = new CopyOnWriteArrayList<>();
+
+    private final List<String> callbackRecords = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        masterConfig = new MasterConfig();
+        masterConfig.getTaskInstanceWriteBehindConfig().setFlushInterval(Duration.ofMillis(200));
+        masterConfig.getTaskInstanceWriteBehindConfig().setMaxBatchSize(100);
+        taskInstanceWriteBehindService = new TaskInstanceWriteBehindService(taskInstanceDao, masterConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskInstanceWriteBehindService.stop();
+    }
+
+    @Test
+    void persist_coalesceTheChangesOfTheSameTaskInstance() {
+        recordFlushedBatches();
+        taskInstanceWriteBehindService.start();
+
+        taskInstanceWriteBehindService.persist(taskInstance(1, TaskExecutionStatus.RUNNING_EXECUTION),
+                recordCallback("running-1"));
+        taskInstanceWriteBehindService.persist(taskInstance(2, TaskExecutionStatus.RUNNING_EXECUTION),
+                recordCallback("running-2"));
+        taskInstanceWriteBehindService.persist(taskInstance(1, TaskExecutionStatus.SUCCESS),
+                recordCallback("result-1"));
+        // a delayed running event never overwrites the finished state
+        taskInstanceWriteBehindService.persist(taskInstance(1, TaskExecutionStatus.RUNNING_EXECUTION),
+                recordCallback("running-1-delay"));
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> callbackRecords.size() == 4);
+        assertThat(flushedBatches).hasSize(1);
+        List<TaskInstance> flushedBatch = flushedBatches.get(0);
+        assertThat(flushedBatch).hasSize(2);
+        assertThat(flushedBatch.get(0).getId()).isEqualTo(1);
+        assertThat(flushedBatch.get(0).getState()).isEqualTo(TaskExecutionStatus.SUCCESS);
+        assertThat(flushedBatch.get(1).getId()).isEqualTo(2);
+        assertThat(callbackRecords)
+                .containsExactly("running-1", "running-2", "result-1", "running-1-delay")
+                .inOrder();
+    }
+
+    @Test
+    void persist_flushOnceReachMaxBatchSize() {
+        masterConfig.getTaskInstanceWriteBehindConfig().setFlushInterval(Duration.ofMinutes(1));
+        recordFlushedBatches();
+        taskInstanceWriteBehindService.start();
+
+        for (int i = 0; i < 250; i++) {
+            taskInstanceWriteBehindService.persist(taskInstance(i, TaskExecutionStatus.SUCCESS),
+                    recordCallback("result-" + i));
+        }
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> callbackRecords.size() == 200);
+        assertThat(flushedBatches).hasSize(2);
+        assertThat(flushedBatches.get(0)).hasSize(100);
+        assertThat(flushedBatches.get(1)).hasSize(100);
+        // the remaining changes are flushed when stopping
+        taskInstanceWriteBehindService.stop();
+        assertThat(callbackRecords).hasSize(250);
+    }
+
+    @Test
+    void persist_skipTheTaskInstanceFinishedByOthers() {
+        // the task instance 1 is killed or failed over by others before the changes are flushed
+        Mockito.when(taskInstanceDao.batchUpdateUnfinishedById(Mockito.any()))
+                .thenReturn(Collections.singleton(1));
+        taskInstanceWriteBehindService.start();
+
+        taskInstanceWriteBehindService.persist(taskInstance(1, TaskExecutionStatus.RUNNING_EXECUTION),
+                recordCallback("running-1"));
+        taskInstanceWriteBehindService.persist(taskInstance(2, TaskExecutionStatus.RUNNING_EXECUTION),
+                recordCallback("running-2"));
+        taskInstanceWriteBehindService.persist(taskInstance(1, TaskExecutionStatus.SUCCESS),
+                recordCallback("result-1"));
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> callbackRecords.size() == 3);
+        assertThat(callbackRecords)
+                .containsExactly("skipped-running-1", "running-2", "skipped-result-1")
+                .inOrder();
+    }
+
+    @Test
+    void persist_notAckWhenFlushFailed() {
+        Mockito.doThrow(new RuntimeException("db is down")).when(taskInstanceDao)
+                .batchUpdateUnfinishedById(Mockito.any());
+        taskInstanceWriteBehindService.start();
+
+        taskInstanceWriteBehindService.persist(taskInstance(1, TaskExecutionStatus.SUCCESS),
+                recordCallback("result-1"));
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> callbackRecords.size() == 1);
+        assertThat(callbackRecords).containsExactly("failed-result-1");
+    }
+
+    @Test
+    void persist_persistImmediatelyWhenDisabled() {
+        masterConfig.getTaskInstanceWriteBehindConfig().setEnabled(false);
+        recordFlushedBatches();
+        taskInstanceWriteBehindService.start();
+
+        taskInstanceWriteBehindService.persist(taskInstance(1, TaskExecutionStatus.SUCCESS),
+                recordCallback("result-1"));
+
+        assertThat(flushedBatches).hasSize(1);
+        assertThat(callbackRecords).containsExactly("result-1");
+    }
+
+    private void recordFlushedBatches() {
+        Mockito.doAnswer(invocation -> {
+            Collection<TaskInstance> taskInstances = invocation.getArgument(0);
+            flushedBatches.add(new ArrayList<>(taskInstances));
+            return Collections.emptySet();
+        }).when(taskInstanceDao).batchUpdateUnfinishedById(Mockito.any());
+    }
+
+    private PersistCallback recordCallback(String name) {
+        return new PersistCallback() {
+
+            @Override
+            public void onPersisted() {
+                callbackRecords.add(name);
+            }
+
+            @Override
+            public void onSkipped() {
+                callbackRecords.add("skipped-" + name);
+            }
+
+            @Override
+            public void onPersistFailed(Throwable throwable) {
+                callbackRecords.add("failed-" + name);
+            }
+        };
+    }
+
+    private TaskInstance taskInstance(int id, TaskExecutionStatus state) {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(id);
+        taskInstance.setState(state);
+        return taskInstance;
+    }
+}
@@ -17,27 +17,38 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
+import static com.google.common.truth.Truth.assertThat;
 import static java.time.Duration.ofSeconds;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.exception.TaskDispatchException;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatchFactory;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatcher;
 import org.apache.dolphinscheduler.server.master.runner.operator.TaskExecuteRunnableOperatorManager;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -59,6 +70,16 @@ class GlobalTaskDispatchWaitingQueueLooperTest {
     @Mock
     private TaskDispatchFactory taskDispatchFactory;
 
+    @Mock
+    private MasterConfig masterConfig;
+
+    @BeforeEach
+    void setUp() {
+        when(masterConfig.getDispatchTaskNumber()).thenReturn(3);
+        when(masterConfig.getMaxInFlightDispatchTask()).thenReturn(4);
+        when(masterConfig.getMaxDispatchBackoffInterval()).thenReturn(Duration.ofSeconds(10));
+    }
+
     @Test
     void testTaskExecutionRunnableStatusIsNotSubmitted() throws Exception {
         ProcessInstance processInstance = new ProcessInstance();
@@ -73,7 +94,6 @@ class GlobalTaskDispatchWaitingQueueLooperTest {
 
         TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
         when(taskDispatchFactory.getTaskDispatcher(taskInstance)).thenReturn(taskDispatcher);
-        doNothing().when(taskDispatcher).dispatchTask(any());
 
         when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).thenReturn(defaultTaskExecuteRunnable);
         globalTaskDispatchWaitingQueueLooper.start();
@@ -96,15 +116,119 @@ class GlobalTaskDispatchWaitingQueueLooperTest {
 
         TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
         when(taskDispatchFactory.getTaskDispatcher(taskInstance)).thenReturn(taskDispatcher);
-        doNothing().when(taskDispatcher).dispatchTask(any());
+        when(taskDispatcher.selectDispatchHost(any(), any())).thenReturn(Optional.of(Host.of("127.0.0.1:1234")));
+        when(taskDispatcher.dispatchTaskAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
 
         when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).thenReturn(defaultTaskExecuteRunnable);
         globalTaskDispatchWaitingQueueLooper.start();
         await().atMost(ofSeconds(1)).untilAsserted(() -> {
             verify(taskDispatchFactory, atLeastOnce()).getTaskDispatcher(any(TaskInstance.class));
-            verify(taskDispatcher, atLeastOnce()).dispatchTask(any(TaskExecuteRunnable.class));
+            verify(taskDispatcher, atLeastOnce()).dispatchTaskAsync(any(TaskExecuteRunnable.class), any(Host.class));
         });
         globalTaskDispatchWaitingQueueLooper.close();
 
     }
+
+    @Test
+    void testDispatchFailureOfOneHostNotBlockOthers() throws Exception {
+        DefaultTaskExecuteRunnable failedTaskExecuteRunnable = createTaskExecuteRunnable("failed");
+        DefaultTaskExecuteRunnable successTaskExecuteRunnable = createTaskExecuteRunnable("success");
+        Host failedHost = Host.of("127.0.0.1:1234");
+        Host successHost = Host.of("127.0.0.2:1234");
+
+        TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
+        when(taskDispatchFactory.getTaskDispatcher(any(TaskInstance.class))).thenReturn(taskDispatcher);
+        when(taskDispatcher.selectDispatchHost(eq(failedTaskExecuteRunnable), any()))
+                .thenReturn(Optional.of(failedHost));
+        when(taskDispatcher.selectDispatchHost(eq(successTaskExecuteRunnable), any()))
+                .thenReturn(Optional.of(successHost));
+        CompletableFuture<Void> failedFuture = new CompletableFuture<>();
+        failedFuture.completeExceptionally(new TaskDispatchException("worker is down"));
+        when(taskDispatcher.dispatchTaskAsync(failedTaskExecuteRunnable, failedHost)).thenReturn(failedFuture);
+        when(taskDispatcher.dispatchTaskAsync(successTaskExecuteRunnable, successHost))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable())
+                .thenReturn(failedTaskExecuteRunnable, successTaskExecuteRunnable);
+        globalTaskDispatchWaitingQueueLooper.start();
+        await().atMost(ofSeconds(5)).untilAsserted(() -> {
+            verify(taskDispatcher, atLeastOnce()).dispatchTaskAsync(successTaskExecuteRunnable, successHost);
+            verify(taskDispatcher, atLeastOnce()).dispatchTaskAsync(failedTaskExecuteRunnable, failedHost);
+            // the failed task is put back to the waiting queue with a back-off
+            verify(globalTaskDispatchWaitingQueue).submitTaskExecuteRunnable(failedTaskExecuteRunnable);
+        });
+        assertThat(failedTaskExecuteRunnable.getTaskExecutionContext().getDispatchFailTimes()).isEqualTo(1);
+        // the host backing off is excluded when selecting the host for the following tasks
+        await().atMost(ofSeconds(5)).untilAsserted(() -> verify(taskDispatcher, atLeastOnce())
+                .selectDispatchHost(eq(successTaskExecuteRunnable), argThat(hosts -> hosts.contains(failedHost))));
+        globalTaskDispatchWaitingQueueLooper.close();
+    }
+
+    @Test
+    void testReleaseSelectedHostWhenNotDispatched() throws Exception {
+        DefaultTaskExecuteRunnable taskExecuteRunnable = createTaskExecuteRunnable("default");
+        Host host = Host.of("127.0.0.1:1234");
+        TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
+        when(taskDispatchFactory.getTaskDispatcher(any(TaskInstance.class))).thenReturn(taskDispatcher);
+        // the dispatcher always selects the same host, e.g. the master executes the logic task itself
+        when(taskDispatcher.selectDispatchHost(eq(taskExecuteRunnable), any())).thenReturn(Optional.of(host));
+        when(taskDispatcher.dispatchTaskAsync(taskExecuteRunnable, host)).thenReturn(new CompletableFuture<>());
+
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).thenReturn(taskExecuteRunnable);
+        globalTaskDispatchWaitingQueueLooper.start();
+        // the host can have at most 2 in-flight dispatches, the selected host is released when it is throttled
+        await().atMost(ofSeconds(5)).untilAsserted(() -> verify(taskDispatcher, atLeastOnce())
+                .releaseDispatchHost(host));
+        globalTaskDispatchWaitingQueueLooper.close();
+        verify(taskDispatcher, times(2)).dispatchTaskAsync(taskExecuteRunnable, host);
+    }
+
+    @Test
+    void testSelectHostFailedWillBackoff() throws Exception {
+        DefaultTaskExecuteRunnable taskExecuteRunnable = createTaskExecuteRunnable("default");
+        TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
+        when(taskDispatchFactory.getTaskDispatcher(any(TaskInstance.class))).thenReturn(taskDispatcher);
+        when(taskDispatcher.selectDispatchHost(eq(taskExecuteRunnable), any()))
+                .thenThrow(new TaskDispatchException("Cannot find the host to execute task."));
+
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).thenReturn(taskExecuteRunnable);
+        globalTaskDispatchWaitingQueueLooper.start();
+        await().atMost(ofSeconds(1)).untilAsserted(
+                () -> verify(globalTaskDispatchWaitingQueue, atLeastOnce()).submitTaskExecuteRunnable(
+                        taskExecuteRunnable));
+        globalTaskDispatchWaitingQueueLooper.close();
+        verify(taskDispatcher, never()).dispatchTaskAsync(any(), any());
+    }
+
+    @Test
+    void testDispatchBackoffOverlapsDelayTime() {
+        DefaultTaskExecuteRunnable taskExecuteRunnable = createTaskExecuteRunnable("default");
+        taskExecuteRunnable.getTaskExecutionContext().setFirstSubmitTime(System.currentTimeMillis());
+        taskExecuteRunnable.getTaskExecutionContext().setDelayTime(1);
+
+        taskExecuteRunnable.backoffDispatch(10_000L);
+        assertThat(taskExecuteRunnable.getDelay(TimeUnit.SECONDS)).isAtMost(60L);
+
+        taskExecuteRunnable.backoffDispatch(120_000L);
+        assertThat(taskExecuteRunnable.getDelay(TimeUnit.SECONDS)).isAtLeast(119L);
+    }
+
+    @Test
+    void testGetBackoffMills() {
+        assertThat(GlobalTaskDispatchWaitingQueueLooper.getBackoffMills(1, 10_000L)).isEqualTo(100L);
+        assertThat(GlobalTaskDispatchWaitingQueueLooper.getBackoffMills(3, 10_000L)).isEqualTo(400L);
+        assertThat(GlobalTaskDispatchWaitingQueueLooper.getBackoffMills(100, 10_000L)).isEqualTo(10_000L);
+    }
+
+    private DefaultTaskExecuteRunnable createTaskExecuteRunnable(String workerGroup) {
+        ProcessInstance processInstance = new ProcessInstance();
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setName(workerGroup);
+        taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+        taskInstance.setTaskParams(JSONUtils.toJsonString(new HashMap<>()));
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setWorkerGroup(workerGroup);
+        return new DefaultTaskExecuteRunnable(processInstance, taskInstance, taskExecutionContext,
+                new TaskExecuteRunnableOperatorManager());
+    }
 }
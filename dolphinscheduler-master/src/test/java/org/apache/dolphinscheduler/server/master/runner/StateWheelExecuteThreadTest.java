@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.enums.StateEventType;
+import org.apache.dolphinscheduler.common.enums.TimeoutFlag;
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.StateEvent;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StateWheelExecuteThreadTest {
+
+    @InjectMocks
+    private StateWheelExecuteThread stateWheelExecuteThread;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @Mock
+    private WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
+    @Mock
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    @Mock
+    private WorkflowExecuteRunnable workflowExecuteRunnable;
+
+    @Mock
+    private IWorkflowExecuteContext workflowExecuteContext;
+
+    private ProcessInstance processInstance;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(masterConfig.getStateWheelInterval()).thenReturn(Duration.ofMillis(10));
+        stateWheelExecuteThread.startWheelThread();
+
+        processInstance = new ProcessInstance();
+        processInstance.setId(1);
+        processInstance.setState(WorkflowExecutionStatus.RUNNING_EXECUTION);
+        Mockito.when(processInstanceExecCacheManager.getByProcessInstanceId(1)).thenReturn(workflowExecuteRunnable);
+        Mockito.when(workflowExecuteRunnable.getWorkflowExecuteContext()).thenReturn(workflowExecuteContext);
+        Mockito.when(workflowExecuteContext.getWorkflowInstance()).thenReturn(processInstance);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stateWheelExecuteThread.close();
+    }
+
+    @Test
+    void processTimeoutCheckFired() {
+        processInstance.setTimeout(1);
+        processInstance.setStartTime(new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(2)));
+        stateWheelExecuteThread.addProcess4TimeoutCheck(processInstance);
+
+        Mockito.verify(workflowExecuteThreadPool, Mockito.timeout(5000))
+                .submitStateEvent(Mockito.argThat(eventType(StateEventType.PROCESS_TIMEOUT)));
+    }
+
+    @Test
+    void processTimeoutCheckCancelled() throws InterruptedException {
+        processInstance.setTimeout(1);
+        // will be timeout after about 500ms
+        processInstance.setStartTime(new Date(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(60) + 500));
+        stateWheelExecuteThread.addProcess4TimeoutCheck(processInstance);
+        stateWheelExecuteThread.removeProcess4TimeoutCheck(processInstance.getId());
+
+        Thread.sleep(2000);
+        Mockito.verifyNoInteractions(workflowExecuteThreadPool);
+    }
+
+    @Test
+    void taskTimeoutCheckFired() {
+        TaskInstance taskInstance = createTaskInstance();
+        taskInstance.setStartTime(new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(2)));
+        Mockito.when(workflowExecuteRunnable.getActiveTaskInstanceByTaskCode(taskInstance.getTaskCode()))
+                .thenReturn(Optional.of(taskInstance));
+        stateWheelExecuteThread.addTask4TimeoutCheck(processInstance, taskInstance);
+
+        Mockito.verify(workflowExecuteThreadPool, Mockito.timeout(5000))
+                .submitStateEvent(Mockito.argThat(eventType(StateEventType.TASK_TIMEOUT)));
+    }
+
+    @Test
+    void taskRetryCheckFired() {
+        TaskInstance taskInstance = createTaskInstance();
+        taskInstance.setState(TaskExecutionStatus.FAILURE);
+        taskInstance.setMaxRetryTimes(1);
+        taskInstance.setRetryInterval(1);
+        taskInstance.setEndTime(new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(2)));
+        Mockito.when(workflowExecuteRunnable.getRetryTaskInstanceByTaskCode(taskInstance.getTaskCode()))
+                .thenReturn(Optional.of(taskInstance));
+        stateWheelExecuteThread.addTask4RetryCheck(processInstance, taskInstance);
+
+        Mockito.verify(workflowExecuteThreadPool, Mockito.timeout(5000))
+                .submitStateEvent(Mockito.argThat(eventType(StateEventType.TASK_RETRY)));
+    }
+
+    private TaskInstance createTaskInstance() {
+        TaskDefinition taskDefinition = new TaskDefinition();
+        taskDefinition.setTimeoutFlag(TimeoutFlag.OPEN);
+        taskDefinition.setTimeout(1);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setProcessInstanceId(1);
+        taskInstance.setTaskCode(1L);
+        taskInstance.setTaskDefinitionVersion(1);
+        taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        taskInstance.setTaskDefine(taskDefinition);
+        return taskInstance;
+    }
+
+    private ArgumentMatcher<StateEvent> eventType(StateEventType stateEventType) {
+        return stateEvent -> stateEvent != null && stateEvent.getType() == stateEventType;
+    }
+
+}
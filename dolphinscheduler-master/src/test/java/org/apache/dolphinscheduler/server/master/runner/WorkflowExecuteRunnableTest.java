@@ -36,6 +36,7 @@ import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.graph.IWorkflowGraph;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
@@ -155,7 +156,8 @@ public class WorkflowExecuteRunnableTest {
                         taskInstanceDao,
                         defaultTaskExecuteRunnableFactory,
                         listenerEventAlertManager,
-                        taskGroupCoordinator));
+                        taskGroupCoordinator,
+                        Mockito.mock(DependentResultCacheManager.class)));
     }
 
     @Test
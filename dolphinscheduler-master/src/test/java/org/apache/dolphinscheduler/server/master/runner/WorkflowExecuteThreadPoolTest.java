@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.enums.StateEventType;
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.StateEvent;
+import org.apache.dolphinscheduler.server.master.event.WorkflowStateEvent;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WorkflowExecuteThreadPoolTest {
+
+    @InjectMocks
+    private WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @Mock
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    @Mock
+    private StateWheelExecuteThread stateWheelExecuteThread;
+
+    @Mock
+    private WorkflowExecuteRunnable workflowExecuteRunnable;
+
+    @Mock
+    private IWorkflowExecuteContext workflowExecuteContext;
+
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+
+    private final AtomicInteger handledEvents = new AtomicInteger();
+
+    private final AtomicInteger handlingThreads = new AtomicInteger();
+
+    private final AtomicBoolean concurrentHandled = new AtomicBoolean(false);
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(masterConfig.getExecThreads()).thenReturn(4);
+        ReflectionTestUtils.invokeMethod(workflowExecuteThreadPool, "init");
+        workflowExecuteThreadPool.initialize();
+
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(1);
+        Mockito.when(processInstanceExecCacheManager.getByProcessInstanceId(1)).thenReturn(workflowExecuteRunnable);
+        Mockito.when(workflowExecuteRunnable.getWorkflowExecuteContext()).thenReturn(workflowExecuteContext);
+        Mockito.when(workflowExecuteContext.getWorkflowInstance()).thenReturn(processInstance);
+        Mockito.when(workflowExecuteRunnable.eventSize()).thenAnswer(invocation -> pendingEvents.get());
+        Mockito.when(workflowExecuteRunnable.addStateEvent(Mockito.any())).thenAnswer(invocation -> {
+            pendingEvents.incrementAndGet();
+            return true;
+        });
+        Mockito.doAnswer(invocation -> {
+            if (handlingThreads.incrementAndGet() > 1) {
+                concurrentHandled.set(true);
+            }
+            TimeUnit.MILLISECONDS.sleep(1);
+            handledEvents.addAndGet(pendingEvents.getAndSet(0));
+            handlingThreads.decrementAndGet();
+            return null;
+        }).when(workflowExecuteRunnable).handleEvents();
+    }
+
+    @AfterEach
+    void tearDown() {
+        workflowExecuteThreadPool.shutdown();
+    }
+
+    @Test
+    void testSubmitStateEventHandledByOneThreadAtTheSameTime() throws InterruptedException {
+        Mockito.when(workflowExecuteRunnable.isStart()).thenReturn(true);
+
+        int submitThreads = 8;
+        int eventsPerThread = 200;
+        ExecutorService submitExecutor = Executors.newFixedThreadPool(submitThreads);
+        CountDownLatch latch = new CountDownLatch(submitThreads);
+        for (int i = 0; i < submitThreads; i++) {
+            submitExecutor.execute(() -> {
+                for (int j = 0; j < eventsPerThread; j++) {
+                    workflowExecuteThreadPool.submitStateEvent(createStateEvent());
+                }
+                latch.countDown();
+            });
+        }
+        latch.await();
+        submitExecutor.shutdown();
+
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> Assertions.assertEquals(submitThreads * eventsPerThread, handledEvents.get()));
+        Assertions.assertFalse(concurrentHandled.get());
+    }
+
+    @Test
+    void testSubmitStateEventBeforeWorkflowStarted() {
+        Mockito.when(workflowExecuteRunnable.isStart()).thenReturn(false);
+        workflowExecuteThreadPool.submitStateEvent(createStateEvent());
+        Mockito.verify(workflowExecuteRunnable, Mockito.after(200).never()).handleEvents();
+
+        // the events submitted before started will be handled once the workflow is started
+        Mockito.when(workflowExecuteRunnable.isStart()).thenReturn(true);
+        workflowExecuteThreadPool.executeEvent(workflowExecuteRunnable);
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> Assertions.assertEquals(1, handledEvents.get()));
+    }
+
+    @Test
+    void testFinishedWorkflowRemovedFromCache() {
+        Mockito.when(workflowExecuteRunnable.isStart()).thenReturn(true);
+        Mockito.when(workflowExecuteRunnable.workFlowFinish()).thenReturn(true);
+        workflowExecuteThreadPool.submitStateEvent(createStateEvent());
+
+        Mockito.verify(processInstanceExecCacheManager, Mockito.timeout(10000)).removeByProcessInstanceId(1);
+        Mockito.verify(stateWheelExecuteThread).removeProcess4TimeoutCheck(1);
+    }
+
+    private StateEvent createStateEvent() {
+        return WorkflowStateEvent.builder()
+                .processInstanceId(1)
+                .status(WorkflowExecutionStatus.RUNNING_EXECUTION)
+                .type(StateEventType.PROCESS_STATE_CHANGE)
+                .build();
+    }
+}
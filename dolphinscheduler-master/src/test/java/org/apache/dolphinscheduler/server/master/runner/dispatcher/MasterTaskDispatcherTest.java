@@ -22,6 +22,8 @@ import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
 import org.apache.dolphinscheduler.server.master.runner.TaskExecuteRunnable;
 
+import java.util.Collections;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -40,7 +42,8 @@ public class MasterTaskDispatcherTest {
 
         MasterTaskDispatcher masterTaskDispatcher =
                 new MasterTaskDispatcher(taskEventService, masterConfig);
-        Host taskInstanceDispatchHost = masterTaskDispatcher.getTaskInstanceDispatchHost(taskExecuteRunnable)
+        Host taskInstanceDispatchHost = masterTaskDispatcher
+                .getTaskInstanceDispatchHost(taskExecuteRunnable, Collections.emptySet())
                 .orElseThrow(() -> new IllegalArgumentException("Cannot get the "));
         Assertions.assertEquals(masterConfig.getMasterAddress(), taskInstanceDispatchHost.getAddress());
     }
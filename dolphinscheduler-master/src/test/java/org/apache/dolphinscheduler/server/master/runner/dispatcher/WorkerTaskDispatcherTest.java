@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.server.master.dispatch.host.HostManager;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
 import org.apache.dolphinscheduler.server.master.runner.TaskExecuteRunnable;
 
+import java.util.Collections;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Assertions;
@@ -41,13 +42,28 @@ public class WorkerTaskDispatcherTest {
         TaskEventService taskEventService = Mockito.mock(TaskEventService.class);
         MasterConfig masterConfig = Mockito.mock(MasterConfig.class);
         HostManager hostManager = Mockito.mock(HostManager.class);
-        Mockito.when(hostManager.select(Mockito.any())).thenReturn(Optional.of(Host.of("localhost:1234")));
+        Mockito.when(hostManager.select(Mockito.any(), Mockito.any()))
+                .thenReturn(Optional.of(Host.of("localhost:1234")));
         WorkerTaskDispatcher workerTaskDispatcher =
                 new WorkerTaskDispatcher(taskEventService, masterConfig, hostManager);
 
         TaskExecuteRunnable taskExecuteRunnable = Mockito.mock(TaskExecuteRunnable.class);
         Mockito.when(taskExecuteRunnable.getTaskExecutionContext()).thenReturn(new TaskExecutionContext());
-        Optional<Host> taskInstanceDispatchHost = workerTaskDispatcher.getTaskInstanceDispatchHost(taskExecuteRunnable);
+        Optional<Host> taskInstanceDispatchHost = workerTaskDispatcher.getTaskInstanceDispatchHost(taskExecuteRunnable,
+                Collections.emptySet());
         Assertions.assertEquals("localhost:1234", taskInstanceDispatchHost.get().getAddress());
     }
+
+    @Test
+    public void releaseDispatchHost() {
+        TaskEventService taskEventService = Mockito.mock(TaskEventService.class);
+        MasterConfig masterConfig = Mockito.mock(MasterConfig.class);
+        HostManager hostManager = Mockito.mock(HostManager.class);
+        WorkerTaskDispatcher workerTaskDispatcher =
+                new WorkerTaskDispatcher(taskEventService, masterConfig, hostManager);
+
+        Host host = Host.of("localhost:1234");
+        workerTaskDispatcher.releaseDispatchHost(host);
+        Mockito.verify(hostManager).onDispatchFinished(host, null);
+    }
 }
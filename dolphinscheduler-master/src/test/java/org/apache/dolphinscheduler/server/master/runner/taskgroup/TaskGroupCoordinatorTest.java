@@ -35,7 +35,9 @@ import org.apache.dolphinscheduler.dao.repository.TaskGroupQueueDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 
+import java.time.Duration;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
@@ -44,6 +46,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -72,6 +75,9 @@ class TaskGroupCoordinatorTest {
     @Mock
     private ProcessInstanceDao processInstanceDao;
 
+    @Spy
+    private MasterConfig masterConfig = new MasterConfig();
+
     @Test
     void start() throws InterruptedException {
         // Get the Lock from Registry
@@ -177,6 +183,81 @@ class TaskGroupCoordinatorTest {
         assertEquals(Flag.NO.getCode(), taskGroupQueue.getInQueue());
         assertEquals(TaskGroupQueueStatus.RELEASE, taskGroupQueue.getStatus());
         verify(taskGroupQueueDao, Mockito.times(1)).updateById(taskGroupQueue);
+        verify(taskGroupDao, Mockito.never()).releaseTaskGroupSlot(Mockito.anyInt());
+
+        // Release the TaskGroupQueue which is using the slot
+        TaskGroupQueue acquiredTaskGroupQueue = new TaskGroupQueue();
+        acquiredTaskGroupQueue.setGroupId(1);
+        acquiredTaskGroupQueue.setInQueue(Flag.YES.getCode());
+        acquiredTaskGroupQueue.setForceStart(Flag.NO.getCode());
+        acquiredTaskGroupQueue.setStatus(TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+        when(taskGroupQueueDao.queryByTaskInstanceId(taskInstance.getId()))
+                .thenReturn(Lists.newArrayList(acquiredTaskGroupQueue));
+        taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
+
+        assertEquals(TaskGroupQueueStatus.RELEASE, acquiredTaskGroupQueue.getStatus());
+        verify(taskGroupDao, Mockito.times(1)).releaseTaskGroupSlot(1);
+    }
+
+    @Test
+    void acquireTaskGroupSlotWakeupCoordinatorImmediately() {
+        masterConfig.setTaskGroupRecheckInterval(Duration.ofMinutes(1));
+        taskGroupCoordinator.start();
+        verify(registryClient, Mockito.timeout(1_000))
+                .releaseLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
+
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setTaskGroupId(1);
+        when(taskGroupDao.queryById(taskInstance.getTaskGroupId())).thenReturn(new TaskGroup());
+        when(taskGroupDao.acquireTaskGroupSlot(taskInstance.getTaskGroupId())).thenReturn(true);
+        when(taskGroupQueueDao.acquireWaitingTaskGroupQueue(Mockito.any())).thenReturn(true);
+        // The TaskInstance doesn't exist, so the acquired slot will be released
+        when(taskInstanceDao.queryById(taskInstance.getId())).thenReturn(null);
+        taskGroupCoordinator.acquireTaskGroupSlot(taskInstance);
+
+        verify(taskGroupDao, Mockito.timeout(1_000)).acquireTaskGroupSlot(taskInstance.getTaskGroupId());
+        verify(taskGroupDao, Mockito.timeout(1_000)).releaseTaskGroupSlot(taskInstance.getTaskGroupId());
+    }
+
+    @Test
+    void giveBackTheSlotIfTheTaskGroupQueueIsNotWaitingInDb() {
+        masterConfig.setTaskGroupRecheckInterval(Duration.ofMinutes(1));
+        taskGroupCoordinator.start();
+        verify(registryClient, Mockito.timeout(1_000))
+                .releaseLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
+
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setTaskGroupId(1);
+        when(taskGroupDao.queryById(taskInstance.getTaskGroupId())).thenReturn(new TaskGroup());
+        when(taskGroupDao.acquireTaskGroupSlot(taskInstance.getTaskGroupId())).thenReturn(true);
+        // The TaskGroupQueue is released or force started by others
+        when(taskGroupQueueDao.acquireWaitingTaskGroupQueue(Mockito.any())).thenReturn(false);
+        taskGroupCoordinator.acquireTaskGroupSlot(taskInstance);
+
+        verify(taskGroupDao, Mockito.timeout(1_000)).releaseTaskGroupSlot(taskInstance.getTaskGroupId());
+        verify(taskInstanceDao, Mockito.never()).queryById(taskInstance.getId());
+    }
+
+    @Test
+    void recheckWhileTheCoordinatorKeepsWakingUp() throws InterruptedException {
+        masterConfig.setTaskGroupRecheckInterval(Duration.ofMillis(300));
+        taskGroupCoordinator.start();
+        verify(registryClient, Mockito.timeout(1_000))
+                .releaseLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
 
+        when(taskGroupDao.queryById(1)).thenReturn(new TaskGroup());
+        // There is no available slot, the TaskGroupQueues keep waiting
+        when(taskGroupDao.acquireTaskGroupSlot(1)).thenReturn(false);
+        // Each acquire wakes up the coordinator before the recheck interval
+        for (int i = 1; i <= 50; i++) {
+            TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setId(i);
+            taskInstance.setTaskGroupId(1);
+            taskGroupCoordinator.acquireTaskGroupSlot(taskInstance);
+            Thread.sleep(20);
+        }
+        verify(taskGroupQueueDao, Mockito.atLeast(2)).queryByIds(Mockito.any());
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.taskgroup;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
+
+import org.junit.jupiter.api.Test;
+
+class TaskGroupWaitingQueueTest {
+
+    @Test
+    void peekTheHighestPriorityAndEarliestTaskGroupQueue() {
+        TaskGroupWaitingQueue taskGroupWaitingQueue = new TaskGroupWaitingQueue();
+        taskGroupWaitingQueue.add(taskGroupQueue(3, 10, 0));
+        taskGroupWaitingQueue.add(taskGroupQueue(2, 20, 1));
+        taskGroupWaitingQueue.add(taskGroupQueue(1, 30, 1));
+
+        assertThat(taskGroupWaitingQueue.size()).isEqualTo(3);
+        assertThat(taskGroupWaitingQueue.peek().getId()).isEqualTo(1);
+        assertThat(taskGroupWaitingQueue.remove(1)).isTrue();
+        assertThat(taskGroupWaitingQueue.peek().getId()).isEqualTo(2);
+        assertThat(taskGroupWaitingQueue.removeByTaskInstanceId(20)).isTrue();
+        assertThat(taskGroupWaitingQueue.peek().getId()).isEqualTo(3);
+        assertThat(taskGroupWaitingQueue.remove(3)).isTrue();
+        assertThat(taskGroupWaitingQueue.isEmpty()).isTrue();
+        assertThat(taskGroupWaitingQueue.peek()).isNull();
+    }
+
+    @Test
+    void addTheSameTaskGroupQueueRefreshThePriority() {
+        TaskGroupWaitingQueue taskGroupWaitingQueue = new TaskGroupWaitingQueue();
+        taskGroupWaitingQueue.add(taskGroupQueue(1, 10, 0));
+        taskGroupWaitingQueue.add(taskGroupQueue(2, 20, 1));
+        assertThat(taskGroupWaitingQueue.peek().getId()).isEqualTo(2);
+
+        taskGroupWaitingQueue.add(taskGroupQueue(1, 10, 2));
+        assertThat(taskGroupWaitingQueue.size()).isEqualTo(2);
+        assertThat(taskGroupWaitingQueue.peek().getId()).isEqualTo(1);
+    }
+
+    @Test
+    void removeTheTaskGroupQueueByIdAndTaskInstanceId() {
+        TaskGroupWaitingQueue taskGroupWaitingQueue = new TaskGroupWaitingQueue();
+        taskGroupWaitingQueue.add(taskGroupQueue(1, 10, 0));
+        taskGroupWaitingQueue.add(taskGroupQueue(2, 20, 0));
+
+        assertThat(taskGroupWaitingQueue.remove(1)).isTrue();
+        assertThat(taskGroupWaitingQueue.remove(1)).isFalse();
+        assertThat(taskGroupWaitingQueue.removeByTaskInstanceId(10)).isFalse();
+        assertThat(taskGroupWaitingQueue.removeByTaskInstanceId(30)).isFalse();
+
+        // refresh the priority keeps the task instance index
+        taskGroupWaitingQueue.add(taskGroupQueue(2, 20, 1));
+        assertThat(taskGroupWaitingQueue.removeByTaskInstanceId(20)).isTrue();
+        assertThat(taskGroupWaitingQueue.remove(2)).isFalse();
+        assertThat(taskGroupWaitingQueue.isEmpty()).isTrue();
+    }
+
+    private TaskGroupQueue taskGroupQueue(int id, int taskInstanceId, int priority) {
+        return TaskGroupQueue.builder()
+                .id(id)
+                .taskId(taskInstanceId)
+                .priority(priority)
+                .build();
+    }
+}
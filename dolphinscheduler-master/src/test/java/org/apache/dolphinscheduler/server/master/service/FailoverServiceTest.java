@@ -24,6 +24,7 @@ import static org.mockito.Mockito.doNothing;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.model.Server;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
@@ -39,12 +40,16 @@ import org.apache.dolphinscheduler.server.master.event.StateEvent;
 import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
+import org.apache.dolphinscheduler.server.master.runner.taskgroup.TaskGroupCoordinator;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -104,9 +109,11 @@ public class FailoverServiceTest {
         given(masterConfig.getListenPort()).willReturn(masterPort);
         testMasterHost = NetUtils.getAddr(masterConfig.getListenPort());
         given(masterConfig.getMasterAddress()).willReturn(testMasterHost);
+        given(masterConfig.getFailoverBatchSize()).willReturn(1000);
+        given(masterConfig.getFailoverThreadPoolSize()).willReturn(4);
         MasterFailoverService masterFailoverService =
                 new MasterFailoverService(registryClient, masterConfig, processService,
-                        processInstanceExecCacheManager);
+                        processInstanceExecCacheManager, Mockito.mock(TaskGroupCoordinator.class));
         WorkerFailoverService workerFailoverService = new WorkerFailoverService(registryClient,
                 masterConfig,
                 processService,
@@ -149,7 +156,7 @@ public class FailoverServiceTest {
 
         given(processService.queryNeedFailoverProcessInstances(Mockito.anyString()))
                 .willReturn(Arrays.asList(processInstance));
-        doNothing().when(processService).processNeedFailoverProcessInstances(Mockito.any(ProcessInstance.class));
+        doNothing().when(processService).processNeedFailoverProcessInstances(Mockito.anyList());
         given(taskInstanceDao.queryValidTaskListByWorkflowInstanceId(Mockito.anyInt(), Mockito.anyInt()))
                 .willReturn(Lists.newArrayList(masterTaskInstance, workerTaskInstance));
 
@@ -190,6 +197,32 @@ public class FailoverServiceTest {
         Assertions.assertEquals(masterTaskInstance.getState(), TaskExecutionStatus.RUNNING_EXECUTION);
     }
 
+    @Test
+    public void failoverMasterInBatchesTest() {
+        List<ProcessInstance> processInstances = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ProcessInstance needFailoverProcessInstance = new ProcessInstance();
+            needFailoverProcessInstance.setId(i);
+            needFailoverProcessInstance.setHost(testMasterHost);
+            needFailoverProcessInstance.setStartTime(new Date(0));
+            needFailoverProcessInstance.setProcessDefinitionCode(123L);
+            processInstances.add(needFailoverProcessInstance);
+        }
+        given(processService.queryNeedFailoverProcessInstances(Mockito.anyString())).willReturn(processInstances);
+        Set<Integer> failoverProcessInstanceIds = ConcurrentHashMap.newKeySet();
+        Mockito.doAnswer(invocation -> {
+            List<ProcessInstance> batch = invocation.getArgument(0);
+            Assertions.assertTrue(batch.size() <= 1000);
+            batch.forEach(p -> failoverProcessInstanceIds.add(p.getId()));
+            return null;
+        }).when(processService).processNeedFailoverProcessInstances(Mockito.anyList());
+
+        failoverService.failoverServerWhenDown(testMasterHost, RegistryNodeType.MASTER);
+
+        Mockito.verify(processService, Mockito.times(10)).processNeedFailoverProcessInstances(Mockito.anyList());
+        Assertions.assertEquals(10_000, failoverProcessInstanceIds.size());
+    }
+
     @Test
     public void failoverWorkTest() {
         workerTaskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
@@ -205,5 +238,39 @@ public class FailoverServiceTest {
 
         failoverService.failoverServerWhenDown(testWorkerHost, RegistryNodeType.WORKER);
         Assertions.assertEquals(TaskExecutionStatus.NEED_FAULT_TOLERANCE, workerTaskInstance.getState());
+        Mockito.verify(taskInstanceDao).updateStateAndFlagByIds(Lists.newArrayList(workerTaskInstance.getId()),
+                TaskExecutionStatus.NEED_FAULT_TOLERANCE, Flag.NO);
+    }
+
+    @Test
+    public void failoverWorkWhenCheckTaskInstanceThrowExceptionTest() {
+        TaskInstance brokenTaskInstance = new TaskInstance();
+        brokenTaskInstance.setId(3);
+        brokenTaskInstance.setProcessInstanceId(2);
+        brokenTaskInstance.setStartTime(new Date());
+        brokenTaskInstance.setHost(testWorkerHost);
+        brokenTaskInstance.setTaskType(COMMON_TASK_TYPE);
+        brokenTaskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        workerTaskInstance.setProcessInstanceId(processInstance.getId());
+        workerTaskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        WorkflowExecuteRunnable workflowExecuteRunnable = Mockito.mock(WorkflowExecuteRunnable.class);
+        Mockito.when(workflowExecuteRunnable.getAllTaskInstances())
+                .thenReturn(Lists.newArrayList(brokenTaskInstance, workerTaskInstance));
+
+        IWorkflowExecuteContext workflowExecuteRunnableContext = Mockito.mock(IWorkflowExecuteContext.class);
+        Mockito.when(workflowExecuteRunnable.getWorkflowExecuteContext()).thenReturn(workflowExecuteRunnableContext);
+        Mockito.when(workflowExecuteRunnableContext.getWorkflowInstance()).thenReturn(processInstance);
+
+        Mockito.when(cacheManager.getAll()).thenReturn(Lists.newArrayList(workflowExecuteRunnable));
+        Mockito.when(cacheManager.getByProcessInstanceId(processInstance.getId())).thenReturn(workflowExecuteRunnable);
+        Mockito.when(cacheManager.getByProcessInstanceId(brokenTaskInstance.getProcessInstanceId()))
+                .thenThrow(new RuntimeException("broken workflow instance"));
+
+        failoverService.failoverServerWhenDown(testWorkerHost, RegistryNodeType.WORKER);
+        // the exception of one task instance should not abort the failover of the others
+        Assertions.assertEquals(TaskExecutionStatus.RUNNING_EXECUTION, brokenTaskInstance.getState());
+        Assertions.assertEquals(TaskExecutionStatus.NEED_FAULT_TOLERANCE, workerTaskInstance.getState());
+        Mockito.verify(taskInstanceDao).updateStateAndFlagByIds(Lists.newArrayList(workerTaskInstance.getId()),
+                TaskExecutionStatus.NEED_FAULT_TOLERANCE, Flag.NO);
     }
 }
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.command;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare the fetch cost of the ID_SLOT_BASED and ID_RANGE_BASED command fetch strategies when the command backlog
+ * grows, the sql is the same as CommandMapper.xml.
+ */
+@Slf4j
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommandFetchBenchMarkTest extends AbstractBaseBenchmark {
+
+    private static final int TOTAL_SLOT = 3;
+
+    private static final int CURRENT_SLOT = 1;
+
+    private static final int ID_STEP = 1;
+
+    private static final int FETCH_SIZE = 10;
+
+    private static final String ID_SLOT_SQL = "select * from t_ds_command "
+            + "where (id / ?) % ? = ? "
+            + "order by process_instance_priority, id asc limit ?";
+
+    private static final String ID_RANGE_SQL = "select * from t_ds_command "
+            + "where id >= ? and id < ? and (id / ?) % ? = ? "
+            + "order by process_instance_priority, id asc limit ?";
+
+    private static final String MIN_MAX_ID_SQL = "select min(id), max(id) from t_ds_command";
+
+    @Param({"1000", "100000", "500000"})
+    private int commandSize;
+
+    private Connection connection;
+
+    @Setup
+    public void before() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:command_fetch_" + commandSize + ";DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists t_ds_command");
+            statement.execute("create table t_ds_command ("
+                    + "id int not null auto_increment primary key, "
+                    + "process_definition_code bigint not null, "
+                    + "command_param text, "
+                    + "process_instance_priority int default '2')");
+        }
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement(
+                        "insert into t_ds_command(process_definition_code, command_param) values (?, ?)")) {
+            for (int i = 0; i < commandSize; i++) {
+                preparedStatement.setLong(1, i);
+                preparedStatement.setString(2, "{}");
+                preparedStatement.addBatch();
+                if (i % 10000 == 0) {
+                    preparedStatement.executeBatch();
+                }
+            }
+            preparedStatement.executeBatch();
+        }
+    }
+
+    @Benchmark
+    public void idSlotBasedFetch(Blackhole bh) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(ID_SLOT_SQL)) {
+            preparedStatement.setInt(1, ID_STEP);
+            preparedStatement.setInt(2, TOTAL_SLOT);
+            preparedStatement.setInt(3, CURRENT_SLOT);
+            preparedStatement.setInt(4, FETCH_SIZE);
+            bh.consume(consume(preparedStatement));
+        }
+    }
+
+    @Benchmark
+    public void idRangeBasedFetch(Blackhole bh) throws SQLException {
+        long minId;
+        long maxId;
+        try (
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(MIN_MAX_ID_SQL)) {
+            resultSet.next();
+            minId = resultSet.getLong(1);
+            maxId = resultSet.getLong(2);
+        }
+        long windowSize = (long) ID_STEP * TOTAL_SLOT * FETCH_SIZE;
+        int fetched = 0;
+        for (long windowStart = minId; windowStart <= maxId && fetched < FETCH_SIZE; windowStart += windowSize) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(ID_RANGE_SQL)) {
+                preparedStatement.setLong(1, windowStart);
+                preparedStatement.setLong(2, windowStart + windowSize);
+                preparedStatement.setInt(3, ID_STEP);
+                preparedStatement.setInt(4, TOTAL_SLOT);
+                preparedStatement.setInt(5, CURRENT_SLOT);
+                preparedStatement.setInt(6, FETCH_SIZE - fetched);
+                fetched += consume(preparedStatement);
+            }
+        }
+        bh.consume(fetched);
+    }
+
+    private int consume(PreparedStatement preparedStatement) throws SQLException {
+        int count = 0;
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @TearDown
+    public void after() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists t_ds_command");
+        }
+        connection.close();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.graph;
+
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+import org.apache.dolphinscheduler.service.utils.DagHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Simulate the graph building when a workflow instance starts, the workflow definition is a layered DAG in which
+ * each task depends on the previous task and the task ten steps before.
+ * <p>
+ * The rebuildPerInstance benchmark is the previous way, each workflow instance creates the task nodes whose pre tasks
+ * are json strings and builds the DAG, the database queries to load the task definitions are not included. Now the
+ * compiled graph of a workflow definition version is cached on the master, the workflow instance which runs the whole
+ * workflow reuses the cached DAG, and the one which specifies start nodes builds its DAG from the cached task nodes.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorkflowGraphBenchMarkTest extends AbstractBaseBenchmark {
+
+    private static final long DEFINITION_CODE = 1L;
+
+    @Param({"2000"})
+    private int taskSize;
+
+    private List<String> preTaskJsons;
+
+    private List<TaskNode> cachedTaskNodes;
+
+    private final Map<Long, DAG<Long, TaskNode, TaskNodeRelation>> cachedDags = new ConcurrentHashMap<>();
+
+    private List<Long> startNodes;
+
+    @Setup
+    public void before() throws Exception {
+        preTaskJsons = new ArrayList<>(taskSize);
+        for (int i = 0; i < taskSize; i++) {
+            List<Long> preTasks = new ArrayList<>();
+            if (i > 0) {
+                preTasks.add((long) i - 1);
+            }
+            if (i >= 10) {
+                preTasks.add((long) i - 10);
+            }
+            preTaskJsons.add(JSONUtils.toJsonString(preTasks));
+        }
+        cachedTaskNodes = newTaskNodes();
+        cachedDags.put(DEFINITION_CODE, buildDag(cachedTaskNodes, Collections.emptyList()));
+        startNodes = Collections.singletonList((long) taskSize / 2);
+    }
+
+    @Benchmark
+    public void rebuildPerInstance(Blackhole bh) throws Exception {
+        bh.consume(buildDag(newTaskNodes(), Collections.emptyList()));
+    }
+
+    @Benchmark
+    public void reuseCachedDag(Blackhole bh) {
+        bh.consume(cachedDags.get(DEFINITION_CODE));
+    }
+
+    @Benchmark
+    public void buildFromCachedTaskNodesWithStartNode(Blackhole bh) throws Exception {
+        bh.consume(buildDag(cachedTaskNodes, startNodes));
+    }
+
+    private List<TaskNode> newTaskNodes() {
+        List<TaskNode> taskNodes = new ArrayList<>(taskSize);
+        for (int i = 0; i < taskSize; i++) {
+            TaskNode taskNode = new TaskNode();
+            taskNode.setCode(i);
+            taskNode.setName("task-" + i);
+            taskNode.setPreTasks(preTaskJsons.get(i));
+            taskNodes.add(taskNode);
+        }
+        return taskNodes;
+    }
+
+    private static DAG<Long, TaskNode, TaskNodeRelation> buildDag(List<TaskNode> taskNodes,
+                                                                  List<Long> startNodes) throws Exception {
+        return DagHelper.buildDagGraph(
+                DagHelper.generateFlowDag(taskNodes, startNodes, Collections.emptyList(), TaskDependType.TASK_POST));
+    }
+}
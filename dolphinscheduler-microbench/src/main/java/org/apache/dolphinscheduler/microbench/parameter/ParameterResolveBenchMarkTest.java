@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.parameter;
+
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.plugin.task.api.parser.PlaceholderTemplate;
+import org.apache.dolphinscheduler.plugin.task.api.parser.PlaceholderUtils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Simulate the parameter resolution when building the execution context of a task instance, the global parameters
+ * of the workflow instance refer to the previous ones by {@code ${name}} placeholders.
+ * <p>
+ * The legacyResolve benchmark is the previous way, the global params and command param json are parsed for each
+ * task instance, and a new parameter map is built to replace the placeholders of each parameter. Now the parsed json
+ * and the compiled placeholder templates are cached, the placeholders are looked up from the parameters directly.
+ * The project parameters query is not included, it is cached as well.
+ * <p>
+ * The time placeholder benchmarks compare creating the formatter of the pattern for each call with the cached one.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParameterResolveBenchMarkTest extends AbstractBaseBenchmark {
+
+    private static final String TIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    @Param({"50"})
+    private int paramSize;
+
+    private String globalParamsJson;
+
+    private String commandParamJson;
+
+    private final Map<String, Map<String, String>> parsedJsonCache = new ConcurrentHashMap<>();
+
+    private LocalDateTime localDateTime;
+
+    @Setup
+    public void before() {
+        List<Property> globalParams = new ArrayList<>(paramSize);
+        for (int i = 0; i < paramSize; i++) {
+            String value = i == 0 ? "/data/warehouse" : "${param" + (i - 1) + "}/level" + i;
+            globalParams.add(new Property("param" + i, Direct.IN, DataType.VARCHAR, value));
+        }
+        globalParamsJson = JSONUtils.toJsonString(globalParams);
+        commandParamJson =
+                "{\"schedule_timezone\":\"Asia/Shanghai\",\"StartParams\":\"{\\\"param0\\\":\\\"/tmp\\\"}\"}";
+        localDateTime = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public void legacyResolve(Blackhole bh) {
+        Map<String, Property> prepareParamsMap = new LinkedHashMap<>();
+        for (Property property : JSONUtils.toList(globalParamsJson, Property.class)) {
+            prepareParamsMap.put(property.getProp(), property);
+        }
+        bh.consume(JSONUtils.toMap(commandParamJson));
+        for (Property property : prepareParamsMap.values()) {
+            if (property.getValue().contains(PlaceholderUtils.PLACEHOLDER_PREFIX)) {
+                Map<String, String> paramMap = prepareParamsMap.entrySet().stream()
+                        .filter(entry -> entry.getValue().getValue() != null)
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getValue()));
+                property.setValue(PlaceholderUtils.getPropertyPlaceholderHelper(true)
+                        .replacePlaceholders(property.getValue(), paramMap::get));
+            }
+        }
+        bh.consume(prepareParamsMap);
+    }
+
+    @Benchmark
+    public void compiledResolve(Blackhole bh) {
+        Map<String, Property> prepareParamsMap = new LinkedHashMap<>();
+        parsedJson(globalParamsJson, json -> JSONUtils.toList(json, Property.class).stream()
+                .collect(Collectors.toMap(Property::getProp, Property::getValue, (a, b) -> b, LinkedHashMap::new)))
+                        .forEach((name, value) -> prepareParamsMap.put(name,
+                                new Property(name, Direct.IN, DataType.VARCHAR, value)));
+        bh.consume(parsedJson(commandParamJson, JSONUtils::toMap));
+        for (Property property : prepareParamsMap.values()) {
+            if (property.getValue().contains(PlaceholderUtils.PLACEHOLDER_PREFIX)) {
+                property.setValue(PlaceholderTemplate.compile(property.getValue()).render(placeholderName -> {
+                    Property placeholderProperty = prepareParamsMap.get(placeholderName);
+                    return placeholderProperty == null ? null : placeholderProperty.getValue();
+                }));
+            }
+        }
+        bh.consume(prepareParamsMap);
+    }
+
+    @Benchmark
+    public void timePlaceholderWithNewFormatter(Blackhole bh) {
+        bh.consume(localDateTime.format(DateTimeFormatter.ofPattern(TIME_PATTERN)));
+    }
+
+    @Benchmark
+    public void timePlaceholderWithCachedFormatter(Blackhole bh) {
+        bh.consume(DateUtils.format(localDateTime, TIME_PATTERN));
+    }
+
+    private Map<String, String> parsedJson(String json,
+                                           Function<String, Map<String, String>> parser) {
+        return parsedJsonCache.computeIfAbsent(json, key -> Collections.unmodifiableMap(parser.apply(key)));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.queue;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.service.queue.StandByTaskInstancePriorityQueue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Simulate the standby queue operations of a workflow whose start node fans out to many parallel nodes:
+ * every downstream node is checked and put into the queue, the workflow checks whether there is a retry task after
+ * each submission, and then the queue is drained by peek and remove.
+ * <p>
+ * The linearScan benchmark is the previous way, a {@link PriorityQueue} which removes by equals and iterates the whole
+ * queue to find the retry task.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StandByTaskInstancePriorityQueueBenchMarkTest extends AbstractBaseBenchmark {
+
+    @Param({"1000", "10000"})
+    private int fanOut;
+
+    private List<TaskInstance> taskInstances;
+
+    @Setup
+    public void before() {
+        Priority[] priorities = Priority.values();
+        taskInstances = new ArrayList<>(fanOut);
+        for (int i = 0; i < fanOut; i++) {
+            TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setProcessInstanceId(1);
+            taskInstance.setTaskCode(i);
+            taskInstance.setTaskDefinitionVersion(1);
+            taskInstance.setTaskInstancePriority(priorities[i % priorities.length]);
+            taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+            taskInstances.add(taskInstance);
+        }
+    }
+
+    @Benchmark
+    public void indexedHeap(Blackhole bh) {
+        StandByTaskInstancePriorityQueue queue = new StandByTaskInstancePriorityQueue();
+        for (TaskInstance taskInstance : taskInstances) {
+            if (!queue.contains(taskInstance)) {
+                queue.put(taskInstance);
+            }
+            bh.consume(queue.hasRetryTaskInstance());
+        }
+        TaskInstance taskInstance;
+        while ((taskInstance = queue.peek()) != null) {
+            bh.consume(queue.remove(taskInstance));
+            bh.consume(queue.hasRetryTaskInstance());
+        }
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole bh) {
+        PriorityQueue<TaskInstance> queue = new PriorityQueue<>(3000,
+                Comparator.comparingInt(instance -> instance.getTaskInstancePriority().getCode()));
+        Set<String> identifySet = new HashSet<>();
+        for (TaskInstance taskInstance : taskInstances) {
+            if (identifySet.add(taskInstance.getProcessInstanceId() + "-" + taskInstance.getTaskCode())) {
+                queue.add(taskInstance);
+            }
+            bh.consume(hasRetryTaskInstance(queue));
+        }
+        TaskInstance taskInstance;
+        while ((taskInstance = queue.peek()) != null) {
+            identifySet.remove(taskInstance.getProcessInstanceId() + "-" + taskInstance.getTaskCode());
+            bh.consume(queue.remove(taskInstance));
+            bh.consume(hasRetryTaskInstance(queue));
+        }
+    }
+
+    private boolean hasRetryTaskInstance(PriorityQueue<TaskInstance> queue) {
+        for (Iterator<TaskInstance> iter = queue.iterator(); iter.hasNext();) {
+            if (iter.next().getState().isFailure()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
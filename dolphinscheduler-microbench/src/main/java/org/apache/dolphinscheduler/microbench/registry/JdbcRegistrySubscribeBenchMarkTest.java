@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.registry;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare the cost of one subscribe data check round of the jdbc registry when the node count grows, the sql is the
+ * same as JdbcRegistryDataMapper and JdbcRegistryDataChangeEventMapper.
+ * <p>
+ * Each round one node refreshes its heartbeat and the subscriber checks the change. The score is the check rounds per
+ * second the database can serve, the db load of the cluster is node count / check interval rounds per second, and the
+ * event propagation latency is at most the check interval plus the cost of one round. The rowsRead counter shows how
+ * many rows are read per round.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JdbcRegistrySubscribeBenchMarkTest extends AbstractBaseBenchmark {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String SELECT_ALL_SQL = "select * from t_ds_jdbc_registry_data";
+
+    private static final String SELECT_CHANGE_EVENT_SQL = "select * from t_ds_jdbc_registry_data_change_event "
+            + "where id > ? order by id asc limit ?";
+
+    private static final String UPDATE_DATA_SQL = "update t_ds_jdbc_registry_data "
+            + "set data_value = ?, last_term = ? where data_key = ?";
+
+    private static final String INSERT_CHANGE_EVENT_SQL = "insert into t_ds_jdbc_registry_data_change_event"
+            + "(event_type, data_key, create_time) values ('UPDATE', ?, current_timestamp)";
+
+    @Param({"10", "200", "1000"})
+    private int nodeCount;
+
+    private Connection connection;
+
+    private long heartbeatCount;
+
+    private long currentRevision;
+
+    private Map<String, String> registryDataMap;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ReadCounter {
+
+        public long rowsRead;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rowsRead = 0;
+        }
+    }
+
+    @Setup
+    public void before() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:jdbc_registry_" + nodeCount + ";DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists t_ds_jdbc_registry_data");
+            statement.execute("drop table if exists t_ds_jdbc_registry_data_change_event");
+            statement.execute("create table t_ds_jdbc_registry_data ("
+                    + "id bigint not null auto_increment primary key, "
+                    + "data_key varchar(256) not null unique, "
+                    + "data_value text not null, "
+                    + "data_type int not null, "
+                    + "last_term bigint not null, "
+                    + "last_update_time timestamp default current_timestamp not null, "
+                    + "create_time timestamp default current_timestamp not null)");
+            statement.execute("create table t_ds_jdbc_registry_data_change_event ("
+                    + "id bigint not null auto_increment primary key, "
+                    + "event_type varchar(64) not null, "
+                    + "data_key varchar(256) not null, "
+                    + "create_time timestamp default current_timestamp not null)");
+        }
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement(
+                        "insert into t_ds_jdbc_registry_data(data_key, data_value, data_type, last_term) "
+                                + "values (?, ?, 1, ?)")) {
+            for (int i = 0; i < nodeCount; i++) {
+                preparedStatement.setString(1, nodeKey(i));
+                preparedStatement.setString(2, heartbeat(0));
+                preparedStatement.setLong(3, System.currentTimeMillis());
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+        }
+        registryDataMap = new HashMap<>();
+        try (
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(SELECT_ALL_SQL)) {
+            while (resultSet.next()) {
+                registryDataMap.put(resultSet.getString("data_key"), resultSet.getString("data_value"));
+            }
+        }
+    }
+
+    @Benchmark
+    public void fullTableDiff(ReadCounter readCounter, Blackhole bh) throws SQLException {
+        heartbeat();
+        Map<String, String> currentDataMap = new HashMap<>();
+        try (
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(SELECT_ALL_SQL)) {
+            while (resultSet.next()) {
+                currentDataMap.put(resultSet.getString("data_key"), resultSet.getString("data_value"));
+                readCounter.rowsRead++;
+            }
+        }
+        int changed = 0;
+        for (Map.Entry<String, String> entry : currentDataMap.entrySet()) {
+            if (!entry.getValue().equals(registryDataMap.get(entry.getKey()))) {
+                changed++;
+            }
+        }
+        registryDataMap = currentDataMap;
+        bh.consume(changed);
+    }
+
+    @Benchmark
+    public void changeEventSinceRevision(ReadCounter readCounter, Blackhole bh) throws SQLException {
+        heartbeat();
+        Set<String> changedKeys = new LinkedHashSet<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_CHANGE_EVENT_SQL)) {
+            preparedStatement.setLong(1, currentRevision);
+            preparedStatement.setInt(2, FETCH_SIZE);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    currentRevision = resultSet.getLong("id");
+                    changedKeys.add(resultSet.getString("data_key"));
+                    readCounter.rowsRead++;
+                }
+            }
+        }
+        int changed = 0;
+        if (!changedKeys.isEmpty()) {
+            StringBuilder sql = new StringBuilder("select * from t_ds_jdbc_registry_data where data_key in (");
+            for (int i = 0; i < changedKeys.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(")");
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql.toString())) {
+                int index = 1;
+                for (String changedKey : changedKeys) {
+                    preparedStatement.setString(index++, changedKey);
+                }
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        String oldValue = registryDataMap.put(resultSet.getString("data_key"),
+                                resultSet.getString("data_value"));
+                        if (!resultSet.getString("data_value").equals(oldValue)) {
+                            changed++;
+                        }
+                        readCounter.rowsRead++;
+                    }
+                }
+            }
+        }
+        bh.consume(changed);
+    }
+
+    private void heartbeat() throws SQLException {
+        heartbeatCount++;
+        String key = nodeKey((int) (heartbeatCount % nodeCount));
+        try (PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_DATA_SQL)) {
+            preparedStatement.setString(1, heartbeat(heartbeatCount));
+            preparedStatement.setLong(2, System.currentTimeMillis());
+            preparedStatement.setString(3, key);
+            preparedStatement.executeUpdate();
+        }
+        try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_CHANGE_EVENT_SQL)) {
+            preparedStatement.setString(1, key);
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    private static String nodeKey(int index) {
+        return "/nodes/worker/127.0.0." + index + ":1234";
+    }
+
+    private static String heartbeat(long heartbeatCount) {
+        return "{\"cpuUsage\":0.1,\"memoryUsage\":0.2,\"heartbeatCount\":" + heartbeatCount + "}";
+    }
+
+    @TearDown
+    public void after() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists t_ds_jdbc_registry_data");
+            statement.execute("drop table if exists t_ds_jdbc_registry_data_change_event");
+        }
+        connection.close();
+    }
+}
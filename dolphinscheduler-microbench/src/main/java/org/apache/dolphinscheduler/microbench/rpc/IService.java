@@ -17,13 +17,21 @@
 
 package org.apache.dolphinscheduler.microbench.rpc;
 
+import org.apache.dolphinscheduler.extract.base.AsyncRpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
 
+import java.util.concurrent.CompletableFuture;
+
 @RpcService
 public interface IService {
 
     @RpcMethod
     String ping(String pingRequest);
 
+    @AsyncRpcMethod("ping")
+    default CompletableFuture<String> pingAsync(String pingRequest) {
+        throw new UnsupportedOperationException("pingAsync is only supported by the rpc client");
+    }
+
 }
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
 import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +31,7 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
@@ -45,6 +47,8 @@ import org.openjdk.jmh.infra.Blackhole;
 @BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
 public class RpcBenchMarkTest extends AbstractBaseBenchmark {
 
+    private static final int PIPELINED_REQUEST_SIZE = 100;
+
     private SpringServerMethodInvokerDiscovery springServerMethodInvokerDiscovery;
 
     private IService iService;
@@ -68,6 +72,29 @@ public class RpcBenchMarkTest extends AbstractBaseBenchmark {
         bh.consume(pong);
     }
 
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void sendAsyncTest(Blackhole bh) {
+        String pong = iService.pingAsync("ping").join();
+        bh.consume(pong);
+    }
+
+    /**
+     * Send a batch of requests without waiting for the previous response, the requests are pipelined in one channel.
+     */
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @OperationsPerInvocation(PIPELINED_REQUEST_SIZE)
+    public void sendPipelinedAsyncTest(Blackhole bh) {
+        CompletableFuture<?>[] futures = new CompletableFuture[PIPELINED_REQUEST_SIZE];
+        for (int i = 0; i < PIPELINED_REQUEST_SIZE; i++) {
+            futures[i] = iService.pingAsync("ping").thenAccept(bh::consume);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
     @TearDown
     public void after() {
         springServerMethodInvokerDiscovery.close();
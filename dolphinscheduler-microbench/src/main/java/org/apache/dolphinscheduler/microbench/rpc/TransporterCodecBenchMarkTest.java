@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.rpc;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterDecoder;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterEncoder;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerManager;
+import org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchRequest;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Compare the encode/decode cost of the dispatch request between different {@link IRpcSerializer}.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransporterCodecBenchMarkTest extends AbstractBaseBenchmark {
+
+    @Param({"json", "cbor"})
+    private String serializer;
+
+    private IRpcSerializer rpcSerializer;
+
+    private String methodIdentifier;
+
+    private TaskInstanceDispatchRequest dispatchRequest;
+
+    private byte[] encodedBody;
+
+    private EmbeddedChannel channel;
+
+    @Setup
+    public void before() throws NoSuchMethodException {
+        rpcSerializer = RpcSerializerManager.getSerializer(serializer);
+        methodIdentifier = ITaskInstanceOperator.class
+                .getMethod("dispatchTask", TaskInstanceDispatchRequest.class)
+                .toGenericString();
+        dispatchRequest = new TaskInstanceDispatchRequest(createTaskExecutionContext());
+        encodedBody = rpcSerializer.serialize(StandardRpcRequest.of(new Object[]{dispatchRequest}, rpcSerializer));
+        channel = new EmbeddedChannel(new TransporterEncoder(), new TransporterDecoder());
+    }
+
+    @Benchmark
+    public void encodeDispatchRequest(Blackhole bh) {
+        byte[] body = rpcSerializer.serialize(StandardRpcRequest.of(new Object[]{dispatchRequest}, rpcSerializer));
+        bh.consume(body);
+    }
+
+    @Benchmark
+    public void decodeDispatchRequest(Blackhole bh) {
+        StandardRpcRequest request = rpcSerializer.deserialize(encodedBody, StandardRpcRequest.class);
+        bh.consume(rpcSerializer.deserialize(request.getArgs()[0], TaskInstanceDispatchRequest.class));
+    }
+
+    /**
+     * Encode the dispatch request into the transporter frame, and then decode it back.
+     */
+    @Benchmark
+    public void transporterRoundTrip(Blackhole bh) {
+        Transporter transporter = Transporter.of(
+                TransporterHeader.of(methodIdentifier, rpcSerializer.getCodecId()),
+                StandardRpcRequest.of(new Object[]{dispatchRequest}, rpcSerializer));
+        channel.writeOutbound(transporter);
+        ByteBuf frame = channel.readOutbound();
+        channel.writeInbound(frame);
+        Transporter decoded = channel.readInbound();
+        StandardRpcRequest request = rpcSerializer.deserialize(decoded.getBody(), StandardRpcRequest.class);
+        bh.consume(rpcSerializer.deserialize(request.getArgs()[0], TaskInstanceDispatchRequest.class));
+    }
+
+    @TearDown
+    public void after() {
+        channel.finishAndReleaseAll();
+    }
+
+    private TaskExecutionContext createTaskExecutionContext() {
+        Map<String, String> definedParams = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            definedParams.put("param_" + i, "value_" + i);
+        }
+        StringBuilder taskParams = new StringBuilder("{\"rawScript\":\"");
+        for (int i = 0; i < 100; i++) {
+            taskParams.append("echo line ").append(i).append("\\n");
+        }
+        taskParams.append("\",\"localParams\":[],\"resourceList\":[]}");
+        return TaskExecutionContext.builder()
+                .taskInstanceId(1)
+                .taskName("benchmark-shell-task")
+                .firstSubmitTime(System.currentTimeMillis())
+                .startTime(System.currentTimeMillis())
+                .taskType("SHELL")
+                .workflowInstanceHost("127.0.0.1:5678")
+                .host("127.0.0.1:1234")
+                .executePath("/tmp/dolphinscheduler/exec/process/default/1/1_1/1/1")
+                .logPath("/opt/dolphinscheduler/logs/20240101/1/1/1/1.log")
+                .processDefineCode(1L)
+                .processDefineVersion(1)
+                .processInstanceId(1)
+                .globalParams("[]")
+                .tenantCode("default")
+                .projectCode(1L)
+                .taskParams(taskParams.toString())
+                .definedParams(definedParams)
+                .workerGroup("default")
+                .currentExecutionStatus(TaskExecutionStatus.SUBMITTED_SUCCESS)
+                .varPool("[]")
+                .build();
+    }
+}
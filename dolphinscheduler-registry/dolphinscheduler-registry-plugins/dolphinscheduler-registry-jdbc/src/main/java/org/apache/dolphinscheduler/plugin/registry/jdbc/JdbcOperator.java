@@ -17,24 +17,32 @@
 
 package org.apache.dolphinscheduler.plugin.registry.jdbc;
 
+import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataChangeEventMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryLockMapper;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.DataChangeEventType;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.DataType;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryDataChangeEvent;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryLock;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.session.SqlSessionFactory;
 
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Component
 @ConditionalOnProperty(prefix = "registry", name = "type", havingValue = "jdbc")
@@ -43,12 +51,19 @@ public class JdbcOperator {
     @Autowired
     private JdbcRegistryDataMapper jdbcRegistryDataMapper;
     @Autowired
+    private JdbcRegistryDataChangeEventMapper jdbcRegistryDataChangeEventMapper;
+    @Autowired
     private JdbcRegistryLockMapper jdbcRegistryLockMapper;
     private final long expireTimeWindow;
+    // the data change and its change event should be committed together, otherwise the subscriber may miss the change
+    private final TransactionTemplate transactionTemplate;
 
-    public JdbcOperator(JdbcRegistryProperties registryProperties) {
+    public JdbcOperator(JdbcRegistryProperties registryProperties, SqlSessionFactory sqlSessionFactory) {
         this.expireTimeWindow =
                 registryProperties.getTermExpireTimes() * registryProperties.getTermRefreshInterval().toMillis();
+        this.transactionTemplate = new TransactionTemplate(
+                new DataSourceTransactionManager(
+                        sqlSessionFactory.getConfiguration().getEnvironment().getDataSource()));
     }
 
     public void healthCheck() {
@@ -59,50 +74,86 @@ public class JdbcOperator {
         return jdbcRegistryDataMapper.selectAll();
     }
 
-    public Long insertOrUpdateEphemeralData(String key, String value) throws SQLException {
-        JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectByKey(key);
-        if (jdbcRegistryData != null) {
-            long id = jdbcRegistryData.getId();
-            if (jdbcRegistryDataMapper.updateDataAndTermById(id, value, System.currentTimeMillis()) <= 0) {
-                throw new SQLException(String.format("update registry value failed, key: %s, value: %s", key, value));
-            }
-            return id;
+    public List<JdbcRegistryData> queryJdbcRegistryDataByKeys(Collection<String> keys) {
+        if (CollectionUtils.isEmpty(keys)) {
+            return Collections.emptyList();
         }
-        jdbcRegistryData = JdbcRegistryData.builder()
-                .dataKey(key)
-                .dataValue(value)
-                .dataType(DataType.EPHEMERAL.getTypeValue())
-                .lastTerm(System.currentTimeMillis())
-                .build();
-        jdbcRegistryDataMapper.insert(jdbcRegistryData);
-        return jdbcRegistryData.getId();
+        return jdbcRegistryDataMapper.selectByKeys(keys);
+    }
+
+    /**
+     * Get the current time of the database, the create time of the data change event is generated by the database, so
+     * it should be compared with the database time rather than the local time.
+     */
+    public Date getCurrentTime() {
+        return jdbcRegistryDataChangeEventMapper.selectCurrentTime();
+    }
+
+    /**
+     * Get the latest revision of the data change events which are created before or at the given time.
+     */
+    public long getLatestDataChangeRevision(Date createTime) {
+        Long maxId = jdbcRegistryDataChangeEventMapper.selectMaxIdByCreateTimeNotAfter(createTime);
+        return maxId == null ? 0L : maxId;
+    }
+
+    /**
+     * Query the data change events whose revision is greater than the given revision, order by revision.
+     */
+    public List<JdbcRegistryDataChangeEvent> queryDataChangeEventsAfter(long revision, int limit) {
+        return jdbcRegistryDataChangeEventMapper.selectByIdAfter(revision, limit);
+    }
+
+    public Long insertOrUpdateEphemeralData(String key, String value) throws SQLException {
+        return insertOrUpdateData(key, value, DataType.EPHEMERAL);
     }
 
     public long insertOrUpdatePersistentData(String key, String value) throws SQLException {
-        JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectByKey(key);
-        if (jdbcRegistryData != null) {
-            long id = jdbcRegistryData.getId();
-            if (jdbcRegistryDataMapper.updateDataAndTermById(id, value, System.currentTimeMillis()) <= 0) {
-                throw new SQLException(String.format("update registry value failed, key: %s, value: %s", key, value));
+        return insertOrUpdateData(key, value, DataType.PERSISTENT);
+    }
+
+    private long insertOrUpdateData(String key, String value, DataType dataType) throws SQLException {
+        Long id = transactionTemplate.execute(status -> {
+            JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectByKey(key);
+            if (jdbcRegistryData != null) {
+                if (jdbcRegistryDataMapper.updateDataAndTermById(jdbcRegistryData.getId(), value,
+                        System.currentTimeMillis()) <= 0) {
+                    return null;
+                }
+                insertDataChangeEvent(DataChangeEventType.UPDATE, key);
+                return jdbcRegistryData.getId();
             }
-            return id;
+            jdbcRegistryData = JdbcRegistryData.builder()
+                    .dataKey(key)
+                    .dataValue(value)
+                    .dataType(dataType.getTypeValue())
+                    .lastTerm(System.currentTimeMillis())
+                    .build();
+            jdbcRegistryDataMapper.insert(jdbcRegistryData);
+            insertDataChangeEvent(DataChangeEventType.ADD, key);
+            return jdbcRegistryData.getId();
+        });
+        if (id == null) {
+            throw new SQLException(String.format("update registry value failed, key: %s, value: %s", key, value));
         }
-        jdbcRegistryData = JdbcRegistryData.builder()
-                .dataKey(key)
-                .dataValue(value)
-                .dataType(DataType.PERSISTENT.getTypeValue())
-                .lastTerm(System.currentTimeMillis())
-                .build();
-        jdbcRegistryDataMapper.insert(jdbcRegistryData);
-        return jdbcRegistryData.getId();
+        return id;
     }
 
     public void deleteDataByKey(String key) {
-        jdbcRegistryDataMapper.deleteByKey(key);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (jdbcRegistryDataMapper.deleteByKey(key) > 0) {
+                insertDataChangeEvent(DataChangeEventType.DELETE, key);
+            }
+        });
     }
 
     public void deleteDataById(long id) {
-        jdbcRegistryDataMapper.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectById(id);
+            if (jdbcRegistryData != null && jdbcRegistryDataMapper.deleteById(id) > 0) {
+                insertDataChangeEvent(DataChangeEventType.DELETE, jdbcRegistryData.getDataKey());
+            }
+        });
     }
 
     public void clearExpireLock() {
@@ -110,8 +161,31 @@ public class JdbcOperator {
     }
 
     public void clearExpireEphemeralDate() {
-        jdbcRegistryDataMapper.clearExpireEphemeralDate(System.currentTimeMillis() - expireTimeWindow,
-                DataType.EPHEMERAL.getTypeValue());
+        long expireTerm = System.currentTimeMillis() - expireTimeWindow;
+        List<JdbcRegistryData> expireEphemeralData =
+                jdbcRegistryDataMapper.selectExpireEphemeralDate(expireTerm, DataType.EPHEMERAL.getTypeValue());
+        for (JdbcRegistryData jdbcRegistryData : expireEphemeralData) {
+            transactionTemplate.executeWithoutResult(status -> {
+                // the term may be refreshed after query, so we need to check the term again when delete
+                if (jdbcRegistryDataMapper.deleteExpireEphemeralDateById(jdbcRegistryData.getId(), expireTerm) > 0) {
+                    insertDataChangeEvent(DataChangeEventType.DELETE, jdbcRegistryData.getDataKey());
+                }
+            });
+        }
+    }
+
+    public void clearExpireDataChangeEvent() {
+        jdbcRegistryDataChangeEventMapper.deleteByCreateTimeBefore(
+                new Date(System.currentTimeMillis() - JdbcRegistryConstant.DATA_CHANGE_EVENT_RETENTION));
+    }
+
+    private void insertDataChangeEvent(DataChangeEventType eventType, String key) {
+        // the create time is left to the database default, so all the events share the database clock
+        JdbcRegistryDataChangeEvent jdbcRegistryDataChangeEvent = JdbcRegistryDataChangeEvent.builder()
+                .eventType(eventType)
+                .dataKey(key)
+                .build();
+        jdbcRegistryDataChangeEventMapper.insert(jdbcRegistryDataChangeEvent);
     }
 
     public JdbcRegistryData getData(String key) throws SQLException {
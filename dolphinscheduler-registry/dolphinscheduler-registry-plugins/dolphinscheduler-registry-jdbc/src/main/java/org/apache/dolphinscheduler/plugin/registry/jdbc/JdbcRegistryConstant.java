@@ -27,5 +27,27 @@ public final class JdbcRegistryConstant {
 
     public static final long LOCK_ACQUIRE_INTERVAL = 1_000;
 
+    /**
+     * The max size of the data change events fetched by one query.
+     */
+    public static final int DATA_CHANGE_EVENT_FETCH_SIZE = 1_000;
+
+    /**
+     * The data change events older than this will be purged, the subscriber which falls behind longer than this will
+     * do a full sync.
+     */
+    public static final long DATA_CHANGE_EVENT_RETENTION = 5 * 60 * 1_000;
+
+    /**
+     * The data change events created within this time may still be committed out of order, so they will be fetched
+     * again at the next check. A change whose transaction lasts longer than this is only found by the full sync.
+     */
+    public static final long DATA_CHANGE_EVENT_SETTLE_TIME = 5_000;
+
+    /**
+     * The interval of the full sync, the full sync is a safety net for the incremental sync.
+     */
+    public static final long DATA_FULL_SYNC_INTERVAL = 60_000;
+
     public static final String LOCK_OWNER = NetUtils.getHost() + "_" + OSUtils.getProcessID();
 }
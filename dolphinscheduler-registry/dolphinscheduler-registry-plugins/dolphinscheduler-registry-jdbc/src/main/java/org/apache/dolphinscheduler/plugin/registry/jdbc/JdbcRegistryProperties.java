@@ -42,6 +42,10 @@ public class JdbcRegistryProperties {
      * e.g. if you set 2, and latest two refresh error, then the ephemeral data/lock will be expire.
      */
     private int termExpireTimes = 3;
+    /**
+     * Used to schedule fetch the data changes since the last seen revision, and notify the subscribers.
+     */
+    private Duration subscribeDataCheckInterval = Duration.ofSeconds(1);
     private HikariConfig hikariConfig;
 
 }
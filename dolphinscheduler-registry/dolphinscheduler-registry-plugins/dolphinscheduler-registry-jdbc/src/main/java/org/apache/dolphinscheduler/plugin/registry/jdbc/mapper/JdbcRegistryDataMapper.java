@@ -37,6 +37,15 @@ public interface JdbcRegistryDataMapper extends BaseMapper<JdbcRegistryData> {
     @Select("select * from t_ds_jdbc_registry_data where data_key = #{key}")
     JdbcRegistryData selectByKey(@Param("key") String key);
 
+    @Select({"<script>",
+            "select * from t_ds_jdbc_registry_data",
+            "where data_key IN ",
+            "<foreach item='key' index='index' collection='keys' open='(' separator=',' close=')'>",
+            "   #{key}",
+            "</foreach>",
+            "</script>"})
+    List<JdbcRegistryData> selectByKeys(@Param("keys") Collection<String> keys);
+
     @Select("select * from t_ds_jdbc_registry_data where data_key like CONCAT (#{key}, '%')")
     List<JdbcRegistryData> fuzzyQueryByKey(@Param("key") String key);
 
@@ -44,10 +53,13 @@ public interface JdbcRegistryDataMapper extends BaseMapper<JdbcRegistryData> {
     int updateDataAndTermById(@Param("id") long id, @Param("data") String data, @Param("term") long term);
 
     @Delete("delete from t_ds_jdbc_registry_data where data_key = #{key}")
-    void deleteByKey(@Param("key") String key);
+    int deleteByKey(@Param("key") String key);
+
+    @Select("select * from t_ds_jdbc_registry_data where last_term < #{term} and data_type = #{type}")
+    List<JdbcRegistryData> selectExpireEphemeralDate(@Param("term") long term, @Param("type") int type);
 
-    @Delete("delete from t_ds_jdbc_registry_data where last_term < #{term} and data_type = #{type}")
-    void clearExpireEphemeralDate(@Param("term") long term, @Param("type") int type);
+    @Delete("delete from t_ds_jdbc_registry_data where id = #{id} and last_term < #{term}")
+    int deleteExpireEphemeralDateById(@Param("id") long id, @Param("term") long term);
 
     @Update({"<script>",
             "update t_ds_jdbc_registry_data",
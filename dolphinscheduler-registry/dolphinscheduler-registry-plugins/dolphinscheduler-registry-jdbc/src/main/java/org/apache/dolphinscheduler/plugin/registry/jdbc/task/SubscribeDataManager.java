@@ -18,14 +18,20 @@
 package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
 
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryConstant;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryDataChangeEvent;
 import org.apache.dolphinscheduler.registry.api.Event;
 import org.apache.dolphinscheduler.registry.api.SubscribeListener;
 
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -40,6 +46,10 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Used to refresh if the subscribe path has been changed.
+ * <p>
+ * The data is loaded in full once, then only the data change events whose revision is greater than the last seen
+ * revision are fetched, and only the changed keys are re-read. A full sync is still done at a long interval as a
+ * safety net, e.g. the subscriber falls behind the retention of the data change events.
  */
 @Slf4j
 public class SubscribeDataManager implements AutoCloseable {
@@ -62,8 +72,8 @@ public class SubscribeDataManager implements AutoCloseable {
     public void start() {
         dataSubscribeCheckThreadPool.scheduleWithFixedDelay(
                 new RegistrySubscribeDataCheckTask(dataSubScribeMap, jdbcOperator, jdbcRegistryDataMap),
-                registryProperties.getTermRefreshInterval().toMillis(),
-                registryProperties.getTermRefreshInterval().toMillis(),
+                0,
+                registryProperties.getSubscribeDataCheckInterval().toMillis(),
                 TimeUnit.MILLISECONDS);
     }
 
@@ -96,45 +106,114 @@ public class SubscribeDataManager implements AutoCloseable {
         private final JdbcOperator jdbcOperator;
         private final Map<String, JdbcRegistryData> jdbcRegistryDataMap;
 
+        // all the data change events whose revision <= currentRevision have been applied
+        private long currentRevision;
+        private long lastFullSyncTime;
+
         @Override
         public void run() {
-            // query the full data from database, and update the jdbcRegistryDataMap
             try {
-                Map<String, JdbcRegistryData> currentJdbcDataMap = jdbcOperator.queryAllJdbcRegistryData()
-                        .stream()
-                        .collect(Collectors.toMap(JdbcRegistryData::getDataKey, Function.identity()));
-                // find the different
-                List<JdbcRegistryData> addedData = new ArrayList<>();
-                List<JdbcRegistryData> deletedData = new ArrayList<>();
-                List<JdbcRegistryData> updatedData = new ArrayList<>();
-                for (Map.Entry<String, JdbcRegistryData> entry : currentJdbcDataMap.entrySet()) {
-                    JdbcRegistryData newData = entry.getValue();
-                    JdbcRegistryData oldData = jdbcRegistryDataMap.get(entry.getKey());
-                    if (oldData == null) {
-                        addedData.add(newData);
-                    } else {
-                        if (!entry.getValue().getLastUpdateTime().equals(oldData.getLastUpdateTime())) {
-                            updatedData.add(newData);
-                        }
-                    }
+                if (System.currentTimeMillis() - lastFullSyncTime >= JdbcRegistryConstant.DATA_FULL_SYNC_INTERVAL) {
+                    fullSync();
+                } else {
+                    incrementalSync();
+                }
+            } catch (Exception e) {
+                log.error("Query data from jdbc registry error", e);
+            }
+        }
+
+        private void fullSync() {
+            // the revision should be queried before the data, the changes after it will be fetched again
+            long settledRevision = jdbcOperator.getLatestDataChangeRevision(getSettledTime());
+            Map<String, JdbcRegistryData> currentJdbcDataMap = jdbcOperator.queryAllJdbcRegistryData()
+                    .stream()
+                    .collect(Collectors.toMap(JdbcRegistryData::getDataKey, Function.identity()));
+            Set<String> changedKeys = new HashSet<>(currentJdbcDataMap.keySet());
+            changedKeys.addAll(jdbcRegistryDataMap.keySet());
+            applyChanges(changedKeys, currentJdbcDataMap);
+
+            currentRevision = settledRevision;
+            lastFullSyncTime = System.currentTimeMillis();
+            jdbcOperator.clearExpireDataChangeEvent();
+        }
+
+        private void incrementalSync() {
+            List<JdbcRegistryDataChangeEvent> dataChangeEvents;
+            do {
+                dataChangeEvents = jdbcOperator.queryDataChangeEventsAfter(currentRevision,
+                        JdbcRegistryConstant.DATA_CHANGE_EVENT_FETCH_SIZE);
+                if (dataChangeEvents.isEmpty()) {
+                    return;
                 }
-                for (Map.Entry<String, JdbcRegistryData> entry : jdbcRegistryDataMap.entrySet()) {
-                    if (!currentJdbcDataMap.containsKey(entry.getKey())) {
-                        deletedData.add(entry.getValue());
+                Set<String> changedKeys = dataChangeEvents.stream()
+                        .map(JdbcRegistryDataChangeEvent::getDataKey)
+                        .collect(Collectors.toSet());
+                Map<String, JdbcRegistryData> currentJdbcDataMap =
+                        jdbcOperator.queryJdbcRegistryDataByKeys(changedKeys)
+                                .stream()
+                                .collect(Collectors.toMap(JdbcRegistryData::getDataKey, Function.identity()));
+                applyChanges(changedKeys, currentJdbcDataMap);
+            } while (advanceRevision(dataChangeEvents)
+                    && dataChangeEvents.size() == JdbcRegistryConstant.DATA_CHANGE_EVENT_FETCH_SIZE);
+        }
+
+        /**
+         * Advance the current revision to the last settled revision of the given events.
+         * <p>
+         * The revisions are not continuous, e.g. the change is rolled back or the auto increment step of MySQL is
+         * greater than 1, and the changes may be committed out of order, so a smaller revision may be committed later.
+         * So the current revision only advances over the events created more than
+         * {@link JdbcRegistryConstant#DATA_CHANGE_EVENT_SETTLE_TIME} ago, the newer events will be fetched again,
+         * this is safe since the changed keys are re-read from the data table.
+         *
+         * @return true if all the given events are settled
+         */
+        private boolean advanceRevision(List<JdbcRegistryDataChangeEvent> dataChangeEvents) {
+            Date settledTime = getSettledTime();
+            for (JdbcRegistryDataChangeEvent dataChangeEvent : dataChangeEvents) {
+                if (dataChangeEvent.getCreateTime().after(settledTime)) {
+                    return false;
+                }
+                currentRevision = dataChangeEvent.getId();
+            }
+            return true;
+        }
+
+        private Date getSettledTime() {
+            return new Date(
+                    jdbcOperator.getCurrentTime().getTime() - JdbcRegistryConstant.DATA_CHANGE_EVENT_SETTLE_TIME);
+        }
+
+        private void applyChanges(Set<String> changedKeys, Map<String, JdbcRegistryData> currentJdbcDataMap) {
+            // find the different
+            List<JdbcRegistryData> addedData = new ArrayList<>();
+            List<JdbcRegistryData> deletedData = new ArrayList<>();
+            List<JdbcRegistryData> updatedData = new ArrayList<>();
+            for (String changedKey : changedKeys) {
+                JdbcRegistryData newData = currentJdbcDataMap.get(changedKey);
+                JdbcRegistryData oldData = jdbcRegistryDataMap.get(changedKey);
+                if (newData == null) {
+                    if (oldData != null) {
+                        jdbcRegistryDataMap.remove(changedKey);
+                        deletedData.add(oldData);
                     }
+                    continue;
                 }
-                jdbcRegistryDataMap.clear();
-                jdbcRegistryDataMap.putAll(currentJdbcDataMap);
-                // trigger listener
-                for (Map.Entry<String, List<SubscribeListener>> entry : dataSubScribeMap.entrySet()) {
-                    String subscribeKey = entry.getKey();
-                    List<SubscribeListener> subscribeListeners = entry.getValue();
-                    triggerListener(addedData, subscribeKey, subscribeListeners, Event.Type.ADD);
-                    triggerListener(deletedData, subscribeKey, subscribeListeners, Event.Type.REMOVE);
-                    triggerListener(updatedData, subscribeKey, subscribeListeners, Event.Type.UPDATE);
+                jdbcRegistryDataMap.put(changedKey, newData);
+                if (oldData == null) {
+                    addedData.add(newData);
+                } else if (!Objects.equals(newData.getDataValue(), oldData.getDataValue())) {
+                    updatedData.add(newData);
                 }
-            } catch (Exception e) {
-                log.error("Query data from jdbc registry error");
+            }
+            // trigger listener
+            for (Map.Entry<String, List<SubscribeListener>> entry : dataSubScribeMap.entrySet()) {
+                String subscribeKey = entry.getKey();
+                List<SubscribeListener> subscribeListeners = entry.getValue();
+                triggerListener(addedData, subscribeKey, subscribeListeners, Event.Type.ADD);
+                triggerListener(deletedData, subscribeKey, subscribeListeners, Event.Type.REMOVE);
+                triggerListener(updatedData, subscribeKey, subscribeListeners, Event.Type.UPDATE);
             }
         }
 
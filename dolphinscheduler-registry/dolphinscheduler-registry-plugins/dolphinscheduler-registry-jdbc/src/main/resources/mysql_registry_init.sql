@@ -45,3 +45,16 @@ CREATE TABLE `t_ds_jdbc_registry_lock`
     unique (`lock_key`)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8;
+
+
+DROP TABLE IF EXISTS `t_ds_jdbc_registry_data_change_event`;
+CREATE TABLE `t_ds_jdbc_registry_data_change_event`
+(
+    `id`          bigint(11)   NOT NULL AUTO_INCREMENT COMMENT 'primary key, the revision of the change',
+    `event_type`  varchar(64)  NOT NULL COMMENT 'ADD, UPDATE, DELETE',
+    `data_key`    varchar(256) NOT NULL COMMENT 'the changed key of t_ds_jdbc_registry_data',
+    `create_time` timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT 'create time',
+    PRIMARY KEY (`id`),
+    KEY `idx_create_time` (`create_time`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8;
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.api;
+
+/**
+ * Provide the slot of the current server, the {@link SchedulerApi} implementation which triggers the schedules by
+ * itself uses it to split the schedules across the servers.
+ */
+public interface SchedulerSlotProvider {
+
+    /**
+     * @return the slot index of the current server, from 0 to {@link #getTotalSlot()} - 1
+     */
+    int getSlot();
+
+    /**
+     * @return the total slot size, 0 means the current server should not trigger any schedule
+     */
+    int getTotalSlot();
+
+}
@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.inmemory;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ReleaseState;
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.dao.entity.ScheduleCheckpoint;
+import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
+import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleCheckpointMapper;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerException;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerSlotProvider;
+import org.apache.dolphinscheduler.scheduler.inmemory.exception.InMemorySchedulerExceptionEnum;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.collect.Lists;
+
+/**
+ * The loop thread which fires the online schedules of the current master.
+ * <p>
+ * The schedules are split across the masters by {@link SchedulerSlotProvider}, the next fire times are kept in
+ * memory, only the fire time of the last created command is persisted in {@link ScheduleCheckpoint}. The commands of
+ * the due triggers are inserted in batch, in the same transaction the checkpoints are moved forward by compare and
+ * set, so a fire time will not create command twice even if two masters own the same schedule during the slot
+ * changing.
+ */
+@Slf4j
+public class InMemoryScheduleEngine extends BaseDaemonThread implements AutoCloseable {
+
+    private static final int QUERY_BATCH_SIZE = 1000;
+
+    private final InMemorySchedulerProperties properties;
+
+    private final SchedulerSlotProvider schedulerSlotProvider;
+
+    private final ScheduleMapper scheduleMapper;
+
+    private final ScheduleCheckpointMapper scheduleCheckpointMapper;
+
+    private final ProcessDefinitionMapper processDefinitionMapper;
+
+    private final CommandMapper commandMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * All the triggers of the current slot, include the triggers which will never fire again.
+     */
+    private Map<Integer, ScheduleTrigger> scheduleTriggers = new HashMap<>();
+
+    private final PriorityQueue<ScheduleTrigger> triggerQueue = new PriorityQueue<>(
+            Comparator.comparing(ScheduleTrigger::getNextFireTime).thenComparing(ScheduleTrigger::getScheduleId));
+
+    private final Object monitor = new Object();
+
+    private volatile boolean refreshRequested = true;
+
+    private volatile boolean running = true;
+
+    public InMemoryScheduleEngine(InMemorySchedulerProperties properties,
+                                  SchedulerSlotProvider schedulerSlotProvider,
+                                  ScheduleMapper scheduleMapper,
+                                  ScheduleCheckpointMapper scheduleCheckpointMapper,
+                                  ProcessDefinitionMapper processDefinitionMapper,
+                                  CommandMapper commandMapper,
+                                  TransactionTemplate transactionTemplate) {
+        super("InMemoryScheduleEngine");
+        this.properties = properties;
+        this.schedulerSlotProvider = schedulerSlotProvider;
+        this.scheduleMapper = scheduleMapper;
+        this.scheduleCheckpointMapper = scheduleCheckpointMapper;
+        this.processDefinitionMapper = processDefinitionMapper;
+        this.commandMapper = commandMapper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Reload the schedules as soon as possible, the schedule changes of the current server are visible at once
+     * instead of waiting for the next refresh interval.
+     */
+    public void requestRefresh() {
+        refreshRequested = true;
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+    }
+
+    @Override
+    public void run() {
+        long refreshIntervalMillis = properties.getRefreshInterval().toMillis();
+        long nextRefreshTime = 0;
+        while (running) {
+            try {
+                if (refreshRequested || System.currentTimeMillis() >= nextRefreshTime) {
+                    refreshRequested = false;
+                    refresh();
+                    nextRefreshTime = System.currentTimeMillis() + refreshIntervalMillis;
+                }
+                if (fireDueTriggers()) {
+                    // there may be more due triggers
+                    continue;
+                }
+                long waitUntil = nextRefreshTime;
+                if (!triggerQueue.isEmpty()) {
+                    waitUntil = Math.min(waitUntil, triggerQueue.peek().getNextFireTime().getTime());
+                }
+                synchronized (monitor) {
+                    long waitMillis = waitUntil - System.currentTimeMillis();
+                    if (running && !refreshRequested && waitMillis > 0) {
+                        monitor.wait(waitMillis);
+                    }
+                }
+            } catch (InterruptedException interruptedException) {
+                log.warn("In-memory schedule engine interrupted, close the loop", interruptedException);
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("In-memory schedule engine loop error", e);
+                // reload the schedules and the checkpoints in case of they have been changed by others
+                refreshRequested = true;
+                // sleep for 1s here to avoid the database down cause the exception boom
+                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
+            }
+        }
+        log.info("In-memory schedule engine stopped");
+    }
+
+    /**
+     * Reload the online schedules of the current slot with their checkpoints, only rebuild the trigger whose
+     * schedule or checkpoint has been changed.
+     */
+    void refresh() {
+        int totalSlot = schedulerSlotProvider.getTotalSlot();
+        if (totalSlot <= 0) {
+            if (!scheduleTriggers.isEmpty()) {
+                log.warn("The current server doesn't own any slot, clear {} schedule triggers",
+                        scheduleTriggers.size());
+                scheduleTriggers = new HashMap<>();
+                triggerQueue.clear();
+            }
+            return;
+        }
+        List<Schedule> schedules =
+                scheduleMapper.queryOnlineScheduleByIdSlot(schedulerSlotProvider.getSlot(), totalSlot);
+        Map<Integer, ScheduleCheckpoint> checkpoints = queryCheckpoints(
+                schedules.stream().map(Schedule::getId).collect(Collectors.toList()));
+
+        Map<Integer, ScheduleTrigger> newScheduleTriggers = new HashMap<>(schedules.size());
+        boolean changed = schedules.size() != scheduleTriggers.size();
+        for (Schedule schedule : schedules) {
+            ScheduleCheckpoint checkpoint = checkpoints.get(schedule.getId());
+            if (checkpoint == null) {
+                checkpoint = createCheckpoint(schedule.getId());
+                if (checkpoint == null) {
+                    // the schedule has been offline at the same time
+                    continue;
+                }
+            }
+            ScheduleTrigger scheduleTrigger = scheduleTriggers.get(schedule.getId());
+            if (scheduleTrigger != null
+                    && scheduleTrigger.getSchedule().equals(schedule)
+                    && scheduleTrigger.getLastFireTime().equals(checkpoint.getLastFireTime())) {
+                newScheduleTriggers.put(schedule.getId(), scheduleTrigger);
+                continue;
+            }
+            changed = true;
+            try {
+                scheduleTrigger = ScheduleTrigger.of(schedule, checkpoint.getLastFireTime());
+                newScheduleTriggers.put(schedule.getId(), scheduleTrigger);
+                log.info("Load schedule trigger: {}", scheduleTrigger);
+            } catch (Exception e) {
+                log.error("Failed to create trigger for schedule: {}, crontab: {}", schedule.getId(),
+                        schedule.getCrontab(), e);
+            }
+        }
+        if (!changed) {
+            return;
+        }
+        scheduleTriggers = newScheduleTriggers;
+        triggerQueue.clear();
+        for (ScheduleTrigger scheduleTrigger : scheduleTriggers.values()) {
+            if (scheduleTrigger.getNextFireTime() != null) {
+                triggerQueue.offer(scheduleTrigger);
+            }
+        }
+        log.info("Refreshed schedule triggers, slot: {}/{}, schedule size: {}, active trigger size: {}",
+                schedulerSlotProvider.getSlot(), totalSlot, scheduleTriggers.size(), triggerQueue.size());
+    }
+
+    /**
+     * Fire the due triggers, at most {@link InMemorySchedulerProperties#getFireBatchSize()} triggers are fired.
+     *
+     * @return true if the batch is full
+     */
+    boolean fireDueTriggers() {
+        Date fireTime = new Date();
+        List<ScheduleTrigger> dueTriggers = new ArrayList<>();
+        while (dueTriggers.size() < properties.getFireBatchSize()
+                && !triggerQueue.isEmpty()
+                && !triggerQueue.peek().getNextFireTime().after(fireTime)) {
+            dueTriggers.add(triggerQueue.poll());
+        }
+        if (dueTriggers.isEmpty()) {
+            return false;
+        }
+        Set<Integer> offlineScheduleIds = null;
+        try {
+            offlineScheduleIds = transactionTemplate.execute(status -> fire(dueTriggers, fireTime));
+        } finally {
+            for (ScheduleTrigger scheduleTrigger : dueTriggers) {
+                if (offlineScheduleIds != null) {
+                    if (offlineScheduleIds.contains(scheduleTrigger.getScheduleId())) {
+                        scheduleTriggers.remove(scheduleTrigger.getScheduleId());
+                        continue;
+                    }
+                    scheduleTrigger.advance();
+                }
+                // the trigger stays at the same fire time if failed
+                if (scheduleTrigger.getNextFireTime() != null) {
+                    triggerQueue.offer(scheduleTrigger);
+                }
+            }
+        }
+        return dueTriggers.size() >= properties.getFireBatchSize();
+    }
+
+    /**
+     * Create the commands of the triggers and move the checkpoints to the current next fire time.
+     *
+     * @return the schedule ids which are offline or deleted
+     */
+    private Set<Integer> fire(List<ScheduleTrigger> dueTriggers, Date fireTime) {
+        Map<Integer, Schedule> schedules = scheduleMapper
+                .selectBatchIds(dueTriggers.stream().map(ScheduleTrigger::getScheduleId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Schedule::getId, Function.identity()));
+        Map<Long, ProcessDefinition> processDefinitions = processDefinitionMapper
+                .queryByCodes(schedules.values().stream().map(Schedule::getProcessDefinitionCode)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ProcessDefinition::getCode, Function.identity()));
+
+        Set<Integer> offlineScheduleIds = new HashSet<>();
+        List<Command> commands = new ArrayList<>();
+        List<ScheduleCheckpoint> checkpoints = new ArrayList<>();
+        for (ScheduleTrigger scheduleTrigger : dueTriggers) {
+            int scheduleId = scheduleTrigger.getScheduleId();
+            log.info("scheduled fire time :{}, fire time :{}, scheduleId :{}", scheduleTrigger.getNextFireTime(),
+                    fireTime, scheduleId);
+            Schedule schedule = schedules.get(scheduleId);
+            if (schedule == null || ReleaseState.OFFLINE == schedule.getReleaseState()) {
+                log.warn("process schedule does not exist in db or process schedule offline, scheduleId:{}",
+                        scheduleId);
+                offlineScheduleIds.add(scheduleId);
+                continue;
+            }
+            ProcessDefinition processDefinition = processDefinitions.get(schedule.getProcessDefinitionCode());
+            if (processDefinition == null || ReleaseState.OFFLINE == processDefinition.getReleaseState()) {
+                log.warn("process definition does not exist in db or offline, need not to create command, "
+                        + "processDefinitionCode:{}", schedule.getProcessDefinitionCode());
+            } else {
+                commands.add(createCommand(schedule, processDefinition, scheduleTrigger.getNextFireTime(),
+                        fireTime));
+            }
+            checkpoints.add(ScheduleCheckpoint.builder()
+                    .scheduleId(scheduleId)
+                    .expectedLastFireTime(scheduleTrigger.getLastFireTime())
+                    .lastFireTime(scheduleTrigger.getNextFireTime())
+                    .build());
+        }
+        if (!commands.isEmpty()) {
+            commandMapper.batchInsert(commands);
+        }
+        if (!checkpoints.isEmpty()) {
+            int updateCount = scheduleCheckpointMapper.batchCompareAndSetLastFireTime(checkpoints, fireTime);
+            if (updateCount != checkpoints.size()) {
+                throw new SchedulerException(InMemorySchedulerExceptionEnum.IN_MEMORY_CHECKPOINT_CONFLICT);
+            }
+        }
+        return offlineScheduleIds;
+    }
+
+    private Command createCommand(Schedule schedule, ProcessDefinition processDefinition, Date scheduleTime,
+                                  Date fireTime) {
+        Command command = new Command();
+        command.setCommandType(CommandType.SCHEDULER);
+        command.setExecutorId(schedule.getUserId());
+        command.setFailureStrategy(schedule.getFailureStrategy());
+        command.setProcessDefinitionCode(schedule.getProcessDefinitionCode());
+        command.setScheduleTime(scheduleTime);
+        command.setStartTime(fireTime);
+        command.setUpdateTime(fireTime);
+        command.setWarningGroupId(schedule.getWarningGroupId());
+        String workerGroup = StringUtils.isEmpty(schedule.getWorkerGroup()) ? Constants.DEFAULT_WORKER_GROUP
+                : schedule.getWorkerGroup();
+        command.setWorkerGroup(workerGroup);
+        command.setTenantCode(schedule.getTenantCode());
+        command.setEnvironmentCode(schedule.getEnvironmentCode());
+        command.setWarningType(schedule.getWarningType());
+        command.setProcessInstancePriority(schedule.getProcessInstancePriority());
+        command.setProcessDefinitionVersion(processDefinition.getVersion());
+        command.setCommandParam(JSONUtils.toJsonString(
+                Collections.singletonMap(Constants.SCHEDULE_TIMEZONE, schedule.getTimezoneId())));
+        return command;
+    }
+
+    private Map<Integer, ScheduleCheckpoint> queryCheckpoints(List<Integer> scheduleIds) {
+        Map<Integer, ScheduleCheckpoint> checkpoints = new HashMap<>(scheduleIds.size());
+        for (List<Integer> partition : Lists.partition(scheduleIds, QUERY_BATCH_SIZE)) {
+            for (ScheduleCheckpoint checkpoint : scheduleCheckpointMapper.selectBatchIds(partition)) {
+                checkpoints.put(checkpoint.getScheduleId(), checkpoint);
+            }
+        }
+        return checkpoints;
+    }
+
+    /**
+     * The schedule is online before the checkpoint is created, e.g. switched from the quartz scheduler, the schedule
+     * starts from now on.
+     */
+    private ScheduleCheckpoint createCheckpoint(int scheduleId) {
+        ScheduleCheckpoint checkpoint = InMemoryScheduler.newCheckpoint(scheduleId);
+        try {
+            scheduleCheckpointMapper.insert(checkpoint);
+            return checkpoint;
+        } catch (DuplicateKeyException e) {
+            log.info("The checkpoint of schedule: {} has been created by others", scheduleId);
+            return scheduleCheckpointMapper.selectById(scheduleId);
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.inmemory;
+
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.dao.entity.ScheduleCheckpoint;
+import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
+import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleCheckpointMapper;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerApi;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerException;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerSlotProvider;
+import org.apache.dolphinscheduler.scheduler.inmemory.exception.InMemorySchedulerExceptionEnum;
+
+import java.util.Date;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The {@link SchedulerApi} which triggers the schedules by {@link InMemoryScheduleEngine} instead of quartz.
+ * <p>
+ * Upsert or delete a schedule only resets or removes its {@link ScheduleCheckpoint}, the engine of the master who
+ * owns the schedule picks up the change at the next refresh.
+ */
+@Slf4j
+public class InMemoryScheduler implements SchedulerApi {
+
+    private final InMemorySchedulerProperties properties;
+
+    private final ScheduleMapper scheduleMapper;
+
+    private final ScheduleCheckpointMapper scheduleCheckpointMapper;
+
+    private final ProcessDefinitionMapper processDefinitionMapper;
+
+    private final CommandMapper commandMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectProvider<SchedulerSlotProvider> schedulerSlotProvider;
+
+    private volatile InMemoryScheduleEngine scheduleEngine;
+
+    private static final SchedulerSlotProvider SINGLE_SLOT_PROVIDER = new SchedulerSlotProvider() {
+
+        @Override
+        public int getSlot() {
+            return 0;
+        }
+
+        @Override
+        public int getTotalSlot() {
+            return 1;
+        }
+    };
+
+    public InMemoryScheduler(InMemorySchedulerProperties properties,
+                             ScheduleMapper scheduleMapper,
+                             ScheduleCheckpointMapper scheduleCheckpointMapper,
+                             ProcessDefinitionMapper processDefinitionMapper,
+                             CommandMapper commandMapper,
+                             TransactionTemplate transactionTemplate,
+                             ObjectProvider<SchedulerSlotProvider> schedulerSlotProvider) {
+        this.properties = properties;
+        this.scheduleMapper = scheduleMapper;
+        this.scheduleCheckpointMapper = scheduleCheckpointMapper;
+        this.processDefinitionMapper = processDefinitionMapper;
+        this.commandMapper = commandMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.schedulerSlotProvider = schedulerSlotProvider;
+    }
+
+    @Override
+    public synchronized void start() throws SchedulerException {
+        if (scheduleEngine != null) {
+            return;
+        }
+        try {
+            // the server without slot manager, e.g. the standalone server in test, owns all the schedules
+            SchedulerSlotProvider slotProvider =
+                    schedulerSlotProvider.getIfAvailable(() -> SINGLE_SLOT_PROVIDER);
+            scheduleEngine = new InMemoryScheduleEngine(properties, slotProvider, scheduleMapper,
+                    scheduleCheckpointMapper, processDefinitionMapper, commandMapper, transactionTemplate);
+            scheduleEngine.start();
+            log.info("In-memory scheduler started, refresh interval: {}, fire batch size: {}",
+                    properties.getRefreshInterval(), properties.getFireBatchSize());
+        } catch (Exception e) {
+            throw new SchedulerException(InMemorySchedulerExceptionEnum.IN_MEMORY_SCHEDULER_START_ERROR, e);
+        }
+    }
+
+    @Override
+    public void insertOrUpdateScheduleTask(int projectId, Schedule schedule) throws SchedulerException {
+        try {
+            // start from now on to avoid misfires all triggers when update the scheduler, same as quartz
+            ScheduleCheckpoint checkpoint = newCheckpoint(schedule.getId());
+            if (scheduleCheckpointMapper.updateById(checkpoint) <= 0) {
+                scheduleCheckpointMapper.insert(checkpoint);
+            }
+            log.info("Success reset schedule checkpoint: {}, projectId: {}", checkpoint, projectId);
+        } catch (Exception e) {
+            log.error("Failed to add scheduler task, projectId: {}, scheduler: {}", projectId, schedule, e);
+            throw new SchedulerException(InMemorySchedulerExceptionEnum.IN_MEMORY_UPSERT_SCHEDULE_ERROR, e);
+        }
+        requestRefresh();
+    }
+
+    @Override
+    public void deleteScheduleTask(int projectId, int scheduleId) throws SchedulerException {
+        try {
+            log.info("Try to delete scheduler task, projectId: {}, schedulerId: {}", projectId, scheduleId);
+            scheduleCheckpointMapper.deleteById(scheduleId);
+        } catch (Exception e) {
+            log.error("Failed to delete scheduler task, projectId: {}, schedulerId: {}", projectId, scheduleId, e);
+            throw new SchedulerException(InMemorySchedulerExceptionEnum.IN_MEMORY_DELETE_SCHEDULE_ERROR, e);
+        }
+        requestRefresh();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduleEngine != null) {
+            scheduleEngine.close();
+            scheduleEngine = null;
+        }
+    }
+
+    private void requestRefresh() {
+        InMemoryScheduleEngine engine = scheduleEngine;
+        if (engine == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            engine.requestRefresh();
+            return;
+        }
+        // the engine can only see the change after the transaction of the caller committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                engine.requestRefresh();
+            }
+        });
+    }
+
+    static ScheduleCheckpoint newCheckpoint(int scheduleId) {
+        Date now = new Date();
+        return ScheduleCheckpoint.builder()
+                .scheduleId(scheduleId)
+                // the fire times of cron are in seconds
+                .lastFireTime(new Date(now.getTime() / 1000 * 1000))
+                .updateTime(now)
+                .build();
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.inmemory;
+
+import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
+import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleCheckpointMapper;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerApi;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerSlotProvider;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Enabled by {@code scheduler.type=in-memory}, takes precedence over the quartz scheduler.
+ */
+@AutoConfiguration(beforeName = "org.apache.dolphinscheduler.scheduler.quartz.QuartzSchedulerAutoConfiguration")
+@ConditionalOnProperty(prefix = "scheduler", name = "type", havingValue = "in-memory")
+@EnableConfigurationProperties(InMemorySchedulerProperties.class)
+public class InMemorySchedulerAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SchedulerApi schedulerApi(InMemorySchedulerProperties properties,
+                                     ScheduleMapper scheduleMapper,
+                                     ScheduleCheckpointMapper scheduleCheckpointMapper,
+                                     ProcessDefinitionMapper processDefinitionMapper,
+                                     CommandMapper commandMapper,
+                                     PlatformTransactionManager transactionManager,
+                                     ObjectProvider<SchedulerSlotProvider> schedulerSlotProvider) {
+        return new InMemoryScheduler(properties, scheduleMapper, scheduleCheckpointMapper, processDefinitionMapper,
+                commandMapper, new TransactionTemplate(transactionManager), schedulerSlotProvider);
+    }
+
+    /**
+     * The quartz scheduler is still created by spring boot, don't start it, otherwise the quartz triggers left in
+     * the database will create commands at the same time.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.scheduling.quartz.SchedulerFactoryBean")
+    static class QuartzSchedulerDisabledConfiguration {
+
+        @Bean
+        public SchedulerFactoryBeanCustomizer inMemorySchedulerFactoryBeanCustomizer() {
+            return schedulerFactoryBean -> schedulerFactoryBean.setAutoStartup(false);
+        }
+    }
+
+}
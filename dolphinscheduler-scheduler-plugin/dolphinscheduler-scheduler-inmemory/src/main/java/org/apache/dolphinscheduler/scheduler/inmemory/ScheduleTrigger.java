@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.inmemory;
+
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.TimeZone;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import org.quartz.CronExpression;
+
+/**
+ * The in-memory trigger of a {@link Schedule}, the fire times are the same as the quartz cron trigger with the
+ * {@code IgnoreMisfires} instruction, so all the missed fire times are fired one by one after the master is back.
+ */
+@Getter
+@ToString(of = {"schedule", "lastFireTime", "nextFireTime"})
+public class ScheduleTrigger {
+
+    private final Schedule schedule;
+
+    private final CronExpression cronExpression;
+
+    private final Date startTime;
+
+    private final Date endTime;
+
+    /**
+     * The fire time which has been persisted in the schedule checkpoint.
+     */
+    private Date lastFireTime;
+
+    /**
+     * The next fire time, null means the trigger will never fire again.
+     */
+    private Date nextFireTime;
+
+    private ScheduleTrigger(Schedule schedule, CronExpression cronExpression, Date lastFireTime) {
+        this.schedule = schedule;
+        this.cronExpression = cronExpression;
+        // the schedule time is saved without timezone, see QuartzCornTriggerBuilder
+        this.startTime = DateUtils.transformTimezoneDate(schedule.getStartTime(), schedule.getTimezoneId());
+        this.endTime = DateUtils.transformTimezoneDate(schedule.getEndTime(), schedule.getTimezoneId());
+        this.lastFireTime = lastFireTime;
+        this.nextFireTime = computeFireTimeAfter(lastFireTime);
+    }
+
+    public static ScheduleTrigger of(Schedule schedule, Date lastFireTime) throws ParseException {
+        CronExpression cronExpression = new CronExpression(schedule.getCrontab());
+        TimeZone timeZone = DateUtils.getTimezone(schedule.getTimezoneId());
+        if (timeZone != null) {
+            cronExpression.setTimeZone(timeZone);
+        }
+        return new ScheduleTrigger(schedule, cronExpression, lastFireTime);
+    }
+
+    public int getScheduleId() {
+        return schedule.getId();
+    }
+
+    /**
+     * Move to the next fire time, should be called after the current next fire time has been persisted.
+     */
+    public void advance() {
+        if (nextFireTime == null) {
+            return;
+        }
+        lastFireTime = nextFireTime;
+        nextFireTime = computeFireTimeAfter(lastFireTime);
+    }
+
+    private Date computeFireTimeAfter(Date afterTime) {
+        // the start time itself can be a fire time, same as the quartz cron trigger
+        if (startTime != null && afterTime.getTime() < startTime.getTime() - 1000) {
+            afterTime = new Date(startTime.getTime() - 1000);
+        }
+        Date fireTime = cronExpression.getTimeAfter(afterTime);
+        if (fireTime == null || (endTime != null && fireTime.after(endTime))) {
+            return null;
+        }
+        return fireTime;
+    }
+
+}
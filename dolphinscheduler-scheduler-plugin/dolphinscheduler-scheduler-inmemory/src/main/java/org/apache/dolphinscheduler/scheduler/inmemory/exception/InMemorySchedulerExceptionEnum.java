@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.inmemory.exception;
+
+import org.apache.dolphinscheduler.scheduler.api.SchedulerExceptionEnum;
+
+public enum InMemorySchedulerExceptionEnum implements SchedulerExceptionEnum {
+
+    IN_MEMORY_SCHEDULER_START_ERROR("IN-MEMORY-001", "In-memory Scheduler start error"),
+    IN_MEMORY_UPSERT_SCHEDULE_ERROR("IN-MEMORY-002", "Upsert in-memory schedule error"),
+    IN_MEMORY_DELETE_SCHEDULE_ERROR("IN-MEMORY-003", "Delete in-memory schedule error"),
+    IN_MEMORY_CHECKPOINT_CONFLICT("IN-MEMORY-004", "Schedule checkpoint has been changed by others"),
+    ;
+
+    private final String code;
+
+    private final String message;
+
+    InMemorySchedulerExceptionEnum(String code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+
+    @Override
+    public String getCode() {
+        return code;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.inmemory;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ReleaseState;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.dao.entity.ScheduleCheckpoint;
+import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
+import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleCheckpointMapper;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerException;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerSlotProvider;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class InMemoryScheduleEngineTest {
+
+    @Mock
+    private SchedulerSlotProvider schedulerSlotProvider;
+
+    @Mock
+    private ScheduleMapper scheduleMapper;
+
+    @Mock
+    private ScheduleCheckpointMapper scheduleCheckpointMapper;
+
+    @Mock
+    private ProcessDefinitionMapper processDefinitionMapper;
+
+    @Mock
+    private CommandMapper commandMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryScheduleEngine scheduleEngine;
+
+    private Schedule schedule;
+
+    private ProcessDefinition processDefinition;
+
+    private Date lastFireTime;
+
+    @BeforeEach
+    public void before() {
+        InMemorySchedulerProperties properties = new InMemorySchedulerProperties();
+        properties.setFireBatchSize(2);
+        scheduleEngine = new InMemoryScheduleEngine(properties, schedulerSlotProvider, scheduleMapper,
+                scheduleCheckpointMapper, processDefinitionMapper, commandMapper,
+                new TransactionTemplate(transactionManager));
+
+        schedule = new Schedule();
+        schedule.setId(1);
+        schedule.setProcessDefinitionCode(100L);
+        schedule.setCrontab("0 * * * * ? *");
+        schedule.setStartTime(new Date(System.currentTimeMillis() - 86_400_000L));
+        schedule.setEndTime(new Date(System.currentTimeMillis() + 86_400_000L));
+        schedule.setTimezoneId("UTC");
+        schedule.setUserId(2);
+        schedule.setReleaseState(ReleaseState.ONLINE);
+
+        processDefinition = new ProcessDefinition();
+        processDefinition.setCode(100L);
+        processDefinition.setVersion(3);
+        processDefinition.setReleaseState(ReleaseState.ONLINE);
+
+        // two fire times have been missed
+        lastFireTime = new Date((System.currentTimeMillis() / 60_000L - 2) * 60_000L);
+
+        when(schedulerSlotProvider.getSlot()).thenReturn(0);
+        when(schedulerSlotProvider.getTotalSlot()).thenReturn(1);
+        when(scheduleMapper.queryOnlineScheduleByIdSlot(0, 1)).thenReturn(Collections.singletonList(schedule));
+        when(scheduleMapper.selectBatchIds(any())).thenReturn(Collections.singletonList(schedule));
+        when(scheduleCheckpointMapper.selectBatchIds(any())).thenReturn(Collections.singletonList(
+                ScheduleCheckpoint.builder().scheduleId(1).lastFireTime(lastFireTime).build()));
+        when(processDefinitionMapper.queryByCodes(any())).thenReturn(Collections.singletonList(processDefinition));
+        when(scheduleCheckpointMapper.batchCompareAndSetLastFireTime(anyList(), any())).thenReturn(1);
+    }
+
+    @Test
+    public void testFireMisfiredTriggers() {
+        scheduleEngine.refresh();
+
+        Assertions.assertFalse(scheduleEngine.fireDueTriggers());
+        Assertions.assertFalse(scheduleEngine.fireDueTriggers());
+        Assertions.assertFalse(scheduleEngine.fireDueTriggers());
+
+        ArgumentCaptor<List<Command>> commandCaptor = ArgumentCaptor.forClass(List.class);
+        verify(commandMapper, times(2)).batchInsert(commandCaptor.capture());
+        Command command = commandCaptor.getAllValues().get(0).get(0);
+        Assertions.assertEquals(CommandType.SCHEDULER, command.getCommandType());
+        Assertions.assertEquals(100L, command.getProcessDefinitionCode());
+        Assertions.assertEquals(2, command.getExecutorId());
+        Assertions.assertEquals(3, command.getProcessDefinitionVersion());
+        Assertions.assertEquals(new Date(lastFireTime.getTime() + 60_000L), command.getScheduleTime());
+        Assertions.assertEquals(new Date(lastFireTime.getTime() + 120_000L),
+                commandCaptor.getAllValues().get(1).get(0).getScheduleTime());
+
+        ArgumentCaptor<List<ScheduleCheckpoint>> checkpointCaptor = ArgumentCaptor.forClass(List.class);
+        verify(scheduleCheckpointMapper, times(2))
+                .batchCompareAndSetLastFireTime(checkpointCaptor.capture(), any());
+        ScheduleCheckpoint checkpoint = checkpointCaptor.getAllValues().get(1).get(0);
+        Assertions.assertEquals(new Date(lastFireTime.getTime() + 60_000L), checkpoint.getExpectedLastFireTime());
+        Assertions.assertEquals(new Date(lastFireTime.getTime() + 120_000L), checkpoint.getLastFireTime());
+    }
+
+    @Test
+    public void testCheckpointConflict() {
+        when(scheduleCheckpointMapper.batchCompareAndSetLastFireTime(anyList(), any())).thenReturn(0);
+        scheduleEngine.refresh();
+
+        Assertions.assertThrows(SchedulerException.class, () -> scheduleEngine.fireDueTriggers());
+        // the trigger stays at the same fire time
+        Assertions.assertThrows(SchedulerException.class, () -> scheduleEngine.fireDueTriggers());
+        ArgumentCaptor<List<ScheduleCheckpoint>> checkpointCaptor = ArgumentCaptor.forClass(List.class);
+        verify(scheduleCheckpointMapper, times(2))
+                .batchCompareAndSetLastFireTime(checkpointCaptor.capture(), any());
+        Assertions.assertEquals(lastFireTime, checkpointCaptor.getAllValues().get(1).get(0).getExpectedLastFireTime());
+    }
+
+    @Test
+    public void testProcessDefinitionOffline() {
+        processDefinition.setReleaseState(ReleaseState.OFFLINE);
+        scheduleEngine.refresh();
+
+        Assertions.assertFalse(scheduleEngine.fireDueTriggers());
+        verify(commandMapper, never()).batchInsert(anyList());
+        // the checkpoint still moves forward
+        verify(scheduleCheckpointMapper).batchCompareAndSetLastFireTime(anyList(), any());
+    }
+
+    @Test
+    public void testScheduleOffline() {
+        Schedule offlineSchedule = new Schedule();
+        offlineSchedule.setId(1);
+        offlineSchedule.setReleaseState(ReleaseState.OFFLINE);
+        when(scheduleMapper.selectBatchIds(any())).thenReturn(Collections.singletonList(offlineSchedule));
+        scheduleEngine.refresh();
+
+        Assertions.assertFalse(scheduleEngine.fireDueTriggers());
+        Assertions.assertFalse(scheduleEngine.fireDueTriggers());
+        verify(commandMapper, never()).batchInsert(anyList());
+        verify(scheduleCheckpointMapper, never()).batchCompareAndSetLastFireTime(anyList(), any());
+        verify(scheduleMapper).selectBatchIds(any());
+    }
+
+    @Test
+    public void testCreateCheckpointForNewSchedule() {
+        when(scheduleCheckpointMapper.selectBatchIds(any())).thenReturn(Collections.emptyList());
+        scheduleEngine.refresh();
+
+        verify(scheduleCheckpointMapper).insert(any(ScheduleCheckpoint.class));
+        // start from now on
+        Assertions.assertFalse(scheduleEngine.fireDueTriggers());
+        verify(commandMapper, never()).batchInsert(anyList());
+    }
+
+    @Test
+    public void testNoSlot() {
+        when(schedulerSlotProvider.getTotalSlot()).thenReturn(0);
+        scheduleEngine.refresh();
+
+        Assertions.assertFalse(scheduleEngine.fireDueTriggers());
+        verify(scheduleMapper, never()).queryOnlineScheduleByIdSlot(anyInt(), anyInt());
+    }
+}
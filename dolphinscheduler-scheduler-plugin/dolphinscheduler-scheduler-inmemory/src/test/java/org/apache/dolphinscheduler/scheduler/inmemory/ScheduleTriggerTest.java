@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.inmemory;
+
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+
+import java.text.ParseException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ScheduleTriggerTest {
+
+    private Schedule createSchedule(String crontab, String startTime, String endTime) {
+        Schedule schedule = new Schedule();
+        schedule.setId(1);
+        schedule.setCrontab(crontab);
+        schedule.setStartTime(DateUtils.stringToDate(startTime));
+        schedule.setEndTime(DateUtils.stringToDate(endTime));
+        return schedule;
+    }
+
+    @Test
+    public void testNextFireTimeAfterLastFireTime() throws ParseException {
+        Schedule schedule = createSchedule("0 0 * * * ? *", "2024-01-01 00:00:00", "2025-01-01 00:00:00");
+        ScheduleTrigger scheduleTrigger =
+                ScheduleTrigger.of(schedule, DateUtils.stringToDate("2024-06-01 10:00:00"));
+        Assertions.assertEquals(DateUtils.stringToDate("2024-06-01 11:00:00"), scheduleTrigger.getNextFireTime());
+
+        scheduleTrigger.advance();
+        Assertions.assertEquals(DateUtils.stringToDate("2024-06-01 11:00:00"), scheduleTrigger.getLastFireTime());
+        Assertions.assertEquals(DateUtils.stringToDate("2024-06-01 12:00:00"), scheduleTrigger.getNextFireTime());
+    }
+
+    @Test
+    public void testFireAtStartTime() throws ParseException {
+        Schedule schedule = createSchedule("0 0 * * * ? *", "2024-01-01 00:00:00", "2025-01-01 00:00:00");
+        ScheduleTrigger scheduleTrigger =
+                ScheduleTrigger.of(schedule, DateUtils.stringToDate("2023-06-01 10:00:00"));
+        Assertions.assertEquals(DateUtils.stringToDate("2024-01-01 00:00:00"), scheduleTrigger.getNextFireTime());
+    }
+
+    @Test
+    public void testNoFireAfterEndTime() throws ParseException {
+        Schedule schedule = createSchedule("0 0 * * * ? *", "2024-01-01 00:00:00", "2024-01-01 01:30:00");
+        ScheduleTrigger scheduleTrigger =
+                ScheduleTrigger.of(schedule, DateUtils.stringToDate("2024-01-01 00:30:00"));
+        Assertions.assertEquals(DateUtils.stringToDate("2024-01-01 01:00:00"), scheduleTrigger.getNextFireTime());
+
+        scheduleTrigger.advance();
+        Assertions.assertNull(scheduleTrigger.getNextFireTime());
+        Assertions.assertEquals(DateUtils.stringToDate("2024-01-01 01:00:00"), scheduleTrigger.getLastFireTime());
+    }
+
+    @Test
+    public void testMisfiredFireTimesAreNotSkipped() throws ParseException {
+        Schedule schedule = createSchedule("0 * * * * ? *", "2024-01-01 00:00:00", "2025-01-01 00:00:00");
+        ScheduleTrigger scheduleTrigger =
+                ScheduleTrigger.of(schedule, DateUtils.stringToDate("2024-01-01 00:00:00"));
+        for (int i = 1; i <= 3; i++) {
+            Assertions.assertEquals(DateUtils.stringToDate("2024-01-01 00:0" + i + ":00"),
+                    scheduleTrigger.getNextFireTime());
+            scheduleTrigger.advance();
+        }
+    }
+
+    @Test
+    public void testInvalidCrontab() {
+        Schedule schedule = createSchedule("invalid", "2024-01-01 00:00:00", "2025-01-01 00:00:00");
+        Assertions.assertThrows(ParseException.class,
+                () -> ScheduleTrigger.of(schedule, DateUtils.stringToDate("2024-01-01 00:00:00")));
+    }
+}
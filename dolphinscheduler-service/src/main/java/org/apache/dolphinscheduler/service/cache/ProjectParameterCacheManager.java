@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.cache;
+
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import java.util.Map;
+
+/**
+ * Cache of the project level parameters keyed by the project code, the parameters are used to build the context of
+ * each task instance, so they are not queried from the database for every task.
+ * <p>
+ * The cache is evicted when the parameters are changed in the same server, the other servers see the change after
+ * the entry expires.
+ */
+public interface ProjectParameterCacheManager {
+
+    /**
+     * Get the parameters of the project, the returned properties are copies which can be modified by the caller.
+     */
+    Map<String, Property> getProjectParameters(long projectCode);
+
+    /**
+     * Evict the cached parameters of the project, should be called after the parameters are changed.
+     */
+    void evict(long projectCode);
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.cache.impl;
+
+import org.apache.dolphinscheduler.dao.entity.ProjectParameter;
+import org.apache.dolphinscheduler.dao.mapper.ProjectParameterMapper;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.service.cache.ProjectParameterCacheManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+@Slf4j
+@Component
+public class ProjectParameterCacheManagerImpl implements ProjectParameterCacheManager {
+
+    /**
+     * Keep it short since the change in the api server cannot evict the cache in the master server
+     */
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofSeconds(10);
+
+    private static final long MAXIMUM_SIZE = 1000;
+
+    private final ProjectParameterMapper projectParameterMapper;
+
+    private final LoadingCache<Long, Map<String, String>> projectParameterCache;
+
+    public ProjectParameterCacheManagerImpl(ProjectParameterMapper projectParameterMapper) {
+        this.projectParameterMapper = projectParameterMapper;
+        this.projectParameterCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(EXPIRE_AFTER_WRITE)
+                .maximumSize(MAXIMUM_SIZE)
+                .build(new CacheLoader<Long, Map<String, String>>() {
+
+                    @Override
+                    public Map<String, String> load(Long projectCode) {
+                        return doLoadProjectParameters(projectCode);
+                    }
+                });
+    }
+
+    @Override
+    public Map<String, Property> getProjectParameters(long projectCode) {
+        Map<String, String> projectParameters = projectParameterCache.getUnchecked(projectCode);
+        Map<String, Property> result = new HashMap<>(16);
+        projectParameters.forEach((paramName, paramValue) -> result.put(paramName,
+                new Property(paramName, Direct.IN, DataType.VARCHAR, paramValue)));
+        return result;
+    }
+
+    @Override
+    public void evict(long projectCode) {
+        projectParameterCache.invalidate(projectCode);
+        log.debug("Evicted the cached parameters of project: {}", projectCode);
+    }
+
+    private Map<String, String> doLoadProjectParameters(long projectCode) {
+        Map<String, String> projectParameters = new HashMap<>(16);
+        List<ProjectParameter> projectParameterList = projectParameterMapper.queryByProjectCode(projectCode);
+        projectParameterList.forEach(projectParameter -> projectParameters.put(projectParameter.getParamName(),
+                projectParameter.getParamValue()));
+        return Collections.unmodifiableMap(projectParameters);
+    }
+}
@@ -22,6 +22,8 @@ import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstanceMap;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 
+import java.util.List;
+
 /**
  * Command Service
  */
@@ -42,6 +44,13 @@ public interface CommandService {
      */
     int createCommand(Command command);
 
+    /**
+     * Create new commands with one batched insert, the schedules of the commands are queried at once
+     * @param commands commands
+     * @return result
+     */
+    int batchCreateCommand(List<Command> commands);
+
     /**
      * check the input command exists in queue list
      *
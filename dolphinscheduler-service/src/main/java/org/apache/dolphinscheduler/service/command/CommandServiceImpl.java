@@ -49,6 +49,8 @@ import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -95,17 +97,44 @@ public class CommandServiceImpl implements CommandService {
         // add command timezone
         Schedule schedule = scheduleMapper.queryByProcessDefinitionCode(command.getProcessDefinitionCode());
         if (schedule != null) {
-            Map<String, String> commandParams =
-                    StringUtils.isNotBlank(command.getCommandParam()) ? JSONUtils.toMap(command.getCommandParam())
-                            : new HashMap<>();
-            commandParams.put(Constants.SCHEDULE_TIMEZONE, schedule.getTimezoneId());
-            command.setCommandParam(JSONUtils.toJsonString(commandParams));
+            addScheduleTimezone(command, schedule);
         }
         command.setId(null);
         result = commandMapper.insert(command);
         return result;
     }
 
+    @Override
+    public int batchCreateCommand(List<Command> commands) {
+        if (CollectionUtils.isEmpty(commands)) {
+            return 0;
+        }
+        // add command timezone
+        List<Long> processDefinitionCodes = commands.stream()
+                .map(Command::getProcessDefinitionCode)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Schedule> scheduleMap = scheduleMapper.querySchedulesByProcessDefinitionCodes(processDefinitionCodes)
+                .stream()
+                .collect(Collectors.toMap(Schedule::getProcessDefinitionCode, Function.identity(), (s1, s2) -> s1));
+        for (Command command : commands) {
+            Schedule schedule = scheduleMap.get(command.getProcessDefinitionCode());
+            if (schedule != null) {
+                addScheduleTimezone(command, schedule);
+            }
+            command.setId(null);
+        }
+        return commandMapper.batchInsert(commands);
+    }
+
+    private void addScheduleTimezone(Command command, Schedule schedule) {
+        Map<String, String> commandParams =
+                StringUtils.isNotBlank(command.getCommandParam()) ? JSONUtils.toMap(command.getCommandParam())
+                        : new HashMap<>();
+        commandParams.put(Constants.SCHEDULE_TIMEZONE, schedule.getTimezoneId());
+        command.setCommandParam(JSONUtils.toJsonString(commandParams));
+    }
+
     @Override
     public boolean verifyIsNeedCreateCommand(Command command) {
         boolean isNeedCreate = true;
@@ -36,18 +36,19 @@ import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.placeholder.BusinessTimeUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
-import org.apache.dolphinscheduler.dao.entity.ProjectParameter;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.mapper.ProjectParameterMapper;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.AbstractParameters;
 import org.apache.dolphinscheduler.plugin.task.api.utils.MapUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
+import org.apache.dolphinscheduler.service.cache.ProjectParameterCacheManager;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -63,6 +64,9 @@ import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 @Component
 public class CuringParamsServiceImpl implements CuringParamsService {
 
@@ -70,7 +74,15 @@ public class CuringParamsServiceImpl implements CuringParamsService {
     private TimePlaceholderResolverExpandService timePlaceholderResolverExpandService;
 
     @Autowired
-    private ProjectParameterMapper projectParameterMapper;
+    private ProjectParameterCacheManager projectParameterCacheManager;
+
+    /**
+     * The parsed json of the command param and the global params keyed by the json string, the task instances of the
+     * same workflow instance share the same strings so they are not parsed for each task instance.
+     */
+    private final Cache<String, Map<String, String>> parsedCommandParamCache = newParsedJsonCache();
+
+    private final Cache<String, Map<String, String>> parsedGlobalParamsCache = newParsedJsonCache();
 
     @Override
     public String convertParameterPlaceholders(String val, Map<String, Property> allParamMap) {
@@ -194,7 +206,7 @@ public class CuringParamsServiceImpl implements CuringParamsService {
         // if it is a complement,
         // you need to pass in the task instance id to locate the time
         // of the process instance complement
-        Map<String, String> cmdParam = JSONUtils.toMap(processInstance.getCommandParam());
+        Map<String, String> cmdParam = parseCommandParam(processInstance.getCommandParam());
         String timeZone = cmdParam.get(Constants.SCHEDULE_TIMEZONE);
 
         // built-in params
@@ -246,7 +258,10 @@ public class CuringParamsServiceImpl implements CuringParamsService {
                 } else {
                     // handle some chain parameter assign, such as `{"var1": "${var2}", "var2": 1}` should be convert to
                     // `{"var1": 1, "var2": 1}`
-                    val = convertParameterPlaceholders(val, prepareParamsMap);
+                    val = ParameterUtils.convertParameterPlaceholdersWithResolver(val, placeholderName -> {
+                        Property placeholderProperty = prepareParamsMap.get(placeholderName);
+                        return placeholderProperty == null ? null : placeholderProperty.getValue();
+                    });
                 }
                 property.setValue(val);
             }
@@ -293,13 +308,41 @@ public class CuringParamsServiceImpl implements CuringParamsService {
         // global params string
         String globalParamsStr = processInstance.getGlobalParams();
         if (globalParamsStr != null) {
-            List<Property> globalParamsList = JSONUtils.toList(globalParamsStr, Property.class);
-            globalParamsMap
-                    .putAll(globalParamsList.stream().collect(Collectors.toMap(Property::getProp, Property::getValue)));
+            Map<String, String> parsedGlobalParams = parsedGlobalParamsCache.getIfPresent(globalParamsStr);
+            if (parsedGlobalParams == null) {
+                List<Property> globalParamsList = JSONUtils.toList(globalParamsStr, Property.class);
+                parsedGlobalParams = Collections.unmodifiableMap(
+                        globalParamsList.stream().collect(Collectors.toMap(Property::getProp, Property::getValue)));
+                parsedGlobalParamsCache.put(globalParamsStr, parsedGlobalParams);
+            }
+            globalParamsMap.putAll(parsedGlobalParams);
         }
         return globalParamsMap;
     }
 
+    private Map<String, String> parseCommandParam(String commandParam) {
+        if (StringUtils.isEmpty(commandParam)) {
+            return null;
+        }
+        Map<String, String> parsedCommandParam = parsedCommandParamCache.getIfPresent(commandParam);
+        if (parsedCommandParam == null) {
+            parsedCommandParam = JSONUtils.toMap(commandParam);
+            if (parsedCommandParam == null) {
+                return null;
+            }
+            parsedCommandParam = Collections.unmodifiableMap(parsedCommandParam);
+            parsedCommandParamCache.put(commandParam, parsedCommandParam);
+        }
+        return parsedCommandParam;
+    }
+
+    private static Cache<String, Map<String, String>> newParsedJsonCache() {
+        return CacheBuilder.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .maximumSize(1000)
+                .build();
+    }
+
     @Override
     public Map<String, Property> preBuildBusinessParams(ProcessInstance processInstance) {
         Map<String, Property> paramsMap = new HashMap<>();
@@ -317,17 +360,6 @@ public class CuringParamsServiceImpl implements CuringParamsService {
 
     @Override
     public Map<String, Property> getProjectParameterMap(long projectCode) {
-        Map<String, Property> result = new HashMap<>(16);
-        List<ProjectParameter> projectParameterList = projectParameterMapper.queryByProjectCode(projectCode);
-
-        projectParameterList.forEach(projectParameter -> {
-            Property property = new Property(projectParameter.getParamName(),
-                    Direct.IN,
-                    DataType.VARCHAR,
-                    projectParameter.getParamValue());
-            result.put(projectParameter.getParamName(), property);
-        });
-
-        return result;
+        return projectParameterCacheManager.getProjectParameters(projectCode);
     }
 }
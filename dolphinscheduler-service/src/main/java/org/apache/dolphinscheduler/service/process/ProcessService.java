@@ -116,7 +116,7 @@ public interface ProcessService {
     List<String> queryNeedFailoverProcessInstanceHost();
 
     @Transactional
-    void processNeedFailoverProcessInstances(ProcessInstance processInstance);
+    void processNeedFailoverProcessInstances(List<ProcessInstance> processInstances);
 
     DataSource findDataSourceById(int id);
 
@@ -32,6 +32,7 @@ import static org.apache.dolphinscheduler.plugin.task.api.utils.DataQualityConst
 
 import org.apache.dolphinscheduler.common.constants.CommandKeyConstants;
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.constants.TenantConstants;
 import org.apache.dolphinscheduler.common.enums.AuthorizationType;
 import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.Flag;
@@ -1464,29 +1465,44 @@ public class ProcessServiceImpl implements ProcessService {
     }
 
     /**
-     * process need failover process instance
+     * process need failover process instances, the hosts are updated and the recovery commands are inserted with
+     * batched statements
      *
-     * @param processInstance processInstance
+     * @param processInstances processInstances
      */
     @Override
     @Transactional
-    public void processNeedFailoverProcessInstances(ProcessInstance processInstance) {
-        // updateProcessInstance host is null to mark this processInstance has been failover
-        // and insert a failover command
-        processInstance.setHost(Constants.NULL);
-        processInstanceMapper.updateById(processInstance);
+    public void processNeedFailoverProcessInstances(List<ProcessInstance> processInstances) {
+        if (CollectionUtils.isEmpty(processInstances)) {
+            return;
+        }
+        // updateProcessInstance host is null to mark these processInstances have been failover
+        // and insert the failover commands
+        List<Integer> processInstanceIds = new ArrayList<>(processInstances.size());
+        List<Command> commands = new ArrayList<>(processInstances.size());
+        for (ProcessInstance processInstance : processInstances) {
+            processInstance.setHost(Constants.NULL);
+            processInstanceIds.add(processInstance.getId());
+
+            Command cmd = new Command();
+            cmd.setProcessDefinitionCode(processInstance.getProcessDefinitionCode());
+            cmd.setProcessDefinitionVersion(processInstance.getProcessDefinitionVersion());
+            cmd.setProcessInstanceId(processInstance.getId());
+            cmd.setCommandParam(JSONUtils.toJsonString(createCommandParams(processInstance)));
+            cmd.setExecutorId(processInstance.getExecutorId());
+            cmd.setCommandType(CommandType.RECOVER_TOLERANCE_FAULT_PROCESS);
+            cmd.setProcessInstancePriority(processInstance.getProcessInstancePriority());
+            cmd.setTestFlag(processInstance.getTestFlag());
+            // the batched insert writes every column, keep the same values as the column defaults
+            cmd.setWarningType(WarningType.NONE);
+            cmd.setTenantCode(TenantConstants.DEFAULT_TENANT_CODE);
+            cmd.setEnvironmentCode(-1L);
+            commands.add(cmd);
+        }
+        processInstanceMapper.updateHostByIds(processInstanceIds, Constants.NULL);
 
         // 2 insert into recover command
-        Command cmd = new Command();
-        cmd.setProcessDefinitionCode(processInstance.getProcessDefinitionCode());
-        cmd.setProcessDefinitionVersion(processInstance.getProcessDefinitionVersion());
-        cmd.setProcessInstanceId(processInstance.getId());
-        cmd.setCommandParam(JSONUtils.toJsonString(createCommandParams(processInstance)));
-        cmd.setExecutorId(processInstance.getExecutorId());
-        cmd.setCommandType(CommandType.RECOVER_TOLERANCE_FAULT_PROCESS);
-        cmd.setProcessInstancePriority(processInstance.getProcessInstancePriority());
-        cmd.setTestFlag(processInstance.getTestFlag());
-        commandService.createCommand(cmd);
+        commandService.batchCreateCommand(commands);
     }
 
     /**
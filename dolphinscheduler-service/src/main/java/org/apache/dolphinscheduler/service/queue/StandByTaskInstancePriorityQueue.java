@@ -20,19 +20,30 @@ package org.apache.dolphinscheduler.service.queue;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.PriorityQueue;
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
 
 /**
  * Task instances priority queue implementation
  * All the task instances are in the same process instance.
+ * <p>
+ * This is an indexed binary heap, each task instance is indexed by its identify (processInstanceId + taskCode + version)
+ * and by its reference, so {@link #contains(TaskInstance)} is O(1), {@link #remove(TaskInstance)} and
+ * {@link #put(TaskInstance)} are O(log n), and {@link #hasRetryTaskInstance()} is O(1) instead of scanning the queue.
+ * <p>
+ * The retry counter is calculated by the state of the task instance when it is put into the queue, if you change the
+ * state of a task instance which is in the queue, use {@link #forEach(Consumer)} so that the counter can be refreshed.
  */
 public class StandByTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInstance> {
 
@@ -41,12 +52,26 @@ public class StandByTaskInstancePriorityQueue implements TaskPriorityQueue<TaskI
      */
     private static final Integer QUEUE_MAX_SIZE = 3000;
 
+    private final Comparator<TaskInstance> taskInstanceComparator = new TaskInstancePriorityComparator();
+
+    /**
+     * heap, the node's index in this list is recorded at {@link TaskInstanceNode#heapIndex}
+     */
+    private final List<TaskInstanceNode> heap = new ArrayList<>(QUEUE_MAX_SIZE);
+
     /**
-     * queue
+     * taskInstanceIdentify -> nodes, the task instance may doesn't have id, so we cannot use id as the key
      */
-    private final PriorityQueue<TaskInstance> queue =
-            new PriorityQueue<>(QUEUE_MAX_SIZE, new TaskInstancePriorityComparator());
-    private final Set<String> taskInstanceIdentifySet = Collections.synchronizedSet(new HashSet<>());
+    private final Map<String, List<TaskInstanceNode>> taskInstanceIdentifyIndex = new HashMap<>();
+
+    /**
+     * taskInstance -> node, used to find the node when the fields of the task instance are changed after put
+     */
+    private final Map<TaskInstance, TaskInstanceNode> taskInstanceReferenceIndex = new IdentityHashMap<>();
+
+    private long sequence = 0;
+
+    private int retryTaskInstanceCount = 0;
 
     /**
      * put task instance to priority queue
@@ -56,8 +81,20 @@ public class StandByTaskInstancePriorityQueue implements TaskPriorityQueue<TaskI
     @Override
     public void put(TaskInstance taskInstance) {
         Preconditions.checkNotNull(taskInstance);
-        queue.add(taskInstance);
-        taskInstanceIdentifySet.add(getTaskInstanceIdentify(taskInstance));
+        if (taskInstanceReferenceIndex.containsKey(taskInstance)) {
+            return;
+        }
+        TaskInstanceNode node =
+                new TaskInstanceNode(taskInstance, getTaskInstanceIdentify(taskInstance), sequence++,
+                        isRetryTaskInstance(taskInstance));
+        taskInstanceIdentifyIndex.computeIfAbsent(node.identify, key -> new ArrayList<>(1)).add(node);
+        taskInstanceReferenceIndex.put(taskInstance, node);
+        if (node.retry) {
+            retryTaskInstanceCount++;
+        }
+        node.heapIndex = heap.size();
+        heap.add(node);
+        siftUp(node.heapIndex);
     }
 
     /**
@@ -68,11 +105,12 @@ public class StandByTaskInstancePriorityQueue implements TaskPriorityQueue<TaskI
      */
     @Override
     public TaskInstance take() throws TaskPriorityQueueException {
-        TaskInstance taskInstance = queue.poll();
-        if (taskInstance != null) {
-            taskInstanceIdentifySet.remove(getTaskInstanceIdentify(taskInstance));
+        if (heap.isEmpty()) {
+            return null;
         }
-        return taskInstance;
+        TaskInstanceNode node = heap.get(0);
+        removeNode(node);
+        return node.taskInstance;
     }
 
     /**
@@ -99,7 +137,7 @@ public class StandByTaskInstancePriorityQueue implements TaskPriorityQueue<TaskI
      * @return task instance
      */
     public TaskInstance peek() {
-        return queue.peek();
+        return heap.isEmpty() ? null : heap.get(0).taskInstance;
     }
 
     /**
@@ -109,7 +147,7 @@ public class StandByTaskInstancePriorityQueue implements TaskPriorityQueue<TaskI
      */
     @Override
     public int size() {
-        return queue.size();
+        return heap.size();
     }
 
     /**
@@ -117,8 +155,10 @@ public class StandByTaskInstancePriorityQueue implements TaskPriorityQueue<TaskI
      *
      */
     public void clear() {
-        queue.clear();
-        taskInstanceIdentifySet.clear();
+        heap.clear();
+        taskInstanceIdentifyIndex.clear();
+        taskInstanceReferenceIndex.clear();
+        retryTaskInstanceCount = 0;
     }
 
     /**
@@ -129,7 +169,7 @@ public class StandByTaskInstancePriorityQueue implements TaskPriorityQueue<TaskI
      */
     public boolean contains(TaskInstance taskInstance) {
         Preconditions.checkNotNull(taskInstance);
-        return taskInstanceIdentifySet.contains(getTaskInstanceIdentify(taskInstance));
+        return taskInstanceIdentifyIndex.containsKey(getTaskInstanceIdentify(taskInstance));
     }
 
     /**
@@ -140,17 +180,142 @@ public class StandByTaskInstancePriorityQueue implements TaskPriorityQueue<TaskI
      */
     public boolean remove(TaskInstance taskInstance) {
         Preconditions.checkNotNull(taskInstance);
-        taskInstanceIdentifySet.remove(getTaskInstanceIdentify(taskInstance));
-        return queue.remove(taskInstance);
+        TaskInstanceNode node = taskInstanceReferenceIndex.get(taskInstance);
+        if (node == null) {
+            node = findNodeByIdentify(taskInstance);
+        }
+        if (node == null) {
+            return false;
+        }
+        removeNode(node);
+        return true;
+    }
+
+    /**
+     * whether there is a task instance which is waiting to retry in the queue
+     *
+     * @return true if exist
+     */
+    public boolean hasRetryTaskInstance() {
+        return retryTaskInstanceCount > 0;
     }
 
     /**
-     * get iterator
+     * Apply the action to all the task instances in the queue, the action can change the state of the task instance,
+     * but should not change the fields which are used to sort or identify the task instance.
+     *
+     * @param action action
+     */
+    public void forEach(Consumer<TaskInstance> action) {
+        Preconditions.checkNotNull(action);
+        int retryCount = 0;
+        for (TaskInstanceNode node : heap) {
+            action.accept(node.taskInstance);
+            node.retry = isRetryTaskInstance(node.taskInstance);
+            if (node.retry) {
+                retryCount++;
+            }
+        }
+        retryTaskInstanceCount = retryCount;
+    }
+
+    /**
+     * get iterator, the iterator is read-only
      *
      * @return Iterator
      */
     public Iterator<TaskInstance> iterator() {
-        return queue.iterator();
+        return Iterators.unmodifiableIterator(Iterators.transform(heap.iterator(), node -> node.taskInstance));
+    }
+
+    private TaskInstanceNode findNodeByIdentify(TaskInstance taskInstance) {
+        List<TaskInstanceNode> nodes =
+                taskInstanceIdentifyIndex.getOrDefault(getTaskInstanceIdentify(taskInstance), Collections.emptyList());
+        for (TaskInstanceNode node : nodes) {
+            if (node.taskInstance.equals(taskInstance)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private void removeNode(TaskInstanceNode node) {
+        int index = node.heapIndex;
+        TaskInstanceNode last = heap.remove(heap.size() - 1);
+        if (last != node) {
+            heap.set(index, last);
+            last.heapIndex = index;
+            if (!siftUp(index)) {
+                siftDown(index);
+            }
+        }
+        node.heapIndex = -1;
+
+        List<TaskInstanceNode> nodes = taskInstanceIdentifyIndex.get(node.identify);
+        if (nodes != null) {
+            nodes.remove(node);
+            if (nodes.isEmpty()) {
+                taskInstanceIdentifyIndex.remove(node.identify);
+            }
+        }
+        taskInstanceReferenceIndex.remove(node.taskInstance);
+        if (node.retry) {
+            retryTaskInstanceCount--;
+        }
+    }
+
+    private boolean siftUp(int index) {
+        TaskInstanceNode node = heap.get(index);
+        int current = index;
+        while (current > 0) {
+            int parent = (current - 1) >>> 1;
+            TaskInstanceNode parentNode = heap.get(parent);
+            if (compare(node, parentNode) >= 0) {
+                break;
+            }
+            heap.set(current, parentNode);
+            parentNode.heapIndex = current;
+            current = parent;
+        }
+        heap.set(current, node);
+        node.heapIndex = current;
+        return current != index;
+    }
+
+    private void siftDown(int index) {
+        TaskInstanceNode node = heap.get(index);
+        int size = heap.size();
+        int current = index;
+        int half = size >>> 1;
+        while (current < half) {
+            int child = (current << 1) + 1;
+            int right = child + 1;
+            if (right < size && compare(heap.get(right), heap.get(child)) < 0) {
+                child = right;
+            }
+            TaskInstanceNode childNode = heap.get(child);
+            if (compare(node, childNode) <= 0) {
+                break;
+            }
+            heap.set(current, childNode);
+            childNode.heapIndex = current;
+            current = child;
+        }
+        heap.set(current, node);
+        node.heapIndex = current;
+    }
+
+    private int compare(TaskInstanceNode o1, TaskInstanceNode o2) {
+        int result = taskInstanceComparator.compare(o1.taskInstance, o2.taskInstance);
+        if (result != 0) {
+            return result;
+        }
+        // the task instance which is put first will be taken first
+        return Long.compare(o1.sequence, o2.sequence);
+    }
+
+    private boolean isRetryTaskInstance(TaskInstance taskInstance) {
+        return taskInstance.getState() != null && taskInstance.getState().isFailure();
     }
 
     // since the task instance will not contain taskInstanceId until insert into database
@@ -162,6 +327,26 @@ public class StandByTaskInstancePriorityQueue implements TaskPriorityQueue<TaskI
                 String.valueOf(taskInstance.getTaskDefinitionVersion()), "-");
     }
 
+    private static class TaskInstanceNode {
+
+        private final TaskInstance taskInstance;
+
+        private final String identify;
+
+        private final long sequence;
+
+        private boolean retry;
+
+        private int heapIndex;
+
+        private TaskInstanceNode(TaskInstance taskInstance, String identify, long sequence, boolean retry) {
+            this.taskInstance = taskInstance;
+            this.identify = identify;
+            this.sequence = sequence;
+            this.retry = retry;
+        }
+    }
+
     /**
      * This comparator is used to sort task instances in the standby queue.
      * If the TaskInstance is in the same taskGroup, then we will sort the TaskInstance by {@link TaskInstance#getTaskGroupPriority()} in the taskGroup.
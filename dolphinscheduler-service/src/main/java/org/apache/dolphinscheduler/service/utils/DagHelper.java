@@ -33,10 +33,15 @@ import org.apache.dolphinscheduler.service.process.ProcessDag;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -59,12 +64,12 @@ public class DagHelper {
      */
     public static List<TaskNodeRelation> generateRelationListByFlowNodes(List<TaskNode> taskNodeList) {
         List<TaskNodeRelation> nodeRelationList = new ArrayList<>();
+        Map<Long, TaskNode> taskNodeMap = getTaskNodeMap(taskNodeList);
         for (TaskNode taskNode : taskNodeList) {
-            String preTasks = taskNode.getPreTasks();
-            List<Long> preTaskList = JSONUtils.toList(preTasks, Long.class);
+            List<Long> preTaskList = taskNode.getDepList();
             if (preTaskList != null) {
                 for (Long depNodeCode : preTaskList) {
-                    if (null != findNodeByCode(taskNodeList, depNodeCode)) {
+                    if (taskNodeMap.containsKey(depNodeCode)) {
                         nodeRelationList.add(new TaskNodeRelation(depNodeCode, taskNode.getCode()));
                     }
                 }
@@ -106,8 +111,10 @@ public class DagHelper {
             tmpTaskNodeList = taskNodeList;
         } else {
             // specified start nodes or resume execution
+            Map<Long, TaskNode> taskNodeMap = getTaskNodeMap(taskNodeList);
+            Map<Long, List<TaskNode>> postTaskNodeMap = getPostTaskNodeMap(taskNodeList);
             for (Long startNodeCode : startNodeList) {
-                TaskNode startNode = findNodeByCode(taskNodeList, startNodeCode);
+                TaskNode startNode = taskNodeMap.get(startNodeCode);
                 List<TaskNode> childNodeList = new ArrayList<>();
                 if (startNode == null) {
                     log.error("start node name [{}] is not in task node list [{}] ",
@@ -115,12 +122,12 @@ public class DagHelper {
                             taskNodeList);
                     continue;
                 } else if (TaskDependType.TASK_POST == taskDependType) {
-                    List<Long> visitedNodeCodeList = new ArrayList<>();
-                    childNodeList = getFlowNodeListPost(startNode, taskNodeList, visitedNodeCodeList);
+                    Set<Long> visitedNodeCodeList = new HashSet<>();
+                    childNodeList = getFlowNodeListPost(startNode, postTaskNodeMap, visitedNodeCodeList);
                 } else if (TaskDependType.TASK_PRE == taskDependType) {
-                    List<Long> visitedNodeCodeList = new ArrayList<>();
+                    Set<Long> visitedNodeCodeList = new HashSet<>();
                     childNodeList =
-                            getFlowNodeListPre(startNode, recoveryNodeCodeList, taskNodeList, visitedNodeCodeList);
+                            getFlowNodeListPre(startNode, recoveryNodeCodeList, taskNodeMap, visitedNodeCodeList);
                 } else {
                     childNodeList.add(startNode);
                 }
@@ -128,8 +135,9 @@ public class DagHelper {
             }
         }
 
+        Set<Long> destTaskNodeCodes = new HashSet<>();
         for (TaskNode taskNode : tmpTaskNodeList) {
-            if (null == findNodeByCode(destTaskNodeList, taskNode.getCode())) {
+            if (destTaskNodeCodes.add(taskNode.getCode())) {
                 destTaskNodeList.add(taskNode);
             }
         }
@@ -140,18 +148,18 @@ public class DagHelper {
      * find all the nodes that depended on the start node
      *
      * @param startNode startNode
-     * @param taskNodeList taskNodeList
+     * @param postTaskNodeMap task code -> the task nodes which depend on it
      * @return task node list
      */
     private static List<TaskNode> getFlowNodeListPost(TaskNode startNode,
-                                                      List<TaskNode> taskNodeList,
-                                                      List<Long> visitedNodeCodeList) {
+                                                      Map<Long, List<TaskNode>> postTaskNodeMap,
+                                                      Set<Long> visitedNodeCodeList) {
         List<TaskNode> resultList = new ArrayList<>();
-        for (TaskNode taskNode : taskNodeList) {
-            List<Long> depList = taskNode.getDepList();
-            if (null != depList && null != startNode && depList.contains(startNode.getCode())
-                    && !visitedNodeCodeList.contains(taskNode.getCode())) {
-                resultList.addAll(getFlowNodeListPost(taskNode, taskNodeList, visitedNodeCodeList));
+        if (null != startNode) {
+            for (TaskNode taskNode : postTaskNodeMap.getOrDefault(startNode.getCode(), Collections.emptyList())) {
+                if (!visitedNodeCodeList.contains(taskNode.getCode())) {
+                    resultList.addAll(getFlowNodeListPost(taskNode, postTaskNodeMap, visitedNodeCodeList));
+                }
             }
         }
         // why add (startNode != null) condition? for SonarCloud Quality Gate passed
@@ -168,13 +176,13 @@ public class DagHelper {
      *
      * @param startNode startNode
      * @param recoveryNodeCodeList recoveryNodeCodeList
-     * @param taskNodeList taskNodeList
+     * @param taskNodeMap task code -> task node
      * @return task node list
      */
     private static List<TaskNode> getFlowNodeListPre(TaskNode startNode,
                                                      List<Long> recoveryNodeCodeList,
-                                                     List<TaskNode> taskNodeList,
-                                                     List<Long> visitedNodeCodeList) {
+                                                     Map<Long, TaskNode> taskNodeMap,
+                                                     Set<Long> visitedNodeCodeList) {
 
         List<TaskNode> resultList = new ArrayList<>();
 
@@ -187,11 +195,11 @@ public class DagHelper {
             return resultList;
         }
         for (Long depNodeCode : depList) {
-            TaskNode start = findNodeByCode(taskNodeList, depNodeCode);
+            TaskNode start = taskNodeMap.get(depNodeCode);
             if (recoveryNodeCodeList.contains(depNodeCode)) {
                 resultList.add(start);
             } else if (!visitedNodeCodeList.contains(depNodeCode)) {
-                resultList.addAll(getFlowNodeListPre(start, recoveryNodeCodeList, taskNodeList, visitedNodeCodeList));
+                resultList.addAll(getFlowNodeListPre(start, recoveryNodeCodeList, taskNodeMap, visitedNodeCodeList));
             }
         }
         // why add (startNode != null) condition? for SonarCloud Quality Gate passed
@@ -201,6 +209,34 @@ public class DagHelper {
         return resultList;
     }
 
+    /**
+     * Index the task nodes by code, the first one wins if there are duplicated codes.
+     */
+    private static Map<Long, TaskNode> getTaskNodeMap(List<TaskNode> taskNodeList) {
+        Map<Long, TaskNode> taskNodeMap = new HashMap<>(taskNodeList.size() * 2);
+        for (TaskNode taskNode : taskNodeList) {
+            taskNodeMap.putIfAbsent(taskNode.getCode(), taskNode);
+        }
+        return taskNodeMap;
+    }
+
+    /**
+     * Index the task nodes by their pre task codes, the post nodes keep the order of the given list.
+     */
+    private static Map<Long, List<TaskNode>> getPostTaskNodeMap(List<TaskNode> taskNodeList) {
+        Map<Long, List<TaskNode>> postTaskNodeMap = new HashMap<>(taskNodeList.size() * 2);
+        for (TaskNode taskNode : taskNodeList) {
+            List<Long> depList = taskNode.getDepList();
+            if (depList == null) {
+                continue;
+            }
+            for (Long depNodeCode : depList) {
+                postTaskNodeMap.computeIfAbsent(depNodeCode, k -> new ArrayList<>()).add(taskNode);
+            }
+        }
+        return postTaskNodeMap;
+    }
+
     /**
      * generate dag by start nodes and recovery nodes
      *
@@ -518,13 +554,53 @@ public class DagHelper {
 
         // add edge
         if (CollectionUtils.isNotEmpty(processDag.getEdges())) {
-            for (TaskNodeRelation edge : processDag.getEdges()) {
+            for (TaskNodeRelation edge : sortEdgesByTopologicalOrder(processDag.getEdges())) {
                 dag.addEdge(edge.getStartNode(), edge.getEndNode());
             }
         }
         return dag;
     }
 
+    /**
+     * Sort the edges by the topological order of their start nodes, the DAG checks whether the new edge causes a cycle
+     * by traversing from its end node, whose edges are not added yet in this order.
+     * The edges in a cycle are kept in the origin order at the tail, so the cycle can still be detected by the DAG.
+     */
+    private static List<TaskNodeRelation> sortEdgesByTopologicalOrder(List<TaskNodeRelation> edges) {
+        Map<Long, List<TaskNodeRelation>> outEdgesMap = new LinkedHashMap<>();
+        Map<Long, Integer> inDegreeMap = new HashMap<>();
+        for (TaskNodeRelation edge : edges) {
+            outEdgesMap.computeIfAbsent(edge.getStartNode(), k -> new ArrayList<>()).add(edge);
+            inDegreeMap.merge(edge.getEndNode(), 1, Integer::sum);
+        }
+        Deque<Long> zeroInDegreeNodes = new ArrayDeque<>();
+        for (Long node : outEdgesMap.keySet()) {
+            if (!inDegreeMap.containsKey(node)) {
+                zeroInDegreeNodes.add(node);
+            }
+        }
+        List<TaskNodeRelation> sortedEdges = new ArrayList<>(edges.size());
+        while (!zeroInDegreeNodes.isEmpty()) {
+            Long node = zeroInDegreeNodes.poll();
+            for (TaskNodeRelation edge : outEdgesMap.getOrDefault(node, Collections.emptyList())) {
+                sortedEdges.add(edge);
+                if (inDegreeMap.merge(edge.getEndNode(), -1, Integer::sum) == 0) {
+                    zeroInDegreeNodes.add(edge.getEndNode());
+                }
+            }
+        }
+        if (sortedEdges.size() < edges.size()) {
+            Set<TaskNodeRelation> added = Collections.newSetFromMap(new IdentityHashMap<>());
+            added.addAll(sortedEdges);
+            for (TaskNodeRelation edge : edges) {
+                if (!added.contains(edge)) {
+                    sortedEdges.add(edge);
+                }
+            }
+        }
+        return sortedEdges;
+    }
+
     /**
      * get process dag
      *
@@ -536,8 +612,7 @@ public class DagHelper {
 
         // Traverse node information and build relationships
         for (TaskNode taskNode : taskNodeList) {
-            String preTasks = taskNode.getPreTasks();
-            List<Long> preTasksList = JSONUtils.toList(preTasks, Long.class);
+            List<Long> preTasksList = taskNode.getDepList();
 
             // If the dependency is not empty
             if (preTasksList != null) {
@@ -602,8 +677,8 @@ public class DagHelper {
             return false;
         }
         for (TaskNode taskNode : taskNodes) {
-            List<Long> preTasksList = JSONUtils.toList(taskNode.getPreTasks(), Long.class);
-            if (preTasksList.contains(parentNodeCode) && taskNode.isConditionsTask()) {
+            List<Long> preTasksList = taskNode.getDepList();
+            if (preTasksList != null && preTasksList.contains(parentNodeCode) && taskNode.isConditionsTask()) {
                 return true;
             }
         }
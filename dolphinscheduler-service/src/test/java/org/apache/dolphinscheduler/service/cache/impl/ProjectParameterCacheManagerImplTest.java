@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.cache.impl;
+
+import org.apache.dolphinscheduler.dao.entity.ProjectParameter;
+import org.apache.dolphinscheduler.dao.mapper.ProjectParameterMapper;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.google.common.collect.Lists;
+
+@ExtendWith(MockitoExtension.class)
+public class ProjectParameterCacheManagerImplTest {
+
+    private static final long PROJECT_CODE = 1L;
+
+    @Mock
+    private ProjectParameterMapper projectParameterMapper;
+
+    private ProjectParameterCacheManagerImpl projectParameterCacheManager;
+
+    @BeforeEach
+    public void before() {
+        projectParameterCacheManager = new ProjectParameterCacheManagerImpl(projectParameterMapper);
+    }
+
+    @Test
+    public void testGetProjectParameters() {
+        Mockito.when(projectParameterMapper.queryByProjectCode(PROJECT_CODE))
+                .thenReturn(Lists.newArrayList(newProjectParameter("key", "value")));
+
+        Map<String, Property> projectParameters = projectParameterCacheManager.getProjectParameters(PROJECT_CODE);
+        Assertions.assertEquals("value", projectParameters.get("key").getValue());
+
+        // the returned properties are copies, modifying them doesn't change the cache
+        projectParameters.get("key").setValue("modified");
+        Assertions.assertEquals("value",
+                projectParameterCacheManager.getProjectParameters(PROJECT_CODE).get("key").getValue());
+        Mockito.verify(projectParameterMapper, Mockito.times(1)).queryByProjectCode(PROJECT_CODE);
+    }
+
+    @Test
+    public void testEvict() {
+        Mockito.when(projectParameterMapper.queryByProjectCode(PROJECT_CODE))
+                .thenReturn(Lists.newArrayList(newProjectParameter("key", "value")))
+                .thenReturn(Lists.newArrayList(newProjectParameter("key", "newValue")));
+
+        Assertions.assertEquals("value",
+                projectParameterCacheManager.getProjectParameters(PROJECT_CODE).get("key").getValue());
+        projectParameterCacheManager.evict(PROJECT_CODE);
+        Assertions.assertEquals("newValue",
+                projectParameterCacheManager.getProjectParameters(PROJECT_CODE).get("key").getValue());
+    }
+
+    private ProjectParameter newProjectParameter(String paramName, String paramValue) {
+        ProjectParameter projectParameter = new ProjectParameter();
+        projectParameter.setParamName(paramName);
+        projectParameter.setParamValue(paramValue);
+        return projectParameter;
+    }
+}
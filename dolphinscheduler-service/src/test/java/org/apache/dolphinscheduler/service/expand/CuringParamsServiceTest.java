@@ -25,18 +25,17 @@ import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.mapper.ProjectParameterMapper;
 import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.AbstractParameters;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.SubProcessParameters;
+import org.apache.dolphinscheduler.service.cache.ProjectParameterCacheManager;
 
 import org.apache.commons.collections4.MapUtils;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -68,7 +67,7 @@ public class CuringParamsServiceTest {
     private TimePlaceholderResolverExpandService timePlaceholderResolverExpandService;
 
     @Mock
-    private ProjectParameterMapper projectParameterMapper;
+    private ProjectParameterCacheManager projectParameterCacheManager;
 
     @InjectMocks
     private TimePlaceholderResolverExpandServiceImpl timePlaceholderResolverExpandServiceImpl;
@@ -214,7 +213,7 @@ public class CuringParamsServiceTest {
 
         AbstractParameters parameters = new SubProcessParameters();
 
-        Mockito.when(projectParameterMapper.queryByProjectCode(Mockito.anyLong())).thenReturn(Collections.emptyList());
+        Mockito.when(projectParameterCacheManager.getProjectParameters(Mockito.anyLong())).thenReturn(new HashMap<>());
 
         Map<String, Property> propertyMap =
                 dolphinSchedulerCuringGlobalParams.paramParsingPreparation(taskInstance, parameters, processInstance);
@@ -237,6 +236,43 @@ public class CuringParamsServiceTest {
                 String.valueOf(processDefinition.getCode()));
     }
 
+    @Test
+    public void testParamParsingPreparationWithChainParameters() {
+        TaskDefinition taskDefinition = new TaskDefinition();
+        taskDefinition.setName("TaskName-1");
+        taskDefinition.setCode(1000001L);
+
+        ProcessDefinition processDefinition = new ProcessDefinition();
+        processDefinition.setName("ProcessName-1");
+        processDefinition.setProjectName("ProjectName-1");
+        processDefinition.setProjectCode(3000001L);
+        processDefinition.setCode(200001L);
+
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(2);
+        processInstance.setCommandParam("{\"" + Constants.SCHEDULE_TIMEZONE + "\":\"Asia/Shanghai\"}");
+        processInstance.setCommandType(CommandType.START_PROCESS);
+        processInstance.setProcessDefinition(processDefinition);
+        processInstance.setGlobalParams(JSONUtils.toJsonString(Lists.newArrayList(
+                new Property("path", Direct.IN, DataType.VARCHAR, "${baseDir}/${unknown}/data"))));
+
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setProcessDefine(processDefinition);
+        taskInstance.setProcessInstance(processInstance);
+        taskInstance.setTaskDefine(taskDefinition);
+        taskInstance.setProjectCode(3000001L);
+
+        Map<String, Property> projectParameters = new HashMap<>();
+        projectParameters.put("baseDir", new Property("baseDir", Direct.IN, DataType.VARCHAR, "/tmp"));
+        Mockito.when(projectParameterCacheManager.getProjectParameters(3000001L)).thenReturn(projectParameters);
+
+        Map<String, Property> propertyMap = dolphinSchedulerCuringGlobalParams.paramParsingPreparation(taskInstance,
+                new SubProcessParameters(), processInstance);
+        Assertions.assertEquals("/tmp/${unknown}/data", propertyMap.get("path").getValue());
+        Assertions.assertEquals("/tmp", propertyMap.get("baseDir").getValue());
+    }
+
     @Test
     public void testParseWorkflowStartParam() {
         Map<String, Property> result = new HashMap<>();
@@ -19,8 +19,11 @@ package org.apache.dolphinscheduler.service.queue;
 
 import org.apache.dolphinscheduler.common.enums.Priority;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Assertions;
@@ -128,6 +131,80 @@ public class StandByTaskInstancePriorityQueueTest {
         Assertions.assertFalse(queue.contains(taskInstanceMediumPriority));
     }
 
+    @Test
+    public void removeAfterTaskInstanceChanged() {
+        StandByTaskInstancePriorityQueue queue = new StandByTaskInstancePriorityQueue();
+        TaskInstance taskInstance = createTaskInstance("medium", Priority.MEDIUM, 1);
+        queue.put(taskInstance);
+        taskInstance.setId(1);
+        taskInstance.setState(TaskExecutionStatus.FORCED_SUCCESS);
+        Assertions.assertTrue(queue.remove(taskInstance));
+        Assertions.assertEquals(0, queue.size());
+        Assertions.assertFalse(queue.remove(taskInstance));
+    }
+
+    @Test
+    public void takeInPriorityOrderAfterRandomRemove() throws Exception {
+        StandByTaskInstancePriorityQueue queue = new StandByTaskInstancePriorityQueue();
+        List<TaskInstance> taskInstances = new ArrayList<>();
+        Priority[] priorities = Priority.values();
+        for (int i = 0; i < 1000; i++) {
+            TaskInstance taskInstance = createTaskInstance("task-" + i, priorities[i % priorities.length], 1);
+            taskInstance.setTaskCode(i);
+            taskInstances.add(taskInstance);
+            queue.put(taskInstance);
+        }
+        for (int i = 0; i < 1000; i += 3) {
+            Assertions.assertTrue(queue.remove(taskInstances.get(i)));
+            Assertions.assertFalse(queue.contains(taskInstances.get(i)));
+        }
+        Assertions.assertEquals(666, queue.size());
+
+        TaskInstance previous = null;
+        TaskInstance current;
+        while ((current = queue.take()) != null) {
+            Assertions.assertFalse(queue.contains(current));
+            if (previous != null) {
+                int previousCode = previous.getTaskInstancePriority().getCode();
+                int currentCode = current.getTaskInstancePriority().getCode();
+                Assertions.assertTrue(previousCode < currentCode
+                        || (previousCode == currentCode && previous.getTaskCode() < current.getTaskCode()));
+            }
+            previous = current;
+        }
+        Assertions.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void hasRetryTaskInstance() {
+        StandByTaskInstancePriorityQueue queue = new StandByTaskInstancePriorityQueue();
+        TaskInstance retryTaskInstance = createTaskInstance("retry", Priority.MEDIUM, 1);
+        retryTaskInstance.setTaskCode(1);
+        retryTaskInstance.setState(TaskExecutionStatus.FAILURE);
+        TaskInstance taskInstance = createTaskInstance("normal", Priority.MEDIUM, 1);
+        taskInstance.setTaskCode(2);
+        taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+
+        queue.put(taskInstance);
+        Assertions.assertFalse(queue.hasRetryTaskInstance());
+        queue.put(retryTaskInstance);
+        Assertions.assertTrue(queue.hasRetryTaskInstance());
+
+        queue.forEach(instance -> instance.setState(TaskExecutionStatus.PAUSE));
+        Assertions.assertFalse(queue.hasRetryTaskInstance());
+
+        retryTaskInstance.setState(TaskExecutionStatus.FAILURE);
+        queue.forEach(instance -> {
+        });
+        Assertions.assertTrue(queue.hasRetryTaskInstance());
+        queue.remove(retryTaskInstance);
+        Assertions.assertFalse(queue.hasRetryTaskInstance());
+
+        queue.put(retryTaskInstance);
+        queue.clear();
+        Assertions.assertFalse(queue.hasRetryTaskInstance());
+    }
+
     /**
      * get queue
      *
@@ -34,6 +34,7 @@ import org.apache.dolphinscheduler.service.process.ProcessDag;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -575,4 +576,30 @@ public class DagHelperTest {
         Assertions.assertNotNull(dag);
     }
 
+    @Test
+    public void testBuildDagGraphWithReversedEdges() {
+        List<TaskNode> taskNodeList = new ArrayList<>();
+        List<TaskNodeRelation> edges = new ArrayList<>();
+        for (long code = 1; code <= 5; code++) {
+            TaskNode taskNode = new TaskNode();
+            taskNode.setCode(code);
+            taskNodeList.add(taskNode);
+        }
+        for (long code = 5; code > 1; code--) {
+            edges.add(new TaskNodeRelation(code - 1, code));
+        }
+        // the edge causes a cycle should still be rejected
+        edges.add(new TaskNodeRelation(5L, 1L));
+        ProcessDag processDag = new ProcessDag();
+        processDag.setNodes(taskNodeList);
+        processDag.setEdges(edges);
+
+        DAG<Long, TaskNode, TaskNodeRelation> dag = DagHelper.buildDagGraph(processDag);
+        Assertions.assertEquals(5, dag.getNodesCount());
+        Assertions.assertEquals(4, dag.getEdgesCount());
+        Assertions.assertFalse(dag.containsEdge(5L, 1L));
+        Assertions.assertIterableEquals(Collections.singletonList(1L), dag.getBeginNode());
+        Assertions.assertFalse(dag.hasCycle());
+    }
+
 }
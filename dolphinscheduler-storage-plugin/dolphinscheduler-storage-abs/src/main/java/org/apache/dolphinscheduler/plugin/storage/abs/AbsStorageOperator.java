@@ -33,23 +33,19 @@ import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.Date;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -61,6 +57,9 @@ import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.azure.storage.blob.models.BlobContainerItem;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.options.BlobInputStreamOptions;
 import com.azure.storage.blob.specialized.BlockBlobClient;
 
 @Data
@@ -247,19 +246,25 @@ public class AbsStorageOperator implements Closeable, StorageOperate {
     }
 
     @Override
-    public List<String> vimFile(String tenantCode, String filePath, int skipLineNums, int limit) throws IOException {
-        if (StringUtils.isBlank(filePath)) {
-            log.error("file path:{} is blank", filePath);
-            return Collections.emptyList();
+    public InputStream open(String filePath, long offset, long length) throws IOException {
+        if (length == 0) {
+            return new ByteArrayInputStream(new byte[0]);
         }
+        BlobRange blobRange = length > 0 ? new BlobRange(offset, length) : new BlobRange(offset);
+        try {
+            return blobContainerClient.getBlobClient(filePath)
+                    .openInputStream(new BlobInputStreamOptions().setRange(blobRange));
+        } catch (BlobStorageException e) {
+            throw new IOException("Open the file: " + filePath + " failed", e);
+        }
+    }
 
-        BlobClient blobClient = blobContainerClient.getBlobClient(filePath);
-        try (
-                BufferedReader bufferedReader =
-                        new BufferedReader(new InputStreamReader(
-                                new ByteArrayInputStream(blobClient.downloadContent().toBytes())))) {
-            Stream<String> stream = bufferedReader.lines().skip(skipLineNums).limit(limit);
-            return stream.collect(Collectors.toList());
+    @Override
+    public long getFileSize(String filePath) throws IOException {
+        try {
+            return blobContainerClient.getBlobClient(filePath).getProperties().getBlobSize();
+        } catch (BlobStorageException e) {
+            throw new IOException("Get the size of file: " + filePath + " failed", e);
         }
     }
 
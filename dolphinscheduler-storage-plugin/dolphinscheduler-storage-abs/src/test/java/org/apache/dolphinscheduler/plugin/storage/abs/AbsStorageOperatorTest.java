@@ -29,6 +29,7 @@ import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 
@@ -36,6 +37,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -43,6 +45,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.options.BlobInputStreamOptions;
+import com.azure.storage.blob.specialized.BlobInputStream;
 import com.azure.storage.blob.specialized.BlockBlobClient;
 
 @ExtendWith(MockitoExtension.class)
@@ -271,4 +276,33 @@ public class AbsStorageOperatorTest {
                         ResourceType.FILE);
         Assertions.assertEquals(0, result.size());
     }
+
+    @Test
+    public void testOpenRange() throws IOException {
+        doReturn(blobClient).when(blobContainerClient).getBlobClient(FILE_PATH_MOCK);
+        ArgumentCaptor<BlobInputStreamOptions> optionsCaptor = ArgumentCaptor.forClass(BlobInputStreamOptions.class);
+        doReturn(Mockito.mock(BlobInputStream.class)).when(blobClient).openInputStream(optionsCaptor.capture());
+
+        absStorageOperator.open(FILE_PATH_MOCK, 10, 5);
+        Assertions.assertEquals(10, optionsCaptor.getValue().getRange().getOffset());
+        Assertions.assertEquals(5L, optionsCaptor.getValue().getRange().getCount());
+
+        absStorageOperator.open(FILE_PATH_MOCK, 10, -1);
+        Assertions.assertEquals(10, optionsCaptor.getValue().getRange().getOffset());
+        Assertions.assertNull(optionsCaptor.getValue().getRange().getCount());
+
+        try (InputStream inputStream = absStorageOperator.open(FILE_PATH_MOCK, 10, 0)) {
+            Assertions.assertEquals(-1, inputStream.read());
+        }
+        verify(blobClient, times(2)).openInputStream(Mockito.any(BlobInputStreamOptions.class));
+    }
+
+    @Test
+    public void testGetFileSize() throws IOException {
+        doReturn(blobClient).when(blobContainerClient).getBlobClient(FILE_PATH_MOCK);
+        BlobProperties blobProperties = Mockito.mock(BlobProperties.class);
+        doReturn(100L).when(blobProperties).getBlobSize();
+        doReturn(blobProperties).when(blobClient).getProperties();
+        Assertions.assertEquals(100, absStorageOperator.getFileSize(FILE_PATH_MOCK));
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.storage.api;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Download the file from the storage by byte ranges in parallel, each range is written to its own position of the
+ * local file, so the ranges don't need to be merged.
+ * <p>
+ * The ranges of all the downloads are executed by a shared executor with {@link #SHARED_DOWNLOAD_THREADS} threads, and
+ * each download uses at most parallelism threads of it.
+ */
+@Slf4j
+@UtilityClass
+public class StorageDownloadUtils {
+
+    public static final long DEFAULT_PART_SIZE = 32 * 1024 * 1024L;
+
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    public static final int SHARED_DOWNLOAD_THREADS = Math.max(DEFAULT_PARALLELISM,
+            Runtime.getRuntime().availableProcessors() * 2);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final ExecutorService DOWNLOAD_EXECUTOR =
+            ThreadUtils.newDaemonFixedThreadExecutor("StorageRangeDownload-%d", SHARED_DOWNLOAD_THREADS);
+
+    public void download(StorageOperate storageOperate, String srcFilePath, String dstFile) throws IOException {
+        download(storageOperate, srcFilePath, dstFile, DEFAULT_PART_SIZE, DEFAULT_PARALLELISM);
+    }
+
+    public void download(StorageOperate storageOperate,
+                         String srcFilePath,
+                         String dstFile,
+                         long partSize,
+                         int parallelism) throws IOException {
+        long fileSize;
+        try {
+            fileSize = storageOperate.getFileSize(srcFilePath);
+        } catch (UnsupportedOperationException ex) {
+            storageOperate.download(srcFilePath, dstFile, true);
+            return;
+        }
+        if (partSize <= 0 || parallelism <= 1 || fileSize <= partSize) {
+            storageOperate.download(srcFilePath, dstFile, true);
+            return;
+        }
+
+        Path dstPath = Paths.get(dstFile);
+        File parentFile = dstPath.toFile().getParentFile();
+        if (parentFile != null) {
+            Files.createDirectories(parentFile.toPath());
+        }
+        int partCount = (int) ((fileSize + partSize - 1) / partSize);
+        // Each downloader takes the next range until all the ranges are downloaded or one of them failed
+        AtomicInteger nextPart = new AtomicInteger();
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<?>> futures = new ArrayList<>();
+        boolean success = false;
+        try (
+                FileChannel fileChannel = FileChannel.open(dstPath, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int i = 0; i < Math.min(parallelism, partCount); i++) {
+                futures.add(DOWNLOAD_EXECUTOR.submit(() -> {
+                    int part;
+                    while (!failed.get() && (part = nextPart.getAndIncrement()) < partCount) {
+                        long offset = part * partSize;
+                        long length = Math.min(partSize, fileSize - offset);
+                        try {
+                            downloadRange(storageOperate, srcFilePath, fileChannel, offset, length);
+                        } catch (IOException | RuntimeException ex) {
+                            failed.set(true);
+                            throw ex;
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                waitForRange(future);
+            }
+            success = true;
+            log.info("Download {} to {} by {} ranges, size: {} bytes", srcFilePath, dstFile, partCount, fileSize);
+        } finally {
+            if (!success) {
+                failed.set(true);
+                futures.forEach(future -> future.cancel(true));
+                Files.deleteIfExists(dstPath);
+            }
+        }
+    }
+
+    private void downloadRange(StorageOperate storageOperate,
+                               String srcFilePath,
+                               FileChannel fileChannel,
+                               long offset,
+                               long length) throws IOException {
+        long position = offset;
+        try (InputStream inputStream = storageOperate.open(srcFilePath, offset, length)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int readLength;
+            while (position < offset + length && (readLength = inputStream.read(buffer)) != -1) {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, readLength);
+                while (byteBuffer.hasRemaining()) {
+                    position += fileChannel.write(byteBuffer, position);
+                }
+            }
+        }
+        if (position != offset + length) {
+            throw new IOException(String.format("Download range [%d, %d) of %s failed, only %d bytes are read",
+                    offset, offset + length, srcFilePath, position - offset));
+        }
+    }
+
+    private void waitForRange(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Download is interrupted", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Download range failed", cause);
+        }
+    }
+}
@@ -24,13 +24,29 @@ import org.apache.dolphinscheduler.common.enums.ResUploadType;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public interface StorageOperate {
 
     String RESOURCE_UPLOAD_PATH = PropertyUtils.getString(Constants.RESOURCE_UPLOAD_PATH, "/dolphinscheduler");
 
+    /**
+     * the part size and the concurrent part number when upload the file by multipart
+     */
+    long MULTIPART_UPLOAD_PART_SIZE = 32 * 1024 * 1024L;
+    int MULTIPART_UPLOAD_TASK_NUM = 4;
+
     /**
      * if the resource of tenant 's exist, the resource of folder will be created
      * @param tenantCode
@@ -158,7 +174,70 @@ public interface StorageOperate {
     void download(String srcFilePath, String dstFile, boolean overwrite) throws IOException;
 
     /**
-     * vim the context of filePath
+     * download the srcPath to local by splitting the file into ranges and fetching them in parallel, the small file
+     * or the storage which doesn't support range read will fall back to {@link #download(String, String, boolean)}
+     *
+     * @param srcFilePath the full path of the srcPath
+     * @param dstFile
+     * @param partSize the size of each range
+     * @param parallelism the max number of ranges fetched at the same time
+     * @throws IOException
+     */
+    default void download(String srcFilePath, String dstFile, long partSize, int parallelism) throws IOException {
+        StorageDownloadUtils.download(this, srcFilePath, dstFile, partSize, parallelism);
+    }
+
+    /**
+     * open an input stream to read the whole file, the stream should be closed by the caller
+     *
+     * @param filePath the full path of the file
+     * @return input stream
+     * @throws IOException
+     */
+    default InputStream open(String filePath) throws IOException {
+        return open(filePath, 0, -1);
+    }
+
+    /**
+     * open an input stream to read the byte range [offset, offset + length) of the file, the stream should be closed
+     * by the caller
+     *
+     * @param filePath the full path of the file
+     * @param offset the position to start reading, should not be negative
+     * @param length the max number of bytes to read, negative means read to the end of the file
+     * @return input stream
+     * @throws IOException
+     */
+    default InputStream open(String filePath, long offset, long length) throws IOException {
+        throw new UnsupportedOperationException(
+                "The storage: " + returnStorageType() + " doesn't support to open the file as stream");
+    }
+
+    /**
+     * open a channel to read the byte range [offset, offset + length) of the file, the channel should be closed by the
+     * caller
+     *
+     * @see #open(String, long, long)
+     */
+    default ReadableByteChannel openChannel(String filePath, long offset, long length) throws IOException {
+        return Channels.newChannel(open(filePath, offset, length));
+    }
+
+    /**
+     * get the size of the file in bytes
+     *
+     * @param filePath the full path of the file
+     * @return file size
+     * @throws IOException
+     */
+    default long getFileSize(String filePath) throws IOException {
+        throw new UnsupportedOperationException(
+                "The storage: " + returnStorageType() + " doesn't support to get the file size");
+    }
+
+    /**
+     * vim the context of filePath, the file is read as stream and the stream will be closed once the lines are read,
+     * so the content after the page will not be fetched from the storage
      * @param tenantCode
      * @param filePath
      * @param skipLineNums
@@ -166,7 +245,17 @@ public interface StorageOperate {
      * @return
      * @throws IOException
      */
-    List<String> vimFile(String tenantCode, String filePath, int skipLineNums, int limit) throws IOException;
+    default List<String> vimFile(String tenantCode, String filePath, int skipLineNums,
+                                 int limit) throws IOException {
+        if (StringUtils.isBlank(filePath)) {
+            return Collections.emptyList();
+        }
+        try (
+                BufferedReader bufferedReader =
+                        new BufferedReader(new InputStreamReader(open(filePath), StandardCharsets.UTF_8))) {
+            return bufferedReader.lines().skip(skipLineNums).limit(limit).collect(Collectors.toList());
+        }
+    }
 
     /**
      * delete the files and directory of the tenant
@@ -33,30 +33,28 @@ import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.Date;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
 import com.google.api.gax.paging.Page;
 import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
@@ -209,7 +207,8 @@ public class GcsStorageOperator implements Closeable, StorageOperate {
                     BlobId.of(bucketName, dstPath)).build();
 
             Path srcPath = Paths.get(srcFile);
-            gcsStorage.create(blobInfo, Files.readAllBytes(srcPath));
+            // Upload the file as stream rather than loading it into memory
+            gcsStorage.createFrom(blobInfo, srcPath);
 
             if (deleteSource) {
                 Files.delete(srcPath);
@@ -222,19 +221,32 @@ public class GcsStorageOperator implements Closeable, StorageOperate {
     }
 
     @Override
-    public List<String> vimFile(String tenantCode, String filePath, int skipLineNums, int limit) throws IOException {
-        if (StringUtils.isBlank(filePath)) {
-            log.error("file path:{} is blank", filePath);
-            return Collections.emptyList();
+    public InputStream open(String filePath, long offset, long length) throws IOException {
+        if (length == 0) {
+            return new ByteArrayInputStream(new byte[0]);
         }
+        ReadChannel readChannel = gcsStorage.reader(BlobId.of(bucketName, filePath));
+        try {
+            if (offset > 0) {
+                readChannel.seek(offset);
+            }
+            if (length > 0) {
+                readChannel.limit(offset + length);
+            }
+        } catch (IOException e) {
+            readChannel.close();
+            throw e;
+        }
+        return Channels.newInputStream(readChannel);
+    }
 
+    @Override
+    public long getFileSize(String filePath) throws IOException {
         Blob blob = gcsStorage.get(BlobId.of(bucketName, filePath));
-        try (
-                BufferedReader bufferedReader =
-                        new BufferedReader(new InputStreamReader(new ByteArrayInputStream(blob.getContent())))) {
-            Stream<String> stream = bufferedReader.lines().skip(skipLineNums).limit(limit);
-            return stream.collect(Collectors.toList());
+        if (blob == null) {
+            throw new FileNotFoundException("The file: " + filePath + " does not exist");
         }
+        return blob.getSize();
     }
 
     @Override
@@ -28,7 +28,9 @@ import static org.mockito.Mockito.verify;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 
@@ -40,6 +42,8 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.google.cloud.ReadChannel;
+import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
@@ -287,4 +291,34 @@ public class GcsStorageOperatorTest {
                         ResourceType.FILE);
         Assertions.assertEquals(0, result.size());
     }
+
+    @Test
+    public void testOpenRange() throws IOException {
+        ReadChannel readChannel = Mockito.mock(ReadChannel.class);
+        doReturn(readChannel).when(gcsStorage).reader(BlobId.of(BUCKET_NAME_MOCK, FILE_PATH_MOCK));
+
+        gcsStorageOperator.open(FILE_PATH_MOCK, 10, 5).close();
+        verify(readChannel, times(1)).seek(10);
+        verify(readChannel, times(1)).limit(15);
+
+        gcsStorageOperator.open(FILE_PATH_MOCK, 0, -1).close();
+        verify(readChannel, times(1)).seek(Mockito.anyLong());
+        verify(readChannel, times(1)).limit(Mockito.anyLong());
+
+        try (InputStream inputStream = gcsStorageOperator.open(FILE_PATH_MOCK, 10, 0)) {
+            Assertions.assertEquals(-1, inputStream.read());
+        }
+        verify(gcsStorage, times(2)).reader(Mockito.any(BlobId.class));
+    }
+
+    @Test
+    public void testGetFileSize() throws IOException {
+        Blob blob = Mockito.mock(Blob.class);
+        doReturn(100L).when(blob).getSize();
+        doReturn(blob).when(gcsStorage).get(BlobId.of(BUCKET_NAME_MOCK, FILE_PATH_MOCK));
+        Assertions.assertEquals(100, gcsStorageOperator.getFileSize(FILE_PATH_MOCK));
+
+        doReturn(null).when(gcsStorage).get(BlobId.of(BUCKET_NAME_MOCK, FILE_NAME_MOCK));
+        Assertions.assertThrows(FileNotFoundException.class, () -> gcsStorageOperator.getFileSize(FILE_NAME_MOCK));
+    }
 }
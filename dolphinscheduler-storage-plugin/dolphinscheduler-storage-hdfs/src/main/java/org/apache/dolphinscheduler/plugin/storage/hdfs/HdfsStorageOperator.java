@@ -36,6 +36,7 @@ import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
 import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
@@ -51,6 +52,7 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -246,6 +248,25 @@ public class HdfsStorageOperator implements Closeable, StorageOperate {
         return catFile(hdfsFilePath, skipLineNums, limit);
     }
 
+    @Override
+    public InputStream open(String filePath, long offset, long length) throws IOException {
+        FSDataInputStream fsDataInputStream = fs.open(new Path(filePath));
+        try {
+            if (offset > 0) {
+                fsDataInputStream.seek(offset);
+            }
+        } catch (IOException ex) {
+            fsDataInputStream.close();
+            throw ex;
+        }
+        return length < 0 ? fsDataInputStream : new BoundedInputStream(fsDataInputStream, length);
+    }
+
+    @Override
+    public long getFileSize(String filePath) throws IOException {
+        return fs.getFileStatus(new Path(filePath)).getLen();
+    }
+
     @Override
     public void createTenantDirIfNotExists(String tenantCode) throws IOException {
         mkdir(tenantCode, getHdfsResDir(tenantCode));
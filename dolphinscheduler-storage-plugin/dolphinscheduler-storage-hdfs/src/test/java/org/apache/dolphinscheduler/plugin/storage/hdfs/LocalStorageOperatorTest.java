@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.storage.hdfs;
+
+import org.apache.dolphinscheduler.plugin.storage.api.StorageDownloadUtils;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+public class LocalStorageOperatorTest {
+
+    @TempDir
+    private Path tempDirectory;
+
+    private LocalStorageOperator localStorageOperator;
+
+    private String filePath;
+
+    private byte[] fileContent;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        HdfsStorageProperties hdfsStorageProperties = new HdfsStorageProperties();
+        hdfsStorageProperties.setDefaultFS("file:///");
+        localStorageOperator = new LocalStorageOperator(hdfsStorageProperties);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("line-").append(i).append('\n');
+        }
+        fileContent = content.toString().getBytes(StandardCharsets.UTF_8);
+        Path file = tempDirectory.resolve("file.txt");
+        Files.write(file, fileContent);
+        filePath = file.toString();
+    }
+
+    @Test
+    public void testOpen() throws IOException {
+        try (InputStream inputStream = localStorageOperator.open(filePath)) {
+            Assertions.assertArrayEquals(fileContent, IOUtils.toByteArray(inputStream));
+        }
+        try (InputStream inputStream = localStorageOperator.open(filePath, 7, 6)) {
+            Assertions.assertEquals("line-1", new String(IOUtils.toByteArray(inputStream), StandardCharsets.UTF_8));
+        }
+        try (InputStream inputStream = localStorageOperator.open(filePath, fileContent.length - 9, -1)) {
+            Assertions.assertEquals("line-999\n",
+                    new String(IOUtils.toByteArray(inputStream), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testOpenChannel() throws IOException {
+        try (ReadableByteChannel channel = localStorageOperator.openChannel(filePath, 0, 6)) {
+            ByteBuffer byteBuffer = ByteBuffer.allocate(16);
+            int readBytes = 0;
+            int readLength;
+            while ((readLength = channel.read(byteBuffer)) != -1) {
+                readBytes += readLength;
+            }
+            // Only the bytes in the range are read even if the buffer has more space
+            Assertions.assertEquals(6, readBytes);
+            Assertions.assertEquals("line-0", new String(byteBuffer.array(), 0, byteBuffer.position(),
+                    StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testGetFileSize() throws IOException {
+        Assertions.assertEquals(fileContent.length, localStorageOperator.getFileSize(filePath));
+    }
+
+    @Test
+    public void testVimFile() throws IOException {
+        List<String> lines = localStorageOperator.vimFile("tenant", filePath, 10, 3);
+        Assertions.assertEquals(Arrays.asList("line-10", "line-11", "line-12"), lines);
+    }
+
+    @Test
+    public void testDownloadInParallel() throws IOException {
+        Path dstFile = tempDirectory.resolve("download").resolve("file.txt");
+        StorageDownloadUtils.download(localStorageOperator, filePath, dstFile.toString(), 1000, 4);
+        Assertions.assertArrayEquals(fileContent, Files.readAllBytes(dstFile));
+
+        // The existing file should be overwritten
+        Files.write(dstFile, new byte[fileContent.length * 2]);
+        localStorageOperator.download(filePath, dstFile.toString(), 333, 3);
+        Assertions.assertArrayEquals(fileContent, Files.readAllBytes(dstFile));
+    }
+
+    @Test
+    public void testDownloadInParallelFailed() throws IOException {
+        LocalStorageOperator failedStorageOperator = Mockito.spy(localStorageOperator);
+        Mockito.doThrow(new IOException("mock exception"))
+                .when(failedStorageOperator).open(filePath, 2000, 1000);
+        Path dstFile = tempDirectory.resolve("download").resolve("file.txt");
+
+        IOException exception = Assertions.assertThrows(IOException.class,
+                () -> StorageDownloadUtils.download(failedStorageOperator, filePath, dstFile.toString(), 1000, 4));
+        Assertions.assertEquals("mock exception", exception.getMessage());
+        Assertions.assertFalse(Files.exists(dstFile));
+    }
+}
@@ -33,7 +33,6 @@ import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
@@ -41,16 +40,12 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -65,6 +60,7 @@ import com.obs.services.model.ObjectListing;
 import com.obs.services.model.ObjectMetadata;
 import com.obs.services.model.ObsObject;
 import com.obs.services.model.PutObjectRequest;
+import com.obs.services.model.UploadFileRequest;
 
 @Data
 @Slf4j
@@ -250,7 +246,12 @@ public class ObsStorageOperator implements Closeable, StorageOperate {
     public boolean upload(String tenantCode, String srcFile, String dstPath, boolean deleteSource,
                           boolean overwrite) throws IOException {
         try {
-            obsClient.putObject(bucketName, dstPath, new File(srcFile));
+            // Upload the large file by multipart in parallel
+            UploadFileRequest uploadFileRequest = new UploadFileRequest(bucketName, dstPath);
+            uploadFileRequest.setUploadFile(srcFile);
+            uploadFileRequest.setPartSize(MULTIPART_UPLOAD_PART_SIZE);
+            uploadFileRequest.setTaskNum(MULTIPART_UPLOAD_TASK_NUM);
+            obsClient.uploadFile(uploadFileRequest);
             if (deleteSource) {
                 Files.delete(Paths.get(srcFile));
             }
@@ -262,15 +263,30 @@ public class ObsStorageOperator implements Closeable, StorageOperate {
     }
 
     @Override
-    public List<String> vimFile(String tenantCode, String filePath, int skipLineNums, int limit) throws IOException {
-        if (StringUtils.isBlank(filePath)) {
-            log.error("file path:{} is empty", filePath);
-            return Collections.emptyList();
+    public InputStream open(String filePath, long offset, long length) throws IOException {
+        if (length == 0) {
+            return new ByteArrayInputStream(new byte[0]);
         }
-        ObsObject obsObject = obsClient.getObject(bucketName, filePath);
-        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(obsObject.getObjectContent()))) {
-            Stream<String> stream = bufferedReader.lines().skip(skipLineNums).limit(limit);
-            return stream.collect(Collectors.toList());
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, filePath);
+        if (offset > 0 || length > 0) {
+            getObjectRequest.setRangeStart(offset);
+        }
+        if (length > 0) {
+            getObjectRequest.setRangeEnd(offset + length - 1);
+        }
+        try {
+            return obsClient.getObject(getObjectRequest).getObjectContent();
+        } catch (ObsException e) {
+            throw new IOException("Open the file: " + filePath + " failed", e);
+        }
+    }
+
+    @Override
+    public long getFileSize(String filePath) throws IOException {
+        try {
+            return obsClient.getObjectMetadata(bucketName, filePath).getContentLength();
+        } catch (ObsException e) {
+            throw new IOException("Get the size of file: " + filePath + " failed", e);
         }
     }
 
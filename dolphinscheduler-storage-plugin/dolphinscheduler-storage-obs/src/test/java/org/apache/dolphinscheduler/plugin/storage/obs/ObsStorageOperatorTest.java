@@ -30,7 +30,9 @@ import static org.mockito.Mockito.verify;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 
@@ -38,11 +40,15 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.obs.services.ObsClient;
+import com.obs.services.model.GetObjectRequest;
+import com.obs.services.model.ObjectMetadata;
+import com.obs.services.model.ObsObject;
 
 @ExtendWith(MockitoExtension.class)
 public class ObsStorageOperatorTest {
@@ -288,4 +294,38 @@ public class ObsStorageOperatorTest {
                 obsOperator.listFilesStatusRecursively(FULL_NAME, DEFAULT_PATH, TENANT_CODE_MOCK, ResourceType.FILE);
         Assertions.assertEquals(0, result.size());
     }
+
+    @Test
+    public void testOpenRange() throws IOException {
+        ObsObject obsObject = new ObsObject();
+        obsObject.setObjectContent(new ByteArrayInputStream(new byte[0]));
+        ArgumentCaptor<GetObjectRequest> requestCaptor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        doReturn(obsObject).when(obsClientMock).getObject(requestCaptor.capture());
+
+        obsOperator.open(FILE_PATH_MOCK, 10, 5).close();
+        Assertions.assertEquals(FILE_PATH_MOCK, requestCaptor.getValue().getObjectKey());
+        Assertions.assertEquals(10L, requestCaptor.getValue().getRangeStart());
+        Assertions.assertEquals(14L, requestCaptor.getValue().getRangeEnd());
+
+        obsOperator.open(FILE_PATH_MOCK, 10, -1).close();
+        Assertions.assertEquals(10L, requestCaptor.getValue().getRangeStart());
+        Assertions.assertNull(requestCaptor.getValue().getRangeEnd());
+
+        obsOperator.open(FILE_PATH_MOCK, 0, -1).close();
+        Assertions.assertNull(requestCaptor.getValue().getRangeStart());
+        Assertions.assertNull(requestCaptor.getValue().getRangeEnd());
+
+        try (InputStream inputStream = obsOperator.open(FILE_PATH_MOCK, 10, 0)) {
+            Assertions.assertEquals(-1, inputStream.read());
+        }
+        verify(obsClientMock, times(3)).getObject(any(GetObjectRequest.class));
+    }
+
+    @Test
+    public void testGetFileSize() throws IOException {
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentLength(100L);
+        doReturn(objectMetadata).when(obsClientMock).getObjectMetadata(BUCKET_NAME_MOCK, FILE_PATH_MOCK);
+        Assertions.assertEquals(100, obsOperator.getFileSize(FILE_PATH_MOCK));
+    }
 }
@@ -35,7 +35,6 @@ import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
@@ -43,16 +42,12 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -61,12 +56,14 @@ import com.aliyun.oss.OSS;
 import com.aliyun.oss.OSSException;
 import com.aliyun.oss.ServiceException;
 import com.aliyun.oss.model.DeleteObjectsRequest;
+import com.aliyun.oss.model.GetObjectRequest;
 import com.aliyun.oss.model.ListObjectsV2Request;
 import com.aliyun.oss.model.ListObjectsV2Result;
 import com.aliyun.oss.model.OSSObject;
 import com.aliyun.oss.model.OSSObjectSummary;
 import com.aliyun.oss.model.ObjectMetadata;
 import com.aliyun.oss.model.PutObjectRequest;
+import com.aliyun.oss.model.UploadFileRequest;
 
 @Data
 @Slf4j
@@ -276,27 +273,49 @@ public class OssStorageOperator implements Closeable, StorageOperate {
     public boolean upload(String tenantCode, String srcFile, String dstPath, boolean deleteSource,
                           boolean overwrite) throws IOException {
         try {
-            ossClient.putObject(bucketName, dstPath, new File(srcFile));
+            // Upload the large file by multipart in parallel
+            UploadFileRequest uploadFileRequest = new UploadFileRequest(bucketName, dstPath);
+            uploadFileRequest.setUploadFile(srcFile);
+            uploadFileRequest.setPartSize(MULTIPART_UPLOAD_PART_SIZE);
+            uploadFileRequest.setTaskNum(MULTIPART_UPLOAD_TASK_NUM);
+            ossClient.uploadFile(uploadFileRequest);
             if (deleteSource) {
                 Files.delete(Paths.get(srcFile));
             }
             return true;
-        } catch (OSSException e) {
+        } catch (IOException e) {
+            throw e;
+        } catch (Throwable e) {
             log.error("upload failed, the bucketName is {}, the filePath is {}", bucketName, dstPath, e);
             return false;
         }
     }
 
     @Override
-    public List<String> vimFile(String tenantCode, String filePath, int skipLineNums, int limit) throws IOException {
-        if (StringUtils.isBlank(filePath)) {
-            log.error("file path:{} is empty", filePath);
-            return Collections.emptyList();
+    public InputStream open(String filePath, long offset, long length) throws IOException {
+        if (length == 0) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, filePath);
+        if (length > 0) {
+            getObjectRequest.setRange(offset, offset + length - 1);
+        } else if (offset > 0) {
+            // The end of the range is -1 means read to the end of the object
+            getObjectRequest.setRange(offset, -1);
+        }
+        try {
+            return ossClient.getObject(getObjectRequest).getObjectContent();
+        } catch (OSSException e) {
+            throw new IOException("Open the file: " + filePath + " failed", e);
         }
-        OSSObject ossObject = ossClient.getObject(bucketName, filePath);
-        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(ossObject.getObjectContent()))) {
-            Stream<String> stream = bufferedReader.lines().skip(skipLineNums).limit(limit);
-            return stream.collect(Collectors.toList());
+    }
+
+    @Override
+    public long getFileSize(String filePath) throws IOException {
+        try {
+            return ossClient.getObjectMetadata(bucketName, filePath).getContentLength();
+        } catch (OSSException e) {
+            throw new IOException("Get the size of file: " + filePath + " failed", e);
         }
     }
 
@@ -30,7 +30,9 @@ import static org.mockito.Mockito.verify;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 
@@ -38,13 +40,17 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.aliyun.oss.OSS;
+import com.aliyun.oss.model.GetObjectRequest;
 import com.aliyun.oss.model.ListObjectsV2Request;
 import com.aliyun.oss.model.ListObjectsV2Result;
+import com.aliyun.oss.model.OSSObject;
+import com.aliyun.oss.model.ObjectMetadata;
 
 @ExtendWith(MockitoExtension.class)
 public class OssStorageOperatorTest {
@@ -295,4 +301,35 @@ public class OssStorageOperatorTest {
                 ossOperator.listFilesStatusRecursively(FULL_NAME, DEFAULT_PATH, TENANT_CODE_MOCK, ResourceType.FILE);
         Assertions.assertEquals(0, result.size());
     }
+
+    @Test
+    public void testOpenRange() throws IOException {
+        OSSObject ossObject = new OSSObject();
+        ossObject.setObjectContent(new ByteArrayInputStream(new byte[0]));
+        ArgumentCaptor<GetObjectRequest> requestCaptor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        doReturn(ossObject).when(ossClientMock).getObject(requestCaptor.capture());
+
+        ossOperator.open(FILE_PATH_MOCK, 10, 5).close();
+        Assertions.assertEquals(FILE_PATH_MOCK, requestCaptor.getValue().getKey());
+        Assertions.assertArrayEquals(new long[]{10, 14}, requestCaptor.getValue().getRange());
+
+        ossOperator.open(FILE_PATH_MOCK, 10, -1).close();
+        Assertions.assertArrayEquals(new long[]{10, -1}, requestCaptor.getValue().getRange());
+
+        ossOperator.open(FILE_PATH_MOCK, 0, -1).close();
+        Assertions.assertNull(requestCaptor.getValue().getRange());
+
+        try (InputStream inputStream = ossOperator.open(FILE_PATH_MOCK, 10, 0)) {
+            Assertions.assertEquals(-1, inputStream.read());
+        }
+        verify(ossClientMock, times(3)).getObject(any(GetObjectRequest.class));
+    }
+
+    @Test
+    public void testGetFileSize() throws IOException {
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentLength(100);
+        doReturn(objectMetadata).when(ossClientMock).getObjectMetadata(BUCKET_NAME_MOCK, FILE_PATH_MOCK);
+        Assertions.assertEquals(100, ossOperator.getFileSize(FILE_PATH_MOCK));
+    }
 }
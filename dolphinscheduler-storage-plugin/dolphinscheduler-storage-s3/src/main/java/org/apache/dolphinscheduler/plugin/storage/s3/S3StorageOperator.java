@@ -34,7 +34,6 @@ import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
@@ -42,20 +41,17 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
+import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
@@ -64,6 +60,7 @@ import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ObjectMetadata;
@@ -91,6 +88,11 @@ public class S3StorageOperator implements Closeable, StorageOperate {
 
     private AmazonS3 s3Client;
 
+    /**
+     * The TransferManager shares the s3Client and its thread pool among all the transfers of this operator.
+     */
+    private TransferManager transferManager;
+
     public S3StorageOperator() {
     }
 
@@ -101,6 +103,7 @@ public class S3StorageOperator implements Closeable, StorageOperate {
         bucketName = readBucketName();
         endPoint = readEndPoint();
         s3Client = buildS3Client();
+        transferManager = TransferManagerBuilder.standard().withS3Client(s3Client).build();
         checkBucketNameExists(bucketName);
     }
 
@@ -146,7 +149,8 @@ public class S3StorageOperator implements Closeable, StorageOperate {
 
     @Override
     public void close() throws IOException {
-        s3Client.shutdown();
+        // Shutdown the TransferManager will also shutdown the s3Client
+        transferManager.shutdownNow(true);
     }
 
     @Override
@@ -280,29 +284,48 @@ public class S3StorageOperator implements Closeable, StorageOperate {
     @Override
     public boolean upload(String tenantCode, String srcFile, String dstPath, boolean deleteSource,
                           boolean overwrite) throws IOException {
+        // The TransferManager uploads the large file by multipart in parallel
         try {
-            s3Client.putObject(bucketName, dstPath, new File(srcFile));
+            transferManager.upload(bucketName, dstPath, new File(srcFile)).waitForCompletion();
 
             if (deleteSource) {
                 Files.delete(Paths.get(srcFile));
             }
             return true;
-        } catch (AmazonServiceException e) {
-            log.error("upload failed,the bucketName is {},the filePath is {}", bucketName, dstPath);
+        } catch (AmazonClientException e) {
+            log.error("upload failed,the bucketName is {},the filePath is {}", bucketName, dstPath, e);
+            return false;
+        } catch (InterruptedException e) {
+            log.error("upload interrupted,the bucketName is {},the filePath is {}", bucketName, dstPath);
+            Thread.currentThread().interrupt();
             return false;
         }
     }
 
     @Override
-    public List<String> vimFile(String tenantCode, String filePath, int skipLineNums, int limit) throws IOException {
-        if (StringUtils.isBlank(filePath)) {
-            log.error("file path:{} is blank", filePath);
-            return Collections.emptyList();
+    public InputStream open(String filePath, long offset, long length) throws IOException {
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, filePath);
+        if (length >= 0) {
+            if (length == 0) {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+            getObjectRequest.setRange(offset, offset + length - 1);
+        } else if (offset > 0) {
+            getObjectRequest.setRange(offset);
         }
-        S3Object s3Object = s3Client.getObject(bucketName, filePath);
-        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(s3Object.getObjectContent()))) {
-            Stream<String> stream = bufferedReader.lines().skip(skipLineNums).limit(limit);
-            return stream.collect(Collectors.toList());
+        try {
+            return s3Client.getObject(getObjectRequest).getObjectContent();
+        } catch (AmazonServiceException e) {
+            throw new IOException("Open the file: " + filePath + " failed", e);
+        }
+    }
+
+    @Override
+    public long getFileSize(String filePath) throws IOException {
+        try {
+            return s3Client.getObjectMetadata(bucketName, filePath).getContentLength();
+        } catch (AmazonServiceException e) {
+            throw new IOException("Get the size of file: " + filePath + " failed", e);
         }
     }
 
@@ -378,17 +401,15 @@ public class S3StorageOperator implements Closeable, StorageOperate {
      * @param srcPath
      */
     private void downloadDirectory(String tenantCode, String keyPrefix, String srcPath) {
-        TransferManager tm = TransferManagerBuilder.standard().withS3Client(s3Client).build();
         try {
             MultipleFileDownload download =
-                    tm.downloadDirectory(bucketName, tenantCode + FOLDER_SEPARATOR + keyPrefix, new File(srcPath));
+                    transferManager.downloadDirectory(bucketName, tenantCode + FOLDER_SEPARATOR + keyPrefix,
+                            new File(srcPath));
             download.waitForCompletion();
         } catch (AmazonS3Exception | InterruptedException e) {
             log.error("download the directory failed with the bucketName is {} and the keyPrefix is {}", bucketName,
                     tenantCode + FOLDER_SEPARATOR + keyPrefix);
             Thread.currentThread().interrupt();
-        } finally {
-            tm.shutdownNow();
         }
     }
 
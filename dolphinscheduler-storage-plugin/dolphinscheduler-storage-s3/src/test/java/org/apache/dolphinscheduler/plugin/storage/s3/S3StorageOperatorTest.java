@@ -28,7 +28,9 @@ import static org.mockito.Mockito.verify;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 
@@ -36,13 +38,17 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
 
 @ExtendWith(MockitoExtension.class)
 public class S3StorageOperatorTest {
@@ -302,4 +308,35 @@ public class S3StorageOperatorTest {
                         ResourceType.FILE);
         Assertions.assertEquals(0, result.size());
     }
+
+    @Test
+    public void testOpenRange() throws IOException {
+        S3Object s3Object = new S3Object();
+        s3Object.setObjectContent(new ByteArrayInputStream(new byte[0]));
+        ArgumentCaptor<GetObjectRequest> requestCaptor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        doReturn(s3Object).when(s3Client).getObject(requestCaptor.capture());
+
+        s3StorageOperator.open(FILE_PATH_MOCK, 10, 5).close();
+        Assertions.assertEquals(FILE_PATH_MOCK, requestCaptor.getValue().getKey());
+        Assertions.assertArrayEquals(new long[]{10, 14}, requestCaptor.getValue().getRange());
+
+        s3StorageOperator.open(FILE_PATH_MOCK, 10, -1).close();
+        Assertions.assertArrayEquals(new long[]{10, Long.MAX_VALUE - 1}, requestCaptor.getValue().getRange());
+
+        s3StorageOperator.open(FILE_PATH_MOCK, 0, -1).close();
+        Assertions.assertNull(requestCaptor.getValue().getRange());
+
+        try (InputStream inputStream = s3StorageOperator.open(FILE_PATH_MOCK, 10, 0)) {
+            Assertions.assertEquals(-1, inputStream.read());
+        }
+        verify(s3Client, times(3)).getObject(Mockito.any(GetObjectRequest.class));
+    }
+
+    @Test
+    public void testGetFileSize() throws IOException {
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentLength(100);
+        doReturn(objectMetadata).when(s3Client).getObjectMetadata(BUCKET_NAME_MOCK, FILE_PATH_MOCK);
+        Assertions.assertEquals(100, s3StorageOperator.getFileSize(FILE_PATH_MOCK));
+    }
 }
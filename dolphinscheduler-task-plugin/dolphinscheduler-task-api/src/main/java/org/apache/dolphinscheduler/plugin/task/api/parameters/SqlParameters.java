@@ -35,7 +35,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.google.common.base.Enums;
@@ -252,34 +251,51 @@ public class SqlParameters extends AbstractParameters {
         if (CollectionUtils.isEmpty(sqlResult)) {
             return;
         }
-        // if sql return more than one line
+        Map<String, List<String>> columnValues = new HashMap<>();
         if (sqlResult.size() > 1) {
-            Map<String, List<String>> sqlResultFormat = new HashMap<>();
-            // init sqlResultFormat
-            Set<String> keySet = sqlResult.get(0).keySet();
-            for (String key : keySet) {
-                sqlResultFormat.put(key, new ArrayList<>());
+            for (String key : sqlResult.get(0).keySet()) {
+                columnValues.put(key, new ArrayList<>());
             }
             for (Map<String, String> info : sqlResult) {
                 for (String key : info.keySet()) {
-                    sqlResultFormat.get(key).add(String.valueOf(info.get(key)));
+                    columnValues.get(key).add(String.valueOf(info.get(key)));
                 }
             }
+        }
+        dealOutParam(sqlResult.size(), sqlResult.get(0), columnValues);
+    }
+
+    /**
+     * Deal the out params with the query result which has been consumed row by row, so the whole result doesn't need
+     * to be kept in memory.
+     *
+     * @param rowCount     the row count of the query result
+     * @param firstRow     the column values of the first row
+     * @param columnValues all the values of the columns which are bound to the {@link DataType#LIST} out params
+     */
+    public void dealOutParam(int rowCount, Map<String, String> firstRow, Map<String, List<String>> columnValues) {
+        if (CollectionUtils.isEmpty(localParams)) {
+            return;
+        }
+        List<Property> outProperty = getOutProperty(localParams);
+        if (CollectionUtils.isEmpty(outProperty)) {
+            return;
+        }
+        // if sql return more than one line
+        if (rowCount > 1) {
             for (Property info : outProperty) {
                 if (info.getType() == DataType.LIST) {
-                    info.setValue(JSONUtils.toJsonString(sqlResultFormat.get(info.getProp())));
+                    info.setValue(JSONUtils.toJsonString(columnValues.get(info.getProp())));
                     varPool.add(info);
                 }
             }
         } else {
             // result only one line
-            Map<String, String> firstRow = sqlResult.get(0);
             for (Property info : outProperty) {
                 info.setValue(String.valueOf(firstRow.get(info.getProp())));
                 varPool.add(info);
             }
         }
-
     }
 
     @Override
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.parser;
+
+import static org.apache.dolphinscheduler.plugin.task.api.parser.PlaceholderUtils.PLACEHOLDER_PREFIX;
+import static org.apache.dolphinscheduler.plugin.task.api.parser.PlaceholderUtils.PLACEHOLDER_SUFFIX;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * The compiled form of a string containing {@code ${name}} placeholders, the string is split into the literal
+ * segments and the placeholder names once, so rendering it only looks up the placeholders instead of scanning the
+ * string again. The templates are cached by the string, the parameter values of a definition version are the same
+ * strings, so they are compiled once and shared by all the task instances. The long strings, e.g. the whole sql or
+ * shell script, are compiled on each call instead of being cached, and the cache is bounded by the total length of the
+ * cached strings.
+ * <p>
+ * Rendering has the same result as the non-strict {@link PropertyPlaceholderHelper}, the unresolvable placeholders
+ * are kept as they are. The rare templates with nested placeholders, and the resolved values which contain
+ * placeholders again, fall back to the {@link PropertyPlaceholderHelper}.
+ */
+public final class PlaceholderTemplate {
+
+    /**
+     * The max length of the template which will be cached
+     */
+    private static final int MAX_CACHED_TEMPLATE_LENGTH = 4 * 1024;
+
+    /**
+     * The max total length of the cached templates
+     */
+    private static final long MAX_CACHED_TEMPLATES_LENGTH = 4 * 1024 * 1024;
+
+    private static final Cache<String, PlaceholderTemplate> TEMPLATE_CACHE = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_TEMPLATES_LENGTH)
+            .weigher((String template, PlaceholderTemplate compiledTemplate) -> template.length())
+            .build();
+
+    private final String template;
+
+    /**
+     * The literal segments around the placeholders, the size is always the placeholder size plus one
+     */
+    private final List<String> literals;
+
+    private final List<String> placeholders;
+
+    /**
+     * Whether the template contains nested placeholders, e.g. {@code ${a${b}}}, which need the recursive parsing
+     */
+    private final boolean nested;
+
+    private PlaceholderTemplate(String template) {
+        this.template = template;
+        this.literals = new ArrayList<>();
+        this.placeholders = new ArrayList<>();
+        PropertyPlaceholderHelper helper = PlaceholderUtils.getNonStrictHelper();
+        boolean nestedPlaceholder = false;
+        int literalStartIndex = 0;
+        int startIndex = template.indexOf(PLACEHOLDER_PREFIX);
+        while (startIndex != -1) {
+            int endIndex = helper.findPlaceholderEndIndex(template, startIndex);
+            if (endIndex == -1) {
+                break;
+            }
+            String placeholder = template.substring(startIndex + PLACEHOLDER_PREFIX.length(), endIndex);
+            if (placeholder.contains(PLACEHOLDER_PREFIX)) {
+                nestedPlaceholder = true;
+                break;
+            }
+            literals.add(template.substring(literalStartIndex, startIndex));
+            placeholders.add(placeholder);
+            literalStartIndex = endIndex + PLACEHOLDER_SUFFIX.length();
+            startIndex = template.indexOf(PLACEHOLDER_PREFIX, literalStartIndex);
+        }
+        literals.add(template.substring(literalStartIndex));
+        this.nested = nestedPlaceholder;
+    }
+
+    /**
+     * Get the compiled template of the string, the template will be compiled if absent or too long to be cached.
+     */
+    public static PlaceholderTemplate compile(String template) {
+        PropertyPlaceholderHelper.notNull(template, "'template' must not be null");
+        if (template.length() > MAX_CACHED_TEMPLATE_LENGTH || !template.contains(PLACEHOLDER_PREFIX)) {
+            return new PlaceholderTemplate(template);
+        }
+        try {
+            return TEMPLATE_CACHE.get(template, () -> new PlaceholderTemplate(template));
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Compile placeholder template: " + template + " failed", ex.getCause());
+        }
+    }
+
+    /**
+     * Replace the placeholders with the value returned from the resolver.
+     *
+     * @param placeholderResolver the resolver to get the value of the placeholder, return null if not exist
+     * @return the rendered string
+     */
+    public String render(PropertyPlaceholderHelper.PlaceholderResolver placeholderResolver) {
+        if (placeholders.isEmpty() && !nested) {
+            return template;
+        }
+        if (nested) {
+            return PlaceholderUtils.getNonStrictHelper().replacePlaceholders(template, placeholderResolver);
+        }
+        StringBuilder result = new StringBuilder(template.length());
+        for (int i = 0; i < placeholders.size(); i++) {
+            result.append(literals.get(i));
+            String placeholder = placeholders.get(i);
+            String value = placeholderResolver.resolvePlaceholder(placeholder);
+            if (value == null) {
+                result.append(PLACEHOLDER_PREFIX).append(placeholder).append(PLACEHOLDER_SUFFIX);
+            } else if (value.contains(PLACEHOLDER_PREFIX)) {
+                return PlaceholderUtils.getNonStrictHelper().replacePlaceholders(template, placeholderResolver);
+            } else {
+                result.append(value);
+            }
+        }
+        result.append(literals.get(placeholders.size()));
+        return result.toString();
+    }
+}
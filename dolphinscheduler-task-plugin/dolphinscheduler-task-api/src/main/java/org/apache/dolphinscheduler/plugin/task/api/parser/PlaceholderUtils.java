@@ -38,6 +38,13 @@ public class PlaceholderUtils {
 
     public static final String PLACEHOLDER_SUFFIX = "}";
 
+    /**
+     * The helpers are stateless, share them instead of creating them for each replacement
+     */
+    private static final PropertyPlaceholderHelper STRICT_HELPER = getPropertyPlaceholderHelper(false);
+
+    private static final PropertyPlaceholderHelper NON_STRICT_HELPER = getPropertyPlaceholderHelper(true);
+
     /**
      * Replaces all placeholders of format {@code ${name}} with the value returned
      * from the supplied {@link PropertyPlaceholderHelper.PlaceholderResolver}.
@@ -51,18 +58,31 @@ public class PlaceholderUtils {
                                              Map<String, String> paramsMap,
                                              boolean ignoreUnresolvablePlaceholders) {
         // replacement tool， parameter key will be replaced by value,if can't match , will throw an exception
-        PropertyPlaceholderHelper strictHelper = getPropertyPlaceholderHelper(false);
-
         // Non-strict replacement tool implementation, when the position to be replaced does not get the corresponding
         // value, the current position is ignored, and the next position is replaced.
-        PropertyPlaceholderHelper nonStrictHelper = getPropertyPlaceholderHelper(true);
-
-        PropertyPlaceholderHelper helper = (ignoreUnresolvablePlaceholders ? nonStrictHelper : strictHelper);
+        PropertyPlaceholderHelper helper = (ignoreUnresolvablePlaceholders ? NON_STRICT_HELPER : STRICT_HELPER);
 
         // the PlaceholderResolver to use for replacement
         return helper.replacePlaceholders(value, new PropertyPlaceholderResolver(value, paramsMap));
     }
 
+    /**
+     * Replaces all placeholders of format {@code ${name}} with the value returned from the supplied resolver,
+     * unresolvable placeholders are ignored. The template is compiled once and cached, see {@link PlaceholderTemplate}.
+     *
+     * @param value the value containing the placeholders to be replaced
+     * @param placeholderResolver the resolver to get the value of the placeholder, return null if not exist
+     * @return the supplied value with placeholders replaced inline
+     */
+    public static String replacePlaceholders(String value,
+                                             PropertyPlaceholderHelper.PlaceholderResolver placeholderResolver) {
+        return PlaceholderTemplate.compile(value).render(placeholderResolver);
+    }
+
+    static PropertyPlaceholderHelper getNonStrictHelper() {
+        return NON_STRICT_HELPER;
+    }
+
     /**
      * Creates a new {@code PropertyPlaceholderHelper} that uses the supplied prefix and suffix.
      * @param ignoreUnresolvablePlaceholders indicates whether unresolvable placeholders should
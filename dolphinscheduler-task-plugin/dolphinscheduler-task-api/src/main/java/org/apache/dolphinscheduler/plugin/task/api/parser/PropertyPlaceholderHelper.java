@@ -178,7 +178,7 @@ public class PropertyPlaceholderHelper {
         return result.toString();
     }
 
-    private int findPlaceholderEndIndex(CharSequence buf, int startIndex) {
+    int findPlaceholderEndIndex(CharSequence buf, int startIndex) {
         int index = startIndex + this.placeholderPrefix.length();
         int withinNestedPlaceholder = 0;
         while (index < buf.length()) {
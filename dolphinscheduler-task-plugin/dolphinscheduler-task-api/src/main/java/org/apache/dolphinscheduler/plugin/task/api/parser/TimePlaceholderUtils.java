@@ -81,6 +81,10 @@ public class TimePlaceholderUtils {
      */
     public static final String PLACEHOLDER_SUFFIX = "]";
 
+    private static final PropertyPlaceholderHelper STRICT_HELPER = getPropertyPlaceholderHelper(false);
+
+    private static final PropertyPlaceholderHelper NON_STRICT_HELPER = getPropertyPlaceholderHelper(true);
+
     /**
      * Replaces all placeholders of format {@code ${name}} with the value returned
      * from the supplied {@link PropertyPlaceholderHelper.PlaceholderResolver}.
@@ -91,10 +95,7 @@ public class TimePlaceholderUtils {
      * @return the supplied value with placeholders replaced inline
      */
     public static String replacePlaceholders(String value, Date date, boolean ignoreUnresolvablePlaceholders) {
-        PropertyPlaceholderHelper strictHelper = getPropertyPlaceholderHelper(false);
-        PropertyPlaceholderHelper nonStrictHelper = getPropertyPlaceholderHelper(true);
-
-        PropertyPlaceholderHelper helper = (ignoreUnresolvablePlaceholders ? nonStrictHelper : strictHelper);
+        PropertyPlaceholderHelper helper = (ignoreUnresolvablePlaceholders ? NON_STRICT_HELPER : STRICT_HELPER);
         return helper.replacePlaceholders(value, new TimePlaceholderResolver(value, date));
     }
 
@@ -27,6 +27,7 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 import org.apache.dolphinscheduler.plugin.task.api.parser.PlaceholderUtils;
+import org.apache.dolphinscheduler.plugin.task.api.parser.PropertyPlaceholderHelper;
 import org.apache.dolphinscheduler.plugin.task.api.parser.TimePlaceholderUtils;
 
 import org.apache.commons.lang3.StringUtils;
@@ -64,17 +65,31 @@ public class ParameterUtils {
      * @return convert parameters place holders
      */
     public static String convertParameterPlaceholders(String parameterString, Map<String, String> parameterMap) {
+        if (parameterMap == null || parameterMap.isEmpty()) {
+            return convertParameterPlaceholdersWithResolver(parameterString, placeholderName -> null);
+        }
+        return convertParameterPlaceholdersWithResolver(parameterString, parameterMap::get);
+    }
+
+    /**
+     * convert parameters place holders, the parameter values are got from the resolver so the caller doesn't need to
+     * build a parameter map, the ${} form placeholders are replaced by the compiled template
+     *
+     * @param parameterString     parameter
+     * @param placeholderResolver get the parameter value by name, return null if not exist
+     * @return convert parameters place holders
+     */
+    public static String convertParameterPlaceholdersWithResolver(String parameterString,
+                                                                  PropertyPlaceholderHelper.PlaceholderResolver placeholderResolver) {
         if (StringUtils.isEmpty(parameterString)) {
             return parameterString;
         }
         Date cronTime;
-        if (parameterMap != null && !parameterMap.isEmpty()) {
-            // replace variable ${} form,refers to the replacement of system variables and custom variables
-            parameterString = PlaceholderUtils.replacePlaceholders(parameterString, parameterMap, true);
-        }
-        if (parameterMap != null && null != parameterMap.get(PARAMETER_DATETIME)) {
+        // replace variable ${} form,refers to the replacement of system variables and custom variables
+        parameterString = PlaceholderUtils.replacePlaceholders(parameterString, placeholderResolver);
+        String cronTimeStr = placeholderResolver.resolvePlaceholder(PARAMETER_DATETIME);
+        if (null != cronTimeStr) {
             // Get current time, schedule execute time
-            String cronTimeStr = parameterMap.get(PARAMETER_DATETIME);
             cronTime = DateUtils.parse(cronTimeStr, PARAMETER_FORMAT_TIME);
         } else {
             cronTime = new Date();
@@ -24,11 +24,16 @@ import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.Lists;
+
 public class SqlParametersTest {
 
     private final String type = "MYSQL";
@@ -91,4 +96,25 @@ public class SqlParametersTest {
         sqlParameters.dealOutParam(sqlResult);
         Assertions.assertNotNull(sqlParameters.getVarPool().get(0));
     }
+
+    @Test
+    public void testDealOutParamWithCollectedResult() {
+        Property listProperty = new Property("id", Direct.OUT, DataType.LIST, null);
+        Property varcharProperty = new Property("name", Direct.OUT, DataType.VARCHAR, null);
+        SqlParameters sqlParameters = new SqlParameters();
+        sqlParameters.setLocalParams(Lists.newArrayList(listProperty, varcharProperty));
+        sqlParameters.varPool = new ArrayList<>();
+
+        Map<String, List<String>> columnValues = new HashMap<>();
+        columnValues.put("id", Lists.newArrayList("1", "2"));
+        sqlParameters.dealOutParam(2, Collections.singletonMap("name", "a"), columnValues);
+        Assertions.assertEquals(1, sqlParameters.getVarPool().size());
+        Assertions.assertEquals("[\"1\",\"2\"]", sqlParameters.getVarPool().get(0).getValue());
+
+        sqlParameters.varPool = new ArrayList<>();
+        sqlParameters.dealOutParam(1, Collections.singletonMap("name", "a"), new HashMap<>());
+        Assertions.assertEquals(2, sqlParameters.getVarPool().size());
+        Assertions.assertEquals("a", varcharProperty.getValue());
+        Assertions.assertEquals("null", listProperty.getValue());
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.parser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PlaceholderTemplateTest {
+
+    @Test
+    public void testRender() {
+        Map<String, String> paramsMap = new HashMap<>();
+        paramsMap.put("a", "1");
+        paramsMap.put("b", "2");
+        paramsMap.put("chain", "${a}-${b}");
+        paramsMap.put("self", "${self}");
+
+        String[] templates = {
+                "",
+                "plain text",
+                "${a}",
+                "x${a}y${b}z",
+                "${a}${unknown}${b}",
+                "${chain}",
+                "${a{b}}",
+                "${a${b}}",
+                "${a",
+                "$a}",
+                "select * from t where dt = '${a}' and id in (${b}, ${c})"
+        };
+        for (String template : templates) {
+            Assertions.assertEquals(PlaceholderUtils.replacePlaceholders(template, paramsMap, true),
+                    PlaceholderTemplate.compile(template).render(paramsMap::get), template);
+        }
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PlaceholderTemplate.compile("${self}").render(paramsMap::get));
+    }
+
+    @Test
+    public void testCompileOnce() {
+        Assertions.assertSame(PlaceholderTemplate.compile("${a}-${b}"), PlaceholderTemplate.compile("${a}-${b}"));
+    }
+
+    @Test
+    public void testNotCacheLongTemplate() {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            script.append("echo ${a}-").append(i).append('\n');
+        }
+        String template = script.toString();
+        Assertions.assertNotSame(PlaceholderTemplate.compile(template), PlaceholderTemplate.compile(template));
+
+        Map<String, String> paramsMap = new HashMap<>();
+        paramsMap.put("a", "1");
+        Assertions.assertEquals(template.replace("${a}", "1"),
+                PlaceholderTemplate.compile(template).render(paramsMap::get));
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Consume the query result row by row with bounded memory.
+ * <p>
+ * Only the first rows are kept as the preview which is printed in the task log and sent by alert, and only the
+ * columns bound to the out params are collected, so a large result will not be materialized in the worker.
+ */
+@Slf4j
+public class SqlQueryResultCollector {
+
+    private final int displayRows;
+
+    /**
+     * The max size of the preview in chars, 0 means don't keep the preview.
+     */
+    private final int maxPreviewSize;
+
+    private final Set<String> outColumns = new HashSet<>();
+
+    private final Set<String> listOutColumns = new HashSet<>();
+
+    @Getter
+    private int rowCount;
+
+    /**
+     * The column values of the first row, only contains the columns bound to the out params.
+     */
+    @Getter
+    private final Map<String, String> firstRow = new HashMap<>();
+
+    /**
+     * All the values of the columns bound to the {@link DataType#LIST} out params.
+     */
+    @Getter
+    private final Map<String, List<String>> columnValues = new HashMap<>();
+
+    private final ArrayNode previewRows = JSONUtils.createArrayNode();
+
+    private int previewSize;
+
+    /**
+     * The rows kept in the preview, not including the truncation marker row.
+     */
+    @Getter
+    private int previewRowCount;
+
+    @Getter
+    private boolean previewTruncated;
+
+    public SqlQueryResultCollector(int displayRows, int maxPreviewSize, List<Property> localParams) {
+        this.displayRows = displayRows;
+        this.maxPreviewSize = maxPreviewSize;
+        if (localParams != null) {
+            for (Property property : localParams) {
+                if (Direct.OUT != property.getDirect()) {
+                    continue;
+                }
+                outColumns.add(property.getProp());
+                if (property.getType() == DataType.LIST) {
+                    listOutColumns.add(property.getProp());
+                    columnValues.put(property.getProp(), new ArrayList<>());
+                }
+            }
+        }
+    }
+
+    public void collect(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData md = resultSet.getMetaData();
+        int num = md.getColumnCount();
+        String[] columnLabels = new String[num + 1];
+        for (int i = 1; i <= num; i++) {
+            columnLabels[i] = md.getColumnLabel(i);
+        }
+        // the list out param which is not in the result is set to null
+        columnValues.keySet().retainAll(Arrays.asList(columnLabels));
+
+        log.info("display sql result {} rows as follows:", displayRows);
+        while (resultSet.next()) {
+            boolean display = rowCount < displayRows;
+            boolean preview = maxPreviewSize > 0 && !previewTruncated;
+            ObjectNode mapOfColValues = display || preview ? JSONUtils.createObjectNode() : null;
+            for (int i = 1; i <= num; i++) {
+                String columnLabel = columnLabels[i];
+                boolean outColumn = outColumns.contains(columnLabel);
+                if (mapOfColValues == null && !outColumn) {
+                    continue;
+                }
+                JsonNode value = JSONUtils.toJsonNode(resultSet.getObject(i));
+                if (mapOfColValues != null) {
+                    mapOfColValues.set(columnLabel, value);
+                }
+                if (outColumn) {
+                    collectOutColumn(columnLabel, value);
+                }
+            }
+            rowCount++;
+            if (mapOfColValues == null) {
+                continue;
+            }
+            String row = JSONUtils.toJsonString(mapOfColValues);
+            if (display) {
+                log.info("row {} : {}", rowCount, row);
+            }
+            if (preview) {
+                if (previewSize + row.length() > maxPreviewSize) {
+                    previewTruncated = true;
+                } else {
+                    previewRows.add(mapOfColValues);
+                    previewRowCount++;
+                    previewSize += row.length();
+                }
+            }
+        }
+        log.info("sql query result rows: {}", rowCount);
+
+        if (previewTruncated) {
+            previewRows.add(createTruncatedRow(columnLabels));
+        }
+
+        if (rowCount == 0) {
+            log.info("sql query results is empty");
+            ObjectNode emptyOfColValues = JSONUtils.createObjectNode();
+            for (int i = 1; i <= num; i++) {
+                emptyOfColValues.set(columnLabels[i], JSONUtils.toJsonNode(""));
+                if (outColumns.contains(columnLabels[i])) {
+                    firstRow.put(columnLabels[i], "");
+                }
+            }
+            previewRows.add(emptyOfColValues);
+        }
+    }
+
+    /**
+     * @return the preview rows as a json array, the same format as the whole result, if truncated the last row is a
+     * marker row with the same columns, whose first column tells how many rows are kept
+     */
+    public String getPreviewResult() {
+        return JSONUtils.toJsonString(previewRows);
+    }
+
+    private ObjectNode createTruncatedRow(String[] columnLabels) {
+        ObjectNode truncatedRow = JSONUtils.createObjectNode();
+        for (int i = 1; i < columnLabels.length; i++) {
+            truncatedRow.set(columnLabels[i], JSONUtils.toJsonNode("..."));
+        }
+        if (columnLabels.length > 1) {
+            truncatedRow.set(columnLabels[1], JSONUtils.toJsonNode(String.format(
+                    "... (truncated, only the first %d of %d rows are shown)", previewRowCount, rowCount)));
+        }
+        return truncatedRow;
+    }
+
+    private void collectOutColumn(String columnLabel, JsonNode value) {
+        // keep the same string value as parsing the result json to List<Map<String, String>>
+        String stringValue = value == null || value.isNull() ? null
+                : value.isValueNode() ? value.asText() : value.toString();
+        if (rowCount == 0) {
+            firstRow.put(columnLabel, stringValue);
+        }
+        if (listOutColumns.contains(columnLabel)) {
+            columnValues.get(columnLabel).add(String.valueOf(stringValue));
+        }
+    }
+}
@@ -47,7 +47,6 @@ import org.apache.commons.lang3.StringUtils;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.text.MessageFormat;
@@ -62,9 +61,6 @@ import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-
 @Slf4j
 public class SqlTask extends AbstractTask {
 
@@ -86,6 +82,16 @@ public class SqlTask extends AbstractTask {
      */
     private static final int QUERY_LIMIT = 10000;
 
+    /**
+     * the rows fetched from database in one round trip when query
+     */
+    private static final int QUERY_FETCH_SIZE = 1000;
+
+    /**
+     * the max chars of the query result sent by alert
+     */
+    private static final int QUERY_RESULT_ALERT_MAX_SIZE = 1024 * 1024;
+
     private SQLTaskExecutionContext sqlTaskExecutionContext;
 
     public static final int TEST_FLAG_YES = 1;
@@ -198,18 +204,20 @@ public class SqlTask extends AbstractTask {
             executeUpdate(connection, preStatementsBinds, "pre");
 
             // main execute
-            String result = null;
             // decide whether to executeQuery or executeUpdate based on sqlType
             if (sqlParameters.getSqlType() == SqlType.QUERY.ordinal()) {
-                // query statements need to be convert to JsonArray and inserted into Alert to send
-                result = executeQuery(connection, mainStatementsBinds.get(0), "main");
+                // query statements are consumed row by row, the preview is inserted into Alert to send
+                SqlQueryResultCollector resultCollector =
+                        executeQuery(connection, mainStatementsBinds.get(0), "main");
+                // deal out params
+                sqlParameters.dealOutParam(resultCollector.getRowCount(), resultCollector.getFirstRow(),
+                        resultCollector.getColumnValues());
             } else if (sqlParameters.getSqlType() == SqlType.NON_QUERY.ordinal()) {
                 // non query statement
                 String updateResult = executeUpdate(connection, mainStatementsBinds, "main");
-                result = setNonQuerySqlReturn(updateResult, sqlParameters.getLocalParams());
+                // deal out params
+                sqlParameters.dealOutParam(setNonQuerySqlReturn(updateResult, sqlParameters.getLocalParams()));
             }
-            // deal out params
-            sqlParameters.dealOutParam(result);
 
             // post execute
             executeUpdate(connection, postStatementsBinds, "post");
@@ -240,60 +248,25 @@ public class SqlTask extends AbstractTask {
      * @param resultSet resultSet
      * @throws Exception Exception
      */
-    private String resultProcess(ResultSet resultSet) throws Exception {
-        ArrayNode resultJSONArray = JSONUtils.createArrayNode();
-        if (resultSet != null) {
-            ResultSetMetaData md = resultSet.getMetaData();
-            int num = md.getColumnCount();
-
-            while (resultSet.next()) {
-                ObjectNode mapOfColValues = JSONUtils.createObjectNode();
-                for (int i = 1; i <= num; i++) {
-                    mapOfColValues.set(md.getColumnLabel(i), JSONUtils.toJsonNode(resultSet.getObject(i)));
-                }
-                resultJSONArray.add(mapOfColValues);
+    private SqlQueryResultCollector resultProcess(ResultSet resultSet) throws Exception {
+        int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
+                : TaskConstants.DEFAULT_DISPLAY_ROWS;
+        boolean sendEmail = Boolean.TRUE.equals(sqlParameters.getSendEmail());
+        SqlQueryResultCollector resultCollector = new SqlQueryResultCollector(displayRows,
+                sendEmail ? QUERY_RESULT_ALERT_MAX_SIZE : 0, sqlParameters.getLocalParams());
+        resultCollector.collect(resultSet);
+
+        if (sendEmail) {
+            if (resultCollector.isPreviewTruncated()) {
+                log.warn("The sql query result is larger than {} chars, only the first {} of {} rows are sent by alert",
+                        QUERY_RESULT_ALERT_MAX_SIZE, resultCollector.getPreviewRowCount(),
+                        resultCollector.getRowCount());
             }
-
-            int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
-                    : TaskConstants.DEFAULT_DISPLAY_ROWS;
-            displayRows = Math.min(displayRows, resultJSONArray.size());
-            log.info("display sql result {} rows as follows:", displayRows);
-            for (int i = 0; i < displayRows; i++) {
-                String row = JSONUtils.toJsonString(resultJSONArray.get(i));
-                log.info("row {} : {}", i + 1, row);
-            }
-        }
-
-        String result = resultJSONArray.isEmpty() ? JSONUtils.toJsonString(generateEmptyRow(resultSet))
-                : JSONUtils.toJsonString(resultJSONArray);
-
-        if (Boolean.TRUE.equals(sqlParameters.getSendEmail())) {
             sendAttachment(sqlParameters.getGroupId(), StringUtils.isNotEmpty(sqlParameters.getTitle())
                     ? sqlParameters.getTitle()
-                    : taskExecutionContext.getTaskName() + " query result sets", result);
+                    : taskExecutionContext.getTaskName() + " query result sets", resultCollector.getPreviewResult());
         }
-        log.debug("execute sql result : {}", result);
-        return result;
-    }
-
-    /**
-     * generate empty Results as ArrayNode
-     */
-    private ArrayNode generateEmptyRow(ResultSet resultSet) throws SQLException {
-        ArrayNode resultJSONArray = JSONUtils.createArrayNode();
-        ObjectNode emptyOfColValues = JSONUtils.createObjectNode();
-        if (resultSet != null) {
-            ResultSetMetaData metaData = resultSet.getMetaData();
-            int columnsNum = metaData.getColumnCount();
-            log.info("sql query results is empty");
-            for (int i = 1; i <= columnsNum; i++) {
-                emptyOfColValues.set(metaData.getColumnLabel(i), JSONUtils.toJsonNode(""));
-            }
-        } else {
-            emptyOfColValues.set("error", JSONUtils.toJsonNode("resultSet is null"));
-        }
-        resultJSONArray.add(emptyOfColValues);
-        return resultJSONArray;
+        return resultCollector;
     }
 
     /**
@@ -311,11 +284,48 @@ public class SqlTask extends AbstractTask {
         setTaskAlertInfo(taskAlertInfo);
     }
 
-    private String executeQuery(Connection connection, SqlBinds sqlBinds, String handlerType) throws Exception {
+    SqlQueryResultCollector executeQuery(Connection connection, SqlBinds sqlBinds,
+                                         String handlerType) throws Exception {
+        // the postgresql driver only fetches the rows in batches inside a transaction
+        boolean restoreAutoCommit = dbType == DbType.POSTGRESQL && connection.getAutoCommit();
+        if (restoreAutoCommit) {
+            connection.setAutoCommit(false);
+        }
         try (PreparedStatement statement = prepareStatementAndBind(connection, sqlBinds)) {
+            setFetchSize(statement);
             log.info("{} statement execute query, for sql: {}", handlerType, sqlBinds.getSql());
-            ResultSet resultSet = statement.executeQuery();
-            return resultProcess(resultSet);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultProcess(resultSet);
+            }
+        } finally {
+            if (restoreAutoCommit) {
+                // commit the transaction opened for fetching
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * fetch the rows in batches instead of loading the whole result at once.
+     * <p>
+     * The mysql driver streams the rows one by one only when the fetch size is {@link Integer#MIN_VALUE}, the
+     * postgresql driver uses the fetch size only when the auto commit is off, which is set in
+     * {@link #executeQuery}. For the other databases the fetch size is only a hint, and the whole result may still be
+     * loaded by the driver, it is bounded by the max rows of the statement.
+     */
+    private void setFetchSize(PreparedStatement statement) {
+        try {
+            switch (dbType) {
+                case MYSQL:
+                case DORIS:
+                case STARROCKS:
+                    statement.setFetchSize(Integer.MIN_VALUE);
+                    break;
+                default:
+                    statement.setFetchSize(Math.min(QUERY_FETCH_SIZE, statement.getMaxRows()));
+            }
+        } catch (SQLException e) {
+            log.warn("The driver doesn't support set fetch size: {}", e.getMessage());
         }
     }
 
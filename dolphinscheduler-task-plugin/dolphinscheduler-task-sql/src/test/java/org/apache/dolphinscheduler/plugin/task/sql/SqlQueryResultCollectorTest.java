@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class SqlQueryResultCollectorTest {
+
+    private static final int TABLE_ROWS = 1_000_000;
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void setup() throws SQLException {
+        // lazy query execution makes h2 return the rows without materializing the whole result
+        connection = DriverManager.getConnection("jdbc:h2:mem:sql_task_result;LAZY_QUERY_EXECUTION=TRUE");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table t_sql_result as select x as id, concat('name_', x) as name, "
+                    + "x * 1.5 as score from system_range(1, " + TABLE_ROWS + ")");
+        }
+    }
+
+    @AfterAll
+    static void cleanup() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void testCollectOutParams() throws SQLException {
+        List<Property> localParams = Arrays.asList(
+                new Property("ID", Direct.OUT, DataType.LIST, null),
+                new Property("NAME", Direct.OUT, DataType.VARCHAR, null),
+                new Property("SCORE", Direct.IN, DataType.DOUBLE, null));
+        SqlQueryResultCollector resultCollector = new SqlQueryResultCollector(10, 1024, localParams);
+        collect(resultCollector, "select id, name, score from t_sql_result where id <= 3 order by id");
+
+        Assertions.assertEquals(3, resultCollector.getRowCount());
+        Assertions.assertEquals(Arrays.asList("1", "2", "3"), resultCollector.getColumnValues().get("ID"));
+        Assertions.assertEquals("name_1", resultCollector.getFirstRow().get("NAME"));
+        Assertions.assertFalse(resultCollector.getFirstRow().containsKey("SCORE"));
+        Assertions.assertFalse(resultCollector.isPreviewTruncated());
+        Assertions.assertEquals(3, JSONUtils.toList(resultCollector.getPreviewResult(), Map.class).size());
+    }
+
+    @Test
+    void testCollectEmptyResult() throws SQLException {
+        List<Property> localParams = Collections.singletonList(new Property("NAME", Direct.OUT, DataType.VARCHAR,
+                null));
+        SqlQueryResultCollector resultCollector = new SqlQueryResultCollector(10, 1024, localParams);
+        collect(resultCollector, "select id, name from t_sql_result where id < 0");
+
+        Assertions.assertEquals(0, resultCollector.getRowCount());
+        Assertions.assertEquals("", resultCollector.getFirstRow().get("NAME"));
+        Assertions.assertEquals("[{\"ID\":\"\",\"NAME\":\"\"}]", resultCollector.getPreviewResult());
+    }
+
+    @Test
+    void testPreviewTruncated() throws SQLException {
+        SqlQueryResultCollector resultCollector = new SqlQueryResultCollector(10, 100, null);
+        collect(resultCollector, "select id, name from t_sql_result where id <= 100");
+
+        Assertions.assertEquals(100, resultCollector.getRowCount());
+        Assertions.assertTrue(resultCollector.isPreviewTruncated());
+        List<Map> previewRows = JSONUtils.toList(resultCollector.getPreviewResult(), Map.class);
+        // the kept rows and a marker row at the end
+        Assertions.assertEquals(resultCollector.getPreviewRowCount() + 1, previewRows.size());
+        Assertions
+                .assertTrue(JSONUtils.toJsonString(previewRows.subList(0, previewRows.size() - 1)).length() <= 100 + 2);
+        Map lastRow = previewRows.get(previewRows.size() - 1);
+        Assertions.assertEquals(String.format("... (truncated, only the first %d of 100 rows are shown)",
+                resultCollector.getPreviewRowCount()), lastRow.get("ID"));
+        Assertions.assertEquals("...", lastRow.get("NAME"));
+    }
+
+    @Test
+    void testHeapUsageWithMillionRows() throws SQLException {
+        List<Property> localParams = Collections.singletonList(new Property("NAME", Direct.OUT, DataType.VARCHAR,
+                null));
+        SqlQueryResultCollector resultCollector =
+                new SqlQueryResultCollector(10, 1024 * 1024, localParams);
+        long heapBefore = usedHeapAfterGc();
+        long[] maxHeapDuringCollect = new long[1];
+        try (
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("select * from t_sql_result")) {
+            resultCollector.collect(sampleHeapEvery(resultSet, TABLE_ROWS / 5, maxHeapDuringCollect));
+        }
+
+        Assertions.assertEquals(TABLE_ROWS, resultCollector.getRowCount());
+        Assertions.assertEquals("name_1", resultCollector.getFirstRow().get("NAME"));
+        Assertions.assertTrue(resultCollector.isPreviewTruncated());
+        // materializing the million rows as json nodes would take hundreds of MB
+        long retainedHeap = maxHeapDuringCollect[0] - heapBefore;
+        Assertions.assertTrue(retainedHeap < 64 * 1024 * 1024,
+                "retained heap during collecting the result: " + retainedHeap);
+    }
+
+    private void collect(SqlQueryResultCollector resultCollector, String sql) throws SQLException {
+        try (
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+            resultCollector.collect(resultSet);
+        }
+    }
+
+    /**
+     * Wrap the result set to record the max used heap after gc every given rows.
+     */
+    private ResultSet sampleHeapEvery(ResultSet resultSet, int rows, long[] maxHeap) {
+        int[] rowCount = new int[1];
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if ("next".equals(method.getName()) && ++rowCount[0] % rows == 0) {
+                        maxHeap[0] = Math.max(maxHeap[0], usedHeapAfterGc());
+                    }
+                    try {
+                        return method.invoke(resultSet, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
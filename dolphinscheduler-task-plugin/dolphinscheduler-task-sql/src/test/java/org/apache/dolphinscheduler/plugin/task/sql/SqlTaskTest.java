@@ -26,12 +26,19 @@ import org.apache.dolphinscheduler.plugin.task.api.parameters.resource.DataSourc
 import org.apache.dolphinscheduler.plugin.task.api.parameters.resource.ResourceParametersHelper;
 import org.apache.dolphinscheduler.spi.enums.DbType;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
 
 class SqlTaskTest {
 
@@ -39,18 +46,7 @@ class SqlTaskTest {
 
     @BeforeEach
     void setup() {
-        DataSourceParameters parameters = new DataSourceParameters();
-        parameters.setType(DbType.HIVE);
-        parameters.setResourceType(ResourceType.DATASOURCE.name());
-
-        ResourceParametersHelper resourceParametersHelper = new ResourceParametersHelper();
-        resourceParametersHelper.put(ResourceType.DATASOURCE, 1, parameters);
-
-        TaskExecutionContext ctx = new TaskExecutionContext();
-        ctx.setResourceParametersHelper(resourceParametersHelper);
-        ctx.setTaskParams("{\"type\":\"HIVE\",\"datasource\":1,\"sql\":\"select 1\"}");
-
-        sqlTask = new SqlTask(ctx);
+        sqlTask = createSqlTask(DbType.HIVE);
     }
 
     @Test
@@ -142,4 +138,67 @@ class SqlTaskTest {
     @Test
     void splitSql() {
     }
+
+    @Test
+    void testStreamingQueryOnMysql() throws Exception {
+        Connection connection = Mockito.mock(Connection.class);
+        PreparedStatement statement = mockQueryStatement(connection);
+
+        createSqlTask(DbType.MYSQL).executeQuery(connection, new SqlBinds("select 1", null), "main");
+
+        Mockito.verify(statement).setFetchSize(Integer.MIN_VALUE);
+        Mockito.verify(connection, Mockito.never()).setAutoCommit(Mockito.anyBoolean());
+    }
+
+    @Test
+    void testStreamingQueryOnPostgresql() throws Exception {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.getAutoCommit()).thenReturn(true);
+        PreparedStatement statement = mockQueryStatement(connection);
+
+        createSqlTask(DbType.POSTGRESQL).executeQuery(connection, new SqlBinds("select 1", null), "main");
+
+        InOrder inOrder = Mockito.inOrder(connection, statement);
+        inOrder.verify(connection).setAutoCommit(false);
+        inOrder.verify(statement).setFetchSize(1000);
+        inOrder.verify(statement).executeQuery();
+        inOrder.verify(connection).setAutoCommit(true);
+    }
+
+    @Test
+    void testRestoreAutoCommitWhenQueryFailedOnPostgresql() throws Exception {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.getAutoCommit()).thenReturn(true);
+        PreparedStatement statement = mockQueryStatement(connection);
+        Mockito.when(statement.executeQuery()).thenThrow(new SQLException("query failed"));
+
+        SqlTask postgresqlSqlTask = createSqlTask(DbType.POSTGRESQL);
+        Assertions.assertThrows(SQLException.class,
+                () -> postgresqlSqlTask.executeQuery(connection, new SqlBinds("select 1", null), "main"));
+        Mockito.verify(connection).setAutoCommit(true);
+    }
+
+    private SqlTask createSqlTask(DbType dbType) {
+        DataSourceParameters parameters = new DataSourceParameters();
+        parameters.setType(dbType);
+        parameters.setResourceType(ResourceType.DATASOURCE.name());
+
+        ResourceParametersHelper resourceParametersHelper = new ResourceParametersHelper();
+        resourceParametersHelper.put(ResourceType.DATASOURCE, 1, parameters);
+
+        TaskExecutionContext ctx = new TaskExecutionContext();
+        ctx.setResourceParametersHelper(resourceParametersHelper);
+        ctx.setTaskParams("{\"type\":\"" + dbType.name() + "\",\"datasource\":1,\"sql\":\"select 1\"}");
+        return new SqlTask(ctx);
+    }
+
+    private PreparedStatement mockQueryStatement(Connection connection) throws SQLException {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(connection.prepareStatement("select 1")).thenReturn(statement);
+        Mockito.when(statement.getMaxRows()).thenReturn(10000);
+        Mockito.when(statement.executeQuery()).thenReturn(resultSet);
+        Mockito.when(resultSet.getMetaData()).thenReturn(Mockito.mock(ResultSetMetaData.class));
+        return statement;
+    }
 }
@@ -64,17 +64,25 @@ public class CommandApplication {
 
         @Override
         public void run(String... args) throws Exception {
+            if (dbType != DbType.MYSQL && dbType != DbType.POSTGRE_SQL) {
+                log.error("Unsupported database type: {}", dbType);
+                return;
+            }
             if (databaseDialect.tableExists("t_ds_jdbc_registry_data")
                     || databaseDialect.tableExists("t_ds_jdbc_registry_lock")) {
                 log.warn("t_ds_jdbc_registry_data/t_ds_jdbc_registry_lock already exists");
-                return;
-            }
-            if (dbType == DbType.MYSQL) {
+            } else if (dbType == DbType.MYSQL) {
                 jdbcRegistrySchemaInitializeInMysql();
-            } else if (dbType == DbType.POSTGRE_SQL) {
+            } else {
                 jdbcRegistrySchemaInitializeInPG();
+            }
+            // the change event table is added later, so it may be missing in the exist registry schema
+            if (databaseDialect.tableExists("t_ds_jdbc_registry_data_change_event")) {
+                log.warn("t_ds_jdbc_registry_data_change_event already exists");
+            } else if (dbType == DbType.MYSQL) {
+                jdbcRegistryDataChangeEventSchemaInitializeInMysql();
             } else {
-                log.error("Unsupported database type: {}", dbType);
+                jdbcRegistryDataChangeEventSchemaInitializeInPG();
             }
         }
 
@@ -148,5 +156,41 @@ public class CommandApplication {
             }
         }
 
+        private void jdbcRegistryDataChangeEventSchemaInitializeInMysql() throws SQLException {
+            try (
+                    Connection connection = dataSource.getConnection();
+                    Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE `t_ds_jdbc_registry_data_change_event`\n" +
+                        "(\n" +
+                        "    `id`          bigint(11)   NOT NULL AUTO_INCREMENT COMMENT 'primary key, the revision of the change',\n"
+                        +
+                        "    `event_type`  varchar(64)  NOT NULL COMMENT 'ADD, UPDATE, DELETE',\n" +
+                        "    `data_key`    varchar(256) NOT NULL COMMENT 'the changed key of t_ds_jdbc_registry_data',\n"
+                        +
+                        "    `create_time` timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT 'create time',\n" +
+                        "    PRIMARY KEY (`id`),\n" +
+                        "    KEY `idx_create_time` (`create_time`)\n" +
+                        ") ENGINE = InnoDB\n" +
+                        "  DEFAULT CHARSET = utf8;");
+            }
+        }
+
+        private void jdbcRegistryDataChangeEventSchemaInitializeInPG() throws SQLException {
+            try (
+                    Connection connection = dataSource.getConnection();
+                    Statement statement = connection.createStatement()) {
+                statement.execute("create table t_ds_jdbc_registry_data_change_event\n" +
+                        "(\n" +
+                        "    id          bigserial\n" +
+                        "        constraint t_ds_jdbc_registry_data_change_event_pk primary key,\n" +
+                        "    event_type  varchar                             not null,\n" +
+                        "    data_key    varchar                             not null,\n" +
+                        "    create_time timestamp default current_timestamp not null\n" +
+                        ");");
+                statement.execute(
+                        "create index t_ds_jdbc_registry_data_change_event_create_time_index on t_ds_jdbc_registry_data_change_event (create_time);");
+            }
+        }
+
     }
 }
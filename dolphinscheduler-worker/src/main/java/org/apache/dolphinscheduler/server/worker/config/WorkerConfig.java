@@ -58,6 +58,8 @@ public class WorkerConfig implements Validator {
 
     private TenantConfig tenantConfig = new TenantConfig();
 
+    private WorkerResourceCacheConfig resourceCacheConfig = new WorkerResourceCacheConfig();
+
     @Override
     public boolean supports(Class<?> clazz) {
         return WorkerConfig.class.isAssignableFrom(clazz);
@@ -72,6 +74,15 @@ public class WorkerConfig implements Validator {
         if (workerConfig.getMaxHeartbeatInterval().getSeconds() <= 0) {
             errors.rejectValue("max-heartbeat-interval", null, "shoule be a valid duration");
         }
+        WorkerResourceCacheConfig resourceCacheConfig = workerConfig.getResourceCacheConfig();
+        if (resourceCacheConfig.isEnabled()) {
+            if (StringUtils.isEmpty(resourceCacheConfig.getCachePath())) {
+                errors.rejectValue("resource-cache-config.cache-path", null, "should not be empty");
+            }
+            if (resourceCacheConfig.getMaxSize() == null || resourceCacheConfig.getMaxSize().toBytes() <= 0) {
+                errors.rejectValue("resource-cache-config.max-size", null, "should be a positive value");
+            }
+        }
         if (StringUtils.isEmpty(workerConfig.getWorkerAddress())) {
             workerConfig.setWorkerAddress(NetUtils.getAddr(workerConfig.getListenPort()));
         }
@@ -89,6 +100,7 @@ public class WorkerConfig implements Validator {
                         "\n  max-heartbeat-interval -> " + maxHeartbeatInterval +
                         "\n  host-weight -> " + hostWeight +
                         "\n  tenantConfig -> " + tenantConfig +
+                        "\n  resource-cache-config -> " + resourceCacheConfig +
                         "\n  server-load-protection -> " + serverLoadProtection +
                         "\n  registry-disconnect-strategy -> " + registryDisconnectStrategy +
                         "\n  task-execute-threads-full-policy: " + taskExecuteThreadsFullPolicy +
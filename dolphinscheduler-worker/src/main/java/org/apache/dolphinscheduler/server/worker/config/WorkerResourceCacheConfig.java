@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.config;
+
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+
+import lombok.Data;
+
+import org.springframework.util.unit.DataSize;
+
+@Data
+public class WorkerResourceCacheConfig {
+
+    /**
+     * Whether to cache the resources downloaded from the storage, the cached resources are shared by all the task
+     * instances on the worker.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The local directory to store the cached resources, will be cleaned when the worker starts.
+     */
+    private String cachePath = FileUtils.DATA_BASEDIR + "/resource-cache";
+
+    /**
+     * The max total size of the cached resources, the least recently used resources will be evicted when exceed.
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(10);
+}
@@ -52,6 +52,18 @@ public class WorkerServerMetrics {
                     .description("worker resource download failure count")
                     .register(Metrics.globalRegistry);
 
+    private final Counter workerResourceDownloadCacheHitCounter =
+            Counter.builder("ds.worker.resource.download.cache.count")
+                    .tag("result", "hit")
+                    .description("worker resource download hit the local resource cache count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workerResourceDownloadCacheMissCounter =
+            Counter.builder("ds.worker.resource.download.cache.count")
+                    .tag("result", "miss")
+                    .description("worker resource download miss the local resource cache count")
+                    .register(Metrics.globalRegistry);
+
     private final Timer workerResourceDownloadDurationTimer =
             Timer.builder("ds.worker.resource.download.duration")
                     .publishPercentiles(0.5, 0.75, 0.95, 0.99)
@@ -83,6 +95,14 @@ public class WorkerServerMetrics {
         workerResourceDownloadFailCounter.increment();
     }
 
+    public void incWorkerResourceDownloadCacheHitCount() {
+        workerResourceDownloadCacheHitCounter.increment();
+    }
+
+    public void incWorkerResourceDownloadCacheMissCount() {
+        workerResourceDownloadCacheMissCounter.increment();
+    }
+
     public void recordWorkerResourceDownloadTime(final long milliseconds) {
         workerResourceDownloadDurationTimer.record(milliseconds, TimeUnit.MILLISECONDS);
     }
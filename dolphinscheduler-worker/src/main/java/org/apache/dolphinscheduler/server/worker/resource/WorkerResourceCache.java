@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageDownloadUtils;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerResourceCacheConfig;
+import org.apache.dolphinscheduler.spi.enums.ResourceType;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import javax.annotation.PostConstruct;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * The worker level resource cache, the resources downloaded from the storage are shared by all the task instances on
+ * this worker.
+ * <p>
+ * The cached resource is keyed by its tenant and storage path plus its modify time and size in the storage, and stored
+ * in the tenant cache directory under the sha256 of the key. The cache directories are only accessible by the worker,
+ * so a cached resource is only reachable from the task working directories of its tenant. Task instances get the
+ * resource by hard link, or by copy if the cache directory and the task working directory are not in the same file
+ * system, so the evicted resources will not affect the running tasks. Concurrent requests of the same resource only
+ * download once.
+ */
+@Slf4j
+@Component
+public class WorkerResourceCache {
+
+    private static final String DOWNLOADING_SUFFIX = ".downloading";
+
+    private static final Set<PosixFilePermission> CACHE_DIRECTORY_PERMISSIONS =
+            PosixFilePermissions.fromString("rwx------");
+
+    private final boolean enabled;
+
+    private final Path cacheDirectory;
+
+    private final long maxSizeInBytes;
+
+    /**
+     * Access ordered, the first one is the least recently used resource, guarded by this.
+     */
+    private final LinkedHashMap<String, CachedResource> cachedResources = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long cachedResourcesSize = 0;
+
+    private final Map<String, CompletableFuture<CachedResource>> downloadingResources = new ConcurrentHashMap<>();
+
+    @Autowired
+    public WorkerResourceCache(WorkerConfig workerConfig) {
+        this(workerConfig.getResourceCacheConfig());
+    }
+
+    public WorkerResourceCache(WorkerResourceCacheConfig resourceCacheConfig) {
+        this.enabled = resourceCacheConfig.isEnabled();
+        this.cacheDirectory = Paths.get(resourceCacheConfig.getCachePath());
+        this.maxSizeInBytes = resourceCacheConfig.getMaxSize().toBytes();
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            log.info("The worker resource cache is disabled");
+            return;
+        }
+        // the resources cached by last worker process are not tracked, so clean them
+        FileUtils.deleteFile(cacheDirectory.toString());
+        createCacheDirectory(cacheDirectory);
+        log.info("The worker resource cache is enabled, cache directory: {}, max size: {} bytes", cacheDirectory,
+                maxSizeInBytes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Fetch the resource from the storage to the local path, if the resource has been cached and not changed in the
+     * storage, the cached one will be used.
+     *
+     * @param storageOperate                storage operate
+     * @param tenant                        the tenant of the resource
+     * @param resourceAbsolutePathInStorage resource path in storage
+     * @param resourceAbsolutePathInLocal   the local path which the resource should be fetched to
+     * @return true if the resource is fetched from the cache, false if it is downloaded from the storage
+     */
+    public boolean fetchResource(StorageOperate storageOperate,
+                                 String tenant,
+                                 String resourceAbsolutePathInStorage,
+                                 String resourceAbsolutePathInLocal) throws Exception {
+        Path localPath = Paths.get(resourceAbsolutePathInLocal);
+        String resourceKey = getResourceKey(storageOperate, tenant, resourceAbsolutePathInStorage);
+        if (resourceKey == null) {
+            downloadDirectly(storageOperate, resourceAbsolutePathInStorage, localPath);
+            return false;
+        }
+
+        CachedResource cachedResource = getCachedResource(resourceKey);
+        if (cachedResource != null && linkCachedResource(cachedResource, localPath)) {
+            return true;
+        }
+
+        CompletableFuture<CachedResource> downloadFuture = new CompletableFuture<>();
+        CompletableFuture<CachedResource> inFlightDownloadFuture =
+                downloadingResources.putIfAbsent(resourceKey, downloadFuture);
+        if (inFlightDownloadFuture != null) {
+            // Another task instance is downloading the same resource, wait for it
+            cachedResource = waitForDownload(inFlightDownloadFuture);
+            if (linkCachedResource(cachedResource, localPath)) {
+                return true;
+            }
+            downloadDirectly(storageOperate, resourceAbsolutePathInStorage, localPath);
+            return false;
+        }
+
+        boolean cacheHit = false;
+        try {
+            // The resource may be cached by another task instance before we put the future
+            cachedResource = getCachedResource(resourceKey);
+            if (cachedResource != null) {
+                cacheHit = true;
+            } else {
+                cachedResource =
+                        downloadToCache(storageOperate, tenant, resourceKey, resourceAbsolutePathInStorage);
+            }
+            downloadFuture.complete(cachedResource);
+        } catch (Exception ex) {
+            downloadFuture.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            downloadingResources.remove(resourceKey, downloadFuture);
+        }
+        if (!linkCachedResource(cachedResource, localPath)) {
+            downloadDirectly(storageOperate, resourceAbsolutePathInStorage, localPath);
+            return false;
+        }
+        return cacheHit;
+    }
+
+    /**
+     * Get the total size of the cached resources.
+     */
+    public synchronized long getCachedResourcesSize() {
+        return cachedResourcesSize;
+    }
+
+    /**
+     * Get the count of the cached resources.
+     */
+    public synchronized int getCachedResourcesCount() {
+        return cachedResources.size();
+    }
+
+    private String getResourceKey(StorageOperate storageOperate, String tenant, String resourceAbsolutePathInStorage) {
+        try {
+            StorageEntity storageEntity = storageOperate.getFileStatus(resourceAbsolutePathInStorage,
+                    storageOperate.getResDir(tenant), tenant, ResourceType.FILE);
+            if (storageEntity == null || storageEntity.isDirectory() || storageEntity.getUpdateTime() == null) {
+                log.warn("Cannot get the version of resource: {}, will not use the resource cache",
+                        resourceAbsolutePathInStorage);
+                return null;
+            }
+            return tenant + ":" + resourceAbsolutePathInStorage + "@" + storageEntity.getUpdateTime().getTime() + ":"
+                    + storageEntity.getSize();
+        } catch (Exception ex) {
+            log.warn("Get the status of resource: {} failed, will not use the resource cache",
+                    resourceAbsolutePathInStorage, ex);
+            return null;
+        }
+    }
+
+    private CachedResource waitForDownload(CompletableFuture<CachedResource> downloadFuture) throws Exception {
+        try {
+            return downloadFuture.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw ex;
+        }
+    }
+
+    private CachedResource downloadToCache(StorageOperate storageOperate,
+                                           String tenant,
+                                           String resourceKey,
+                                           String resourceAbsolutePathInStorage) throws IOException {
+        Path tenantCacheDirectory = cacheDirectory.resolve(DigestUtils.sha256Hex(tenant));
+        createCacheDirectory(tenantCacheDirectory);
+        Path cachedFile = tenantCacheDirectory.resolve(DigestUtils.sha256Hex(resourceKey));
+        Path downloadingFile = tenantCacheDirectory.resolve(cachedFile.getFileName() + DOWNLOADING_SUFFIX);
+        try {
+            StorageDownloadUtils.download(storageOperate, resourceAbsolutePathInStorage, downloadingFile.toString());
+            Files.move(downloadingFile, cachedFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(downloadingFile);
+        }
+        // The cached file is shared by the task instances of the tenant, so it should not be modified by the task. It
+        // is readable as the downloaded resource in the task working directory, the hard links share its permissions
+        if (!OSUtils.isWindows()) {
+            Files.setPosixFilePermissions(cachedFile, PosixFilePermissions.fromString("r-xr-xr-x"));
+        }
+        CachedResource cachedResource = new CachedResource(resourceKey, cachedFile, Files.size(cachedFile));
+        putCachedResource(cachedResource);
+        log.info("Cached resource: {} to {}, size: {} bytes", resourceAbsolutePathInStorage, cachedFile,
+                cachedResource.size);
+        return cachedResource;
+    }
+
+    private boolean linkCachedResource(CachedResource cachedResource, Path localPath) {
+        try {
+            FileUtils.createDirectoryWith755(localPath.getParent());
+            Files.deleteIfExists(localPath);
+            try {
+                Files.createLink(localPath, cachedResource.path);
+            } catch (IOException | UnsupportedOperationException ex) {
+                // e.g. the cache directory and the task working directory are not in the same file system
+                log.debug("Hard link cached resource: {} to {} failed, will copy it", cachedResource.path, localPath,
+                        ex);
+                Files.copy(cachedResource.path, localPath, StandardCopyOption.REPLACE_EXISTING);
+                FileUtils.setFileTo755(localPath.toFile());
+            }
+            return true;
+        } catch (IOException ex) {
+            log.warn("Fetch cached resource: {} to {} failed, will remove it from cache", cachedResource.path,
+                    localPath, ex);
+            removeCachedResource(cachedResource);
+            return false;
+        }
+    }
+
+    private void createCacheDirectory(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        if (!OSUtils.isWindows()) {
+            Files.setPosixFilePermissions(directory, CACHE_DIRECTORY_PERMISSIONS);
+        }
+    }
+
+    private void downloadDirectly(StorageOperate storageOperate,
+                                  String resourceAbsolutePathInStorage,
+                                  Path localPath) throws IOException {
+        StorageDownloadUtils.download(storageOperate, resourceAbsolutePathInStorage, localPath.toString());
+        FileUtils.setFileTo755(localPath.toFile());
+    }
+
+    private synchronized CachedResource getCachedResource(String resourceKey) {
+        CachedResource cachedResource = cachedResources.get(resourceKey);
+        if (cachedResource == null) {
+            return null;
+        }
+        if (!Files.exists(cachedResource.path)) {
+            log.warn("The cached resource: {} is missing, will remove it from cache", cachedResource.path);
+            removeCachedResource(cachedResource);
+            return null;
+        }
+        return cachedResource;
+    }
+
+    private synchronized void putCachedResource(CachedResource cachedResource) {
+        CachedResource oldCachedResource = cachedResources.put(cachedResource.key, cachedResource);
+        if (oldCachedResource != null) {
+            cachedResourcesSize -= oldCachedResource.size;
+        }
+        cachedResourcesSize += cachedResource.size;
+
+        Iterator<CachedResource> iterator = cachedResources.values().iterator();
+        while (cachedResourcesSize > maxSizeInBytes && iterator.hasNext()) {
+            CachedResource leastRecentlyUsed = iterator.next();
+            if (leastRecentlyUsed == cachedResource) {
+                continue;
+            }
+            iterator.remove();
+            cachedResourcesSize -= leastRecentlyUsed.size;
+            deleteCachedFile(leastRecentlyUsed);
+            log.info("Evicted cached resource: {}, size: {} bytes", leastRecentlyUsed.path, leastRecentlyUsed.size);
+        }
+    }
+
+    private synchronized void removeCachedResource(CachedResource cachedResource) {
+        if (cachedResources.remove(cachedResource.key, cachedResource)) {
+            cachedResourcesSize -= cachedResource.size;
+            deleteCachedFile(cachedResource);
+        }
+    }
+
+    private void deleteCachedFile(CachedResource cachedResource) {
+        try {
+            Files.deleteIfExists(cachedResource.path);
+        } catch (IOException ex) {
+            log.warn("Delete cached resource: {} failed", cachedResource.path, ex);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class CachedResource {
+
+        private final String key;
+
+        private final Path path;
+
+        private final long size;
+    }
+}
@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 
 import javax.annotation.Nullable;
@@ -35,17 +36,20 @@ public class DefaultWorkerTaskExecutorFactory
     private final @NonNull WorkerConfig workerConfig;
     private final @NonNull WorkerMessageSender workerMessageSender;
     private final @Nullable StorageOperate storageOperate;
+    private final @Nullable WorkerResourceCache workerResourceCache;
     private final @NonNull WorkerRegistryClient workerRegistryClient;
 
     public DefaultWorkerTaskExecutorFactory(@NonNull TaskExecutionContext taskExecutionContext,
                                             @NonNull WorkerConfig workerConfig,
                                             @NonNull WorkerMessageSender workerMessageSender,
                                             @Nullable StorageOperate storageOperate,
+                                            @Nullable WorkerResourceCache workerResourceCache,
                                             @NonNull WorkerRegistryClient workerRegistryClient) {
         this.taskExecutionContext = taskExecutionContext;
         this.workerConfig = workerConfig;
         this.workerMessageSender = workerMessageSender;
         this.storageOperate = storageOperate;
+        this.workerResourceCache = workerResourceCache;
         this.workerRegistryClient = workerRegistryClient;
     }
 
@@ -56,6 +60,7 @@ public class DefaultWorkerTaskExecutorFactory
                 workerConfig,
                 workerMessageSender,
                 storageOperate,
+                workerResourceCache,
                 workerRegistryClient);
     }
 }
@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,6 +39,9 @@ public class WorkerTaskExecutorFactoryBuilder {
     @Autowired(required = false)
     private StorageOperate storageOperate;
 
+    @Autowired
+    private WorkerResourceCache workerResourceCache;
+
     @Autowired
     private WorkerRegistryClient workerRegistryClient;
 
@@ -46,10 +50,12 @@ public class WorkerTaskExecutorFactoryBuilder {
                                             WorkerMessageSender workerMessageSender,
                                             WorkerTaskExecutorThreadPool workerManager,
                                             StorageOperate storageOperate,
+                                            WorkerResourceCache workerResourceCache,
                                             WorkerRegistryClient workerRegistryClient) {
         this.workerConfig = workerConfig;
         this.workerMessageSender = workerMessageSender;
         this.storageOperate = storageOperate;
+        this.workerResourceCache = workerResourceCache;
         this.workerRegistryClient = workerRegistryClient;
     }
 
@@ -58,6 +64,7 @@ public class WorkerTaskExecutorFactoryBuilder {
                 workerConfig,
                 workerMessageSender,
                 storageOperate,
+                workerResourceCache,
                 workerRegistryClient);
     }
 
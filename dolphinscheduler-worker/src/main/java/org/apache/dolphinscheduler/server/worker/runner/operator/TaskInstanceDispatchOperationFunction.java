@@ -71,8 +71,8 @@ public class TaskInstanceDispatchOperationFunction
             // check server status, if server is not running, return failed to reject this task
             if (!ServerLifeCycleManager.isRunning()) {
                 log.error("server is not running. reject task: {}", taskExecutionContext.getProcessInstanceId());
-                return TaskInstanceDispatchResponse.failed(taskExecutionContext.getTaskInstanceId(),
-                        "server is not running");
+                return withWorkerLoad(TaskInstanceDispatchResponse.failed(taskExecutionContext.getTaskInstanceId(),
+                        "server is not running"));
             }
 
             TaskMetrics.incrTaskTypeExecuteCount(taskExecutionContext.getTaskType());
@@ -82,14 +82,22 @@ public class TaskInstanceDispatchOperationFunction
             // todo: hold the workerTaskExecutor
             if (!workerTaskExecutorThreadPool.submitWorkerTaskExecutor(workerTaskExecutor)) {
                 log.info("Submit task: {} to wait queue failed", taskExecutionContext.getTaskName());
-                return TaskInstanceDispatchResponse.failed(taskExecutionContext.getTaskInstanceId(),
-                        "WorkerManagerThread is full");
+                return withWorkerLoad(TaskInstanceDispatchResponse.failed(taskExecutionContext.getTaskInstanceId(),
+                        "WorkerManagerThread is full"));
             } else {
                 log.info("Submit task: {} to wait queue success", taskExecutionContext.getTaskName());
-                return TaskInstanceDispatchResponse.success(taskExecutionContext.getTaskInstanceId());
+                return withWorkerLoad(TaskInstanceDispatchResponse.success(taskExecutionContext.getTaskInstanceId()));
             }
         } finally {
             LogUtils.removeWorkflowAndTaskInstanceIdMDC();
         }
     }
+
+    private TaskInstanceDispatchResponse withWorkerLoad(TaskInstanceDispatchResponse taskInstanceDispatchResponse) {
+        // push the worker load to master, so that the master doesn't need to wait for the next heartbeat
+        taskInstanceDispatchResponse.setWorkerTaskCount(workerTaskExecutorThreadPool.getRunningTaskExecutorSize()
+                + workerTaskExecutorThreadPool.getWaitingTaskExecutorSize());
+        taskInstanceDispatchResponse.setWorkerReportTime(System.currentTimeMillis());
+        return taskInstanceDispatchResponse;
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.server.worker.utils;
 import org.apache.dolphinscheduler.common.constants.TenantConstants;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageDownloadUtils;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
 import org.apache.dolphinscheduler.plugin.task.api.TaskChannel;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
@@ -31,6 +32,7 @@ import org.apache.dolphinscheduler.plugin.task.api.resource.ResourceContext;
 import org.apache.dolphinscheduler.server.worker.config.TenantConfig;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.SystemUtils;
@@ -40,6 +42,8 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -110,6 +114,7 @@ public class TaskExecutionContextUtils {
     public static ResourceContext downloadResourcesIfNeeded(String tenant,
                                                             TaskChannel taskChannel,
                                                             StorageOperate storageOperate,
+                                                            @Nullable WorkerResourceCache workerResourceCache,
                                                             TaskExecutionContext taskExecutionContext) {
         AbstractParameters abstractParameters = taskChannel.parseParameters(
                 ParametersNode.builder()
@@ -134,10 +139,23 @@ public class TaskExecutionContextUtils {
             if (!file.exists()) {
                 try {
                     long resourceDownloadStartTime = System.currentTimeMillis();
-                    storageOperate.download(resourceAbsolutePathInStorage, resourceAbsolutePathInLocal, true);
-                    log.debug("Download resource file {} under: {} successfully", resourceAbsolutePathInStorage,
-                            resourceAbsolutePathInLocal);
-                    FileUtils.setFileTo755(file);
+                    if (workerResourceCache != null && workerResourceCache.isEnabled()) {
+                        boolean cacheHit = workerResourceCache.fetchResource(storageOperate, tenant,
+                                resourceAbsolutePathInStorage, resourceAbsolutePathInLocal);
+                        log.debug("Fetch resource file {} under: {} successfully, hit cache: {}",
+                                resourceAbsolutePathInStorage, resourceAbsolutePathInLocal, cacheHit);
+                        if (cacheHit) {
+                            WorkerServerMetrics.incWorkerResourceDownloadCacheHitCount();
+                        } else {
+                            WorkerServerMetrics.incWorkerResourceDownloadCacheMissCount();
+                        }
+                    } else {
+                        StorageDownloadUtils.download(storageOperate, resourceAbsolutePathInStorage,
+                                resourceAbsolutePathInLocal);
+                        log.debug("Download resource file {} under: {} successfully", resourceAbsolutePathInStorage,
+                                resourceAbsolutePathInLocal);
+                        FileUtils.setFileTo755(file);
+                    }
                     WorkerServerMetrics
                             .recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
                     WorkerServerMetrics
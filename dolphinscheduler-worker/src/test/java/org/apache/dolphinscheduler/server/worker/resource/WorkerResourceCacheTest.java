@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
+import org.apache.dolphinscheduler.server.worker.config.WorkerResourceCacheConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.util.unit.DataSize;
+
+class WorkerResourceCacheTest {
+
+    private static final String TENANT = "tenant";
+
+    private static final String RESOURCE_CONTENT = "resource";
+
+    @TempDir
+    private Path tempDirectory;
+
+    private StorageOperate storageOperate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storageOperate = Mockito.mock(StorageOperate.class);
+        Mockito.when(storageOperate.getResDir(TENANT)).thenReturn("/dolphinscheduler/tenant/resources");
+        Mockito.doAnswer(invocation -> {
+            Path dstPath = Paths.get(invocation.getArgument(1, String.class));
+            Files.createDirectories(dstPath.getParent());
+            Files.write(dstPath, RESOURCE_CONTENT.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperate).download(anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void fetchResourceFromCacheIfNotChanged() throws Exception {
+        mockFileStatus("/resources/a.jar", 1L);
+        WorkerResourceCache workerResourceCache = createWorkerResourceCache(DataSize.ofMegabytes(1));
+
+        Assertions.assertFalse(workerResourceCache.fetchResource(storageOperate, TENANT, "/resources/a.jar",
+                localPath("task1", "a.jar")));
+        Assertions.assertTrue(workerResourceCache.fetchResource(storageOperate, TENANT, "/resources/a.jar",
+                localPath("task2", "a.jar")));
+
+        Mockito.verify(storageOperate, Mockito.times(1)).download(eq("/resources/a.jar"), anyString(), anyBoolean());
+        Assertions.assertEquals(RESOURCE_CONTENT, readLocalFile("task1", "a.jar"));
+        Assertions.assertEquals(RESOURCE_CONTENT, readLocalFile("task2", "a.jar"));
+        Assertions.assertEquals(1, workerResourceCache.getCachedResourcesCount());
+
+        // The file of the finished task is deleted, the cached resource should not be affected
+        Files.delete(Paths.get(localPath("task1", "a.jar")));
+        Assertions.assertTrue(workerResourceCache.fetchResource(storageOperate, TENANT, "/resources/a.jar",
+                localPath("task3", "a.jar")));
+        Assertions.assertEquals(RESOURCE_CONTENT, readLocalFile("task3", "a.jar"));
+    }
+
+    @Test
+    void fetchResourceFromStorageIfChanged() throws Exception {
+        mockFileStatus("/resources/a.jar", 1L);
+        WorkerResourceCache workerResourceCache = createWorkerResourceCache(DataSize.ofMegabytes(1));
+        Assertions.assertFalse(workerResourceCache.fetchResource(storageOperate, TENANT, "/resources/a.jar",
+                localPath("task1", "a.jar")));
+
+        mockFileStatus("/resources/a.jar", 2L);
+        Assertions.assertFalse(workerResourceCache.fetchResource(storageOperate, TENANT, "/resources/a.jar",
+                localPath("task2", "a.jar")));
+        Mockito.verify(storageOperate, Mockito.times(2)).download(eq("/resources/a.jar"), anyString(), anyBoolean());
+    }
+
+    @Test
+    void fetchResourceFromStorageIfCannotGetFileStatus() throws Exception {
+        Mockito.when(storageOperate.getFileStatus(eq("/resources/a.jar"), anyString(), eq(TENANT), any()))
+                .thenThrow(new IOException("mock exception"));
+        WorkerResourceCache workerResourceCache = createWorkerResourceCache(DataSize.ofMegabytes(1));
+
+        Assertions.assertFalse(workerResourceCache.fetchResource(storageOperate, TENANT, "/resources/a.jar",
+                localPath("task1", "a.jar")));
+        Assertions.assertEquals(RESOURCE_CONTENT, readLocalFile("task1", "a.jar"));
+        Assertions.assertEquals(0, workerResourceCache.getCachedResourcesCount());
+    }
+
+    @Test
+    void evictLeastRecentlyUsedResource() throws Exception {
+        mockFileStatus("/resources/a.jar", 1L);
+        mockFileStatus("/resources/b.jar", 1L);
+        // Only one resource can be cached
+        WorkerResourceCache workerResourceCache =
+                createWorkerResourceCache(DataSize.ofBytes(RESOURCE_CONTENT.length() + 1));
+
+        workerResourceCache.fetchResource(storageOperate, TENANT, "/resources/a.jar", localPath("task1", "a.jar"));
+        workerResourceCache.fetchResource(storageOperate, TENANT, "/resources/b.jar", localPath("task1", "b.jar"));
+        Assertions.assertEquals(1, workerResourceCache.getCachedResourcesCount());
+        Assertions.assertEquals(RESOURCE_CONTENT.length(), workerResourceCache.getCachedResourcesSize());
+
+        Assertions.assertTrue(workerResourceCache.fetchResource(storageOperate, TENANT, "/resources/b.jar",
+                localPath("task2", "b.jar")));
+        Assertions.assertFalse(workerResourceCache.fetchResource(storageOperate, TENANT, "/resources/a.jar",
+                localPath("task2", "a.jar")));
+        // The evicted resource still can be used by the task which has fetched it
+        Assertions.assertEquals(RESOURCE_CONTENT, readLocalFile("task1", "a.jar"));
+    }
+
+    @Test
+    void downloadOnceForConcurrentFetch() throws Exception {
+        mockFileStatus("/resources/a.jar", 1L);
+        CountDownLatch downloadLatch = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            downloadLatch.await(10, TimeUnit.SECONDS);
+            Path dstPath = Paths.get(invocation.getArgument(1, String.class));
+            Files.write(dstPath, RESOURCE_CONTENT.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperate).download(anyString(), anyString(), anyBoolean());
+        WorkerResourceCache workerResourceCache = createWorkerResourceCache(DataSize.ofMegabytes(1));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                String localPath = localPath("task" + i, "a.jar");
+                futures.add(executorService.submit(() -> workerResourceCache.fetchResource(storageOperate, TENANT,
+                        "/resources/a.jar", localPath)));
+            }
+            // Make sure all the fetch requests are waiting for the download
+            Thread.sleep(500);
+            downloadLatch.countDown();
+            int cacheMissCount = 0;
+            for (Future<Boolean> future : futures) {
+                if (!future.get(10, TimeUnit.SECONDS)) {
+                    cacheMissCount++;
+                }
+            }
+            Assertions.assertEquals(1, cacheMissCount);
+        } finally {
+            executorService.shutdownNow();
+        }
+        Mockito.verify(storageOperate, Mockito.times(1)).download(eq("/resources/a.jar"), anyString(), anyBoolean());
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(RESOURCE_CONTENT, readLocalFile("task" + i, "a.jar"));
+        }
+    }
+
+    @Test
+    void cacheResourcePerTenant() throws Exception {
+        String anotherTenant = "another_tenant";
+        Mockito.when(storageOperate.getResDir(anotherTenant)).thenReturn("/dolphinscheduler/another_tenant/resources");
+        mockFileStatus("/resources/a.jar", 1L);
+        mockFileStatus(anotherTenant, "/resources/a.jar", 1L);
+        WorkerResourceCache workerResourceCache = createWorkerResourceCache(DataSize.ofMegabytes(1));
+
+        Assertions.assertFalse(workerResourceCache.fetchResource(storageOperate, TENANT, "/resources/a.jar",
+                localPath("task1", "a.jar")));
+        Assertions.assertFalse(workerResourceCache.fetchResource(storageOperate, anotherTenant, "/resources/a.jar",
+                localPath("task2", "a.jar")));
+        Assertions.assertEquals(2, workerResourceCache.getCachedResourcesCount());
+        Assertions.assertNotEquals(Files.getAttribute(Paths.get(localPath("task1", "a.jar")), "unix:ino"),
+                Files.getAttribute(Paths.get(localPath("task2", "a.jar")), "unix:ino"));
+
+        // The cache directories are only accessible by the worker
+        Path cacheDirectory = tempDirectory.resolve("resource-cache");
+        Assertions.assertEquals(PosixFilePermissions.fromString("rwx------"),
+                Files.getPosixFilePermissions(cacheDirectory));
+        try (Stream<Path> tenantCacheDirectories = Files.list(cacheDirectory)) {
+            tenantCacheDirectories.forEach(tenantCacheDirectory -> Assertions.assertEquals(
+                    PosixFilePermissions.fromString("rwx------"),
+                    Assertions.assertDoesNotThrow(() -> Files.getPosixFilePermissions(tenantCacheDirectory))));
+        }
+    }
+
+    private WorkerResourceCache createWorkerResourceCache(DataSize maxSize) throws IOException {
+        WorkerResourceCacheConfig resourceCacheConfig = new WorkerResourceCacheConfig();
+        resourceCacheConfig.setCachePath(tempDirectory.resolve("resource-cache").toString());
+        resourceCacheConfig.setMaxSize(maxSize);
+        WorkerResourceCache workerResourceCache = new WorkerResourceCache(resourceCacheConfig);
+        workerResourceCache.init();
+        return workerResourceCache;
+    }
+
+    private void mockFileStatus(String resourceAbsolutePathInStorage, long updateTime) throws Exception {
+        mockFileStatus(TENANT, resourceAbsolutePathInStorage, updateTime);
+    }
+
+    private void mockFileStatus(String tenant, String resourceAbsolutePathInStorage, long updateTime) throws Exception {
+        StorageEntity storageEntity = new StorageEntity();
+        storageEntity.setFullName(resourceAbsolutePathInStorage);
+        storageEntity.setSize(RESOURCE_CONTENT.length());
+        storageEntity.setUpdateTime(new Date(updateTime));
+        Mockito.when(storageOperate.getFileStatus(eq(resourceAbsolutePathInStorage), anyString(), eq(tenant), any()))
+                .thenReturn(storageEntity);
+    }
+
+    private String localPath(String taskWorkingDirectory, String fileName) {
+        return tempDirectory.resolve(taskWorkingDirectory).resolve(fileName).toString();
+    }
+
+    private String readLocalFile(String taskWorkingDirectory, String fileName) throws IOException {
+        return new String(Files.readAllBytes(Paths.get(localPath(taskWorkingDirectory, fileName))),
+                StandardCharsets.UTF_8);
+    }
+}
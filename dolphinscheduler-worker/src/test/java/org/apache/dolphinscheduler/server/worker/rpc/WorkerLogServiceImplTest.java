@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.rpc;
+
+import org.apache.dolphinscheduler.common.utils.LogUtils;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class WorkerLogServiceImplTest {
+
+    @TempDir
+    private Path tempDirectory;
+
+    private final WorkerLogServiceImpl workerLogService = new WorkerLogServiceImpl();
+
+    @Test
+    public void testGetTaskInstanceLogFileChunkOfLargeLog() throws IOException {
+        // a sparse file, so the 2 GB log doesn't take the disk space
+        long logFileSize = 2L * 1024 * 1024 * 1024 + 3;
+        byte[] tail = "end".getBytes(StandardCharsets.UTF_8);
+        Path logFile = tempDirectory.resolve("large.log");
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(logFile.toFile(), "rw")) {
+            randomAccessFile.setLength(logFileSize);
+            randomAccessFile.seek(logFileSize - tail.length);
+            randomAccessFile.write(tail);
+        }
+
+        long offset = 0;
+        byte[] lastChunk = null;
+        do {
+            TaskInstanceLogFileChunkDownloadRequest request = TaskInstanceLogFileChunkDownloadRequest.builder()
+                    .taskInstanceId(1)
+                    .taskInstanceLogAbsolutePath(logFile.toString())
+                    .offset(offset)
+                    .chunkSize(Integer.MAX_VALUE)
+                    .build();
+            TaskInstanceLogFileChunkDownloadResponse response = workerLogService.getTaskInstanceLogFileChunk(request);
+            Assertions.assertEquals(logFileSize, response.getLogFileSize());
+            // the chunk size is bounded whatever the request asks for
+            Assertions.assertTrue(response.getChunkBytes().length <= LogUtils.MAX_LOG_FILE_CHUNK_SIZE);
+            Assertions.assertTrue(response.getChunkBytes().length > 0);
+            lastChunk = response.getChunkBytes();
+            offset += lastChunk.length;
+        } while (offset < logFileSize);
+
+        Assertions.assertEquals(logFileSize, offset);
+        Assertions.assertEquals("end", new String(lastChunk, lastChunk.length - tail.length, tail.length,
+                StandardCharsets.UTF_8));
+
+        TaskInstanceLogFileChunkDownloadRequest request = TaskInstanceLogFileChunkDownloadRequest.builder()
+                .taskInstanceId(1)
+                .taskInstanceLogAbsolutePath(logFile.toString())
+                .offset(logFileSize)
+                .chunkSize(1024)
+                .build();
+        Assertions.assertEquals(0, workerLogService.getTaskInstanceLogFileChunk(request).getChunkBytes().length);
+    }
+
+    @Test
+    public void testTailTaskInstanceLog() throws IOException {
+        Path logFile = tempDirectory.resolve("tail.log");
+        Files.write(logFile, "line 0\nline 1\n".getBytes(StandardCharsets.UTF_8));
+
+        TaskInstanceLogTailRequest request = TaskInstanceLogTailRequest.builder()
+                .taskInstanceId(1)
+                .taskInstanceLogAbsolutePath(logFile.toString())
+                .byteOffset(0)
+                .maxBytes(Integer.MAX_VALUE)
+                .build();
+        TaskInstanceLogTailResponse response = workerLogService.tailTaskInstanceLog(request);
+        Assertions.assertEquals("line 0\nline 1\n", response.getLogContent());
+        Assertions.assertEquals(14, response.getNextByteOffset());
+        Assertions.assertEquals(14, response.getLogFileSize());
+
+        // only the appended log is returned when tailing from the next offset
+        Files.write(logFile, "line 2\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        request.setByteOffset(response.getNextByteOffset());
+        response = workerLogService.tailTaskInstanceLog(request);
+        Assertions.assertEquals("line 2\n", response.getLogContent());
+        Assertions.assertEquals(21, response.getNextByteOffset());
+    }
+}
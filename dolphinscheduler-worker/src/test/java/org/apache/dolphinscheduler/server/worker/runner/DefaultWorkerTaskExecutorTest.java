@@ -56,6 +56,7 @@ public class DefaultWorkerTaskExecutorTest {
                 workerConfig,
                 workerMessageSender,
                 storageOperate,
+                null,
                 workerRegistryClient);
 
         Assertions.assertAll(workerTaskExecutor::run);
@@ -79,6 +80,7 @@ public class DefaultWorkerTaskExecutorTest {
                 workerConfig,
                 workerMessageSender,
                 storageOperate,
+                null,
                 workerRegistryClient);
 
         Assertions.assertAll(workerTaskExecutor::run);
@@ -175,7 +175,7 @@ class WorkerTaskExecutorThreadPoolTest {
                                                            ResourceType type) throws Exception {
                             return null;
                         }
-                    }, new WorkerRegistryClient());
+                    }, null, new WorkerRegistryClient());
             this.runnable = runnable;
         }
 
@@ -93,6 +93,7 @@ public class TaskInstanceOperationFunctionTest {
                 workerMessageSender,
                 workerManager,
                 storageOperate,
+                null,
                 workerRegistryClient);
 
         TaskInstanceDispatchOperationFunction taskInstanceDispatchOperationFunction =
@@ -187,6 +188,7 @@ public class TaskInstanceOperationFunctionTest {
                 workerMessageSender,
                 workerManager,
                 storageOperate,
+                null,
                 workerRegistryClient);
 
         TaskInstanceDispatchOperationFunction taskInstanceDispatchOperationFunction =